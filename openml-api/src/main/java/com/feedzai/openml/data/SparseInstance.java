@@ -0,0 +1,65 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.data;
+
+/**
+ * An {@link Instance} that stores only the values that are present, for schemas with many fields where most values
+ * are missing.
+ * <p>
+ * The present values are those of the numeric and categorical fields that are not missing (i.e. not
+ * {@link Double#NaN}), and can be iterated by their position, in increasing order of field index, without going
+ * through all the fields of the schema:
+ * <pre>{@code
+ * for (int position = 0; position < instance.getNumberPresentValues(); position++) {
+ *     score += weights[instance.getPresentIndex(position)] * instance.getPresentValue(position);
+ * }
+ * }</pre>
+ * {@link #getValue(int)} returns {@link Double#NaN} for the fields that are not present, and
+ * {@link #getStringValue(int)} returns {@code null} for the string fields that are missing.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public interface SparseInstance extends Instance {
+
+    /**
+     * Gets the number of numeric and categorical fields whose value is present.
+     *
+     * @return The number of present values.
+     */
+    int getNumberPresentValues();
+
+    /**
+     * Gets the index of the field of a present value.
+     *
+     * @param position The position of the present value, between 0 and {@link #getNumberPresentValues()}
+     *                 (exclusive).
+     * @return The index of the field.
+     */
+    int getPresentIndex(int position);
+
+    /**
+     * Gets a present value, encoded as described in {@link Instance#getValue(int)}.
+     *
+     * @param position The position of the present value, between 0 and {@link #getNumberPresentValues()}
+     *                 (exclusive).
+     * @return The value.
+     */
+    double getPresentValue(int position);
+}
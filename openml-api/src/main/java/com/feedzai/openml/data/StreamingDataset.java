@@ -0,0 +1,79 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.data;
+
+import com.feedzai.openml.data.schema.DatasetSchema;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * A source of instances that have the same data schema and that can only be read once, sequentially, e.g. from a file
+ * or a queue that is being filled by another thread.
+ * <p>
+ * Unlike a {@link Dataset}, a streaming dataset doesn't need to hold all its instances: they are read in chunks, on
+ * demand, and the source only needs to produce the next chunk when it is requested, which bounds the memory used and
+ * naturally slows down producers to the pace of the consumer. Instances returned in a chunk remain valid after
+ * further chunks are read.
+ * <p>
+ * Implementations don't need to be thread-safe for consumers: a streaming dataset is meant to be read by one
+ * thread at a time.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public interface StreamingDataset extends Closeable {
+
+    /**
+     * Gets the {@link DatasetSchema} associated with the data held by this dataset.
+     *
+     * @return The {@link DatasetSchema}.
+     */
+    DatasetSchema getSchema();
+
+    /**
+     * Gets the total number of instances in this dataset, if it is known in advance.
+     *
+     * @return The number of instances, or an empty value if it is unknown (e.g. for unbounded inputs).
+     */
+    OptionalLong getSize();
+
+    /**
+     * Reads the next chunk of instances, waiting until at least one instance is available or the dataset ends.
+     *
+     * @param maxInstances The maximum number of instances in the chunk.
+     * @return The next instances, in order, or an empty list if there are no more instances.
+     * @throws IOException          If the instances cannot be read.
+     * @throws InterruptedException If interrupted while waiting for the instances.
+     */
+    List<Instance> nextChunk(int maxInstances) throws IOException, InterruptedException;
+
+    /**
+     * Releases the resources of this dataset. Instances that were not read yet are discarded.
+     * <p>
+     * By default this does nothing.
+     *
+     * @throws IOException If the resources cannot be released.
+     */
+    @Override
+    default void close() throws IOException {
+    }
+}
@@ -18,13 +18,20 @@
 
 package com.feedzai.openml.explanations;
 
+import com.feedzai.openml.data.Dataset;
 import com.feedzai.openml.data.Instance;
 import com.feedzai.openml.model.MachineLearningModel;
+import com.google.common.base.Preconditions;
+
+import java.util.Iterator;
 
 /**
  * An interface for explanation algorithms.
  * Implementations should probably hold some {@link MachineLearningModel} and this {@link ModelExplainer} will
  * compute the feature contributions for its predictions through {@link #getFeatureContributions(Instance)}.
+ * <p>
+ * The batch and top-k variants have default implementations based on {@link #getFeatureContributions(Instance)};
+ * implementations that can compute explanations in bulk more efficiently should override them.
  *
  * @since 1.2.0
  * @author Miguel Lobo (miguel.lobo@feedzai.com)
@@ -38,4 +45,68 @@ public interface ModelExplainer {
      * @return An array of feature contribution scores.
      */
     double[] getFeatureContributions(final Instance instance);
-}
\ No newline at end of file
+
+    /**
+     * Gets the feature contribution scores for each of the given instances, writing them into the caller-supplied
+     * matrix, so that no matrix needs to be allocated per call.
+     *
+     * @param instances     The instances.
+     * @param contributions The matrix where to write the contributions: row {@code i} receives the contributions for
+     *                      {@code instances[i]}, and should have one column per feature contribution.
+     * @since 1.3.0
+     */
+    default void getFeatureContributions(final Instance[] instances, final double[][] contributions) {
+        Preconditions.checkNotNull(instances, "instances should not be null");
+        Preconditions.checkNotNull(contributions, "contributions should not be null");
+        Preconditions.checkArgument(
+                contributions.length >= instances.length,
+                "the contributions matrix has %s rows, but there are %s instances", contributions.length, instances.length
+        );
+
+        for (int row = 0; row < instances.length; row++) {
+            final double[] rowContributions = getFeatureContributions(instances[row]);
+            System.arraycopy(rowContributions, 0, contributions[row], 0, rowContributions.length);
+        }
+    }
+
+    /**
+     * Gets the feature contribution scores for each of the instances of a {@link Dataset}, in iteration order, writing
+     * them into the caller-supplied matrix.
+     *
+     * @param dataset       The dataset.
+     * @param contributions The matrix where to write the contributions: row {@code i} receives the contributions for
+     *                      the {@code i}-th instance of the dataset, and should have one column per feature
+     *                      contribution.
+     * @return The number of instances explained, i.e. the number of rows written.
+     * @since 1.3.0
+     */
+    default int getFeatureContributions(final Dataset dataset, final double[][] contributions) {
+        Preconditions.checkNotNull(dataset, "dataset should not be null");
+        Preconditions.checkNotNull(contributions, "contributions should not be null");
+
+        int row = 0;
+        final Iterator<Instance> instances = dataset.getInstances();
+        while (instances.hasNext()) {
+            Preconditions.checkArgument(
+                    row < contributions.length,
+                    "the contributions matrix has %s rows, but the dataset has more instances", contributions.length
+            );
+            final double[] rowContributions = getFeatureContributions(instances.next());
+            System.arraycopy(rowContributions, 0, contributions[row++], 0, rowContributions.length);
+        }
+        return row;
+    }
+
+    /**
+     * Gets the {@code k} feature contributions with the largest magnitude for a particular {@link Instance}, sorted by
+     * decreasing magnitude.
+     *
+     * @param instance the {@link Instance}.
+     * @param k        The maximum number of contributions to return.
+     * @return The top contributions, with at most {@code k} features.
+     * @since 1.3.0
+     */
+    default TopFeatureContributions getTopFeatureContributions(final Instance instance, final int k) {
+        return TopFeatureContributions.select(getFeatureContributions(instance), k);
+    }
+}
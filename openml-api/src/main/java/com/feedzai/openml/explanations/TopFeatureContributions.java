@@ -0,0 +1,250 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.explanations;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+import java.util.Arrays;
+
+/**
+ * The {@code k} feature contributions with the largest magnitude for a prediction, as returned by
+ * {@link ModelExplainer#getTopFeatureContributions}.
+ * <p>
+ * The indexes of the features and their contributions are kept in parallel primitive arrays, sorted by decreasing
+ * magnitude of the contribution. Instances are immutable: the arrays are copied when they are given or returned, and
+ * {@link #getFeatureIndex(int)} and {@link #getContribution(int)} read a single position without any copy.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public final class TopFeatureContributions {
+
+    /**
+     * The indexes of the features, sorted by decreasing magnitude of their contribution.
+     */
+    private final int[] featureIndexes;
+
+    /**
+     * The contributions of the features in {@link #featureIndexes}.
+     */
+    private final double[] contributions;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param featureIndexes The indexes of the features, sorted by decreasing magnitude of their contribution.
+     * @param contributions  The contributions of the features, in the same order.
+     */
+    public TopFeatureContributions(final int[] featureIndexes, final double[] contributions) {
+        Preconditions.checkNotNull(featureIndexes, "featureIndexes should not be null");
+        Preconditions.checkNotNull(contributions, "contributions should not be null");
+        Preconditions.checkArgument(
+                featureIndexes.length == contributions.length,
+                "there should be one contribution per feature index"
+        );
+        this.featureIndexes = featureIndexes.clone();
+        this.contributions = contributions.clone();
+    }
+
+    /**
+     * Selects the {@code k} contributions with the largest magnitude from a full vector of feature contributions.
+     * <p>
+     * This takes {@code O(n log k)} time, without sorting the full vector.
+     *
+     * @param contributions The feature contributions, by feature index.
+     * @param k             The maximum number of contributions to select.
+     * @return The selected contributions.
+     */
+    public static TopFeatureContributions select(final double[] contributions, final int k) {
+        Preconditions.checkNotNull(contributions, "contributions should not be null");
+        Preconditions.checkArgument(k >= 0, "k should not be negative");
+
+        final int size = Math.min(k, contributions.length);
+        // min-heap (by magnitude) with the largest contributions seen so far
+        final int[] heap = new int[size];
+        int heapSize = 0;
+        for (int feature = 0; feature < contributions.length && size > 0; feature++) {
+            if (heapSize < size) {
+                heap[heapSize] = feature;
+                siftUp(heap, heapSize++, contributions);
+            } else if (Math.abs(contributions[feature]) > Math.abs(contributions[heap[0]])) {
+                heap[0] = feature;
+                siftDown(heap, heapSize, contributions);
+            }
+        }
+
+        // popping the minimum fills the arrays from the end, so they end up sorted by decreasing magnitude
+        final int[] featureIndexes = new int[size];
+        final double[] topContributions = new double[size];
+        for (int position = size - 1; position >= 0; position--) {
+            featureIndexes[position] = heap[0];
+            topContributions[position] = contributions[heap[0]];
+            heap[0] = heap[--heapSize];
+            siftDown(heap, heapSize, contributions);
+        }
+        return new TopFeatureContributions(featureIndexes, topContributions);
+    }
+
+    /**
+     * Gets the indexes of the features, sorted by decreasing magnitude of their contribution.
+     *
+     * @return A copy of the feature indexes.
+     */
+    public int[] getFeatureIndexes() {
+        return this.featureIndexes.clone();
+    }
+
+    /**
+     * Gets the contributions of the features, in the same order as {@link #getFeatureIndexes()}.
+     *
+     * @return A copy of the feature contributions.
+     */
+    public double[] getContributions() {
+        return this.contributions.clone();
+    }
+
+    /**
+     * Gets the index of the feature at a position.
+     *
+     * @param position The position, from {@code 0} (the largest magnitude) to {@link #size()} (exclusive).
+     * @return The feature index.
+     */
+    public int getFeatureIndex(final int position) {
+        return this.featureIndexes[position];
+    }
+
+    /**
+     * Gets the contribution of the feature at a position.
+     *
+     * @param position The position, from {@code 0} (the largest magnitude) to {@link #size()} (exclusive).
+     * @return The contribution.
+     */
+    public double getContribution(final int position) {
+        return this.contributions[position];
+    }
+
+    /**
+     * Gets the number of contributions.
+     *
+     * @return The number of contributions.
+     */
+    public int size() {
+        return this.featureIndexes.length;
+    }
+
+    /**
+     * Moves the last element of the heap up to its place.
+     *
+     * @param heap          The heap of feature indexes.
+     * @param position      The position of the element.
+     * @param contributions The feature contributions, by feature index.
+     */
+    private static void siftUp(final int[] heap, final int position, final double[] contributions) {
+        int child = position;
+        while (child > 0) {
+            final int parent = (child - 1) / 2;
+            if (!isSmaller(heap[child], heap[parent], contributions)) {
+                break;
+            }
+            swap(heap, child, parent);
+            child = parent;
+        }
+    }
+
+    /**
+     * Moves the first element of the heap down to its place.
+     *
+     * @param heap          The heap of feature indexes.
+     * @param heapSize      The number of elements in the heap.
+     * @param contributions The feature contributions, by feature index.
+     */
+    private static void siftDown(final int[] heap, final int heapSize, final double[] contributions) {
+        int parent = 0;
+        while (true) {
+            final int left = 2 * parent + 1;
+            final int right = left + 1;
+            int smallest = parent;
+            if (left < heapSize && isSmaller(heap[left], heap[smallest], contributions)) {
+                smallest = left;
+            }
+            if (right < heapSize && isSmaller(heap[right], heap[smallest], contributions)) {
+                smallest = right;
+            }
+            if (smallest == parent) {
+                return;
+            }
+            swap(heap, parent, smallest);
+            parent = smallest;
+        }
+    }
+
+    /**
+     * Compares the magnitude of the contributions of two features. Ties are broken by the feature index, so that the
+     * features with the lowest indexes are preferred.
+     *
+     * @param feature       A feature index.
+     * @param other         Another feature index.
+     * @param contributions The feature contributions, by feature index.
+     * @return {@code true} if the contribution of {@code feature} ranks below the one of {@code other}.
+     */
+    private static boolean isSmaller(final int feature, final int other, final double[] contributions) {
+        final int comparison = Double.compare(Math.abs(contributions[feature]), Math.abs(contributions[other]));
+        return comparison < 0 || (comparison == 0 && feature > other);
+    }
+
+    /**
+     * Swaps two elements of the heap.
+     *
+     * @param heap  The heap.
+     * @param i     The position of an element.
+     * @param j     The position of another element.
+     */
+    private static void swap(final int[] heap, final int i, final int j) {
+        final int temp = heap[i];
+        heap[i] = heap[j];
+        heap[j] = temp;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(this.featureIndexes) + Arrays.hashCode(this.contributions);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        final TopFeatureContributions other = (TopFeatureContributions) obj;
+        return Arrays.equals(this.featureIndexes, other.featureIndexes)
+                && Arrays.equals(this.contributions, other.contributions);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("featureIndexes", Arrays.toString(this.featureIndexes))
+                .add("contributions", Arrays.toString(this.contributions))
+                .toString();
+    }
+}
@@ -19,6 +19,7 @@ package com.feedzai.openml.model;
 
 import com.feedzai.openml.data.Instance;
 import com.feedzai.openml.data.schema.DatasetSchema;
+import com.google.common.base.Preconditions;
 
 /**
  * Base interface that every Classification {@link MachineLearningModel} should implement.
@@ -36,6 +37,32 @@ public interface ClassificationMLModel extends MachineLearningModel {
      */
     double[] getClassDistribution(Instance instance);
 
+    /**
+     * Calculates the class probabilities distributions for a batch of {@link Instance}s, writing them into the
+     * caller-supplied matrix.
+     * <p>
+     * By default this scores each instance with {@link #getClassDistribution(Instance)}. Models that can score several
+     * instances at once more efficiently (e.g. vectorised implementations) should override this method.
+     *
+     * @param instances     The {@link Instance}s to be classified.
+     * @param distributions The matrix where to write the class probabilities distributions: row {@code i} receives the
+     *                      distribution of {@code instances[i]}, and should have one column per class.
+     * @since 1.3.0
+     */
+    default void getClassDistributions(final Instance[] instances, final double[][] distributions) {
+        Preconditions.checkNotNull(instances, "instances should not be null");
+        Preconditions.checkNotNull(distributions, "distributions should not be null");
+        Preconditions.checkArgument(
+                distributions.length >= instances.length,
+                "the distributions matrix has %s rows, but there are %s instances", distributions.length, instances.length
+        );
+
+        for (int row = 0; row < instances.length; row++) {
+            final double[] distribution = getClassDistribution(instances[row]);
+            System.arraycopy(distribution, 0, distributions[row], 0, distribution.length);
+        }
+    }
+
     /**
      * Classifies an {@link Instance} according to the classes provided by the {@link DatasetSchema} feed to the algorithm.
      *
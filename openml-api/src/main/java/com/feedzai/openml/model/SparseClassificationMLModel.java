@@ -0,0 +1,45 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.model;
+
+import com.feedzai.openml.data.Instance;
+import com.feedzai.openml.data.SparseInstance;
+
+/**
+ * An optional capability of {@link ClassificationMLModel}s that can score {@link SparseInstance}s more efficiently
+ * than through {@link Instance#getValue(int)}, e.g. linear models or trees that only visit the present values.
+ * <p>
+ * Callers that hold sparse data should check for this capability and, if present, pass their instances as they are,
+ * instead of converting them to a dense representation first.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public interface SparseClassificationMLModel extends ClassificationMLModel {
+
+    /**
+     * Calculates the class probabilities distributions for a batch of {@link SparseInstance}s, writing them into the
+     * caller-supplied matrix, with the same results as {@link #getClassDistributions(Instance[], double[][])}.
+     *
+     * @param instances     The {@link SparseInstance}s to be classified.
+     * @param distributions The matrix where to write the class probabilities distributions: row {@code i} receives the
+     *                      distribution of {@code instances[i]}, and should have one column per class.
+     */
+    void getSparseClassDistributions(SparseInstance[] instances, double[][] distributions);
+}
@@ -0,0 +1,77 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.provider.exception;
+
+import com.feedzai.openml.model.MachineLearningModel;
+
+import java.util.Optional;
+
+/**
+ * Exception thrown when the training of a ML Model stops because it was cancelled, through a
+ * {@link com.feedzai.openml.provider.model.TrainingCancellationToken}.
+ * <p>
+ * Trainers that build their model incrementally (e.g. boosting or iterative optimisation) can attach the best model
+ * obtained before the cancellation, so that callers that stop a training because of a time budget can still use it.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public class TrainingCancelledException extends ModelTrainingException {
+
+    /**
+     * The serial version UID.
+     */
+    private static final long serialVersionUID = -3021553416958717374L;
+
+    /**
+     * The best model obtained before the training was cancelled, or {@code null} if there is none. This model is not
+     * serialized with the exception.
+     */
+    private final transient MachineLearningModel bestModel;
+
+    /**
+     * Constructs a new exception with the specified detail message.
+     *
+     * @param message the detail message, with the reason of the cancellation.
+     */
+    public TrainingCancelledException(final String message) {
+        this(message, null);
+    }
+
+    /**
+     * Constructs a new exception with the specified detail message and the best model obtained before the training
+     * was cancelled.
+     *
+     * @param message   the detail message, with the reason of the cancellation.
+     * @param bestModel the best model obtained so far, or {@code null} if there is none.
+     */
+    public TrainingCancelledException(final String message, final MachineLearningModel bestModel) {
+        super(message);
+        this.bestModel = bestModel;
+    }
+
+    /**
+     * Gets the best model obtained before the training was cancelled.
+     *
+     * @return The best model, or {@link Optional#empty()} if the trainer doesn't provide one.
+     */
+    public Optional<MachineLearningModel> getBestModel() {
+        return Optional.ofNullable(this.bestModel);
+    }
+}
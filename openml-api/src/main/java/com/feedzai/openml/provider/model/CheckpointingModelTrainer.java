@@ -0,0 +1,73 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.provider.model;
+
+import com.feedzai.openml.data.Dataset;
+import com.feedzai.openml.model.MachineLearningModel;
+import com.feedzai.openml.provider.exception.ModelTrainingException;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * An optional capability of {@link MachineLearningModelTrainer}s whose training can be resumed after the process
+ * running it dies, instead of restarting from scratch.
+ * <p>
+ * When the parameters given to {@link #fit(Dataset, Random, Map)} have a {@link #CHECKPOINT_DIRECTORY_PARAM}, the
+ * trainer periodically writes snapshots of its training state (checkpoints) to that directory, about every
+ * {@link #CHECKPOINT_INTERVAL_PARAM} seconds. Checkpoints must be written atomically, so that a crash while writing
+ * never leaves a corrupted checkpoint behind, and should be written without blocking the training loop on disk I/O.
+ * Training is then continued from a checkpoint with
+ * {@link #resume(Path, Dataset, Random, Map)}.
+ *
+ * @param <T> The {@link MachineLearningModel} this entity is responsible for instantiating.
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public interface CheckpointingModelTrainer<T extends MachineLearningModel> extends MachineLearningModelTrainer<T> {
+
+    /**
+     * The name of the parameter with the path of the directory where the checkpoints are written. Without it, no
+     * checkpoints are written.
+     */
+    String CHECKPOINT_DIRECTORY_PARAM = "checkpoint directory";
+
+    /**
+     * The name of the parameter with the approximate interval between checkpoints, in seconds. When absent, the
+     * trainer chooses the interval.
+     */
+    String CHECKPOINT_INTERVAL_PARAM = "checkpoint interval";
+
+    /**
+     * Resumes the training of a model from a checkpoint previously written by this trainer.
+     * <p>
+     * The dataset, random and parameters should be the same that were given to the interrupted training, so that the
+     * resulting model is equivalent to the one that training would have produced. If the parameters have a
+     * {@link #CHECKPOINT_DIRECTORY_PARAM}, the resumed training keeps writing checkpoints there.
+     *
+     * @param checkpoint The path of the checkpoint.
+     * @param dataset    The {@link Dataset} containing the data.
+     * @param random     A random object to be used as the source of randomness to allow repeatable results.
+     * @param params     The collection of parameters and the corresponding values.
+     * @return A {@link MachineLearningModel} trained and ready to be used.
+     * @throws ModelTrainingException If the checkpoint cannot be read or any problem occurs training the algorithm.
+     */
+    T resume(Path checkpoint, Dataset dataset, Random random, Map<String, String> params) throws ModelTrainingException;
+}
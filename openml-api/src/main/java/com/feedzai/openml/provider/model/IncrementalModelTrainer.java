@@ -0,0 +1,74 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.provider.model;
+
+import com.feedzai.openml.data.Dataset;
+import com.feedzai.openml.data.schema.DatasetSchema;
+import com.feedzai.openml.model.MachineLearningModel;
+import com.feedzai.openml.provider.descriptor.fieldtype.ParamValidationError;
+import com.feedzai.openml.provider.exception.ModelTrainingException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * An optional capability of {@link MachineLearningModelTrainer}s whose algorithms support warm starts: instead of
+ * fitting a new model from scratch on the whole history, an existing model is refreshed with a batch of new data
+ * through {@link #update(MachineLearningModel, Dataset, Random, Map)}.
+ * <p>
+ * Callers should check whether a trainer implements this interface and fall back to
+ * {@link #fit(Dataset, Random, Map)} otherwise.
+ *
+ * @param <T> The {@link MachineLearningModel} this entity is responsible for instantiating.
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public interface IncrementalModelTrainer<T extends MachineLearningModel> extends MachineLearningModelTrainer<T> {
+
+    /**
+     * Produces a refreshed model from an existing one and a batch of new data.
+     * <p>
+     * The given model must not be modified: it may still be serving predictions while the refreshed model is
+     * produced, and must remain usable afterwards. The refreshed model is a new instance, with the same
+     * {@link MachineLearningModel#getSchema() schema} as the given one. An empty batch produces a model equivalent to
+     * the given one.
+     *
+     * @param model  The model to refresh, previously produced by this trainer (by fitting, loading or updating).
+     * @param batch  The {@link Dataset} with the new data, with the same schema as the model.
+     * @param random A random object to be used as the source of randomness to allow repeatable results.
+     * @param params The collection of parameters and the corresponding values.
+     * @return The refreshed {@link MachineLearningModel}, ready to be used.
+     * @throws ModelTrainingException If the model cannot be refreshed, e.g. if the batch has a different schema.
+     */
+    T update(T model, Dataset batch, Random random, Map<String, String> params) throws ModelTrainingException;
+
+    /**
+     * Validates that the algorithm can be used to refresh a model with data with the given {@link DatasetSchema}
+     * for the provided parameters.
+     *
+     * @param model  The model to refresh.
+     * @param schema The {@link DatasetSchema schema of the batches} to be feeded into the algorithm.
+     * @param params The collection of parameters and the corresponding values.
+     * @return A possible empty list of {@link ParamValidationError}s. An empty list means no problems/errors were
+     * found, and therefore the model can be refreshed with batches with the corresponding {@link DatasetSchema} and
+     * parameters.
+     */
+    List<ParamValidationError> validateForUpdate(T model, DatasetSchema schema, Map<String, String> params);
+}
@@ -0,0 +1,62 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.provider.model;
+
+import com.feedzai.openml.data.Dataset;
+import com.feedzai.openml.model.MachineLearningModel;
+import com.feedzai.openml.provider.exception.ModelTrainingException;
+import com.feedzai.openml.provider.exception.TrainingCancelledException;
+
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * An optional capability of {@link MachineLearningModelTrainer}s that report the progress of the training and can be
+ * cancelled while they train.
+ * <p>
+ * {@link #fit(Dataset, Random, Map)} should behave as this trainer's
+ * {@link #fit(Dataset, Random, Map, TrainingProgressListener, TrainingCancellationToken)} with
+ * {@link TrainingProgressListener#NO_OP} and a token that is never cancelled.
+ *
+ * @param <T> The {@link MachineLearningModel} this entity is responsible for instantiating.
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public interface ProgressReportingModelTrainer<T extends MachineLearningModel> extends MachineLearningModelTrainer<T> {
+
+    /**
+     * Fits the {@link MachineLearningModel} to the given {@link Dataset}, reporting the progress to the given listener
+     * (e.g. once per iteration) and stopping as soon as possible once the token is cancelled.
+     *
+     * @param dataset  The {@link Dataset} containing the data.
+     * @param random   A random object to be used as the source of randomness to allow repeatable results.
+     * @param params   The collection of parameters and the corresponding values.
+     * @param listener The listener of the progress of the training.
+     * @param token    The token checked periodically to stop the training.
+     * @return A {@link MachineLearningModel} trained and ready to be used.
+     * @throws TrainingCancelledException If the training stopped because the token was cancelled, possibly with the
+     *                                    best model obtained before the cancellation.
+     * @throws ModelTrainingException     If any problem occurs training the algorithm.
+     */
+    T fit(Dataset dataset,
+          Random random,
+          Map<String, String> params,
+          TrainingProgressListener listener,
+          TrainingCancellationToken token) throws ModelTrainingException;
+}
@@ -0,0 +1,157 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.provider.model;
+
+import com.feedzai.openml.provider.exception.TrainingCancelledException;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * A token that lets the caller of a trainer stop a running training, which the trainer checks cooperatively (e.g. once
+ * per iteration), instead of relying on thread interruptions that native-backed implementations may ignore.
+ * <p>
+ * A token can be cancelled once, from any thread, and stays cancelled. A token created with
+ * {@link #withBudget(Duration)} also cancels itself once its time budget is exceeded, which is noticed the next time
+ * the trainer checks it. Instances of this class are thread-safe.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public final class TrainingCancellationToken {
+
+    /**
+     * The reason of the cancellation, or {@code null} while the token is not cancelled.
+     */
+    private volatile String cancellationReason = null;
+
+    /**
+     * The time budget of the training, or {@code null} if it has no deadline.
+     */
+    private final Duration budget;
+
+    /**
+     * The deadline of the training, as given by {@link System#nanoTime()}; only meaningful if there is a
+     * {@link #budget}.
+     */
+    private final long deadlineNanos;
+
+    /**
+     * Creates a new token, which is not cancelled and has no deadline.
+     */
+    public TrainingCancellationToken() {
+        this.budget = null;
+        this.deadlineNanos = 0;
+    }
+
+    /**
+     * Creates a new token with a deadline.
+     *
+     * @param budget The time budget of the training, counted from now.
+     */
+    private TrainingCancellationToken(final Duration budget) {
+        this.budget = budget;
+        this.deadlineNanos = System.nanoTime() + budget.toNanos();
+    }
+
+    /**
+     * Creates a new token that cancels itself once the given time budget, counted from now, is exceeded.
+     *
+     * @param budget The time budget of the training.
+     * @return The token.
+     */
+    public static TrainingCancellationToken withBudget(final Duration budget) {
+        Preconditions.checkNotNull(budget, "budget cannot be null");
+        Preconditions.checkArgument(!budget.isNegative(), "the budget should not be negative");
+        return new TrainingCancellationToken(budget);
+    }
+
+    /**
+     * Requests the training to stop.
+     *
+     * @param reason The reason of the cancellation, reported in the {@link TrainingCancelledException}.
+     */
+    public void cancel(final String reason) {
+        Preconditions.checkNotNull(reason, "reason cannot be null");
+        synchronized (this) {
+            if (this.cancellationReason == null) {
+                this.cancellationReason = reason;
+            }
+        }
+    }
+
+    /**
+     * Checks whether the training was requested to stop.
+     *
+     * @return {@code true} if the token was cancelled, {@code false} otherwise.
+     */
+    public boolean isCancelled() {
+        return getCancellationReason() != null;
+    }
+
+    /**
+     * Gets the time left until the deadline of this token.
+     *
+     * @return The remaining time, which is zero once the deadline passed, or {@link Optional#empty()} if this token
+     * has no deadline.
+     */
+    public Optional<Duration> getRemainingTime() {
+        if (this.budget == null) {
+            return Optional.empty();
+        }
+        return Optional.of(Duration.ofNanos(Math.max(0, this.deadlineNanos - System.nanoTime())));
+    }
+
+    /**
+     * Throws a {@link TrainingCancelledException} if the training was requested to stop, to be called periodically by
+     * trainers.
+     *
+     * @throws TrainingCancelledException If the token was cancelled.
+     */
+    public void throwIfCancelled() throws TrainingCancelledException {
+        final String reason = getCancellationReason();
+        if (reason != null) {
+            throw new TrainingCancelledException(String.format("The training was cancelled: %s", reason));
+        }
+    }
+
+    /**
+     * Gets the reason of the cancellation, cancelling this token first if its deadline passed.
+     *
+     * @return The reason of the cancellation, or {@code null} if the token is not cancelled.
+     */
+    private String getCancellationReason() {
+        final String reason = this.cancellationReason;
+        if (reason == null && this.budget != null && System.nanoTime() - this.deadlineNanos >= 0) {
+            cancel(String.format("the time budget of %s was exceeded", this.budget));
+            return this.cancellationReason;
+        }
+        return reason;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("cancellationReason", this.cancellationReason)
+                .add("budget", this.budget)
+                .toString();
+    }
+}
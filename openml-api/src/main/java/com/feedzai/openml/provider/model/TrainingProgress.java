@@ -0,0 +1,298 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.provider.model;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+/**
+ * A snapshot of the progress of a training, reported to a {@link TrainingProgressListener}: the current iteration,
+ * the loss, the elapsed time, the rows processed and the peak memory used so far.
+ * <p>
+ * Values that a trainer doesn't know are absent: the total number of iterations (for trainers that stop on
+ * convergence) and the loss (for algorithms without one).
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public final class TrainingProgress {
+
+    /**
+     * The number of iterations completed.
+     */
+    private final long iteration;
+
+    /**
+     * The total number of iterations, or {@code -1} if unknown.
+     */
+    private final long totalIterations;
+
+    /**
+     * The current loss, or {@link Double#NaN} if unknown.
+     */
+    private final double loss;
+
+    /**
+     * The time elapsed since the training started, in nanoseconds.
+     */
+    private final long elapsedNanos;
+
+    /**
+     * The number of rows processed since the training started.
+     */
+    private final long rowsProcessed;
+
+    /**
+     * The peak memory used since the training started, in bytes.
+     */
+    private final long peakMemoryBytes;
+
+    /**
+     * Creates a new instance from the given builder.
+     *
+     * @param builder The builder.
+     */
+    private TrainingProgress(final Builder builder) {
+        this.iteration = builder.iteration;
+        this.totalIterations = builder.totalIterations;
+        this.loss = builder.loss;
+        this.elapsedNanos = builder.elapsedNanos;
+        this.rowsProcessed = builder.rowsProcessed;
+        this.peakMemoryBytes = builder.peakMemoryBytes;
+    }
+
+    /**
+     * Creates a new builder of the progress at the given iteration.
+     *
+     * @param iteration The number of iterations completed.
+     * @return The builder.
+     */
+    public static Builder builder(final long iteration) {
+        return new Builder(iteration);
+    }
+
+    /**
+     * Gets the number of iterations completed.
+     *
+     * @return The number of iterations.
+     */
+    public long getIteration() {
+        return this.iteration;
+    }
+
+    /**
+     * Gets the total number of iterations of the training.
+     *
+     * @return The total number of iterations, or an empty value if unknown.
+     */
+    public OptionalLong getTotalIterations() {
+        return this.totalIterations < 0 ? OptionalLong.empty() : OptionalLong.of(this.totalIterations);
+    }
+
+    /**
+     * Gets the current loss.
+     *
+     * @return The loss, or {@link Double#NaN} if unknown.
+     */
+    public double getLoss() {
+        return this.loss;
+    }
+
+    /**
+     * Gets the time elapsed since the training started.
+     *
+     * @return The elapsed time.
+     */
+    public Duration getElapsed() {
+        return Duration.ofNanos(this.elapsedNanos);
+    }
+
+    /**
+     * Gets the number of rows processed since the training started (counting each pass over the data).
+     *
+     * @return The number of rows processed.
+     */
+    public long getRowsProcessed() {
+        return this.rowsProcessed;
+    }
+
+    /**
+     * Gets the throughput of the training.
+     *
+     * @return The number of rows processed per second, or {@code 0} if no time elapsed.
+     */
+    public double getRowsPerSecond() {
+        return this.elapsedNanos == 0 ? 0 : this.rowsProcessed * 1e9 / this.elapsedNanos;
+    }
+
+    /**
+     * Gets the peak memory used since the training started.
+     *
+     * @return The peak memory, in bytes, or {@code 0} if unknown.
+     */
+    public long getPeakMemoryBytes() {
+        return this.peakMemoryBytes;
+    }
+
+    /**
+     * Estimates the time left to complete the training, assuming the remaining iterations take as long as the
+     * completed ones on average.
+     *
+     * @return The estimated time left, or an empty value if the total number of iterations is unknown or no
+     * iteration was completed yet.
+     */
+    public Optional<Duration> getEstimatedTimeRemaining() {
+        if (this.totalIterations < 0 || this.iteration == 0) {
+            return Optional.empty();
+        }
+        final long remainingIterations = Math.max(0, this.totalIterations - this.iteration);
+        return Optional.of(Duration.ofNanos((long) ((double) this.elapsedNanos / this.iteration * remainingIterations)));
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("iteration", this.iteration)
+                .add("totalIterations", this.totalIterations)
+                .add("loss", this.loss)
+                .add("elapsed", getElapsed())
+                .add("rowsProcessed", this.rowsProcessed)
+                .add("peakMemoryBytes", this.peakMemoryBytes)
+                .toString();
+    }
+
+    /**
+     * Builder of {@link TrainingProgress}.
+     */
+    public static final class Builder {
+
+        /**
+         * The number of iterations completed.
+         */
+        private final long iteration;
+
+        /**
+         * The total number of iterations, or {@code -1} if unknown.
+         */
+        private long totalIterations = -1;
+
+        /**
+         * The current loss, or {@link Double#NaN} if unknown.
+         */
+        private double loss = Double.NaN;
+
+        /**
+         * The time elapsed since the training started, in nanoseconds.
+         */
+        private long elapsedNanos = 0;
+
+        /**
+         * The number of rows processed since the training started.
+         */
+        private long rowsProcessed = 0;
+
+        /**
+         * The peak memory used since the training started, in bytes.
+         */
+        private long peakMemoryBytes = 0;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param iteration The number of iterations completed.
+         */
+        private Builder(final long iteration) {
+            Preconditions.checkArgument(iteration >= 0, "the iteration should not be negative");
+            this.iteration = iteration;
+        }
+
+        /**
+         * Sets the total number of iterations of the training, when known.
+         *
+         * @param totalIterations The total number of iterations.
+         * @return This builder.
+         */
+        public Builder withTotalIterations(final long totalIterations) {
+            Preconditions.checkArgument(totalIterations >= 0, "the total number of iterations should not be negative");
+            this.totalIterations = totalIterations;
+            return this;
+        }
+
+        /**
+         * Sets the current loss, when the algorithm has one.
+         *
+         * @param loss The loss.
+         * @return This builder.
+         */
+        public Builder withLoss(final double loss) {
+            this.loss = loss;
+            return this;
+        }
+
+        /**
+         * Sets the time elapsed since the training started.
+         *
+         * @param elapsed The elapsed time.
+         * @return This builder.
+         */
+        public Builder withElapsed(final Duration elapsed) {
+            Preconditions.checkNotNull(elapsed, "elapsed cannot be null");
+            Preconditions.checkArgument(!elapsed.isNegative(), "the elapsed time should not be negative");
+            this.elapsedNanos = elapsed.toNanos();
+            return this;
+        }
+
+        /**
+         * Sets the number of rows processed since the training started.
+         *
+         * @param rowsProcessed The number of rows processed.
+         * @return This builder.
+         */
+        public Builder withRowsProcessed(final long rowsProcessed) {
+            Preconditions.checkArgument(rowsProcessed >= 0, "the number of rows processed should not be negative");
+            this.rowsProcessed = rowsProcessed;
+            return this;
+        }
+
+        /**
+         * Sets the peak memory used since the training started.
+         *
+         * @param peakMemoryBytes The peak memory, in bytes.
+         * @return This builder.
+         */
+        public Builder withPeakMemoryBytes(final long peakMemoryBytes) {
+            Preconditions.checkArgument(peakMemoryBytes >= 0, "the peak memory should not be negative");
+            this.peakMemoryBytes = peakMemoryBytes;
+            return this;
+        }
+
+        /**
+         * Creates the {@link TrainingProgress} with the values of this builder.
+         *
+         * @return The progress.
+         */
+        public TrainingProgress build() {
+            return new TrainingProgress(this);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.provider.model;
+
+/**
+ * Receives the {@link TrainingProgress} reported by a {@link ProgressReportingModelTrainer} while it trains a model.
+ * <p>
+ * Listeners are called synchronously by the training thread, so they should return quickly; to stop a hopeless
+ * training, a listener can cancel the {@link TrainingCancellationToken} given to the trainer.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+@FunctionalInterface
+public interface TrainingProgressListener {
+
+    /**
+     * A listener that ignores the progress.
+     */
+    TrainingProgressListener NO_OP = progress -> { };
+
+    /**
+     * Receives a progress report.
+     *
+     * @param progress The progress of the training.
+     */
+    void onProgress(TrainingProgress progress);
+}
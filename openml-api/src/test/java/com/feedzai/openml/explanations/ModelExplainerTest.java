@@ -0,0 +1,232 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.explanations;
+
+import com.feedzai.openml.data.Dataset;
+import com.feedzai.openml.data.FeatureValues;
+import com.feedzai.openml.data.Instance;
+import com.feedzai.openml.data.PartitionedDataset;
+import com.feedzai.openml.data.schema.DatasetSchema;
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests the default batch and top-k methods of {@link ModelExplainer}.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public class ModelExplainerTest {
+
+    /**
+     * An explainer whose contributions are the values of the first 4 fields of the instance.
+     */
+    private static final ModelExplainer EXPLAINER = instance -> new double[]{
+            instance.getValue(0), instance.getValue(1), instance.getValue(2), instance.getValue(3)
+    };
+
+    /**
+     * The instances explained in the tests.
+     */
+    private static final List<Instance> INSTANCES = ImmutableList.of(
+            instance(1, -5, 3, 0),
+            instance(0.5, 0.25, -0.75, 2)
+    );
+
+    /**
+     * Tests the batch explanation of an array of instances.
+     */
+    @Test
+    public void testBatchInstances() {
+        final double[][] contributions = new double[3][4];
+        EXPLAINER.getFeatureContributions(INSTANCES.toArray(new Instance[0]), contributions);
+
+        assertThat(contributions[0])
+                .as("the contributions of the first instance")
+                .containsExactly(1, -5, 3, 0);
+        assertThat(contributions[1])
+                .as("the contributions of the second instance")
+                .containsExactly(0.5, 0.25, -0.75, 2);
+        assertThat(contributions[2])
+                .as("the row without an instance")
+                .containsExactly(0, 0, 0, 0);
+
+        assertThatThrownBy(() -> EXPLAINER.getFeatureContributions(INSTANCES.toArray(new Instance[0]), new double[1][4]))
+                .as("explaining into a matrix with too few rows")
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Tests the batch explanation of a dataset.
+     */
+    @Test
+    public void testBatchDataset() {
+        final double[][] contributions = new double[2][4];
+        final int explained = EXPLAINER.getFeatureContributions(new ListDataset(INSTANCES), contributions);
+
+        assertThat(explained)
+                .as("the number of instances explained")
+                .isEqualTo(2);
+        assertThat(contributions[1])
+                .as("the contributions of the second instance")
+                .containsExactly(0.5, 0.25, -0.75, 2);
+
+        assertThatThrownBy(() -> EXPLAINER.getFeatureContributions(new ListDataset(INSTANCES), new double[1][4]))
+                .as("explaining into a matrix with too few rows")
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Tests that the top-k contributions are the ones with the largest magnitude, sorted.
+     */
+    @Test
+    public void testTopContributions() {
+        final TopFeatureContributions top = EXPLAINER.getTopFeatureContributions(INSTANCES.get(0), 2);
+
+        assertThat(top.getFeatureIndexes())
+                .as("the indexes of the top features")
+                .containsExactly(1, 2);
+        assertThat(top.getContributions())
+                .as("the top contributions")
+                .containsExactly(-5, 3);
+
+        top.getFeatureIndexes()[0] = 0;
+        assertThat(top.getFeatureIndex(0))
+                .as("the index of the top feature after modifying the returned array")
+                .isEqualTo(1);
+        assertThat(top.getContribution(1))
+                .as("the second top contribution")
+                .isEqualTo(3);
+
+        assertThat(EXPLAINER.getTopFeatureContributions(INSTANCES.get(1), 10).getFeatureIndexes())
+                .as("the indexes of all features, when k is larger than the number of features")
+                .containsExactly(3, 2, 0, 1);
+        assertThat(EXPLAINER.getTopFeatureContributions(INSTANCES.get(1), 0).size())
+                .as("the number of contributions when k is 0")
+                .isZero();
+    }
+
+    /**
+     * Tests the selection of the top contributions with ties and many features.
+     */
+    @Test
+    public void testSelect() {
+        assertThat(TopFeatureContributions.select(new double[]{1, -1, 1, 2}, 3))
+                .as("the top contributions with ties, which prefer the lowest indexes")
+                .isEqualTo(new TopFeatureContributions(new int[]{3, 0, 1}, new double[]{2, 1, -1}));
+
+        final double[] contributions = new double[1000];
+        for (int feature = 0; feature < contributions.length; feature++) {
+            contributions[feature] = (feature % 2 == 0 ? 1 : -1) * ((feature * 7919) % 1000);
+        }
+        final TopFeatureContributions top = TopFeatureContributions.select(contributions, 5);
+        assertThat(top.getContributions())
+                .as("the top contributions of many features")
+                .containsExactly(-999, 998, -997, 996, -995);
+    }
+
+    /**
+     * Creates an instance with the given numeric values.
+     *
+     * @param values The values.
+     * @return The instance.
+     */
+    private static Instance instance(final double... values) {
+        return new Instance() {
+            @Override
+            public double getValue(final int index) {
+                return values[index];
+            }
+
+            @Override
+            public String getStringValue(final int index) {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    /**
+     * A dataset that only supports iterating over a list of instances.
+     */
+    private static final class ListDataset implements Dataset {
+
+        /**
+         * The instances of the dataset.
+         */
+        private final List<Instance> instances;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param instances The instances of the dataset.
+         */
+        private ListDataset(final List<Instance> instances) {
+            this.instances = instances;
+        }
+
+        @Override
+        public DatasetSchema getSchema() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instance instance(final int index) {
+            return this.instances.get(index);
+        }
+
+        @Override
+        public FeatureValues feature(final int index) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Iterator<Instance> getInstances() {
+            return this.instances.iterator();
+        }
+
+        @Override
+        public Dataset filter(final Predicate<Instance> predicate) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public <K> Map<K, Dataset> groupBy(final Function<Instance, K> function) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public PartitionedDataset partition(final Predicate<Instance> predicate) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Dataset empty() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -18,23 +18,37 @@
 package com.feedzai.openml.example;
 
 import com.feedzai.openml.data.Dataset;
+import com.feedzai.openml.data.Instance;
 import com.feedzai.openml.data.schema.DatasetSchema;
 import com.feedzai.openml.provider.descriptor.fieldtype.ParamValidationError;
-import com.feedzai.openml.provider.model.MachineLearningModelTrainer;
+import com.feedzai.openml.provider.exception.ModelTrainingException;
+import com.feedzai.openml.provider.model.IncrementalModelTrainer;
+import com.feedzai.openml.provider.model.ProgressReportingModelTrainer;
+import com.feedzai.openml.provider.model.TrainingCancellationToken;
+import com.feedzai.openml.provider.model.TrainingProgressListener;
+import com.feedzai.openml.util.training.ProgressTracker;
 import com.google.common.collect.ImmutableList;
 
 import java.nio.file.Path;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
 
 /**
- * An example model trainer.
+ * An example model trainer, which also supports refreshing its models with new data and reporting the progress of the
+ * training.
  *
  * @author Pedro Rijo (pedro.rijo@feedzai.com)
  * @since 0.1.0
  */
-public class ExampleModelTrainer extends ExampleModelLoader implements MachineLearningModelTrainer<ExampleModel> {
+public class ExampleModelTrainer extends ExampleModelLoader
+        implements IncrementalModelTrainer<ExampleModel>, ProgressReportingModelTrainer<ExampleModel> {
+
+    /**
+     * The number of rows processed between checks of the cancellation token.
+     */
+    private static final int ROWS_BETWEEN_CHECKS = 1000;
 
     /**
      * Model trainer.
@@ -55,10 +69,67 @@ public class ExampleModelTrainer extends ExampleModelLoader implements MachineLe
         return loadModel(null, dataset.getSchema());
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The models of this example don't learn from the data, but this goes through the instances of the dataset once,
+     * as a single iteration, to show how trainers track the rows processed, check the token and report the progress.
+     */
+    @Override
+    public ExampleModel fit(final Dataset dataset,
+                            final Random random,
+                            final Map<String, String> params,
+                            final TrainingProgressListener listener,
+                            final TrainingCancellationToken token) throws ModelTrainingException {
+        final ProgressTracker tracker = new ProgressTracker(listener, token, 1);
+
+        final Iterator<Instance> instances = dataset.getInstances();
+        int rows = 0;
+        while (instances.hasNext()) {
+            instances.next();
+            if (++rows == ROWS_BETWEEN_CHECKS) {
+                tracker.addRows(rows);
+                rows = 0;
+            }
+        }
+        tracker.addRows(rows);
+        tracker.report(1, Double.NaN);
+
+        return fit(dataset, random, params);
+    }
+
     @Override
     public List<ParamValidationError> validateForFit(final Path pathToPersist,
                                                      final DatasetSchema schema,
                                                      final Map<String, String> params) {
         return ImmutableList.of();
     }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The models of this example don't learn from the data, so the refreshed model has the same predictions as the
+     * given one; a real provider would continue training from the state of the given model here.
+     */
+    @Override
+    public ExampleModel update(final ExampleModel model,
+                               final Dataset batch,
+                               final Random random,
+                               final Map<String, String> params) throws ModelTrainingException {
+        if (!model.getSchema().equals(batch.getSchema())) {
+            throw new ModelTrainingException("The batch should have the same schema as the model being updated.");
+        }
+
+        return loadModel(null, model.getSchema());
+    }
+
+    @Override
+    public List<ParamValidationError> validateForUpdate(final ExampleModel model,
+                                                        final DatasetSchema schema,
+                                                        final Map<String, String> params) {
+        if (!model.getSchema().equals(schema)) {
+            return ImmutableList.of(new ParamValidationError("The schema should be the same as the schema of the model."));
+        }
+        return ImmutableList.of();
+    }
 }
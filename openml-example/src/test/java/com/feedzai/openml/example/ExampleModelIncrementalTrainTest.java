@@ -0,0 +1,215 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.example;
+
+import com.feedzai.openml.data.Dataset;
+import com.feedzai.openml.data.Instance;
+import com.feedzai.openml.data.schema.DatasetSchema;
+import com.feedzai.openml.mocks.MockDataset;
+import com.feedzai.openml.mocks.MockInstance;
+import com.feedzai.openml.provider.MachineLearningProvider;
+import com.feedzai.openml.provider.descriptor.MLAlgorithmDescriptor;
+import com.feedzai.openml.util.algorithm.MLAlgorithmEnum;
+import com.feedzai.openml.util.data.schema.TestDatasetSchemaBuilder;
+import com.feedzai.openml.util.provider.AbstractProviderModelIncrementalTrainTest;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Ignore;
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Runs the conformance tests of incremental trainers on the {@link ExampleModelTrainer}.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public class ExampleModelIncrementalTrainTest extends AbstractProviderModelIncrementalTrainTest<
+        ExampleModel, ExampleModelTrainer, ExampleModelIncrementalTrainTest.ExampleTrainingProvider> {
+
+    /**
+     * The schema of the datasets used in the tests.
+     */
+    private static final DatasetSchema SCHEMA = TestDatasetSchemaBuilder.builder()
+            .withNumericalFields(2)
+            .withCategoricalFields(1)
+            .build();
+
+    /**
+     * The example models don't look at the instances, so they can't produce different distributions for different
+     * instances.
+     */
+    @Override
+    @Test
+    @Ignore("the example models always predict the same class, regardless of the instance")
+    public void createOneModelAndEvaluateInMultipleThreadsTest() {
+    }
+
+    @Override
+    public ExampleModel getFirstModel() {
+        return getFirstMachineLearningModelLoader().fit(getTrainDataset(), new Random(0), ImmutableMap.of());
+    }
+
+    @Override
+    public ExampleModel getSecondModel() {
+        return new ExampleModelTrainer(1).fit(getTrainDataset(), new Random(0), ImmutableMap.of());
+    }
+
+    @Override
+    public Set<Integer> getClassifyValuesOfFirstModel() {
+        return ImmutableSet.of(0, 1);
+    }
+
+    @Override
+    public Set<Integer> getClassifyValuesOfSecondModel() {
+        return ImmutableSet.of(0, 1);
+    }
+
+    @Override
+    public ExampleModelTrainer getFirstMachineLearningModelLoader() {
+        return new ExampleModelTrainer(0);
+    }
+
+    @Override
+    public ExampleTrainingProvider getMachineLearningProvider() {
+        return new ExampleTrainingProvider();
+    }
+
+    @Override
+    public Instance getDummyInstance() {
+        return new MockInstance(SCHEMA, new Random(0));
+    }
+
+    @Override
+    public Instance getDummyInstanceDifferentResult() {
+        return new MockInstance(SCHEMA, new Random(1));
+    }
+
+    @Override
+    public DatasetSchema createDatasetSchema(final Set<String> targetValues) {
+        return TestDatasetSchemaBuilder.builder()
+                .withNumericalFields(2)
+                .withCategoricalFields(1, targetValues)
+                .build();
+    }
+
+    @Override
+    public MLAlgorithmEnum getValidAlgorithm() {
+        return ExampleAlgorithm.PREDICT_FIRST;
+    }
+
+    @Override
+    public Set<String> getFirstModelTargetNominalValues() {
+        return TestDatasetSchemaBuilder.DEFAULT_NOMINAL_VALUES;
+    }
+
+    @Override
+    protected Dataset getTrainDataset() {
+        return new MockDataset(SCHEMA, 10, new Random(0));
+    }
+
+    @Override
+    protected Dataset getUpdateDataset() {
+        return new MockDataset(SCHEMA, 5, new Random(1));
+    }
+
+    @Override
+    protected Map<MLAlgorithmEnum, Map<String, String>> getIncrementalAlgorithms() {
+        return ImmutableMap.of(
+                ExampleAlgorithm.PREDICT_FIRST, ImmutableMap.of(),
+                ExampleAlgorithm.PREDICT_SECOND, ImmutableMap.of()
+        );
+    }
+
+    /**
+     * The algorithms of the {@link ExampleMLProvider}.
+     */
+    private enum ExampleAlgorithm implements MLAlgorithmEnum {
+
+        /**
+         * The algorithm that always predicts the first class.
+         */
+        PREDICT_FIRST(ExampleMLProvider.PREDICT_FIRST),
+
+        /**
+         * The algorithm that always predicts the second class.
+         */
+        PREDICT_SECOND(ExampleMLProvider.PREDICT_SECOND);
+
+        /**
+         * The name of the algorithm in the {@link ExampleMLProvider}.
+         */
+        private final String algorithmName;
+
+        /**
+         * Constructor.
+         *
+         * @param algorithmName The name of the algorithm in the {@link ExampleMLProvider}.
+         */
+        ExampleAlgorithm(final String algorithmName) {
+            this.algorithmName = algorithmName;
+        }
+
+        @Override
+        public MLAlgorithmDescriptor getAlgorithmDescriptor() {
+            return new ExampleMLProvider().getAlgorithms().stream()
+                    .filter(descriptor -> descriptor.getAlgorithmName().equals(this.algorithmName))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("Unknown algorithm " + this.algorithmName));
+        }
+    }
+
+    /**
+     * A view of the {@link ExampleMLProvider} that creates {@link ExampleModelTrainer}s, which are the incremental
+     * trainers of its models.
+     */
+    static final class ExampleTrainingProvider implements MachineLearningProvider<ExampleModelTrainer> {
+
+        /**
+         * The provider whose algorithms are exposed.
+         */
+        private final ExampleMLProvider provider = new ExampleMLProvider();
+
+        @Override
+        public String getName() {
+            return this.provider.getName();
+        }
+
+        @Override
+        public Set<MLAlgorithmDescriptor> getAlgorithms() {
+            return this.provider.getAlgorithms();
+        }
+
+        @Override
+        public Optional<ExampleModelTrainer> getModelCreator(final String algorithmName) {
+            switch (algorithmName) {
+                case ExampleMLProvider.PREDICT_FIRST:
+                    return Optional.of(new ExampleModelTrainer(0));
+                case ExampleMLProvider.PREDICT_SECOND:
+                    return Optional.of(new ExampleModelTrainer(1));
+                default:
+                    return Optional.empty();
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.example;
+
+import com.feedzai.openml.data.schema.DatasetSchema;
+import com.feedzai.openml.mocks.MockDataset;
+import com.feedzai.openml.provider.exception.ModelTrainingException;
+import com.feedzai.openml.provider.exception.TrainingCancelledException;
+import com.feedzai.openml.provider.model.TrainingCancellationToken;
+import com.feedzai.openml.provider.model.TrainingProgress;
+import com.feedzai.openml.util.data.schema.TestDatasetSchemaBuilder;
+import com.google.common.collect.ImmutableMap;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Simple validations on the incremental and progress reporting training of the {@link ExampleModelTrainer}.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public class ExampleModelTrainerTest {
+
+    /**
+     * Tests that updating a model produces a new model with the same schema and predictions.
+     *
+     * @throws ModelTrainingException If the model cannot be updated, which would be unexpected.
+     */
+    @Test
+    public void testUpdate() throws ModelTrainingException {
+        final ExampleModelTrainer trainer = new ExampleModelTrainer(1);
+        final DatasetSchema schema = TestDatasetSchemaBuilder.builder().withCategoricalFields(2).build();
+        final ExampleModel model = trainer.fit(new MockDataset(schema, 10, new Random(0)), new Random(0), ImmutableMap.of());
+
+        final MockDataset batch = new MockDataset(schema, 5, new Random(1));
+        assertThat(trainer.validateForUpdate(model, schema, ImmutableMap.of()))
+                .as("The validation errors to update the model")
+                .isEmpty();
+
+        final ExampleModel updated = trainer.update(model, batch, new Random(0), ImmutableMap.of());
+
+        assertThat(updated)
+                .as("The updated model")
+                .isNotSameAs(model);
+        assertThat(updated.getSchema())
+                .as("The schema of the updated model")
+                .isEqualTo(schema);
+        assertThat(updated.getClassDistribution(batch.instance(0)))
+                .as("The predictions of the updated model")
+                .isEqualTo(model.getClassDistribution(batch.instance(0)));
+    }
+
+    /**
+     * Tests that a model cannot be updated with a batch with a different schema.
+     */
+    @Test
+    public void testUpdateWithDifferentSchema() {
+        final ExampleModelTrainer trainer = new ExampleModelTrainer(0);
+        final DatasetSchema schema = TestDatasetSchemaBuilder.builder().withCategoricalFields(2).build();
+        final DatasetSchema otherSchema = TestDatasetSchemaBuilder.builder().withCategoricalFields(3).build();
+        final ExampleModel model = trainer.fit(new MockDataset(schema, 10, new Random(0)), new Random(0), ImmutableMap.of());
+
+        assertThat(trainer.validateForUpdate(model, otherSchema, ImmutableMap.of()))
+                .as("The validation errors to update the model with a different schema")
+                .hasSize(1);
+        assertThatThrownBy(() -> trainer.update(model, new MockDataset(otherSchema, 5, new Random(1)), new Random(0), ImmutableMap.of()))
+                .as("The result of updating the model with a different schema")
+                .isInstanceOf(ModelTrainingException.class);
+    }
+
+    /**
+     * Tests that training with a progress listener reports a single iteration with all the rows of the dataset.
+     *
+     * @throws ModelTrainingException If the model cannot be trained, which would be unexpected.
+     */
+    @Test
+    public void testFitWithProgress() throws ModelTrainingException {
+        final ExampleModelTrainer trainer = new ExampleModelTrainer(1);
+        final DatasetSchema schema = TestDatasetSchemaBuilder.builder().withCategoricalFields(2).build();
+        final List<TrainingProgress> reports = new ArrayList<>();
+
+        final ExampleModel model = trainer.fit(
+                new MockDataset(schema, 2500, new Random(0)),
+                new Random(0),
+                ImmutableMap.of(),
+                reports::add,
+                new TrainingCancellationToken()
+        );
+
+        assertThat(model.getSchema())
+                .as("The schema of the trained model")
+                .isEqualTo(schema);
+        assertThat(reports)
+                .as("The progress reported")
+                .hasSize(1);
+        assertThat(reports.get(0).getIteration())
+                .as("The iteration reported")
+                .isEqualTo(1);
+        assertThat(reports.get(0).getTotalIterations().getAsLong())
+                .as("The total number of iterations reported")
+                .isEqualTo(1);
+        assertThat(reports.get(0).getRowsProcessed())
+                .as("The rows processed")
+                .isEqualTo(2500);
+        assertThat(reports.get(0).getPeakMemoryBytes())
+                .as("The peak memory")
+                .isPositive();
+    }
+
+    /**
+     * Tests that a training cancelled before it starts stops while going through the dataset, without reporting any
+     * progress.
+     */
+    @Test
+    public void testFitCancelled() {
+        final ExampleModelTrainer trainer = new ExampleModelTrainer(1);
+        final DatasetSchema schema = TestDatasetSchemaBuilder.builder().withCategoricalFields(2).build();
+        final List<TrainingProgress> reports = new ArrayList<>();
+        final TrainingCancellationToken token = new TrainingCancellationToken();
+        token.cancel("not needed");
+
+        assertThatThrownBy(() -> trainer.fit(new MockDataset(schema, 2500, new Random(0)), new Random(0), ImmutableMap.of(), reports::add, token))
+                .as("The result of training with a cancelled token")
+                .isInstanceOf(TrainingCancelledException.class)
+                .hasMessageContaining("not needed");
+        assertThat(reports)
+                .as("The progress reported")
+                .isEmpty();
+    }
+}
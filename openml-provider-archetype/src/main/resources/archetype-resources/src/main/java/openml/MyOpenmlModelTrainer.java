@@ -0,0 +1,105 @@
+
+package ${groupId}.openml;
+
+import com.feedzai.openml.data.Dataset;
+import com.feedzai.openml.data.Instance;
+import com.feedzai.openml.data.schema.DatasetSchema;
+import com.feedzai.openml.provider.descriptor.MLAlgorithmDescriptor;
+import com.feedzai.openml.provider.descriptor.fieldtype.ParamValidationError;
+import com.feedzai.openml.provider.exception.ModelLoadingException;
+import com.feedzai.openml.provider.exception.ModelTrainingException;
+import com.feedzai.openml.provider.model.ProgressReportingModelTrainer;
+import com.feedzai.openml.provider.model.TrainingCancellationToken;
+import com.feedzai.openml.provider.model.TrainingProgressListener;
+import com.feedzai.openml.util.training.ProgressTracker;
+import com.feedzai.openml.util.validate.ValidationUtils;
+import com.google.common.collect.ImmutableList;
+
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Implementation of the entity responsible for training a model, which also loads models as a
+ * {@link MyOpenmlModelLoader}.
+ *
+ * By implementing {@link ProgressReportingModelTrainer}, the platform can follow the progress of the training
+ * (iteration, loss, elapsed time, memory and throughput) and stop it through a {@link TrainingCancellationToken}.
+ */
+public class MyOpenmlModelTrainer extends MyOpenmlModelLoader implements ProgressReportingModelTrainer<MyOpenmlModel> {
+
+    /**
+     * The number of passes over the data of this dummy training.
+     */
+    private static final int ITERATIONS = 3;
+
+    public MyOpenmlModelTrainer(final MLAlgorithmDescriptor mlAlgorithmDescriptor) {
+        super(mlAlgorithmDescriptor);
+    }
+
+    @Override
+    public MyOpenmlModel fit(final Dataset dataset,
+                             final Random random,
+                             final Map<String, String> params) throws ModelTrainingException {
+        return fit(dataset, random, params, TrainingProgressListener.NO_OP, new TrainingCancellationToken());
+    }
+
+    /**
+     * This dummy training doesn't learn anything: it just goes through the data a few times, to show how the rows
+     * processed are tracked, the cancellation token is checked and the progress is reported. A real implementation
+     * would update the model in each iteration and report its loss instead of {@link Double#NaN}.
+     * <p>
+     * The model of each iteration is published as the best model so far, so that a training cancelled because of its
+     * time budget still returns a model.
+     */
+    @Override
+    public MyOpenmlModel fit(final Dataset dataset,
+                             final Random random,
+                             final Map<String, String> params,
+                             final TrainingProgressListener listener,
+                             final TrainingCancellationToken token) throws ModelTrainingException {
+        final ProgressTracker tracker = new ProgressTracker(listener, token, ITERATIONS);
+
+        for (int iteration = 1; iteration <= ITERATIONS; iteration++) {
+            final Iterator<Instance> instances = dataset.getInstances();
+            while (instances.hasNext()) {
+                instances.next();
+                // checks the cancellation token on every row, which is cheap; heavier loops can check every N rows
+                tracker.addRows(1);
+            }
+            tracker.setBestModel(createModel(dataset.getSchema()));
+            tracker.report(iteration, Double.NaN);
+        }
+
+        return createModel(dataset.getSchema());
+    }
+
+    /**
+     * Creates the model trained for the given schema.
+     *
+     * @param schema The schema of the dataset.
+     * @return The model.
+     * @throws ModelTrainingException If the model cannot be created.
+     */
+    private MyOpenmlModel createModel(final DatasetSchema schema) throws ModelTrainingException {
+        try {
+            return loadModel(null, schema);
+        } catch (final ModelLoadingException e) {
+            throw new ModelTrainingException("Could not create the trained model", e);
+        }
+    }
+
+    @Override
+    public List<ParamValidationError> validateForFit(final Path pathToPersist,
+                                                     final DatasetSchema schema,
+                                                     final Map<String, String> params) {
+        final ImmutableList.Builder<ParamValidationError> errors = ImmutableList.builder();
+
+        errors.addAll(ValidationUtils.validateModelPathToTrain(pathToPersist));
+        ValidationUtils.validateCategoricalSchema(schema).ifPresent(errors::add);
+
+        return errors.build();
+    }
+}
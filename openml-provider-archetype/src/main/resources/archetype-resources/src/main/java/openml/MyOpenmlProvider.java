@@ -2,6 +2,7 @@
 package ${groupId}.openml;
 
 import com.feedzai.openml.provider.MachineLearningProvider;
+import com.feedzai.openml.provider.TrainingMachineLearningProvider;
 import com.feedzai.openml.provider.descriptor.MLAlgorithmDescriptor;
 import com.google.auto.service.AutoService;
 import com.google.common.collect.ImmutableSet;
@@ -11,13 +12,13 @@ import java.util.Set;
 
 /**
  * This is your new custom OpenML provider. As such, it implements
- * {@link MachineLearningProvider}. This simple example only provides
- * a Loading Provider. If you want to enable model training directly from
- * Feedzai platform, you should change (or create a new class) {@link MyOpenmlModelLoader}
- * to support training. Check the class javadocs for more details.
+ * {@link MachineLearningProvider}. This simple example provides
+ * a Training Provider: its {@link MyOpenmlModelTrainer} loads models like
+ * {@link MyOpenmlModelLoader}, and also trains them directly from Feedzai platform,
+ * reporting the progress of the training. Check the class javadocs for more details.
  */
 @AutoService(MachineLearningProvider.class)
-public class MyOpenmlProvider implements MachineLearningProvider<MyOpenmlModelLoader> {
+public class MyOpenmlProvider implements TrainingMachineLearningProvider<MyOpenmlModelTrainer> {
 
     private static final String NAME = "My OpenML Provider";
 
@@ -35,16 +36,16 @@ public class MyOpenmlProvider implements MachineLearningProvider<MyOpenmlModelLo
     }
 
     /**
-     * Since our MyOpenmlModelLoader implementation is quite simple and generic for all our
+     * Since our MyOpenmlModelTrainer implementation is quite simple and generic for all our
      * algorithms, this method is very simple: it just looks for an algorithm with the given name
-     * and creates a MyOpenmlModelLoader with the name. For more complex use cases (different loaders
+     * and creates a MyOpenmlModelTrainer with the name. For more complex use cases (different loaders
      * for different algorithms) the implementation may not be as trivial.
      */
-    public Optional<MyOpenmlModelLoader> getModelCreator(final String algorithmName) {
+    public Optional<MyOpenmlModelTrainer> getModelCreator(final String algorithmName) {
         return getAlgorithms()
                 .stream()
                 .filter(mlAlgorithmDescriptor -> mlAlgorithmDescriptor.getAlgorithmName().equals(algorithmName))
                 .findFirst()
-                .map(MyOpenmlModelLoader::new);
+                .map(MyOpenmlModelTrainer::new);
     }
 }
\ No newline at end of file
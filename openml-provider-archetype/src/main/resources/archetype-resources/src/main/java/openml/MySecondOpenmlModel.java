@@ -33,7 +33,7 @@ public class MySecondOpenmlModel implements MyOpenmlModel {
 
     @Override
     public double[] getClassDistribution(final Instance instance) {
-        final int numClassValues = ClassificationDatasetSchemaUtil.getNumClassValues(this.schema);
+        final int numClassValues = ClassificationDatasetSchemaUtil.getNumClassValues(this.schema).orElse(0);
         return new double[numClassValues];
     }
 
@@ -28,6 +28,7 @@ import com.feedzai.openml.data.schema.FieldSchema;
 import com.feedzai.openml.data.schema.NumericValueSchema;
 import com.google.common.collect.ImmutableList;
 
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -142,7 +143,7 @@ public class MockDataset implements Dataset {
 
     @Override
     public Dataset empty() {
-        return null;
+        return new MockDataset(this.schema, ImmutableList.of());
     }
 
     /**
@@ -162,9 +163,11 @@ public class MockDataset implements Dataset {
      * @return List with the generated instances.
      */
     private List<Instance> generateInstances(final int instanceSize, final Random random) {
-        return IntStream.range(0, instanceSize)
-                .mapToObj(index -> new MockInstance(this.schema, random))
-                .collect(Collectors.toList());
+        final List<Instance> generatedInstances = new ArrayList<>(instanceSize);
+        for (int i = 0; i < instanceSize; i++) {
+            generatedInstances.add(new MockInstance(this.schema, random));
+        }
+        return generatedInstances;
     }
 
     /**
@@ -32,9 +32,7 @@ import java.util.Arrays;
 import java.util.Base64;
 import java.util.List;
 import java.util.Random;
-import java.util.function.Function;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 
 /**
@@ -77,10 +75,12 @@ public class MockInstance implements Instance, Serializable {
      * @param random Random number generator used to generate the instances.
      */
     public MockInstance(final DatasetSchema schema, final Random random) {
-        this.values = schema.getFieldSchemas().stream()
-                .map(FieldSchema::getValueSchema)
-                .map(generateRandomFieldValue(random))
-                .collect(Collectors.toList());
+        final List<FieldSchema> fieldSchemas = schema.getFieldSchemas();
+        final Serializable[] randomValues = new Serializable[fieldSchemas.size()];
+        for (int i = 0; i < randomValues.length; i++) {
+            randomValues[i] = generateRandomFieldValue(fieldSchemas.get(i).getValueSchema(), random);
+        }
+        this.values = Arrays.asList(randomValues);
     }
 
     /**
@@ -90,10 +90,11 @@ public class MockInstance implements Instance, Serializable {
      * @param random           Random number generator used to generate the instances.
      */
     public MockInstance(final int numberFieldsSize, final Random random) {
-        this.values = IntStream.range(0, numberFieldsSize)
-                .mapToObj(index -> new NumericValueSchema(false))
-                .map(generateRandomFieldValue(random))
-                .collect(Collectors.toList());
+        final Serializable[] randomValues = new Serializable[numberFieldsSize];
+        for (int i = 0; i < numberFieldsSize; i++) {
+            randomValues[i] = randomNumericValue(random);
+        }
+        this.values = Arrays.asList(randomValues);
     }
 
     @Override
@@ -121,30 +122,37 @@ public class MockInstance implements Instance, Serializable {
     }
 
     /**
-     * Returns a function that generates random values for a field of the instance given the field schema.
+     * Generates a random value for a field of the instance given the field schema.
+     *
+     * @param valueSchema The schema of the values of the field.
+     * @param random      Random number generator.
+     * @return A random value that conforms to the given schema.
+     */
+    private static Serializable generateRandomFieldValue(final AbstractValueSchema valueSchema, final Random random) {
+        if (valueSchema instanceof NumericValueSchema) {
+            return randomNumericValue(random);
+
+        } else if (valueSchema instanceof StringValueSchema) {
+            // String random value: NUM_MOCK_STRING_RANDOM_BYTES Base64 URL encoded bytes
+            final byte[] randomBytes = new byte[NUM_MOCK_STRING_RANDOM_BYTES]; random.nextBytes(randomBytes);
+            final byte[] base64encodedBytes = Base64.getUrlEncoder().encode(randomBytes);
+            return new String(base64encodedBytes);
+
+        } else {
+            // Categorical random value: Index in [0, <Size of Nominal Values>[
+            final int numClassValues = ClassificationDatasetSchemaUtil.getNumClassValues(valueSchema);
+            return (double) random.nextInt(numClassValues);
+        }
+    }
+
+    /**
+     * Generates a random value for a numeric field, in [{@link #MIN_NUMERIC_MOCK_VALUE}, {@link #MAX_NUMERIC_MOCK_VALUE}[.
      *
-     * @implNote This method returns a function for better integration with Stream::map.
-     * @param random Random number
-     * @return A function that given a field schema returns a correct random value for that schema.
+     * @param random Random number generator.
+     * @return The random value.
      */
-    private Function<AbstractValueSchema, Serializable> generateRandomFieldValue(final Random random) {
-        return (AbstractValueSchema valueSchema) -> {
-            if (valueSchema instanceof NumericValueSchema) {
-                // Numeric random value: [MIN_NUMERIC_MOCK_VALUE, MAX_NUMERIC_MOCK_VALUE[
-                return MIN_NUMERIC_MOCK_VALUE + (MAX_NUMERIC_MOCK_VALUE - MIN_NUMERIC_MOCK_VALUE) * random.nextDouble();
-
-            } else if (valueSchema instanceof StringValueSchema) {
-                // String random value: NUM_MOCK_STRING_RANDOM_BYTES Base64 URL encoded bytes
-                final byte[] randomBytes = new byte[NUM_MOCK_STRING_RANDOM_BYTES]; random.nextBytes(randomBytes);
-                final byte[] base64encodedBytes = Base64.getUrlEncoder().encode(randomBytes);
-                return new String(base64encodedBytes);
-
-            } else {
-                // Categorical random value: Index in [0, <Size of Nominal Values>[
-                final int numClassValues = ClassificationDatasetSchemaUtil.getNumClassValues(valueSchema);
-                return (double) random.nextInt(numClassValues);
-            }
-        };
+    private static Double randomNumericValue(final Random random) {
+        return MIN_NUMERIC_MOCK_VALUE + (MAX_NUMERIC_MOCK_VALUE - MIN_NUMERIC_MOCK_VALUE) * random.nextDouble();
     }
 
     /**
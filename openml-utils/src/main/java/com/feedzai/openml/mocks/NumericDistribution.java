@@ -0,0 +1,93 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.mocks;
+
+import com.google.common.base.Preconditions;
+
+import java.util.SplittableRandom;
+
+/**
+ * A distribution of numeric values, used by the {@link SyntheticDataGenerator} to generate the values of numeric
+ * fields.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+@FunctionalInterface
+public interface NumericDistribution {
+
+    /**
+     * Samples a value from this distribution.
+     *
+     * @param random The source of randomness.
+     * @return The sampled value.
+     */
+    double sample(SplittableRandom random);
+
+    /**
+     * Creates a uniform distribution.
+     *
+     * @param min The minimum value (inclusive).
+     * @param max The maximum value (exclusive).
+     * @return The distribution.
+     */
+    static NumericDistribution uniform(final double min, final double max) {
+        Preconditions.checkArgument(min < max, "min should be lower than max");
+        return random -> random.nextDouble(min, max);
+    }
+
+    /**
+     * Creates a normal (Gaussian) distribution.
+     *
+     * @param mean              The mean of the distribution.
+     * @param standardDeviation The standard deviation of the distribution.
+     * @return The distribution.
+     */
+    static NumericDistribution gaussian(final double mean, final double standardDeviation) {
+        Preconditions.checkArgument(standardDeviation >= 0, "the standard deviation should not be negative");
+        return random -> {
+            // Box-Muller transform, using 1 - u to avoid log(0)
+            final double radius = Math.sqrt(-2 * Math.log(1 - random.nextDouble()));
+            return mean + standardDeviation * radius * Math.cos(2 * Math.PI * random.nextDouble());
+        };
+    }
+
+    /**
+     * Creates an exponential distribution.
+     *
+     * @param mean The mean of the distribution.
+     * @return The distribution.
+     */
+    static NumericDistribution exponential(final double mean) {
+        Preconditions.checkArgument(mean > 0, "the mean should be positive");
+        return random -> -mean * Math.log(1 - random.nextDouble());
+    }
+
+    /**
+     * Creates a log-normal distribution, typical of monetary amounts.
+     *
+     * @param mu    The mean of the logarithm of the values.
+     * @param sigma The standard deviation of the logarithm of the values.
+     * @return The distribution.
+     */
+    static NumericDistribution logNormal(final double mu, final double sigma) {
+        final NumericDistribution gaussian = gaussian(mu, sigma);
+        return random -> Math.exp(gaussian.sample(random));
+    }
+}
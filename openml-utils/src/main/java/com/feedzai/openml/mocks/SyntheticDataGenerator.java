@@ -0,0 +1,569 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.mocks;
+
+import com.feedzai.openml.data.Instance;
+import com.feedzai.openml.data.schema.AbstractValueSchema;
+import com.feedzai.openml.data.schema.CategoricalValueSchema;
+import com.feedzai.openml.data.schema.DatasetSchema;
+import com.feedzai.openml.data.schema.FieldSchema;
+import com.feedzai.openml.data.schema.StringValueSchema;
+import com.feedzai.openml.util.data.ColumnarDataset;
+import com.google.common.base.Preconditions;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * High-throughput generator of synthetic data for a {@link DatasetSchema}, e.g. for load tests.
+ * <p>
+ * Values are generated in blocks of {@link #BLOCK_SIZE} rows, directly into primitive columns, and blocks are
+ * generated in parallel. Each block has its own random number generator, derived only from the seed and the index of
+ * the block, so the generated data is the same for a given seed regardless of the number of threads used, and
+ * regardless of whether the rows are {@link #generate(int) materialised} or {@link #stream(long) streamed}.
+ * <p>
+ * By default, numeric fields follow the same uniform distribution as {@link MockInstance}, categorical fields are
+ * uniform over their nominal values, and there are no missing values. All of these can be changed per field.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public final class SyntheticDataGenerator {
+
+    /**
+     * The number of rows in each block of generated data.
+     */
+    public static final int BLOCK_SIZE = 1024;
+
+    /**
+     * The default distribution of the values of numeric fields.
+     */
+    private static final NumericDistribution DEFAULT_NUMERIC_DISTRIBUTION = NumericDistribution.uniform(-10, 10);
+
+    /**
+     * The default number of distinct values of string fields.
+     */
+    private static final int DEFAULT_STRING_CARDINALITY = 1000;
+
+    /**
+     * The schema of the generated data.
+     */
+    private final DatasetSchema schema;
+
+    /**
+     * The seed from which all values are derived.
+     */
+    private final long seed;
+
+    /**
+     * The generators of each field, by field index.
+     */
+    private final FieldGenerator[] fieldGenerators;
+
+    /**
+     * Creates a new instance from the given builder.
+     *
+     * @param builder The builder.
+     */
+    private SyntheticDataGenerator(final Builder builder) {
+        this.schema = builder.schema;
+        this.seed = builder.seed;
+
+        final List<FieldSchema> fields = this.schema.getFieldSchemas();
+        this.fieldGenerators = new FieldGenerator[fields.size()];
+        for (final FieldSchema field : fields) {
+            this.fieldGenerators[field.getFieldIndex()] = builder.fieldGenerator(field);
+        }
+    }
+
+    /**
+     * Creates a new builder for a generator of data for the given schema.
+     *
+     * @param schema The schema of the generated data.
+     * @return The builder.
+     */
+    public static Builder builder(final DatasetSchema schema) {
+        return new Builder(schema);
+    }
+
+    /**
+     * Generates a dataset with the given number of instances, in parallel.
+     *
+     * @param numberInstances The number of instances.
+     * @return The generated dataset.
+     */
+    public ColumnarDataset generate(final int numberInstances) {
+        Preconditions.checkArgument(numberInstances >= 0, "the number of instances should not be negative");
+
+        final double[][] numericColumns = new double[this.fieldGenerators.length][];
+        final String[][] stringColumns = new String[this.fieldGenerators.length][];
+        allocateColumns(numberInstances, numericColumns, stringColumns);
+
+        final int numberBlocks = (int) numberBlocks(numberInstances);
+        IntStream.range(0, numberBlocks)
+                .parallel()
+                .forEach(block -> {
+                    final int start = block * BLOCK_SIZE;
+                    fillBlock(block, numericColumns, stringColumns, start, Math.min(BLOCK_SIZE, numberInstances - start));
+                });
+
+        return new ColumnarDataset(this.schema, numberInstances, numericColumns, stringColumns);
+    }
+
+    /**
+     * Streams the given number of instances, generating each block only when it is consumed, so the instances are
+     * never all in memory at the same time. The stream can be made parallel.
+     * <p>
+     * The instances are the same as the ones returned by {@link #generate(int)} for the same number of instances.
+     *
+     * @param numberInstances The number of instances.
+     * @return The stream of instances.
+     */
+    public Stream<Instance> stream(final long numberInstances) {
+        Preconditions.checkArgument(numberInstances >= 0, "the number of instances should not be negative");
+
+        final long numberBlocks = numberBlocks(numberInstances);
+        return LongStream.range(0, numberBlocks)
+                .mapToObj(block -> generateBlock(block, (int) Math.min(BLOCK_SIZE, numberInstances - block * BLOCK_SIZE)))
+                .flatMap(blockDataset -> IntStream.range(0, blockDataset.getNumberInstances()).mapToObj(blockDataset::instance));
+    }
+
+    /**
+     * Computes the number of blocks needed for the given number of rows, without overflowing for any number of rows.
+     *
+     * @param numberRows The number of rows.
+     * @return The number of blocks.
+     */
+    private static long numberBlocks(final long numberRows) {
+        return numberRows / BLOCK_SIZE + (numberRows % BLOCK_SIZE == 0 ? 0 : 1);
+    }
+
+    /**
+     * Generates a single block of rows as a dataset.
+     *
+     * @param block     The index of the block.
+     * @param blockSize The number of rows in the block.
+     * @return The dataset with the rows of the block.
+     */
+    private ColumnarDataset generateBlock(final long block, final int blockSize) {
+        final double[][] numericColumns = new double[this.fieldGenerators.length][];
+        final String[][] stringColumns = new String[this.fieldGenerators.length][];
+        allocateColumns(blockSize, numericColumns, stringColumns);
+
+        fillBlock(block, numericColumns, stringColumns, 0, blockSize);
+
+        return new ColumnarDataset(this.schema, blockSize, numericColumns, stringColumns);
+    }
+
+    /**
+     * Allocates the columns for the given number of instances.
+     *
+     * @param numberInstances The number of instances.
+     * @param numericColumns  The array where to put the numeric columns.
+     * @param stringColumns   The array where to put the string columns.
+     */
+    private void allocateColumns(final int numberInstances,
+                                 final double[][] numericColumns,
+                                 final String[][] stringColumns) {
+        for (int field = 0; field < this.fieldGenerators.length; field++) {
+            if (this.fieldGenerators[field].isString()) {
+                stringColumns[field] = new String[numberInstances];
+            } else {
+                numericColumns[field] = new double[numberInstances];
+            }
+        }
+    }
+
+    /**
+     * Fills the rows of a block, one column at a time.
+     *
+     * @param block          The index of the block, which determines the values generated.
+     * @param numericColumns The numeric columns to fill.
+     * @param stringColumns  The string columns to fill.
+     * @param start          The position of the first row of the block in the columns.
+     * @param blockSize      The number of rows in the block.
+     */
+    private void fillBlock(final long block,
+                           final double[][] numericColumns,
+                           final String[][] stringColumns,
+                           final int start,
+                           final int blockSize) {
+        final SplittableRandom blockRandom = new SplittableRandom(blockSeed(block));
+
+        for (int field = 0; field < this.fieldGenerators.length; field++) {
+            // each field has its own stream, so that changing the settings of a field doesn't change the others
+            final SplittableRandom fieldRandom = blockRandom.split();
+            final FieldGenerator generator = this.fieldGenerators[field];
+            if (generator.isString()) {
+                generator.fill(fieldRandom, stringColumns[field], start, blockSize);
+            } else {
+                generator.fill(fieldRandom, numericColumns[field], start, blockSize);
+            }
+        }
+    }
+
+    /**
+     * Derives the seed of a block from the seed of this generator.
+     *
+     * @param block The index of the block.
+     * @return The seed of the block.
+     */
+    private long blockSeed(final long block) {
+        // finalizer of MurmurHash3, to decorrelate the seeds of consecutive blocks
+        long hash = this.seed + 0x9E3779B97F4A7C15L * (block + 1);
+        hash = (hash ^ (hash >>> 33)) * 0xFF51AFD7ED558CCDL;
+        hash = (hash ^ (hash >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return hash ^ (hash >>> 33);
+    }
+
+    /**
+     * Generates the values of a single field.
+     */
+    private static final class FieldGenerator {
+
+        /**
+         * The distribution of the values of a numeric field, or {@code null} for other fields.
+         */
+        private final NumericDistribution distribution;
+
+        /**
+         * The cumulative probabilities of each value of a categorical or string field (with a skewed distribution),
+         * or {@code null} if the values are uniform or the field is numeric.
+         */
+        private final double[] cumulativeProbabilities;
+
+        /**
+         * The number of distinct values of a categorical or string field.
+         */
+        private final int cardinality;
+
+        /**
+         * The possible values of a string field, or {@code null} for other fields.
+         */
+        private final String[] stringValues;
+
+        /**
+         * The probability of a value being missing.
+         */
+        private final double missingRate;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param distribution The distribution of the values of a numeric field, or {@code null} for other fields.
+         * @param cardinality  The number of distinct values of a categorical or string field.
+         * @param skew         The exponent of the Zipf distribution of the values of a categorical or string field,
+         *                     where {@code 0} means uniform.
+         * @param stringValues The possible values of a string field, or {@code null} for other fields.
+         * @param missingRate  The probability of a value being missing.
+         */
+        private FieldGenerator(final NumericDistribution distribution,
+                               final int cardinality,
+                               final double skew,
+                               final String[] stringValues,
+                               final double missingRate) {
+            this.distribution = distribution;
+            this.cardinality = cardinality;
+            this.stringValues = stringValues;
+            this.missingRate = missingRate;
+            this.cumulativeProbabilities = distribution == null && skew > 0 ? zipfCumulative(cardinality, skew) : null;
+        }
+
+        /**
+         * Checks whether this is the generator of a string field.
+         *
+         * @return {@code true} if the field is a string field, {@code false} otherwise.
+         */
+        private boolean isString() {
+            return this.stringValues != null;
+        }
+
+        /**
+         * Fills a numeric or categorical column.
+         *
+         * @param random The source of randomness.
+         * @param column The column.
+         * @param start  The position of the first value to fill.
+         * @param count  The number of values to fill.
+         */
+        private void fill(final SplittableRandom random, final double[] column, final int start, final int count) {
+            for (int row = start; row < start + count; row++) {
+                if (this.missingRate > 0 && random.nextDouble() < this.missingRate) {
+                    column[row] = Double.NaN;
+                } else if (this.distribution != null) {
+                    column[row] = this.distribution.sample(random);
+                } else {
+                    column[row] = nextCategory(random);
+                }
+            }
+        }
+
+        /**
+         * Fills a string column.
+         *
+         * @param random The source of randomness.
+         * @param column The column.
+         * @param start  The position of the first value to fill.
+         * @param count  The number of values to fill.
+         */
+        private void fill(final SplittableRandom random, final String[] column, final int start, final int count) {
+            for (int row = start; row < start + count; row++) {
+                if (this.missingRate > 0 && random.nextDouble() < this.missingRate) {
+                    column[row] = null;
+                } else {
+                    column[row] = this.stringValues[nextCategory(random)];
+                }
+            }
+        }
+
+        /**
+         * Samples the index of a categorical or string value.
+         *
+         * @param random The source of randomness.
+         * @return The index of the value.
+         */
+        private int nextCategory(final SplittableRandom random) {
+            if (this.cumulativeProbabilities == null) {
+                return random.nextInt(this.cardinality);
+            }
+            final int position = Arrays.binarySearch(this.cumulativeProbabilities, random.nextDouble());
+            return Math.min(position >= 0 ? position : -position - 1, this.cardinality - 1);
+        }
+
+        /**
+         * Computes the cumulative probabilities of a Zipf distribution.
+         *
+         * @param cardinality The number of values.
+         * @param skew        The exponent of the distribution.
+         * @return The cumulative probability of each value.
+         */
+        private static double[] zipfCumulative(final int cardinality, final double skew) {
+            final double[] cumulative = new double[cardinality];
+            double total = 0;
+            for (int i = 0; i < cardinality; i++) {
+                total += 1 / Math.pow(i + 1, skew);
+                cumulative[i] = total;
+            }
+            for (int i = 0; i < cardinality; i++) {
+                cumulative[i] /= total;
+            }
+            return cumulative;
+        }
+    }
+
+    /**
+     * Builder of {@link SyntheticDataGenerator}.
+     */
+    public static final class Builder {
+
+        /**
+         * The schema of the generated data.
+         */
+        private final DatasetSchema schema;
+
+        /**
+         * The seed from which all values are derived.
+         */
+        private long seed = 0;
+
+        /**
+         * The probability of a value being missing, for the predictive fields without a specific rate.
+         */
+        private double defaultMissingRate = 0;
+
+        /**
+         * The distributions of the numeric fields, by field index.
+         */
+        private final Map<Integer, NumericDistribution> distributions = new HashMap<>();
+
+        /**
+         * The exponents of the Zipf distributions of the categorical and string fields, by field index.
+         */
+        private final Map<Integer, Double> skews = new HashMap<>();
+
+        /**
+         * The number of distinct values of the string fields, by field index.
+         */
+        private final Map<Integer, Integer> stringCardinalities = new HashMap<>();
+
+        /**
+         * The probability of a value being missing, by field index.
+         */
+        private final Map<Integer, Double> missingRates = new HashMap<>();
+
+        /**
+         * Creates a new instance.
+         *
+         * @param schema The schema of the generated data.
+         */
+        private Builder(final DatasetSchema schema) {
+            Preconditions.checkNotNull(schema, "schema cannot be null");
+            this.schema = schema;
+        }
+
+        /**
+         * Sets the seed from which all values are derived. Defaults to 0.
+         *
+         * @param seed The seed.
+         * @return This builder.
+         */
+        public Builder withSeed(final long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        /**
+         * Sets the distribution of the values of a numeric field.
+         *
+         * @param fieldIndex   The index of the field.
+         * @param distribution The distribution.
+         * @return This builder.
+         */
+        public Builder withDistribution(final int fieldIndex, final NumericDistribution distribution) {
+            Preconditions.checkNotNull(distribution, "distribution cannot be null");
+            Preconditions.checkArgument(
+                    !(valueSchema(fieldIndex) instanceof CategoricalValueSchema || valueSchema(fieldIndex) instanceof StringValueSchema),
+                    "the field %s is not numeric", fieldIndex
+            );
+            this.distributions.put(fieldIndex, distribution);
+            return this;
+        }
+
+        /**
+         * Sets the skew of the values of a categorical or string field, which follow a Zipf distribution with the
+         * given exponent: {@code 0} means all values are equally likely, and higher values concentrate the
+         * distribution in the first values (e.g. to make the target class imbalanced).
+         *
+         * @param fieldIndex The index of the field.
+         * @param skew       The exponent of the Zipf distribution.
+         * @return This builder.
+         */
+        public Builder withSkew(final int fieldIndex, final double skew) {
+            Preconditions.checkArgument(skew >= 0, "the skew should not be negative");
+            Preconditions.checkArgument(
+                    valueSchema(fieldIndex) instanceof CategoricalValueSchema || valueSchema(fieldIndex) instanceof StringValueSchema,
+                    "the field %s is not categorical nor string", fieldIndex
+            );
+            this.skews.put(fieldIndex, skew);
+            return this;
+        }
+
+        /**
+         * Sets the number of distinct values of a string field. Defaults to {@value #DEFAULT_STRING_CARDINALITY}.
+         *
+         * @param fieldIndex  The index of the field.
+         * @param cardinality The number of distinct values.
+         * @return This builder.
+         */
+        public Builder withStringCardinality(final int fieldIndex, final int cardinality) {
+            Preconditions.checkArgument(cardinality > 0, "the cardinality should be positive");
+            Preconditions.checkArgument(
+                    valueSchema(fieldIndex) instanceof StringValueSchema,
+                    "the field %s is not a string field", fieldIndex
+            );
+            this.stringCardinalities.put(fieldIndex, cardinality);
+            return this;
+        }
+
+        /**
+         * Sets the probability of a value of a field being missing.
+         *
+         * @param fieldIndex  The index of the field.
+         * @param missingRate The probability, in [0, 1].
+         * @return This builder.
+         */
+        public Builder withMissingRate(final int fieldIndex, final double missingRate) {
+            valueSchema(fieldIndex);
+            Preconditions.checkArgument(missingRate >= 0 && missingRate <= 1, "the missing rate should be in [0, 1]");
+            this.missingRates.put(fieldIndex, missingRate);
+            return this;
+        }
+
+        /**
+         * Sets the probability of a value being missing for all the predictive fields (i.e. excluding the target)
+         * without a specific rate.
+         *
+         * @param missingRate The probability, in [0, 1].
+         * @return This builder.
+         */
+        public Builder withMissingRate(final double missingRate) {
+            Preconditions.checkArgument(missingRate >= 0 && missingRate <= 1, "the missing rate should be in [0, 1]");
+            this.defaultMissingRate = missingRate;
+            return this;
+        }
+
+        /**
+         * Creates the {@link SyntheticDataGenerator} with the settings of this builder.
+         *
+         * @return The generator.
+         */
+        public SyntheticDataGenerator build() {
+            return new SyntheticDataGenerator(this);
+        }
+
+        /**
+         * Gets the value schema of a field, validating the index.
+         *
+         * @param fieldIndex The index of the field.
+         * @return The value schema.
+         */
+        private AbstractValueSchema valueSchema(final int fieldIndex) {
+            final List<FieldSchema> fields = this.schema.getFieldSchemas();
+            Preconditions.checkElementIndex(fieldIndex, fields.size(), "field index");
+            return fields.get(fieldIndex).getValueSchema();
+        }
+
+        /**
+         * Creates the generator of a field, according to the settings of this builder.
+         *
+         * @param field The field.
+         * @return The generator.
+         */
+        private FieldGenerator fieldGenerator(final FieldSchema field) {
+            final int index = field.getFieldIndex();
+            final boolean isTarget = this.schema.getTargetIndex().map(target -> target == index).orElse(false);
+            final double missingRate = this.missingRates.getOrDefault(index, isTarget ? 0 : this.defaultMissingRate);
+            final double skew = this.skews.getOrDefault(index, 0.0);
+            final AbstractValueSchema valueSchema = field.getValueSchema();
+
+            if (valueSchema instanceof CategoricalValueSchema) {
+                final int cardinality = ((CategoricalValueSchema) valueSchema).getNominalValues().size();
+                return new FieldGenerator(null, cardinality, skew, null, missingRate);
+
+            } else if (valueSchema instanceof StringValueSchema) {
+                final int cardinality = this.stringCardinalities.getOrDefault(index, DEFAULT_STRING_CARDINALITY);
+                final String[] values = new String[cardinality];
+                for (int i = 0; i < cardinality; i++) {
+                    values[i] = field.getFieldName() + "-" + i;
+                }
+                return new FieldGenerator(null, cardinality, skew, values, missingRate);
+
+            } else {
+                final NumericDistribution distribution = this.distributions.getOrDefault(index, DEFAULT_NUMERIC_DISTRIBUTION);
+                return new FieldGenerator(distribution, 0, 0, null, missingRate);
+            }
+        }
+    }
+}
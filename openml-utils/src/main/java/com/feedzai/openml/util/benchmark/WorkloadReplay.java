@@ -0,0 +1,330 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.benchmark;
+
+import com.feedzai.openml.data.Instance;
+import com.feedzai.openml.model.ClassificationMLModel;
+import com.feedzai.openml.util.metrics.LatencyHistogram;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Replays recorded instances against a {@link ClassificationMLModel} at a controlled, open-loop rate.
+ * <p>
+ * Each request has an intended start time, given by the target rate, which doesn't depend on how long the previous
+ * requests took (as it happens with real traffic). The latency of a request is measured from its intended start time,
+ * so when the model (or the client threads) can't keep up, the time requests spend waiting is also accounted for. This
+ * avoids the <em>coordinated omission</em> of closed-loop load generators, which only measure the scoring time and
+ * silently send fewer requests when the model stalls, hiding the stalls from the high percentiles.
+ * The scoring time alone is also reported as the {@link WorkloadReplayResult#getServiceTime() service time}.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public final class WorkloadReplay {
+
+    /**
+     * Logger for this class.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(WorkloadReplay.class);
+
+    /**
+     * The target number of requests per second.
+     */
+    private final double requestsPerSecond;
+
+    /**
+     * The duration of the replay, in nanoseconds.
+     */
+    private final long durationNanos;
+
+    /**
+     * The number of threads that send requests to the model.
+     */
+    private final int threads;
+
+    /**
+     * The duration of each interval over which the throughput is reported, in nanoseconds.
+     */
+    private final long reportIntervalNanos;
+
+    /**
+     * Creates a new instance from the given builder.
+     *
+     * @param builder The builder.
+     */
+    private WorkloadReplay(final Builder builder) {
+        this.requestsPerSecond = builder.requestsPerSecond;
+        this.durationNanos = builder.durationNanos;
+        this.threads = builder.threads;
+        this.reportIntervalNanos = builder.reportIntervalNanos;
+    }
+
+    /**
+     * Creates a new builder with the default settings.
+     *
+     * @return The builder.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Replays the given instances against the model, in a round-robin fashion, until all the requests of the
+     * configured duration have been sent and answered.
+     * <p>
+     * Requests for which the model throws an exception are counted as errors, and not included in the latencies.
+     *
+     * @param model     The model to score the instances.
+     * @param instances The recorded instances.
+     * @return The measurements of the replay.
+     * @throws InterruptedException If the thread is interrupted while waiting for the replay to finish.
+     */
+    public WorkloadReplayResult run(final ClassificationMLModel model,
+                                    final List<Instance> instances) throws InterruptedException {
+        Preconditions.checkNotNull(model, "model cannot be null");
+        Preconditions.checkNotNull(instances, "instances cannot be null");
+        Preconditions.checkArgument(!instances.isEmpty(), "there should be at least one instance to replay");
+
+        final double periodNanos = TimeUnit.SECONDS.toNanos(1) / this.requestsPerSecond;
+        final long totalRequests = (long) (this.durationNanos / periodNanos);
+
+        // one more interval collects the requests completed after the scheduled end
+        final int numberIntervals = (int) ((this.durationNanos + this.reportIntervalNanos - 1) / this.reportIntervalNanos) + 1;
+        final LatencyHistogram[] intervalLatencies = new LatencyHistogram[numberIntervals];
+        for (int interval = 0; interval < numberIntervals; interval++) {
+            intervalLatencies[interval] = new LatencyHistogram();
+        }
+        final AtomicLongArray intervalErrors = new AtomicLongArray(numberIntervals);
+        final LatencyHistogram latency = new LatencyHistogram();
+        final LatencyHistogram serviceTime = new LatencyHistogram();
+        final AtomicLong nextRequest = new AtomicLong();
+
+        final ExecutorService executor = Executors.newFixedThreadPool(
+                this.threads,
+                new ThreadFactoryBuilder().setNameFormat("openml-workload-replay-%d").setDaemon(true).build()
+        );
+
+        logger.info("Replaying {} requests at {} requests per second with {} threads", totalRequests, this.requestsPerSecond, this.threads);
+        final long startNanos = System.nanoTime();
+
+        final List<Callable<Void>> workers = new ArrayList<>(this.threads);
+        for (int thread = 0; thread < this.threads; thread++) {
+            workers.add(() -> {
+                long request;
+                while ((request = nextRequest.getAndIncrement()) < totalRequests) {
+                    // the replay is abandoned when the executor is shut down, e.g. because the caller was interrupted
+                    if (Thread.interrupted()) {
+                        throw new InterruptedException("The workload replay was interrupted");
+                    }
+                    final long intendedStart = startNanos + (long) (request * periodNanos);
+                    waitUntil(intendedStart);
+
+                    final Instance instance = instances.get((int) (request % instances.size()));
+                    final long actualStart = System.nanoTime();
+                    boolean failed = false;
+                    try {
+                        model.getClassDistribution(instance);
+                    } catch (final RuntimeException e) {
+                        logger.debug("The model failed to score request {}", request, e);
+                        failed = true;
+                    }
+                    final long end = System.nanoTime();
+
+                    final int interval = (int) Math.min((end - startNanos) / this.reportIntervalNanos, numberIntervals - 1);
+                    if (failed) {
+                        intervalErrors.incrementAndGet(interval);
+                    } else {
+                        latency.record(end - intendedStart);
+                        serviceTime.record(end - actualStart);
+                        intervalLatencies[interval].record(end - intendedStart);
+                    }
+                }
+                return null;
+            });
+        }
+
+        try {
+            for (final Future<Void> future : executor.invokeAll(workers)) {
+                future.get();
+            }
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof InterruptedException) {
+                throw (InterruptedException) e.getCause();
+            }
+            // the workers catch the failures of the model, so this is unexpected
+            throw new IllegalStateException("A worker of the workload replay failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        final long elapsedNanos = System.nanoTime() - startNanos;
+
+        final ImmutableList.Builder<WorkloadReplayResult.Interval> intervals = ImmutableList.builder();
+        for (int interval = 0; interval < numberIntervals; interval++) {
+            final long intervalStart = interval * this.reportIntervalNanos;
+            final long intervalEnd = interval == numberIntervals - 1
+                    ? Math.max(elapsedNanos, intervalStart)
+                    : Math.min(intervalStart + this.reportIntervalNanos, elapsedNanos);
+            if (intervalEnd > intervalStart || intervalLatencies[interval].getTotalCount() > 0) {
+                intervals.add(new WorkloadReplayResult.Interval(
+                        intervalStart,
+                        intervalEnd - intervalStart,
+                        intervalLatencies[interval],
+                        intervalErrors.get(interval)
+                ));
+            }
+        }
+
+        final WorkloadReplayResult result = new WorkloadReplayResult(
+                this.requestsPerSecond,
+                elapsedNanos,
+                latency,
+                serviceTime,
+                intervals.build()
+        );
+        if (result.getAchievedRate() < this.requestsPerSecond * 0.95) {
+            logger.warn("Could only sustain {} of the {} requests per second", result.getAchievedRate(), this.requestsPerSecond);
+        }
+        return result;
+    }
+
+    /**
+     * Waits until the given instant, as given by {@link System#nanoTime()}.
+     *
+     * @param deadlineNanos The instant until which to wait.
+     * @throws InterruptedException If the thread is interrupted while waiting.
+     */
+    private static void waitUntil(final long deadlineNanos) throws InterruptedException {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+            // parkNanos returns immediately while the thread is interrupted, so it would otherwise spin
+            if (Thread.interrupted()) {
+                throw new InterruptedException("The workload replay was interrupted");
+            }
+        }
+    }
+
+    /**
+     * Builder of {@link WorkloadReplay}.
+     */
+    public static final class Builder {
+
+        /**
+         * The target number of requests per second.
+         */
+        private double requestsPerSecond = 1000;
+
+        /**
+         * The duration of the replay, in nanoseconds.
+         */
+        private long durationNanos = TimeUnit.SECONDS.toNanos(60);
+
+        /**
+         * The number of threads that send requests to the model.
+         */
+        private int threads = Runtime.getRuntime().availableProcessors();
+
+        /**
+         * The duration of each interval over which the throughput is reported, in nanoseconds.
+         */
+        private long reportIntervalNanos = TimeUnit.SECONDS.toNanos(1);
+
+        /**
+         * Private constructor, use {@link WorkloadReplay#builder()} instead.
+         */
+        private Builder() {
+        }
+
+        /**
+         * Sets the target number of requests per second. Defaults to 1000.
+         *
+         * @param requestsPerSecond The number of requests per second.
+         * @return This builder.
+         */
+        public Builder withRate(final double requestsPerSecond) {
+            Preconditions.checkArgument(requestsPerSecond > 0, "the rate should be positive");
+            this.requestsPerSecond = requestsPerSecond;
+            return this;
+        }
+
+        /**
+         * Sets the duration of the replay. Defaults to 60 seconds.
+         *
+         * @param duration The duration.
+         * @param unit     The unit of the duration.
+         * @return This builder.
+         */
+        public Builder withDuration(final long duration, final TimeUnit unit) {
+            Preconditions.checkArgument(duration > 0, "the duration should be positive");
+            this.durationNanos = unit.toNanos(duration);
+            return this;
+        }
+
+        /**
+         * Sets the number of threads that send requests to the model, which bounds the number of concurrent requests.
+         * Defaults to the number of available processors.
+         *
+         * @param threads The number of threads.
+         * @return This builder.
+         */
+        public Builder withThreads(final int threads) {
+            Preconditions.checkArgument(threads > 0, "the number of threads should be positive");
+            this.threads = threads;
+            return this;
+        }
+
+        /**
+         * Sets the duration of each interval over which the throughput is reported. Defaults to 1 second.
+         *
+         * @param interval The duration of the interval.
+         * @param unit     The unit of the duration.
+         * @return This builder.
+         */
+        public Builder withReportInterval(final long interval, final TimeUnit unit) {
+            Preconditions.checkArgument(interval > 0, "the report interval should be positive");
+            this.reportIntervalNanos = unit.toNanos(interval);
+            return this;
+        }
+
+        /**
+         * Creates the {@link WorkloadReplay} with the settings of this builder.
+         *
+         * @return The workload replay.
+         */
+        public WorkloadReplay build() {
+            return new WorkloadReplay(this);
+        }
+    }
+}
@@ -0,0 +1,233 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.benchmark;
+
+import com.feedzai.openml.data.Instance;
+import com.feedzai.openml.data.schema.DatasetSchema;
+import com.feedzai.openml.model.ClassificationMLModel;
+import com.feedzai.openml.model.MachineLearningModel;
+import com.feedzai.openml.provider.MachineLearningProvider;
+import com.feedzai.openml.provider.descriptor.MLAlgorithmDescriptor;
+import com.feedzai.openml.provider.exception.ModelLoadingException;
+import com.feedzai.openml.provider.model.MachineLearningModelLoader;
+import com.feedzai.openml.util.load.LoadInstancesUtils;
+import com.feedzai.openml.util.load.ProviderLoader;
+import com.feedzai.openml.util.model.ModelWarmUp;
+
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Command line entry point of the {@link WorkloadReplay}, to replay recorded instances against a model persisted in a
+ * directory, loaded with the provider in a jar.
+ * <p>
+ * Usage:
+ * <pre>
+ * java -cp openml-utils.jar:... com.feedzai.openml.util.benchmark.WorkloadReplayCli \
+ *     --provider-jar provider.jar --model model-dir --data instances.csv --rate 1000 --duration 60
+ * </pre>
+ * The recorded instances are read from a CSV file with a header, as in
+ * {@link LoadInstancesUtils#instancesFromCsv(Path, DatasetSchema)}, using the schema of the model.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public final class WorkloadReplayCli {
+
+    /**
+     * The usage message.
+     */
+    static final String USAGE = String.join(System.lineSeparator(),
+            "Usage: WorkloadReplayCli --provider-jar <jar> --model <dir> --data <csv> [options]",
+            "  --provider-jar <jar>    the jar with the provider of the model",
+            "  --model <dir>           the directory where the model is persisted",
+            "  --data <csv>            the CSV file with the recorded instances",
+            "  --algorithm <name>      the algorithm of the model (required if the jar has several algorithms)",
+            "  --rate <req/s>          the target number of requests per second (default: 1000)",
+            "  --duration <s>          the duration of the replay, in seconds (default: 60)",
+            "  --threads <n>           the number of threads sending requests (default: number of processors)",
+            "  --interval <s>          the interval over which the throughput is reported, in seconds (default: 1)",
+            "  --warm-up               warm up the model before the replay"
+    );
+
+    /**
+     * Private constructor for utility class.
+     */
+    private WorkloadReplayCli() {
+    }
+
+    /**
+     * Runs the workload replay and prints the report to the standard output.
+     *
+     * @param args The command line arguments, as described in the {@link #USAGE}.
+     */
+    public static void main(final String[] args) {
+        final int exitCode = run(args, System.out, System.err);
+        if (exitCode != 0) {
+            System.exit(exitCode);
+        }
+    }
+
+    /**
+     * Runs the workload replay.
+     *
+     * @param args The command line arguments.
+     * @param out  The stream where to print the report.
+     * @param err  The stream where to print errors.
+     * @return The exit code: {@code 0} on success, {@code 1} on invalid arguments, {@code 2} if the replay failed.
+     */
+    static int run(final String[] args, final PrintStream out, final PrintStream err) {
+        final Map<String, String> options;
+        try {
+            options = parseOptions(args);
+        } catch (final IllegalArgumentException e) {
+            err.println(e.getMessage());
+            err.println(USAGE);
+            return 1;
+        }
+
+        final Path providerJar = Paths.get(options.get("provider-jar"));
+        final Path modelPath = Paths.get(options.get("model"));
+        final Path dataPath = Paths.get(options.get("data"));
+
+        try (ProviderLoader providerLoader = new ProviderLoader()) {
+            final MachineLearningModelLoader<?> modelLoader = findModelLoader(
+                    providerLoader.loadProviders(providerJar),
+                    Optional.ofNullable(options.get("algorithm"))
+            );
+
+            final ClassLoader classLoader = providerLoader.getClassLoader(providerJar)
+                    .orElseThrow(() -> new ModelLoadingException("The provider jar was not loaded: " + providerJar));
+            final Thread currentThread = Thread.currentThread();
+            final ClassLoader previousClassLoader = currentThread.getContextClassLoader();
+            currentThread.setContextClassLoader(classLoader);
+            try {
+                final DatasetSchema schema = modelLoader.loadSchema(modelPath);
+                final MachineLearningModel model = modelLoader.loadModel(modelPath, schema);
+                if (!(model instanceof ClassificationMLModel)) {
+                    throw new ModelLoadingException("The model is not a classification model: " + model.getClass().getName());
+                }
+
+                try (ClassificationMLModel classificationModel = (ClassificationMLModel) model) {
+                    final List<Instance> instances = LoadInstancesUtils.instancesFromCsv(dataPath, schema);
+                    if (options.containsKey("warm-up")) {
+                        ModelWarmUp.builder().withSampleInstances(instances).build().warmUp(classificationModel, schema);
+                    }
+
+                    final WorkloadReplayResult result = WorkloadReplay.builder()
+                            .withRate(Double.parseDouble(options.getOrDefault("rate", "1000")))
+                            .withDuration(Long.parseLong(options.getOrDefault("duration", "60")), TimeUnit.SECONDS)
+                            .withThreads(Integer.parseInt(options.getOrDefault(
+                                    "threads",
+                                    String.valueOf(Runtime.getRuntime().availableProcessors())
+                            )))
+                            .withReportInterval(Long.parseLong(options.getOrDefault("interval", "1")), TimeUnit.SECONDS)
+                            .build()
+                            .run(classificationModel, instances);
+
+                    result.print(out);
+                }
+            } finally {
+                currentThread.setContextClassLoader(previousClassLoader);
+            }
+            return 0;
+
+        } catch (final IllegalArgumentException e) {
+            err.println("Invalid argument: " + e.getMessage());
+            err.println(USAGE);
+            return 1;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            err.println("Interrupted while replaying the workload");
+            return 2;
+        } catch (final Exception e) {
+            err.println("The workload replay failed: " + e);
+            return 2;
+        }
+    }
+
+    /**
+     * Parses the command line arguments into a map of options.
+     *
+     * @param args The command line arguments.
+     * @return The value of each option, by name (without the leading dashes).
+     * @throws IllegalArgumentException If the arguments are invalid or any required option is missing.
+     */
+    static Map<String, String> parseOptions(final String[] args) {
+        final Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+            }
+            final String name = args[i].substring(2);
+            if ("warm-up".equals(name)) {
+                options.put(name, "true");
+            } else if (i + 1 < args.length) {
+                options.put(name, args[++i]);
+            } else {
+                throw new IllegalArgumentException("Missing value for option: " + args[i]);
+            }
+        }
+
+        for (final String required : new String[]{"provider-jar", "model", "data"}) {
+            if (!options.containsKey(required)) {
+                throw new IllegalArgumentException("Missing required option: --" + required);
+            }
+        }
+        return options;
+    }
+
+    /**
+     * Finds the loader of the model among the algorithms of the given providers.
+     *
+     * @param providers     The providers in the jar.
+     * @param algorithmName The name of the algorithm of the model, if given.
+     * @return The model loader.
+     * @throws ModelLoadingException If there is no such algorithm, or no algorithm was given and the providers have
+     *                               several.
+     */
+    private static MachineLearningModelLoader<?> findModelLoader(final List<MachineLearningProvider<?>> providers,
+                                                                 final Optional<String> algorithmName)
+            throws ModelLoadingException {
+
+        final List<MachineLearningModelLoader<?>> candidates = new ArrayList<>();
+        for (final MachineLearningProvider<?> provider : providers) {
+            for (final MLAlgorithmDescriptor algorithm : provider.getAlgorithms()) {
+                if (!algorithmName.isPresent() || algorithmName.get().equals(algorithm.getAlgorithmName())) {
+                    provider.getModelCreator(algorithm.getAlgorithmName()).ifPresent(candidates::add);
+                }
+            }
+        }
+
+        if (candidates.isEmpty()) {
+            throw new ModelLoadingException("No provider in the jar can load the algorithm " + algorithmName.orElse("(any)"));
+        }
+        if (candidates.size() > 1) {
+            throw new ModelLoadingException("The jar provides several algorithms, choose one with --algorithm");
+        }
+        return candidates.get(0);
+    }
+}
@@ -0,0 +1,308 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.benchmark;
+
+import com.feedzai.openml.util.metrics.LatencyHistogram;
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableList;
+
+import java.io.PrintStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The measurements of a {@link WorkloadReplay}.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public final class WorkloadReplayResult {
+
+    /**
+     * The percentiles included in the {@link #print(PrintStream) report}.
+     */
+    private static final List<Double> REPORTED_PERCENTILES = ImmutableList.of(50.0, 75.0, 90.0, 99.0, 99.9, 99.99, 100.0);
+
+    /**
+     * The number of nanoseconds in a millisecond, used to report latencies.
+     */
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /**
+     * The target number of requests per second.
+     */
+    private final double targetRate;
+
+    /**
+     * The total duration of the replay, in nanoseconds.
+     */
+    private final long elapsedNanos;
+
+    /**
+     * The latencies of the requests, measured from their intended start time, in nanoseconds.
+     */
+    private final LatencyHistogram latency;
+
+    /**
+     * The time the model took to score each request, in nanoseconds.
+     */
+    private final LatencyHistogram serviceTime;
+
+    /**
+     * The measurements over each interval of the replay.
+     */
+    private final List<Interval> intervals;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param targetRate   The target number of requests per second.
+     * @param elapsedNanos The total duration of the replay, in nanoseconds.
+     * @param latency      The latencies of the requests, measured from their intended start time, in nanoseconds.
+     * @param serviceTime  The time the model took to score each request, in nanoseconds.
+     * @param intervals    The measurements over each interval of the replay.
+     */
+    WorkloadReplayResult(final double targetRate,
+                         final long elapsedNanos,
+                         final LatencyHistogram latency,
+                         final LatencyHistogram serviceTime,
+                         final List<Interval> intervals) {
+        this.targetRate = targetRate;
+        this.elapsedNanos = elapsedNanos;
+        this.latency = latency;
+        this.serviceTime = serviceTime;
+        this.intervals = ImmutableList.copyOf(intervals);
+    }
+
+    /**
+     * Gets the target number of requests per second.
+     *
+     * @return The target rate.
+     */
+    public double getTargetRate() {
+        return this.targetRate;
+    }
+
+    /**
+     * Gets the number of requests per second that were actually answered.
+     *
+     * @return The achieved rate.
+     */
+    public double getAchievedRate() {
+        return (getCompletedRequests() + getErrors()) * (double) TimeUnit.SECONDS.toNanos(1) / Math.max(this.elapsedNanos, 1);
+    }
+
+    /**
+     * Gets the total duration of the replay.
+     *
+     * @param unit The unit of the duration.
+     * @return The duration.
+     */
+    public long getElapsed(final TimeUnit unit) {
+        return unit.convert(this.elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gets the number of requests scored successfully.
+     *
+     * @return The number of requests.
+     */
+    public long getCompletedRequests() {
+        return this.latency.getTotalCount();
+    }
+
+    /**
+     * Gets the number of requests for which the model threw an exception.
+     *
+     * @return The number of errors.
+     */
+    public long getErrors() {
+        return this.intervals.stream().mapToLong(Interval::getErrors).sum();
+    }
+
+    /**
+     * Gets the latencies of the requests, measured from the instant they should have been sent according to the
+     * target rate, in nanoseconds. This is the latency that the clients of the model would observe.
+     *
+     * @return The latency histogram.
+     */
+    public LatencyHistogram getLatency() {
+        return this.latency;
+    }
+
+    /**
+     * Gets the time the model took to score each request, excluding any time the request waited to be sent, in
+     * nanoseconds.
+     *
+     * @return The service time histogram.
+     */
+    public LatencyHistogram getServiceTime() {
+        return this.serviceTime;
+    }
+
+    /**
+     * Gets the measurements over each interval of the replay. The last interval has the requests that were answered
+     * after the scheduled end of the replay, if any.
+     *
+     * @return The intervals.
+     */
+    public List<Interval> getIntervals() {
+        return this.intervals;
+    }
+
+    /**
+     * Prints a human-readable report with the percentiles of the latency and service time, and the throughput over
+     * time.
+     *
+     * @param out The stream where to print the report.
+     */
+    public void print(final PrintStream out) {
+        out.printf("Target rate: %.1f req/s, achieved rate: %.1f req/s, completed: %d, errors: %d, elapsed: %.3f s%n",
+                this.targetRate, getAchievedRate(), getCompletedRequests(), getErrors(), this.elapsedNanos / 1e9);
+
+        out.println();
+        out.printf("%12s %16s %16s%n", "percentile", "latency (ms)", "service (ms)");
+        for (final double percentile : REPORTED_PERCENTILES) {
+            out.printf("%12s %16.3f %16.3f%n",
+                    percentile,
+                    this.latency.getValueAtPercentile(percentile) / NANOS_PER_MILLI,
+                    this.serviceTime.getValueAtPercentile(percentile) / NANOS_PER_MILLI);
+        }
+
+        out.println();
+        out.printf("%12s %14s %10s %12s %12s %12s%n", "time (s)", "throughput", "errors", "p50 (ms)", "p99 (ms)", "max (ms)");
+        for (final Interval interval : this.intervals) {
+            final LatencyHistogram intervalLatency = interval.getLatency();
+            out.printf("%12.3f %14.1f %10d %12.3f %12.3f %12.3f%n",
+                    interval.getStartNanos() / 1e9,
+                    interval.getThroughput(),
+                    interval.getErrors(),
+                    intervalLatency.getValueAtPercentile(50) / NANOS_PER_MILLI,
+                    intervalLatency.getValueAtPercentile(99) / NANOS_PER_MILLI,
+                    intervalLatency.getMax() / NANOS_PER_MILLI);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("targetRate", this.targetRate)
+                .add("achievedRate", getAchievedRate())
+                .add("latency", this.latency)
+                .add("serviceTime", this.serviceTime)
+                .add("errors", getErrors())
+                .toString();
+    }
+
+    /**
+     * The measurements of the requests answered during an interval of the replay.
+     */
+    public static final class Interval {
+
+        /**
+         * The start of the interval, relative to the start of the replay, in nanoseconds.
+         */
+        private final long startNanos;
+
+        /**
+         * The duration of the interval, in nanoseconds.
+         */
+        private final long durationNanos;
+
+        /**
+         * The latencies of the requests answered in the interval.
+         */
+        private final LatencyHistogram latency;
+
+        /**
+         * The number of requests that failed in the interval.
+         */
+        private final long errors;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param startNanos    The start of the interval, relative to the start of the replay, in nanoseconds.
+         * @param durationNanos The duration of the interval, in nanoseconds.
+         * @param latency       The latencies of the requests answered in the interval.
+         * @param errors        The number of requests that failed in the interval.
+         */
+        Interval(final long startNanos, final long durationNanos, final LatencyHistogram latency, final long errors) {
+            this.startNanos = startNanos;
+            this.durationNanos = durationNanos;
+            this.latency = latency;
+            this.errors = errors;
+        }
+
+        /**
+         * Gets the start of the interval, relative to the start of the replay.
+         *
+         * @return The start of the interval, in nanoseconds.
+         */
+        public long getStartNanos() {
+            return this.startNanos;
+        }
+
+        /**
+         * Gets the duration of the interval.
+         *
+         * @return The duration, in nanoseconds.
+         */
+        public long getDurationNanos() {
+            return this.durationNanos;
+        }
+
+        /**
+         * Gets the latencies of the requests answered in the interval, measured from their intended start time.
+         *
+         * @return The latency histogram.
+         */
+        public LatencyHistogram getLatency() {
+            return this.latency;
+        }
+
+        /**
+         * Gets the number of requests that failed in the interval.
+         *
+         * @return The number of errors.
+         */
+        public long getErrors() {
+            return this.errors;
+        }
+
+        /**
+         * Gets the number of requests per second answered successfully in the interval.
+         *
+         * @return The throughput.
+         */
+        public double getThroughput() {
+            return this.latency.getTotalCount() * (double) TimeUnit.SECONDS.toNanos(1) / Math.max(this.durationNanos, 1);
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(this)
+                    .add("startNanos", this.startNanos)
+                    .add("throughput", getThroughput())
+                    .add("errors", this.errors)
+                    .add("latency", this.latency)
+                    .toString();
+        }
+    }
+}
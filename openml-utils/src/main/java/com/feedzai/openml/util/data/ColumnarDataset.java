@@ -0,0 +1,627 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.data;
+
+import com.feedzai.openml.data.Dataset;
+import com.feedzai.openml.data.FeatureValues;
+import com.feedzai.openml.data.Instance;
+import com.feedzai.openml.data.PartitionedDataset;
+import com.feedzai.openml.data.schema.DatasetSchema;
+import com.feedzai.openml.data.schema.FieldSchema;
+import com.feedzai.openml.data.schema.StringValueSchema;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A {@link Dataset} that stores its values by column, in primitive arrays.
+ * <p>
+ * Numeric and categorical fields are stored as {@code double[]} columns, with the encoding described in
+ * {@link Instance#getValue(int)}, and {@link StringValueSchema string} fields either as {@code String[]} columns or,
+ * when dictionary encoded, as {@code int[]} columns of codes of a {@link StringDictionary}, decoded on access. The
+ * {@link Instance}s returned by this dataset are lightweight views over a row of the columns, and
+ * {@link #feature(int)} gives direct access to a column.
+ * <p>
+ * Dictionary encoding stores each distinct value once, which saves memory when values repeat across rows (e.g. ids of
+ * merchants). The dictionaries of a dataset can be {@link #getStringDictionaries() shared} with other datasets of the
+ * same schema, so that the same value has the same code in all of them.
+ * <p>
+ * The {@link MissingValueBitmap missing values} of each column are computed on first use and cached, so that they can
+ * be counted, skipped or combined across columns without scanning the values again; the columns shouldn't be modified
+ * after this dataset is created.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public class ColumnarDataset implements Dataset {
+
+    /**
+     * The schema of the dataset.
+     */
+    private final DatasetSchema schema;
+
+    /**
+     * The number of instances in the dataset.
+     */
+    private final int numberInstances;
+
+    /**
+     * The values of the numeric and categorical fields, by field index ({@code null} for string fields).
+     */
+    private final double[][] numericColumns;
+
+    /**
+     * The values of the string fields that are not dictionary encoded, by field index ({@code null} for other fields).
+     */
+    private final String[][] stringColumns;
+
+    /**
+     * The codes of the values of the dictionary encoded string fields, by field index ({@code null} for other fields).
+     */
+    private final int[][] codeColumns;
+
+    /**
+     * The dictionaries of the dictionary encoded string fields, by field index ({@code null} for other fields).
+     */
+    private final StringDictionary[] dictionaries;
+
+    /**
+     * The bitmaps of the missing values of each field, by field index, computed on first use.
+     */
+    private final MissingValueBitmap[] missingValues;
+
+    /**
+     * Creates a new instance. The given arrays are used directly, without being copied.
+     *
+     * @param schema          The schema of the dataset.
+     * @param numberInstances The number of instances in the dataset.
+     * @param numericColumns  The values of the numeric and categorical fields, by field index, with {@code null} for
+     *                        the string fields. Each column should have at least {@code numberInstances} values.
+     * @param stringColumns   The values of the string fields, by field index, with {@code null} for the numeric and
+     *                        categorical fields. Each column should have at least {@code numberInstances} values.
+     */
+    public ColumnarDataset(final DatasetSchema schema,
+                           final int numberInstances,
+                           final double[][] numericColumns,
+                           final String[][] stringColumns) {
+        this(schema, numberInstances, numericColumns, stringColumns, null, null);
+    }
+
+    /**
+     * Creates a new instance where the string fields are dictionary encoded. The given arrays are used directly,
+     * without being copied.
+     *
+     * @param schema          The schema of the dataset.
+     * @param numberInstances The number of instances in the dataset.
+     * @param numericColumns  The values of the numeric and categorical fields, by field index, with {@code null} for
+     *                        the string fields. Each column should have at least {@code numberInstances} values.
+     * @param codeColumns     The codes of the values of the string fields, by field index, with {@code null} for the
+     *                        numeric and categorical fields. Each column should have at least {@code numberInstances}
+     *                        values, with {@link StringDictionary#MISSING} for the missing ones.
+     * @param dictionaries    The dictionaries of the codes of the string fields, by field index, with {@code null} for
+     *                        the numeric and categorical fields.
+     */
+    public ColumnarDataset(final DatasetSchema schema,
+                           final int numberInstances,
+                           final double[][] numericColumns,
+                           final int[][] codeColumns,
+                           final StringDictionary[] dictionaries) {
+        this(schema, numberInstances, numericColumns, null, codeColumns, dictionaries);
+    }
+
+    /**
+     * Creates a new instance where each string field is either a column of values or a column of codes. The given
+     * arrays are used directly, without being copied.
+     *
+     * @param schema          The schema of the dataset.
+     * @param numberInstances The number of instances in the dataset.
+     * @param numericColumns  The values of the numeric and categorical fields, by field index.
+     * @param stringColumns   The values of the string fields that are not dictionary encoded, by field index, or
+     *                        {@code null} if all are.
+     * @param codeColumns     The codes of the values of the dictionary encoded string fields, by field index, or
+     *                        {@code null} if there are none.
+     * @param dictionaries    The dictionaries of the dictionary encoded string fields, by field index, or
+     *                        {@code null} if there are none.
+     */
+    public ColumnarDataset(final DatasetSchema schema,
+                           final int numberInstances,
+                           final double[][] numericColumns,
+                           final String[][] stringColumns,
+                           final int[][] codeColumns,
+                           final StringDictionary[] dictionaries) {
+        Preconditions.checkNotNull(schema, "schema cannot be null");
+        Preconditions.checkArgument(numberInstances >= 0, "the number of instances should not be negative");
+        Preconditions.checkNotNull(numericColumns, "numericColumns cannot be null");
+        Preconditions.checkArgument(
+                stringColumns != null || (codeColumns != null && dictionaries != null),
+                "there should be string columns, or code columns and their dictionaries"
+        );
+
+        final List<FieldSchema> fields = schema.getFieldSchemas();
+        this.stringColumns = stringColumns == null ? new String[fields.size()][] : stringColumns;
+        this.codeColumns = codeColumns == null ? new int[fields.size()][] : codeColumns;
+        this.dictionaries = dictionaries == null ? new StringDictionary[fields.size()] : dictionaries;
+        Preconditions.checkArgument(
+                numericColumns.length == fields.size() && this.stringColumns.length == fields.size()
+                        && this.codeColumns.length == fields.size() && this.dictionaries.length == fields.size(),
+                "there should be one column per field of the schema"
+        );
+        for (final FieldSchema field : fields) {
+            final int index = field.getFieldIndex();
+            if (isStringField(field)) {
+                final boolean hasValues = this.stringColumns[index] != null
+                        && this.stringColumns[index].length >= numberInstances;
+                final boolean hasCodes = this.codeColumns[index] != null && this.dictionaries[index] != null
+                        && this.codeColumns[index].length >= numberInstances;
+                Preconditions.checkArgument(
+                        hasValues || hasCodes,
+                        "the string field %s should have a column with %s values", field.getFieldName(), numberInstances
+                );
+            } else {
+                Preconditions.checkArgument(
+                        numericColumns[index] != null && numericColumns[index].length >= numberInstances,
+                        "the field %s should have a column with %s values", field.getFieldName(), numberInstances
+                );
+            }
+        }
+
+        this.schema = schema;
+        this.numberInstances = numberInstances;
+        this.numericColumns = numericColumns;
+        this.missingValues = new MissingValueBitmap[fields.size()];
+    }
+
+    /**
+     * Creates a new dataset with the given schema, copying the values of the given instances.
+     *
+     * @param schema    The schema of the instances.
+     * @param instances The instances to copy.
+     * @return The new dataset.
+     */
+    public static ColumnarDataset copyOf(final DatasetSchema schema, final List<? extends Instance> instances) {
+        final List<FieldSchema> fields = schema.getFieldSchemas();
+        final double[][] numericColumns = new double[fields.size()][];
+        final String[][] stringColumns = new String[fields.size()][];
+
+        for (final FieldSchema field : fields) {
+            final int index = field.getFieldIndex();
+            if (isStringField(field)) {
+                final String[] column = new String[instances.size()];
+                for (int row = 0; row < column.length; row++) {
+                    column[row] = instances.get(row).getStringValue(index);
+                }
+                stringColumns[index] = column;
+            } else {
+                final double[] column = new double[instances.size()];
+                for (int row = 0; row < column.length; row++) {
+                    column[row] = instances.get(row).getValue(index);
+                }
+                numericColumns[index] = column;
+            }
+        }
+
+        return new ColumnarDataset(schema, instances.size(), numericColumns, stringColumns);
+    }
+
+    /**
+     * Gets the number of instances in the dataset.
+     *
+     * @return The number of instances.
+     */
+    public int getNumberInstances() {
+        return this.numberInstances;
+    }
+
+    /**
+     * Gets the value of a numeric or categorical field for an instance, without going through an {@link Instance}.
+     *
+     * @param row   The index of the instance.
+     * @param field The index of the field.
+     * @return The value, encoded as described in {@link Instance#getValue(int)}.
+     */
+    public double getValue(final int row, final int field) {
+        Preconditions.checkElementIndex(row, this.numberInstances);
+        return numericColumn(field)[row];
+    }
+
+    /**
+     * Gets the value of a string field for an instance, without going through an {@link Instance}.
+     *
+     * @param row   The index of the instance.
+     * @param field The index of the field.
+     * @return The value.
+     */
+    public String getStringValue(final int row, final int field) {
+        Preconditions.checkElementIndex(row, this.numberInstances);
+        return stringValue(row, field);
+    }
+
+    /**
+     * Gets the code of the value of a dictionary encoded string field for an instance, e.g. to group or compare values
+     * without decoding them.
+     *
+     * @param row   The index of the instance.
+     * @param field The index of the field.
+     * @return The code of the value in the {@link #getStringDictionary(int) dictionary of the field}, or
+     * {@link StringDictionary#MISSING} if the value is missing.
+     * @throws IllegalArgumentException  If the field is not a dictionary encoded string field.
+     * @throws IndexOutOfBoundsException If the row or the field index is out of bounds.
+     */
+    public int getStringCode(final int row, final int field) {
+        Preconditions.checkElementIndex(row, this.numberInstances);
+        Preconditions.checkElementIndex(field, this.codeColumns.length, "field index");
+        final int[] codes = this.codeColumns[field];
+        if (codes == null) {
+            throw new IllegalArgumentException(String.format("The field %d is not a dictionary encoded field", field));
+        }
+        return codes[row];
+    }
+
+    /**
+     * Gets the dictionary of a string field.
+     *
+     * @param field The index of the field.
+     * @return The dictionary, or {@link Optional#empty()} if the field is not a dictionary encoded string field.
+     */
+    public Optional<StringDictionary> getStringDictionary(final int field) {
+        Preconditions.checkElementIndex(field, this.dictionaries.length, "field index");
+        return Optional.ofNullable(this.dictionaries[field]);
+    }
+
+    /**
+     * Gets the dictionaries of the string fields, to be shared with other datasets of the same schema (e.g. through
+     * {@link #encodeStrings(StringDictionary[])}).
+     *
+     * @return The dictionaries, by field index, with {@code null} for the fields that are not dictionary encoded.
+     */
+    public StringDictionary[] getStringDictionaries() {
+        return this.dictionaries.clone();
+    }
+
+    /**
+     * Yields a copy of this dataset where all string fields are dictionary encoded, sharing the numeric and
+     * categorical columns with this one.
+     *
+     * @param sharedDictionaries The dictionaries to use, by field index (e.g. from
+     *                           {@link #getStringDictionaries()} of another dataset of the same schema), where a
+     *                           {@code null} entry of a string field means a new dictionary for that field.
+     * @return The encoded dataset.
+     */
+    public ColumnarDataset encodeStrings(final StringDictionary[] sharedDictionaries) {
+        Preconditions.checkNotNull(sharedDictionaries, "sharedDictionaries cannot be null");
+        Preconditions.checkArgument(
+                sharedDictionaries.length == this.dictionaries.length,
+                "there should be one dictionary per field of the schema"
+        );
+
+        final int[][] codes = new int[this.codeColumns.length][];
+        final StringDictionary[] encodedDictionaries = new StringDictionary[this.dictionaries.length];
+        for (final FieldSchema field : this.schema.getFieldSchemas()) {
+            final int index = field.getFieldIndex();
+            if (!isStringField(field)) {
+                continue;
+            }
+            final StringDictionary dictionary = sharedDictionaries[index] != null
+                    ? sharedDictionaries[index]
+                    : new StringDictionary();
+            if (dictionary == this.dictionaries[index]) {
+                codes[index] = this.codeColumns[index];
+            } else {
+                codes[index] = new int[this.numberInstances];
+                for (int row = 0; row < this.numberInstances; row++) {
+                    codes[index][row] = dictionary.encode(stringValue(row, index));
+                }
+            }
+            encodedDictionaries[index] = dictionary;
+        }
+        return new ColumnarDataset(this.schema, this.numberInstances, this.numericColumns, codes, encodedDictionaries);
+    }
+
+    /**
+     * Gets the bitmap of the missing values of a field.
+     *
+     * @param field The index of the field.
+     * @return The bitmap of the missing values.
+     */
+    public MissingValueBitmap getMissingValues(final int field) {
+        Preconditions.checkElementIndex(field, this.missingValues.length, "field index");
+        MissingValueBitmap bitmap = this.missingValues[field];
+        if (bitmap == null) {
+            // racing threads compute equal bitmaps, and the immutable bitmap is safely published by its final fields
+            if (this.numericColumns[field] != null) {
+                bitmap = MissingValueBitmap.of(this.numericColumns[field], this.numberInstances);
+            } else if (this.codeColumns[field] != null) {
+                bitmap = MissingValueBitmap.of(this.codeColumns[field], this.numberInstances);
+            } else {
+                bitmap = MissingValueBitmap.of(this.stringColumns[field], this.numberInstances);
+            }
+            this.missingValues[field] = bitmap;
+        }
+        return bitmap;
+    }
+
+    /**
+     * Yields a view over the instances of this dataset that have a value for all the given fields, e.g. those with a
+     * class, computed by combining the bitmaps of their missing values.
+     *
+     * @param fields The indexes of the fields.
+     * @return The view over the instances without missing values on the given fields.
+     */
+    public IndexedDataset withoutMissingValues(final int... fields) {
+        Preconditions.checkArgument(fields.length > 0, "there should be at least one field");
+        MissingValueBitmap missing = getMissingValues(fields[0]);
+        for (int i = 1; i < fields.length; i++) {
+            missing = missing.or(getMissingValues(fields[i]));
+        }
+        return new IndexedDataset(this, missing.getPresentRows());
+    }
+
+    @Override
+    public DatasetSchema getSchema() {
+        return this.schema;
+    }
+
+    @Override
+    public Instance instance(final int index) {
+        Preconditions.checkElementIndex(index, this.numberInstances);
+        return new RowInstance(this, index);
+    }
+
+    @Override
+    public FeatureValues feature(final int index) {
+        final double[] column = numericColumn(index);
+        return row -> {
+            Preconditions.checkElementIndex(row, this.numberInstances);
+            return column[row];
+        };
+    }
+
+    @Override
+    public Iterator<Instance> getInstances() {
+        return new Iterator<Instance>() {
+
+            /**
+             * The index of the next instance.
+             */
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return this.next < ColumnarDataset.this.numberInstances;
+            }
+
+            @Override
+            public Instance next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return new RowInstance(ColumnarDataset.this, this.next++);
+            }
+        };
+    }
+
+    @Override
+    public Dataset filter(final Predicate<Instance> predicate) {
+        final int[] rows = new int[this.numberInstances];
+        int matched = 0;
+        for (int row = 0; row < this.numberInstances; row++) {
+            if (predicate.test(new RowInstance(this, row))) {
+                rows[matched++] = row;
+            }
+        }
+        return select(rows, matched);
+    }
+
+    @Override
+    public <K> Map<K, Dataset> groupBy(final Function<Instance, K> function) {
+        final Map<K, int[]> groupRows = new LinkedHashMap<>();
+        final Map<K, Integer> groupSizes = new LinkedHashMap<>();
+
+        for (int row = 0; row < this.numberInstances; row++) {
+            final K key = function.apply(new RowInstance(this, row));
+            final int size = groupSizes.getOrDefault(key, 0);
+            int[] rows = groupRows.get(key);
+            if (rows == null || rows.length == size) {
+                final int[] grown = new int[rows == null ? 16 : rows.length * 2];
+                if (rows != null) {
+                    System.arraycopy(rows, 0, grown, 0, size);
+                }
+                rows = grown;
+                groupRows.put(key, rows);
+            }
+            rows[size] = row;
+            groupSizes.put(key, size + 1);
+        }
+
+        final Map<K, Dataset> groups = new LinkedHashMap<>();
+        groupRows.forEach((key, rows) -> groups.put(key, select(rows, groupSizes.get(key))));
+        return groups;
+    }
+
+    @Override
+    public PartitionedDataset partition(final Predicate<Instance> predicate) {
+        final Dataset matched = filter(predicate);
+        final Dataset unmatched = filter(predicate.negate());
+        return new PartitionedDataset() {
+            @Override
+            public Dataset getMatchedData() {
+                return matched;
+            }
+
+            @Override
+            public Dataset getUnmatchedData() {
+                return unmatched;
+            }
+        };
+    }
+
+    @Override
+    public Dataset empty() {
+        return select(new int[0], 0);
+    }
+
+    /**
+     * Creates a new dataset with a copy of the given rows of this dataset.
+     *
+     * @param rows  The indexes of the rows to copy.
+     * @param count The number of rows to copy (from the start of {@code rows}).
+     * @return The new dataset.
+     */
+    private ColumnarDataset select(final int[] rows, final int count) {
+        final double[][] selectedNumeric = new double[this.numericColumns.length][];
+        final String[][] selectedStrings = new String[this.stringColumns.length][];
+        final int[][] selectedCodes = new int[this.codeColumns.length][];
+
+        for (int field = 0; field < this.numericColumns.length; field++) {
+            if (this.numericColumns[field] != null) {
+                final double[] source = this.numericColumns[field];
+                final double[] column = new double[count];
+                for (int i = 0; i < count; i++) {
+                    column[i] = source[rows[i]];
+                }
+                selectedNumeric[field] = column;
+            }
+            if (this.stringColumns[field] != null) {
+                final String[] source = this.stringColumns[field];
+                final String[] column = new String[count];
+                for (int i = 0; i < count; i++) {
+                    column[i] = source[rows[i]];
+                }
+                selectedStrings[field] = column;
+            }
+            if (this.codeColumns[field] != null) {
+                final int[] source = this.codeColumns[field];
+                final int[] column = new int[count];
+                for (int i = 0; i < count; i++) {
+                    column[i] = source[rows[i]];
+                }
+                selectedCodes[field] = column;
+            }
+        }
+
+        return new ColumnarDataset(
+                this.schema, count, selectedNumeric, selectedStrings, selectedCodes, this.dictionaries.clone()
+        );
+    }
+
+    /**
+     * Gets the column of a numeric or categorical field.
+     *
+     * @param field The index of the field.
+     * @return The column.
+     * @throws IllegalArgumentException If the field is a string field.
+     */
+    private double[] numericColumn(final int field) {
+        final double[] column = this.numericColumns[field];
+        if (column == null) {
+            throw new IllegalArgumentException(String.format("The field %d is a string field", field));
+        }
+        return column;
+    }
+
+    /**
+     * Gets the value of a string field for a row, decoding it if the field is dictionary encoded.
+     *
+     * @param row   The index of the row.
+     * @param field The index of the field.
+     * @return The value.
+     * @throws IllegalArgumentException If the field is not a string field.
+     */
+    private String stringValue(final int row, final int field) {
+        final int[] codes = this.codeColumns[field];
+        if (codes != null) {
+            return this.dictionaries[field].decode(codes[row]);
+        }
+        final String[] column = this.stringColumns[field];
+        if (column == null) {
+            throw new IllegalArgumentException(String.format("The field %d is not a string field", field));
+        }
+        return column[row];
+    }
+
+    /**
+     * Checks whether the given field holds strings.
+     *
+     * @param field The field.
+     * @return {@code true} if it is a {@link StringValueSchema string} field, {@code false} otherwise.
+     */
+    private static boolean isStringField(final FieldSchema field) {
+        return field.getValueSchema() instanceof StringValueSchema;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("schema", this.schema)
+                .add("numberInstances", this.numberInstances)
+                .toString();
+    }
+
+    /**
+     * An {@link Instance} that is a view over a row of a {@link ColumnarDataset}.
+     */
+    private static final class RowInstance implements Instance {
+
+        /**
+         * The dataset.
+         */
+        private final ColumnarDataset dataset;
+
+        /**
+         * The index of the row.
+         */
+        private final int row;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param dataset The dataset.
+         * @param row     The index of the row.
+         */
+        private RowInstance(final ColumnarDataset dataset, final int row) {
+            this.dataset = dataset;
+            this.row = row;
+        }
+
+        @Override
+        public double getValue(final int index) {
+            return this.dataset.numericColumn(index)[this.row];
+        }
+
+        @Override
+        public String getStringValue(final int index) {
+            return this.dataset.stringValue(this.row, index);
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(this)
+                    .add("row", this.row)
+                    .toString();
+        }
+    }
+}
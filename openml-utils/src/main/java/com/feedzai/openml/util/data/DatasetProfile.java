@@ -0,0 +1,336 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.data;
+
+import com.feedzai.openml.data.schema.FieldSchema;
+import com.feedzai.openml.provider.exception.ModelLoadingException;
+import com.feedzai.openml.util.load.LoadModelUtils;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableMap;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * The profile of a dataset computed by a {@link DatasetProfiler}: the number of instances and, for each field, the
+ * statistics providers usually need for normalisation, binning or as a drift baseline.
+ * <p>
+ * Profiles are immutable, and can be {@link #save(Path) saved} next to a model so that they don't need to be computed
+ * again.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public final class DatasetProfile implements Serializable {
+
+    /**
+     * Serial version UID.
+     */
+    private static final long serialVersionUID = 5093271652402383771L;
+
+    /**
+     * The name of the file where the profile is {@link #save(Path) saved}.
+     */
+    public static final String FILE_NAME = "dataset-profile.ser";
+
+    /**
+     * The number of instances of the dataset.
+     */
+    private final long numberInstances;
+
+    /**
+     * The profile of each field, in the order of the schema.
+     */
+    private final ImmutableMap<FieldSchema, FieldProfile> fieldProfiles;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param numberInstances The number of instances of the dataset.
+     * @param fieldProfiles   The profile of each field, in the order of the schema.
+     */
+    DatasetProfile(final long numberInstances, final Map<FieldSchema, FieldProfile> fieldProfiles) {
+        this.numberInstances = numberInstances;
+        this.fieldProfiles = ImmutableMap.copyOf(fieldProfiles);
+    }
+
+    /**
+     * Loads the profile {@link #save(Path) saved} in a directory, usually the directory of a model.
+     *
+     * @param dir The directory.
+     * @return The profile.
+     * @throws ModelLoadingException If the profile cannot be read.
+     */
+    public static DatasetProfile load(final Path dir) throws ModelLoadingException {
+        Preconditions.checkNotNull(dir, "dir cannot be null");
+
+        return LoadModelUtils.readSerialized(dir.resolve(FILE_NAME), DatasetProfile.class, "dataset profile");
+    }
+
+    /**
+     * Saves this profile in a directory, usually the directory of a model, so that it can be
+     * {@link #load(Path) loaded} later.
+     *
+     * @param dir The directory.
+     * @throws IOException If the profile cannot be written.
+     */
+    public void save(final Path dir) throws IOException {
+        Preconditions.checkNotNull(dir, "dir cannot be null");
+
+        LoadModelUtils.writeSerialized(dir.resolve(FILE_NAME), this);
+    }
+
+    /**
+     * Gets the number of instances of the dataset.
+     *
+     * @return The number of instances.
+     */
+    public long getNumberInstances() {
+        return this.numberInstances;
+    }
+
+    /**
+     * Gets the profile of each field.
+     *
+     * @return The profiles, in the order of the schema.
+     */
+    public Map<FieldSchema, FieldProfile> getFieldProfiles() {
+        return this.fieldProfiles;
+    }
+
+    /**
+     * Gets the profile of a field.
+     *
+     * @param field The field.
+     * @return The profile of the field.
+     * @throws IllegalArgumentException If the field is not in the profiled schema.
+     */
+    public FieldProfile getFieldProfile(final FieldSchema field) {
+        final FieldProfile profile = this.fieldProfiles.get(field);
+        Preconditions.checkArgument(profile != null, "the field %s was not profiled", field);
+        return profile;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("numberInstances", this.numberInstances)
+                .add("fieldProfiles", this.fieldProfiles.values())
+                .toString();
+    }
+
+    /**
+     * The profile of a field. The numeric statistics ({@link #getMin()}, {@link #getMax()}, {@link #getMean()} and
+     * {@link #getVariance()}) are {@link Double#NaN} for non-numeric fields, or when there are no values.
+     */
+    public static final class FieldProfile implements Serializable {
+
+        /**
+         * Serial version UID.
+         */
+        private static final long serialVersionUID = -7468209946148651210L;
+
+        /**
+         * The number of non-missing values.
+         */
+        private final long count;
+
+        /**
+         * The number of missing values.
+         */
+        private final long missingCount;
+
+        /**
+         * The minimum value.
+         */
+        private final double min;
+
+        /**
+         * The maximum value.
+         */
+        private final double max;
+
+        /**
+         * The mean value.
+         */
+        private final double mean;
+
+        /**
+         * The (sample) variance of the values.
+         */
+        private final double variance;
+
+        /**
+         * The number of distinct non-missing values, up to the limit of the profiler.
+         */
+        private final long distinctCount;
+
+        /**
+         * Whether {@link #distinctCount} is exact, i.e. it did not reach the limit of the profiler.
+         */
+        private final boolean distinctCountExact;
+
+        /**
+         * The number of occurrences of each nominal value of a categorical field.
+         */
+        private final ImmutableMap<String, Long> categoryCounts;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param count              The number of non-missing values.
+         * @param missingCount       The number of missing values.
+         * @param min                The minimum value.
+         * @param max                The maximum value.
+         * @param mean               The mean value.
+         * @param variance           The (sample) variance of the values.
+         * @param distinctCount      The number of distinct non-missing values, up to the limit of the profiler.
+         * @param distinctCountExact Whether the number of distinct values is exact.
+         * @param categoryCounts     The number of occurrences of each nominal value of a categorical field.
+         */
+        FieldProfile(final long count,
+                     final long missingCount,
+                     final double min,
+                     final double max,
+                     final double mean,
+                     final double variance,
+                     final long distinctCount,
+                     final boolean distinctCountExact,
+                     final Map<String, Long> categoryCounts) {
+            this.count = count;
+            this.missingCount = missingCount;
+            this.min = min;
+            this.max = max;
+            this.mean = mean;
+            this.variance = variance;
+            this.distinctCount = distinctCount;
+            this.distinctCountExact = distinctCountExact;
+            this.categoryCounts = ImmutableMap.copyOf(categoryCounts);
+        }
+
+        /**
+         * Gets the number of non-missing values.
+         *
+         * @return The number of values.
+         */
+        public long getCount() {
+            return this.count;
+        }
+
+        /**
+         * Gets the number of missing values.
+         *
+         * @return The number of missing values.
+         */
+        public long getMissingCount() {
+            return this.missingCount;
+        }
+
+        /**
+         * Gets the minimum value of a numeric field.
+         *
+         * @return The minimum value.
+         */
+        public double getMin() {
+            return this.min;
+        }
+
+        /**
+         * Gets the maximum value of a numeric field.
+         *
+         * @return The maximum value.
+         */
+        public double getMax() {
+            return this.max;
+        }
+
+        /**
+         * Gets the mean value of a numeric field.
+         *
+         * @return The mean value.
+         */
+        public double getMean() {
+            return this.mean;
+        }
+
+        /**
+         * Gets the (sample) variance of the values of a numeric field.
+         *
+         * @return The variance, or {@link Double#NaN} if there are less than 2 values.
+         */
+        public double getVariance() {
+            return this.variance;
+        }
+
+        /**
+         * Gets the (sample) standard deviation of the values of a numeric field.
+         *
+         * @return The standard deviation, or {@link Double#NaN} if there are less than 2 values.
+         */
+        public double getStandardDeviation() {
+            return Math.sqrt(this.variance);
+        }
+
+        /**
+         * Gets the number of distinct non-missing values (the cardinality of the field). Only up to a limit of
+         * distinct values are tracked, see {@link #isDistinctCountExact()}.
+         *
+         * @return The number of distinct values.
+         */
+        public long getDistinctCount() {
+            return this.distinctCount;
+        }
+
+        /**
+         * Checks whether {@link #getDistinctCount()} is exact, or whether it reached the limit of distinct values
+         * tracked by the profiler, in which case the field has at least that many distinct values.
+         *
+         * @return {@code true} if the number of distinct values is exact, {@code false} otherwise.
+         */
+        public boolean isDistinctCountExact() {
+            return this.distinctCountExact;
+        }
+
+        /**
+         * Gets the number of occurrences of each nominal value of a categorical field.
+         *
+         * @return The counts of the nominal values, or an empty map for non-categorical fields.
+         */
+        public Map<String, Long> getCategoryCounts() {
+            return this.categoryCounts;
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(this)
+                    .add("count", this.count)
+                    .add("missingCount", this.missingCount)
+                    .add("min", this.min)
+                    .add("max", this.max)
+                    .add("mean", this.mean)
+                    .add("variance", this.variance)
+                    .add("distinctCount", this.distinctCount)
+                    .add("categoryCounts", this.categoryCounts)
+                    .toString();
+        }
+    }
+}
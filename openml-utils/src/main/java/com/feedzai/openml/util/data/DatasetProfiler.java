@@ -0,0 +1,582 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.data;
+
+import com.feedzai.openml.data.Dataset;
+import com.feedzai.openml.data.FeatureValues;
+import com.feedzai.openml.data.Instance;
+import com.feedzai.openml.data.schema.AbstractValueSchema;
+import com.feedzai.openml.data.schema.CategoricalValueSchema;
+import com.feedzai.openml.data.schema.DatasetSchema;
+import com.feedzai.openml.data.schema.FieldSchema;
+import com.feedzai.openml.data.schema.StringValueSchema;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Computes the {@link DatasetProfile} of a {@link Dataset} in a single parallel pass.
+ * <p>
+ * For a {@link ColumnarDataset}, each field is profiled by a different task, reading its column directly (through
+ * {@link Dataset#feature(int)} for numeric and categorical fields). For any other dataset, the instances are split
+ * into batches profiled in parallel, whose partial profiles are then merged.
+ * <p>
+ * The number of distinct values of each field is exact up to a {@link Builder#withMaxDistinctValues limit}, above
+ * which it stops being tracked, so that the memory needed to profile high-cardinality fields is bounded.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public final class DatasetProfiler {
+
+    /**
+     * The maximum number of distinct values tracked per field.
+     */
+    private final int maxDistinctValues;
+
+    /**
+     * Creates a new instance from the given builder.
+     *
+     * @param builder The builder.
+     */
+    private DatasetProfiler(final Builder builder) {
+        this.maxDistinctValues = builder.maxDistinctValues;
+    }
+
+    /**
+     * Creates a new builder of a {@link DatasetProfiler}.
+     *
+     * @return The builder.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Profiles a dataset.
+     *
+     * @param dataset The dataset.
+     * @return The profile of the dataset.
+     */
+    public DatasetProfile profile(final Dataset dataset) {
+        Preconditions.checkNotNull(dataset, "dataset cannot be null");
+
+        final DatasetSchema schema = dataset.getSchema();
+        final List<FieldSchema> fields = schema.getFieldSchemas();
+
+        final long numberInstances;
+        final FieldAccumulator[] accumulators;
+        if (dataset instanceof ColumnarDataset) {
+            final ColumnarDataset columnarDataset = (ColumnarDataset) dataset;
+            numberInstances = columnarDataset.getNumberInstances();
+            accumulators = IntStream.range(0, fields.size())
+                    .parallel()
+                    .mapToObj(field -> profileColumn(columnarDataset, fields.get(field)))
+                    .toArray(FieldAccumulator[]::new);
+        } else {
+            final RowAccumulator rows = StreamSupport.stream(
+                    Spliterators.spliteratorUnknownSize(dataset.getInstances(), Spliterator.ORDERED | Spliterator.NONNULL),
+                    true
+            ).collect(() -> new RowAccumulator(fields), RowAccumulator::add, RowAccumulator::merge);
+            numberInstances = rows.count;
+            accumulators = rows.fields;
+        }
+
+        final Map<FieldSchema, DatasetProfile.FieldProfile> profiles = new LinkedHashMap<>();
+        for (final FieldSchema field : fields) {
+            profiles.put(field, accumulators[field.getFieldIndex()].toProfile());
+        }
+        return new DatasetProfile(numberInstances, profiles);
+    }
+
+    /**
+     * Profiles a column of a {@link ColumnarDataset}.
+     *
+     * @param dataset The dataset.
+     * @param field   The field of the column.
+     * @return The accumulated statistics of the column.
+     */
+    private FieldAccumulator profileColumn(final ColumnarDataset dataset, final FieldSchema field) {
+        final FieldAccumulator accumulator = new FieldAccumulator(field, this.maxDistinctValues);
+        final int fieldIndex = field.getFieldIndex();
+        final int numberInstances = dataset.getNumberInstances();
+
+        if (accumulator.kind == FieldKind.STRING) {
+            for (int row = 0; row < numberInstances; row++) {
+                accumulator.addString(dataset.getStringValue(row, fieldIndex));
+            }
+        } else {
+            // the missing values are counted from the bitmap and skipped, a word of rows at a time
+            final MissingValueBitmap missingValues = dataset.getMissingValues(fieldIndex);
+            accumulator.missing += missingValues.getMissingCount();
+            final FeatureValues column = dataset.feature(fieldIndex);
+            for (int row = missingValues.nextPresent(0); row >= 0; row = missingValues.nextPresent(row + 1)) {
+                accumulator.addValue(column.getValue(row));
+            }
+        }
+        return accumulator;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("maxDistinctValues", this.maxDistinctValues)
+                .toString();
+    }
+
+    /**
+     * The kinds of fields, which determine the statistics collected.
+     */
+    private enum FieldKind {
+        /**
+         * A numeric field.
+         */
+        NUMERIC,
+        /**
+         * A categorical field.
+         */
+        CATEGORICAL,
+        /**
+         * A string field.
+         */
+        STRING
+    }
+
+    /**
+     * The statistics of all the fields over a batch of instances.
+     */
+    private final class RowAccumulator {
+
+        /**
+         * The number of instances.
+         */
+        private long count;
+
+        /**
+         * The statistics of each field.
+         */
+        private final FieldAccumulator[] fields;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param fieldSchemas The fields of the schema.
+         */
+        private RowAccumulator(final List<FieldSchema> fieldSchemas) {
+            this.fields = new FieldAccumulator[fieldSchemas.size()];
+            for (final FieldSchema field : fieldSchemas) {
+                this.fields[field.getFieldIndex()] = new FieldAccumulator(field, DatasetProfiler.this.maxDistinctValues);
+            }
+        }
+
+        /**
+         * Adds an instance.
+         *
+         * @param instance The instance.
+         */
+        private void add(final Instance instance) {
+            this.count++;
+            for (int field = 0; field < this.fields.length; field++) {
+                if (this.fields[field].kind == FieldKind.STRING) {
+                    this.fields[field].addString(instance.getStringValue(field));
+                } else {
+                    this.fields[field].addValue(instance.getValue(field));
+                }
+            }
+        }
+
+        /**
+         * Adds the statistics of another batch of instances.
+         *
+         * @param other The statistics of the other batch.
+         */
+        private void merge(final RowAccumulator other) {
+            this.count += other.count;
+            for (int field = 0; field < this.fields.length; field++) {
+                this.fields[field].merge(other.fields[field]);
+            }
+        }
+    }
+
+    /**
+     * The mergeable statistics of a field.
+     */
+    private static final class FieldAccumulator {
+
+        /**
+         * The field.
+         */
+        private final FieldSchema field;
+
+        /**
+         * The kind of the field.
+         */
+        private final FieldKind kind;
+
+        /**
+         * The number of non-missing values.
+         */
+        private long count;
+
+        /**
+         * The number of missing values.
+         */
+        private long missing;
+
+        /**
+         * The mean of the values of a numeric field.
+         */
+        private double mean;
+
+        /**
+         * The sum of the squared differences to the mean of the values of a numeric field.
+         */
+        private double squaredDeviations;
+
+        /**
+         * The minimum value of a numeric field.
+         */
+        private double min = Double.POSITIVE_INFINITY;
+
+        /**
+         * The maximum value of a numeric field.
+         */
+        private double max = Double.NEGATIVE_INFINITY;
+
+        /**
+         * The number of occurrences of each nominal value of a categorical field (with a last one for unknown values),
+         * or {@code null} for other fields.
+         */
+        private final long[] categoryCounts;
+
+        /**
+         * The distinct values of a numeric or string field, or {@code null} for categorical fields.
+         */
+        private final DistinctValues distinctValues;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param field             The field.
+         * @param maxDistinctValues The maximum number of distinct values tracked.
+         */
+        private FieldAccumulator(final FieldSchema field, final int maxDistinctValues) {
+            this.field = field;
+            final AbstractValueSchema valueSchema = field.getValueSchema();
+            if (valueSchema instanceof CategoricalValueSchema) {
+                this.kind = FieldKind.CATEGORICAL;
+                this.categoryCounts = new long[((CategoricalValueSchema) valueSchema).getNominalValues().size() + 1];
+                this.distinctValues = null;
+            } else {
+                this.kind = valueSchema instanceof StringValueSchema ? FieldKind.STRING : FieldKind.NUMERIC;
+                this.categoryCounts = null;
+                this.distinctValues = new DistinctValues(maxDistinctValues);
+            }
+        }
+
+        /**
+         * Adds a value of a numeric or categorical field.
+         *
+         * @param value The value, or the index of the nominal value.
+         */
+        private void addValue(final double value) {
+            if (Double.isNaN(value)) {
+                this.missing++;
+                return;
+            }
+            this.count++;
+
+            if (this.kind == FieldKind.CATEGORICAL) {
+                final int category = (int) value;
+                this.categoryCounts[category >= 0 && category < this.categoryCounts.length - 1
+                        ? category
+                        : this.categoryCounts.length - 1]++;
+                return;
+            }
+
+            final double previousMean = this.mean;
+            this.mean = StatisticsUtils.addToMean(previousMean, this.count, value);
+            this.squaredDeviations = StatisticsUtils.addToSquaredDeviations(
+                    this.squaredDeviations, previousMean, this.mean, value
+            );
+            this.min = Math.min(this.min, value);
+            this.max = Math.max(this.max, value);
+            // adding 0.0 turns -0.0 into 0.0, so that both are the same value
+            this.distinctValues.add(StatisticsUtils.fmix64(Double.doubleToLongBits(value + 0.0)));
+        }
+
+        /**
+         * Adds a value of a string field.
+         *
+         * @param value The value.
+         */
+        private void addString(final String value) {
+            if (value == null) {
+                this.missing++;
+                return;
+            }
+            this.count++;
+
+            this.distinctValues.add(StatisticsUtils.stringHash(value));
+        }
+
+        /**
+         * Adds the statistics of the same field over other instances.
+         *
+         * @param other The other statistics.
+         */
+        private void merge(final FieldAccumulator other) {
+            if (this.kind == FieldKind.NUMERIC && other.count > 0) {
+                this.squaredDeviations = StatisticsUtils.mergeSquaredDeviations(
+                        this.count, this.mean, this.squaredDeviations, other.count, other.mean, other.squaredDeviations
+                );
+                this.mean = StatisticsUtils.mergeMeans(this.count, this.mean, other.count, other.mean);
+                this.min = Math.min(this.min, other.min);
+                this.max = Math.max(this.max, other.max);
+            }
+            this.count += other.count;
+            this.missing += other.missing;
+
+            if (this.categoryCounts != null) {
+                for (int category = 0; category < this.categoryCounts.length; category++) {
+                    this.categoryCounts[category] += other.categoryCounts[category];
+                }
+            } else {
+                this.distinctValues.addAll(other.distinctValues);
+            }
+        }
+
+        /**
+         * Creates the profile of the field from these statistics.
+         *
+         * @return The profile.
+         */
+        private DatasetProfile.FieldProfile toProfile() {
+            final boolean numeric = this.kind == FieldKind.NUMERIC && this.count > 0;
+            final Map<String, Long> categories = new LinkedHashMap<>();
+            long distinctCount;
+            boolean distinctCountExact = true;
+
+            if (this.kind == FieldKind.CATEGORICAL) {
+                distinctCount = 0;
+                int category = 0;
+                for (final String nominalValue : ((CategoricalValueSchema) this.field.getValueSchema()).getNominalValues()) {
+                    categories.put(nominalValue, this.categoryCounts[category]);
+                    distinctCount += this.categoryCounts[category] > 0 ? 1 : 0;
+                    category++;
+                }
+            } else {
+                distinctCount = this.distinctValues.size();
+                distinctCountExact = !this.distinctValues.isSaturated();
+            }
+
+            return new DatasetProfile.FieldProfile(
+                    this.count,
+                    this.missing,
+                    numeric ? this.min : Double.NaN,
+                    numeric ? this.max : Double.NaN,
+                    numeric ? this.mean : Double.NaN,
+                    numeric && this.count > 1 ? this.squaredDeviations / (this.count - 1) : Double.NaN,
+                    distinctCount,
+                    distinctCountExact,
+                    categories
+            );
+        }
+    }
+
+    /**
+     * An open addressing set of (hashed) distinct values, that stops growing once it reaches a maximum size.
+     */
+    private static final class DistinctValues {
+
+        /**
+         * The maximum number of distinct values tracked.
+         */
+        private final int maxSize;
+
+        /**
+         * The hash table of the values, where {@code 0} is an empty slot, or {@code null} once saturated.
+         */
+        private long[] table = new long[16];
+
+        /**
+         * Whether the value {@code 0}, which can't be stored in the table, was added.
+         */
+        private boolean containsZero;
+
+        /**
+         * The number of distinct values.
+         */
+        private int size;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param maxSize The maximum number of distinct values tracked.
+         */
+        private DistinctValues(final int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        /**
+         * Adds a value, unless the set is saturated.
+         *
+         * @param value The (hashed) value.
+         */
+        private void add(final long value) {
+            if (this.table == null) {
+                return;
+            }
+            if (value == 0) {
+                if (!this.containsZero) {
+                    this.containsZero = true;
+                    grow();
+                }
+                return;
+            }
+
+            final int mask = this.table.length - 1;
+            int slot = (int) value & mask;
+            while (this.table[slot] != 0) {
+                if (this.table[slot] == value) {
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+            this.table[slot] = value;
+            grow();
+        }
+
+        /**
+         * Adds all the values of another set.
+         *
+         * @param other The other set.
+         */
+        private void addAll(final DistinctValues other) {
+            if (other.table == null) {
+                saturate();
+                return;
+            }
+            if (other.containsZero) {
+                add(0);
+            }
+            for (final long value : other.table) {
+                if (value != 0) {
+                    add(value);
+                }
+            }
+        }
+
+        /**
+         * Accounts for a new value, doubling the table when it becomes half full, or saturating the set when it
+         * exceeds the maximum size.
+         */
+        private void grow() {
+            this.size++;
+            if (this.size > this.maxSize) {
+                saturate();
+            } else if (this.size * 2 > this.table.length) {
+                final long[] oldTable = this.table;
+                this.table = new long[oldTable.length * 2];
+                final int mask = this.table.length - 1;
+                for (final long value : oldTable) {
+                    if (value != 0) {
+                        int slot = (int) value & mask;
+                        while (this.table[slot] != 0) {
+                            slot = (slot + 1) & mask;
+                        }
+                        this.table[slot] = value;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Stops tracking values, releasing the table.
+         */
+        private void saturate() {
+            this.table = null;
+            this.size = this.maxSize;
+        }
+
+        /**
+         * Checks whether the set saw more values than its maximum size, in which case its size is a lower bound.
+         *
+         * @return {@code true} if the set is saturated, {@code false} otherwise.
+         */
+        private boolean isSaturated() {
+            return this.table == null;
+        }
+
+        /**
+         * Gets the number of distinct values.
+         *
+         * @return The number of values, capped at the maximum size.
+         */
+        private int size() {
+            return this.size;
+        }
+    }
+
+    /**
+     * Builder of {@link DatasetProfiler}.
+     */
+    public static final class Builder {
+
+        /**
+         * The maximum number of distinct values tracked per field.
+         */
+        private int maxDistinctValues = 10_000;
+
+        /**
+         * Private constructor, use {@link DatasetProfiler#builder()}.
+         */
+        private Builder() {
+        }
+
+        /**
+         * Sets the maximum number of distinct values tracked per numeric or string field; fields with more values are
+         * reported as having at least that many. Defaults to 10000.
+         *
+         * @param maxDistinctValues The maximum number of distinct values.
+         * @return This builder.
+         */
+        public Builder withMaxDistinctValues(final int maxDistinctValues) {
+            Preconditions.checkArgument(maxDistinctValues > 0, "the maximum number of distinct values should be positive");
+            this.maxDistinctValues = maxDistinctValues;
+            return this;
+        }
+
+        /**
+         * Creates the {@link DatasetProfiler} with the settings of this builder.
+         *
+         * @return The profiler.
+         */
+        public DatasetProfiler build() {
+            return new DatasetProfiler(this);
+        }
+    }
+}
@@ -0,0 +1,565 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.data;
+
+import com.feedzai.openml.data.Dataset;
+import com.feedzai.openml.data.FeatureValues;
+import com.feedzai.openml.data.PartitionedDataset;
+import com.feedzai.openml.data.schema.AbstractValueSchema;
+import com.feedzai.openml.data.schema.CategoricalValueSchema;
+import com.feedzai.openml.data.schema.DatasetSchema;
+import com.feedzai.openml.util.data.stream.SpooledDataset;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Samples and splits {@link Dataset}s into {@link IndexedDataset} views over their rows, without copying any values.
+ * <p>
+ * The samplers that depend on the class of the instances (as given by {@link InstanceUtils#getClassValue}) read the
+ * target of all instances in a single parallel pass, and then select the rows from those classes alone; instances
+ * with a missing class form a stratum of their own. The datasets sampled should support random access through
+ * {@link Dataset#instance(int)}.
+ * <p>
+ * All samplers are deterministic given the {@link Random} passed (e.g. the one given to a trainer's {@code fit}): the
+ * parallel work is done in chunks of a {@link Builder#withChunkSize fixed size}, each with its own
+ * {@link SplittableRandom} split from a seed drawn from that {@link Random}, so the results don't depend on the number
+ * of threads available.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public final class DatasetSampler {
+
+    /**
+     * The default number of rows processed by each parallel task.
+     */
+    private static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+
+    /**
+     * The number of rows processed by each parallel task.
+     */
+    private final int chunkSize;
+
+    /**
+     * Creates a new instance from the given builder.
+     *
+     * @param builder The builder.
+     */
+    private DatasetSampler(final Builder builder) {
+        this.chunkSize = builder.chunkSize;
+    }
+
+    /**
+     * Creates a new builder of a {@link DatasetSampler}.
+     *
+     * @return The builder.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Splits a dataset in two, keeping the proportions of the classes in both parts, e.g. to hold out a validation set
+     * of a dataset with a rare class.
+     * <p>
+     * Exactly {@code round(fraction * n)} of the {@code n} instances of each class are chosen uniformly at random for
+     * the {@link PartitionedDataset#getMatchedData() matched} part, and the others go to the
+     * {@link PartitionedDataset#getUnmatchedData() unmatched} part. Both parts keep the order of the source dataset.
+     *
+     * @param dataset  The dataset, whose target should be categorical.
+     * @param fraction The fraction of the instances of each class in the matched part, between 0 and 1.
+     * @param random   The source of randomness.
+     * @return The two parts of the dataset, as {@link IndexedDataset}s.
+     */
+    public PartitionedDataset stratifiedSplit(final Dataset dataset, final double fraction, final Random random) {
+        Preconditions.checkArgument(fraction >= 0 && fraction <= 1, "the fraction should be between 0 and 1");
+        Preconditions.checkNotNull(random, "random cannot be null");
+
+        final Strata strata = strata(dataset);
+        final int[] needed = new int[strata.counts.length];
+        for (int stratum = 0; stratum < needed.length; stratum++) {
+            needed[stratum] = (int) Math.round(fraction * strata.counts[stratum]);
+        }
+        final boolean[] selected = select(strata, needed, new SplittableRandom(random.nextLong()));
+
+        final int numberMatched = Arrays.stream(needed).sum();
+        final int[] matched = new int[numberMatched];
+        final int[] unmatched = new int[strata.rows.length - numberMatched];
+        int nextMatched = 0;
+        int nextUnmatched = 0;
+        for (int row = 0; row < selected.length; row++) {
+            if (selected[row]) {
+                matched[nextMatched++] = row;
+            } else {
+                unmatched[nextUnmatched++] = row;
+            }
+        }
+
+        final IndexedDataset matchedData = new IndexedDataset(dataset, matched);
+        final IndexedDataset unmatchedData = new IndexedDataset(dataset, unmatched);
+        return new PartitionedDataset() {
+            @Override
+            public Dataset getMatchedData() {
+                return matchedData;
+            }
+
+            @Override
+            public Dataset getUnmatchedData() {
+                return unmatchedData;
+            }
+        };
+    }
+
+    /**
+     * Undersamples the most frequent classes of a dataset, so that each class has at most {@code ratio} times as many
+     * instances as the least frequent one, e.g. to train on a dataset with a rare class without copying it.
+     * <p>
+     * The instances kept of each class are chosen uniformly at random, and weighted by the inverse of the fraction of
+     * their class that was kept, so that weighted statistics of the sample estimate those of the whole dataset.
+     * Instances with a missing class are dropped. The sample keeps the order of the source dataset.
+     *
+     * @param dataset The dataset, whose target should be categorical.
+     * @param ratio   The maximum number of instances of each class per instance of the least frequent class.
+     * @param random  The source of randomness.
+     * @return The weighted sample.
+     */
+    public IndexedDataset balancedUndersample(final Dataset dataset, final double ratio, final Random random) {
+        Preconditions.checkArgument(ratio >= 1, "the ratio should be 1 or more");
+        Preconditions.checkNotNull(random, "random cannot be null");
+
+        final Strata strata = strata(dataset);
+        final int missingStratum = strata.counts.length - 1;
+        final int minority = IntStream.range(0, missingStratum)
+                .map(stratum -> strata.counts[stratum])
+                .filter(count -> count > 0)
+                .min()
+                .orElse(0);
+
+        final int[] needed = new int[strata.counts.length];
+        final double[] stratumWeights = new double[strata.counts.length];
+        for (int stratum = 0; stratum < missingStratum; stratum++) {
+            needed[stratum] = (int) Math.min(strata.counts[stratum], Math.ceil(ratio * minority));
+            stratumWeights[stratum] = needed[stratum] == 0 ? 0 : (double) strata.counts[stratum] / needed[stratum];
+        }
+        final boolean[] selected = select(strata, needed, new SplittableRandom(random.nextLong()));
+
+        final int numberSelected = Arrays.stream(needed).sum();
+        final int[] rows = new int[numberSelected];
+        final double[] weights = new double[numberSelected];
+        int next = 0;
+        for (int row = 0; row < selected.length; row++) {
+            if (selected[row]) {
+                rows[next] = row;
+                weights[next++] = stratumWeights[strata.rows[row]];
+            }
+        }
+        return new IndexedDataset(dataset, rows, weights);
+    }
+
+    /**
+     * Samples a fixed number of instances of a dataset uniformly at random, without replacement.
+     * <p>
+     * This is a parallel reservoir sampling: each chunk of the dataset assigns a random key to each of its rows and
+     * keeps the {@code sampleSize} rows with the smallest keys, and the sample is made of the rows with the smallest
+     * keys overall. The sample keeps the order of the source dataset.
+     *
+     * @param dataset    The dataset.
+     * @param sampleSize The number of instances to sample.
+     * @param random     The source of randomness.
+     * @return The sample, with all the instances of the dataset if it has no more than {@code sampleSize} instances.
+     */
+    public IndexedDataset reservoirSample(final Dataset dataset, final int sampleSize, final Random random) {
+        Preconditions.checkNotNull(dataset, "dataset cannot be null");
+        Preconditions.checkArgument(sampleSize >= 0, "the sample size should not be negative");
+        Preconditions.checkNotNull(random, "random cannot be null");
+
+        final int numberInstances = numberInstances(dataset);
+        if (sampleSize >= numberInstances) {
+            return new IndexedDataset(dataset, IntStream.range(0, numberInstances).toArray());
+        }
+
+        final int chunks = numberChunks(numberInstances);
+        final SplittableRandom[] randoms = chunkRandoms(random, chunks);
+        final Reservoir[] reservoirs = IntStream.range(0, chunks)
+                .parallel()
+                .mapToObj(chunk -> {
+                    final int start = chunk * this.chunkSize;
+                    final int end = chunkEnd(start, numberInstances);
+                    // a chunk with fewer rows than the sample keeps all of them
+                    final Reservoir reservoir = new Reservoir(Math.min(sampleSize, end - start));
+                    for (int row = start; row < end; row++) {
+                        reservoir.offer(randoms[chunk].nextDouble(), row);
+                    }
+                    return reservoir;
+                })
+                .toArray(Reservoir[]::new);
+
+        final Reservoir merged = new Reservoir(sampleSize);
+        for (final Reservoir reservoir : reservoirs) {
+            for (int i = 0; i < reservoir.size; i++) {
+                merged.offer(reservoir.keys[i], reservoir.rows[i]);
+            }
+        }
+        final int[] rows = Arrays.copyOf(merged.rows, merged.size);
+        Arrays.sort(rows);
+        return new IndexedDataset(dataset, rows);
+    }
+
+    /**
+     * Draws a bootstrap sample of a dataset: as many instances as the dataset has, uniformly at random and with
+     * replacement.
+     *
+     * @param dataset The dataset.
+     * @param random  The source of randomness.
+     * @return The sample.
+     * @see #bootstrap(Dataset, int, Random)
+     */
+    public IndexedDataset bootstrap(final Dataset dataset, final Random random) {
+        return bootstrap(dataset, numberInstances(dataset), random);
+    }
+
+    /**
+     * Draws instances of a dataset uniformly at random and with replacement, e.g. to train the members of a bagging
+     * ensemble. The rows of the sample are sorted by their index in the source dataset, so that the sample is read
+     * sequentially.
+     *
+     * @param dataset    The dataset.
+     * @param sampleSize The number of instances to draw.
+     * @param random     The source of randomness.
+     * @return The sample, where an instance may appear several times.
+     */
+    public IndexedDataset bootstrap(final Dataset dataset, final int sampleSize, final Random random) {
+        Preconditions.checkNotNull(dataset, "dataset cannot be null");
+        Preconditions.checkArgument(sampleSize >= 0, "the sample size should not be negative");
+        Preconditions.checkNotNull(random, "random cannot be null");
+
+        final int numberInstances = numberInstances(dataset);
+        Preconditions.checkArgument(
+                numberInstances > 0 || sampleSize == 0,
+                "instances cannot be drawn from an empty dataset"
+        );
+
+        final int[] rows = new int[sampleSize];
+        final int chunks = numberChunks(sampleSize);
+        final SplittableRandom[] randoms = chunkRandoms(random, chunks);
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            final int start = chunk * this.chunkSize;
+            final int end = chunkEnd(start, sampleSize);
+            for (int i = start; i < end; i++) {
+                rows[i] = randoms[chunk].nextInt(numberInstances);
+            }
+        });
+        Arrays.parallelSort(rows);
+        return new IndexedDataset(dataset, rows);
+    }
+
+    /**
+     * Reads the class of all the instances of a dataset, in parallel. Instances with a missing class are put in their
+     * own stratum, after those of the classes.
+     *
+     * @param dataset The dataset, whose target should be categorical.
+     * @return The strata of the instances.
+     * @throws IllegalArgumentException If the class of an instance is not the index of one of the nominal values of
+     *                                  the target.
+     */
+    private Strata strata(final Dataset dataset) {
+        Preconditions.checkNotNull(dataset, "dataset cannot be null");
+        final DatasetSchema schema = dataset.getSchema();
+        final int targetIndex = schema.getTargetIndex()
+                .orElseThrow(() -> new IllegalArgumentException("The dataset should have a target"));
+        final AbstractValueSchema targetSchema = schema.getFieldSchemas().get(targetIndex).getValueSchema();
+        Preconditions.checkArgument(
+                targetSchema instanceof CategoricalValueSchema,
+                "the target of the dataset should be categorical"
+        );
+        final int numberClasses = ((CategoricalValueSchema) targetSchema).getNominalValues().size();
+
+        // columnar datasets and views over them read the target column directly
+        final FeatureValues target = dataset instanceof ColumnarDataset || dataset instanceof IndexedDataset
+                ? dataset.feature(targetIndex)
+                : row -> dataset.instance(row).getValue(targetIndex);
+
+        final int numberInstances = numberInstances(dataset);
+        final int[] rows = new int[numberInstances];
+        final int[] counts = IntStream.range(0, numberChunks(numberInstances))
+                .parallel()
+                .mapToObj(chunk -> {
+                    final int[] chunkCounts = new int[numberClasses + 1];
+                    final int start = chunk * this.chunkSize;
+                    final int end = chunkEnd(start, numberInstances);
+                    for (int row = start; row < end; row++) {
+                        final double value = target.getValue(row);
+                        if (!Double.isNaN(value) && !(value >= 0 && value < numberClasses && value == Math.rint(value))) {
+                            throw new IllegalArgumentException(String.format(
+                                    "The class of instance %d should be missing or an integer between 0 and %d, but was %s",
+                                    row, numberClasses - 1, value
+                            ));
+                        }
+                        final int stratum = Double.isNaN(value) ? numberClasses : (int) value;
+                        rows[row] = stratum;
+                        chunkCounts[stratum]++;
+                    }
+                    return chunkCounts;
+                })
+                .reduce(new int[numberClasses + 1], (left, right) -> {
+                    final int[] sum = new int[left.length];
+                    for (int stratum = 0; stratum < sum.length; stratum++) {
+                        sum[stratum] = left[stratum] + right[stratum];
+                    }
+                    return sum;
+                });
+        return new Strata(rows, counts);
+    }
+
+    /**
+     * Selects uniformly at random a given number of rows of each stratum, in a sequential pass over the strata of the
+     * rows (Knuth's selection sampling).
+     *
+     * @param strata The strata of the rows.
+     * @param needed The number of rows to select of each stratum.
+     * @param random The source of randomness.
+     * @return Whether each row was selected.
+     */
+    private static boolean[] select(final Strata strata, final int[] needed, final SplittableRandom random) {
+        final int[] remaining = strata.counts.clone();
+        final int[] toSelect = needed.clone();
+        final boolean[] selected = new boolean[strata.rows.length];
+        for (int row = 0; row < selected.length; row++) {
+            final int stratum = strata.rows[row];
+            if (random.nextInt(remaining[stratum]) < toSelect[stratum]) {
+                selected[row] = true;
+                toSelect[stratum]--;
+            }
+            remaining[stratum]--;
+        }
+        return selected;
+    }
+
+    /**
+     * Gets the number of chunks that cover the given number of rows.
+     *
+     * @param numberRows The number of rows.
+     * @return The number of chunks.
+     */
+    private int numberChunks(final int numberRows) {
+        return numberRows / this.chunkSize + (numberRows % this.chunkSize == 0 ? 0 : 1);
+    }
+
+    /**
+     * Gets the end of the chunk that starts at the given row, without overflowing near {@link Integer#MAX_VALUE} rows.
+     *
+     * @param start      The first row of the chunk.
+     * @param numberRows The number of rows.
+     * @return The row after the last one of the chunk.
+     */
+    private int chunkEnd(final int start, final int numberRows) {
+        return start + Math.min(this.chunkSize, numberRows - start);
+    }
+
+    /**
+     * Creates the sources of randomness of each chunk, split from a seed drawn from the given {@link Random}.
+     *
+     * @param random The source of randomness.
+     * @param chunks The number of chunks.
+     * @return The sources of randomness, by chunk.
+     */
+    private static SplittableRandom[] chunkRandoms(final Random random, final int chunks) {
+        final SplittableRandom root = new SplittableRandom(random.nextLong());
+        final SplittableRandom[] randoms = new SplittableRandom[chunks];
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            randoms[chunk] = root.split();
+        }
+        return randoms;
+    }
+
+    /**
+     * Gets the number of instances of a dataset, counting them if the dataset doesn't know it.
+     *
+     * @param dataset The dataset.
+     * @return The number of instances.
+     */
+    private static int numberInstances(final Dataset dataset) {
+        if (dataset instanceof ColumnarDataset) {
+            return ((ColumnarDataset) dataset).getNumberInstances();
+        }
+        if (dataset instanceof IndexedDataset) {
+            return ((IndexedDataset) dataset).getNumberInstances();
+        }
+        if (dataset instanceof SpooledDataset) {
+            return ((SpooledDataset) dataset).getNumberInstances();
+        }
+        int count = 0;
+        for (final Iterator<?> instances = dataset.getInstances(); instances.hasNext(); instances.next()) {
+            count++;
+        }
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("chunkSize", this.chunkSize)
+                .toString();
+    }
+
+    /**
+     * The strata of the rows of a dataset.
+     */
+    private static final class Strata {
+
+        /**
+         * The stratum of each row: the index of its class, or the number of classes if the class is missing.
+         */
+        private final int[] rows;
+
+        /**
+         * The number of rows of each stratum.
+         */
+        private final int[] counts;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param rows   The stratum of each row.
+         * @param counts The number of rows of each stratum.
+         */
+        private Strata(final int[] rows, final int[] counts) {
+            this.rows = rows;
+            this.counts = counts;
+        }
+    }
+
+    /**
+     * Keeps the rows with the smallest keys offered, in a binary max-heap on the keys.
+     */
+    private static final class Reservoir {
+
+        /**
+         * The keys of the rows kept, in heap order.
+         */
+        private final double[] keys;
+
+        /**
+         * The rows kept, in the same order as {@link #keys}.
+         */
+        private final int[] rows;
+
+        /**
+         * The number of rows kept.
+         */
+        private int size = 0;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param capacity The number of rows to keep.
+         */
+        private Reservoir(final int capacity) {
+            this.keys = new double[capacity];
+            this.rows = new int[capacity];
+        }
+
+        /**
+         * Offers a row, which is kept if its key is among the smallest ones offered.
+         *
+         * @param key The key of the row.
+         * @param row The row.
+         */
+        private void offer(final double key, final int row) {
+            if (this.size < this.keys.length) {
+                int child = this.size++;
+                while (child > 0) {
+                    final int parent = (child - 1) / 2;
+                    if (this.keys[parent] >= key) {
+                        break;
+                    }
+                    this.keys[child] = this.keys[parent];
+                    this.rows[child] = this.rows[parent];
+                    child = parent;
+                }
+                this.keys[child] = key;
+                this.rows[child] = row;
+            } else if (this.size > 0 && key < this.keys[0]) {
+                int parent = 0;
+                while (true) {
+                    int child = 2 * parent + 1;
+                    if (child >= this.size) {
+                        break;
+                    }
+                    if (child + 1 < this.size && this.keys[child + 1] > this.keys[child]) {
+                        child++;
+                    }
+                    if (this.keys[child] <= key) {
+                        break;
+                    }
+                    this.keys[parent] = this.keys[child];
+                    this.rows[parent] = this.rows[child];
+                    parent = child;
+                }
+                this.keys[parent] = key;
+                this.rows[parent] = row;
+            }
+        }
+    }
+
+    /**
+     * Builder of {@link DatasetSampler}.
+     */
+    public static final class Builder {
+
+        /**
+         * The number of rows processed by each parallel task.
+         */
+        private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+        /**
+         * Creates a new instance.
+         */
+        private Builder() {
+        }
+
+        /**
+         * Sets the number of rows processed by each parallel task. The results of the samplers depend on this value,
+         * so it should be the same to reproduce a sample. Defaults to 65536.
+         *
+         * @param chunkSize The number of rows.
+         * @return This builder.
+         */
+        public Builder withChunkSize(final int chunkSize) {
+            Preconditions.checkArgument(chunkSize > 0, "the chunk size should be positive");
+            this.chunkSize = chunkSize;
+            return this;
+        }
+
+        /**
+         * Creates the {@link DatasetSampler} with the settings of this builder.
+         *
+         * @return The sampler.
+         */
+        public DatasetSampler build() {
+            return new DatasetSampler(this);
+        }
+    }
+}
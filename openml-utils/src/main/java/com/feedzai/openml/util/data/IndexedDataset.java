@@ -0,0 +1,291 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.data;
+
+import com.feedzai.openml.data.Dataset;
+import com.feedzai.openml.data.FeatureValues;
+import com.feedzai.openml.data.Instance;
+import com.feedzai.openml.data.PartitionedDataset;
+import com.feedzai.openml.data.schema.DatasetSchema;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A {@link Dataset} that is a view over some rows of another dataset, given by their indexes, without copying any
+ * values.
+ * <p>
+ * Rows can appear several times (e.g. in a bootstrap sample), and each row of the view can have a weight, e.g. the
+ * inverse of the probability with which it was sampled. The source dataset should support random access through
+ * {@link Dataset#instance(int)}. Views over other views point directly to the original source, with the weights
+ * multiplied, so that accessing a row never goes through more than one level of indirection.
+ * <p>
+ * {@link #filter(Predicate)}, {@link #groupBy(Function)} and {@link #partition(Predicate)} also yield views over the
+ * same source.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public class IndexedDataset implements Dataset {
+
+    /**
+     * The dataset with the values.
+     */
+    private final Dataset source;
+
+    /**
+     * The indexes of the rows of the source in this view, in the order of the view.
+     */
+    private final int[] rows;
+
+    /**
+     * The weights of the rows of this view, or {@code null} if all rows have weight 1.
+     */
+    private final double[] weights;
+
+    /**
+     * Creates a new view, where all rows have weight 1. The given array is used directly, without being copied.
+     *
+     * @param source The dataset with the values.
+     * @param rows   The indexes of the rows of the source in this view, in the order of the view.
+     */
+    public IndexedDataset(final Dataset source, final int[] rows) {
+        this(source, rows, null);
+    }
+
+    /**
+     * Creates a new view with weighted rows. The given arrays are used directly, without being copied.
+     *
+     * @param source  The dataset with the values.
+     * @param rows    The indexes of the rows of the source in this view, in the order of the view.
+     * @param weights The weights of the rows of this view, with as many values as {@code rows}, or {@code null} if
+     *                all rows have weight 1.
+     */
+    public IndexedDataset(final Dataset source, final int[] rows, final double[] weights) {
+        Preconditions.checkNotNull(source, "source cannot be null");
+        Preconditions.checkNotNull(rows, "rows cannot be null");
+        Preconditions.checkArgument(
+                weights == null || weights.length == rows.length,
+                "there should be one weight per row"
+        );
+
+        if (source instanceof IndexedDataset) {
+            final IndexedDataset view = (IndexedDataset) source;
+            final int[] sourceRows = new int[rows.length];
+            final double[] sourceWeights = weights == null && view.weights == null ? null : new double[rows.length];
+            for (int i = 0; i < rows.length; i++) {
+                sourceRows[i] = view.getSourceRow(rows[i]);
+                if (sourceWeights != null) {
+                    sourceWeights[i] = view.getWeight(rows[i]) * (weights == null ? 1 : weights[i]);
+                }
+            }
+            this.source = view.source;
+            this.rows = sourceRows;
+            this.weights = sourceWeights;
+        } else {
+            this.source = source;
+            this.rows = rows;
+            this.weights = weights;
+        }
+    }
+
+    /**
+     * Gets the dataset with the values.
+     *
+     * @return The source dataset.
+     */
+    public Dataset getSource() {
+        return this.source;
+    }
+
+    /**
+     * Gets the number of instances in this view.
+     *
+     * @return The number of instances.
+     */
+    public int getNumberInstances() {
+        return this.rows.length;
+    }
+
+    /**
+     * Gets the index in the source dataset of a row of this view.
+     *
+     * @param index The index of the row in this view.
+     * @return The index of the row in the source.
+     */
+    public int getSourceRow(final int index) {
+        Preconditions.checkElementIndex(index, this.rows.length);
+        return this.rows[index];
+    }
+
+    /**
+     * Gets the weight of a row of this view.
+     *
+     * @param index The index of the row in this view.
+     * @return The weight of the row.
+     */
+    public double getWeight(final int index) {
+        Preconditions.checkElementIndex(index, this.rows.length);
+        return this.weights == null ? 1 : this.weights[index];
+    }
+
+    /**
+     * Checks whether the rows of this view have weights other than 1.
+     *
+     * @return {@code true} if the rows have weights, {@code false} if all of them have weight 1.
+     */
+    public boolean isWeighted() {
+        return this.weights != null;
+    }
+
+    @Override
+    public DatasetSchema getSchema() {
+        return this.source.getSchema();
+    }
+
+    @Override
+    public Instance instance(final int index) {
+        return this.source.instance(getSourceRow(index));
+    }
+
+    @Override
+    public FeatureValues feature(final int index) {
+        final FeatureValues values = this.source.feature(index);
+        if (values == null) {
+            // some datasets (e.g. mocks) don't provide views over their features
+            return row -> instance(row).getValue(index);
+        }
+        return row -> values.getValue(getSourceRow(row));
+    }
+
+    @Override
+    public Iterator<Instance> getInstances() {
+        return new Iterator<Instance>() {
+
+            /**
+             * The index of the next instance.
+             */
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return this.next < IndexedDataset.this.rows.length;
+            }
+
+            @Override
+            public Instance next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return IndexedDataset.this.source.instance(IndexedDataset.this.rows[this.next++]);
+            }
+        };
+    }
+
+    @Override
+    public Dataset filter(final Predicate<Instance> predicate) {
+        final int[] selected = new int[this.rows.length];
+        int matched = 0;
+        for (int index = 0; index < this.rows.length; index++) {
+            if (predicate.test(this.source.instance(this.rows[index]))) {
+                selected[matched++] = index;
+            }
+        }
+        return select(selected, matched);
+    }
+
+    @Override
+    public <K> Map<K, Dataset> groupBy(final Function<Instance, K> function) {
+        final Map<K, int[]> groupIndexes = new LinkedHashMap<>();
+        final Map<K, Integer> groupSizes = new LinkedHashMap<>();
+
+        for (int index = 0; index < this.rows.length; index++) {
+            final K key = function.apply(this.source.instance(this.rows[index]));
+            final int size = groupSizes.getOrDefault(key, 0);
+            int[] indexes = groupIndexes.get(key);
+            if (indexes == null || indexes.length == size) {
+                indexes = indexes == null ? new int[16] : Arrays.copyOf(indexes, indexes.length * 2);
+                groupIndexes.put(key, indexes);
+            }
+            indexes[size] = index;
+            groupSizes.put(key, size + 1);
+        }
+
+        final Map<K, Dataset> groups = new LinkedHashMap<>();
+        groupIndexes.forEach((key, indexes) -> groups.put(key, select(indexes, groupSizes.get(key))));
+        return groups;
+    }
+
+    @Override
+    public PartitionedDataset partition(final Predicate<Instance> predicate) {
+        final Dataset matched = filter(predicate);
+        final Dataset unmatched = filter(predicate.negate());
+        return new PartitionedDataset() {
+            @Override
+            public Dataset getMatchedData() {
+                return matched;
+            }
+
+            @Override
+            public Dataset getUnmatchedData() {
+                return unmatched;
+            }
+        };
+    }
+
+    @Override
+    public Dataset empty() {
+        return select(new int[0], 0);
+    }
+
+    /**
+     * Creates a new view over the given rows of this view.
+     *
+     * @param indexes The indexes of the rows of this view to keep.
+     * @param count   The number of rows to keep (from the start of {@code indexes}).
+     * @return The new view.
+     */
+    private IndexedDataset select(final int[] indexes, final int count) {
+        final int[] selectedRows = new int[count];
+        final double[] selectedWeights = this.weights == null ? null : new double[count];
+        for (int i = 0; i < count; i++) {
+            selectedRows[i] = this.rows[indexes[i]];
+            if (selectedWeights != null) {
+                selectedWeights[i] = this.weights[indexes[i]];
+            }
+        }
+        return new IndexedDataset(this.source, selectedRows, selectedWeights);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("source", this.source)
+                .add("numberInstances", this.rows.length)
+                .add("weighted", isWeighted())
+                .toString();
+    }
+}
@@ -0,0 +1,469 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.data;
+
+import com.feedzai.openml.data.Instance;
+import com.feedzai.openml.data.schema.DatasetSchema;
+import com.feedzai.openml.data.schema.FieldSchema;
+import com.feedzai.openml.data.schema.StringValueSchema;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Computes compact 128-bit keys of {@link Instance}s, e.g. to cache results computed for them.
+ * <p>
+ * The key is the 128-bit MurmurHash3 (x64 variant) of the values of the relevant fields: by default, all the predictive
+ * fields, i.e. all fields except the target. Numeric fields can be quantised, so that instances whose values fall in
+ * the same bucket (e.g. amounts rounded to the unit) have the same key; the remaining values are hashed exactly. The
+ * characters of string values are fed to both 64-bit halves of the hash, so that string fields keep the full 128 bits
+ * of the key instead of being reduced to a smaller hash first.
+ * <p>
+ * Hashing doesn't allocate: {@link #hash(Instance, long[])} writes the key into a caller-supplied array. Instances of
+ * this class are immutable and thread-safe.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public final class InstanceHasher {
+
+    /**
+     * First multiplication constant of MurmurHash3.
+     */
+    private static final long C1 = 0x87c37b91114253d5L;
+
+    /**
+     * Second multiplication constant of MurmurHash3.
+     */
+    private static final long C2 = 0x4cf5ad432745937fL;
+
+    /**
+     * The value hashed for missing values.
+     */
+    private static final long MISSING = 0x9E3779B97F4A7C15L;
+
+    /**
+     * The value hashed with the length of a string, after its characters.
+     */
+    private static final long STRING_END = 0xC2B2AE3D27D4EB4FL;
+
+    /**
+     * The number of characters of a string packed in each 64-bit half of a block.
+     */
+    private static final int CHARS_PER_HALF = Long.BYTES / Character.BYTES;
+
+    /**
+     * The indexes of the fields hashed, in increasing order.
+     */
+    private final int[] fields;
+
+    /**
+     * Whether each hashed field is a string field, in the same order as {@link #fields}.
+     */
+    private final boolean[] stringFields;
+
+    /**
+     * The width of the quantisation buckets of each hashed field, in the same order as {@link #fields}, with
+     * {@code 0} for the fields hashed exactly.
+     */
+    private final double[] quantisationSteps;
+
+    /**
+     * The seed of the hash.
+     */
+    private final long seed;
+
+    /**
+     * Creates a new instance from the given builder.
+     *
+     * @param builder The builder.
+     */
+    private InstanceHasher(final Builder builder) {
+        final int targetIndex = builder.schema.getTargetIndex().orElse(-1);
+        this.fields = builder.schema.getFieldSchemas().stream()
+                .mapToInt(FieldSchema::getFieldIndex)
+                .filter(field -> field != targetIndex && !builder.ignoredFields.contains(field))
+                .sorted()
+                .toArray();
+
+        this.stringFields = new boolean[this.fields.length];
+        this.quantisationSteps = new double[this.fields.length];
+        for (int position = 0; position < this.fields.length; position++) {
+            final int field = this.fields[position];
+            this.stringFields[position] = builder.schema.getFieldSchemas().get(field).getValueSchema() instanceof StringValueSchema;
+            this.quantisationSteps[position] = builder.quantisationSteps.getOrDefault(field, 0.0);
+        }
+        this.seed = builder.seed;
+    }
+
+    /**
+     * Creates a new builder of a hasher of instances of the given schema.
+     *
+     * @param schema The schema of the instances.
+     * @return The builder.
+     */
+    public static Builder builder(final DatasetSchema schema) {
+        return new Builder(schema);
+    }
+
+    /**
+     * Computes the key of an instance, writing it into the given array.
+     *
+     * @param instance The instance.
+     * @param key      The array where to write the key, with at least 2 positions, also used as the state of the hash.
+     */
+    public void hash(final Instance instance, final long[] key) {
+        key[0] = this.seed;
+        key[1] = this.seed;
+
+        // consecutive numeric values are paired into 128-bit blocks, while each string takes its own blocks
+        long length = 0;
+        boolean pending = false;
+        long pendingBits = 0;
+        for (int position = 0; position < this.fields.length; position++) {
+            if (this.stringFields[position]) {
+                if (pending) {
+                    mixBlock(key, pendingBits, 0);
+                    pending = false;
+                    length += 2 * Long.BYTES;
+                }
+                length += mixString(key, instance.getStringValue(this.fields[position]));
+            } else if (pending) {
+                mixBlock(key, pendingBits, numericBits(instance, position));
+                pending = false;
+                length += 2 * Long.BYTES;
+            } else {
+                pendingBits = numericBits(instance, position);
+                pending = true;
+            }
+        }
+
+        long h1 = key[0];
+        long h2 = key[1];
+        if (pending) {
+            h1 ^= mixK1(pendingBits);
+            length += Long.BYTES;
+        }
+
+        h1 ^= length;
+        h2 ^= length;
+        h1 += h2;
+        h2 += h1;
+        h1 = StatisticsUtils.fmix64(h1);
+        h2 = StatisticsUtils.fmix64(h2);
+        h1 += h2;
+        h2 += h1;
+
+        key[0] = h1;
+        key[1] = h2;
+    }
+
+    /**
+     * Computes the key of an instance.
+     *
+     * @param instance The instance.
+     * @return The key.
+     */
+    public Key key(final Instance instance) {
+        final long[] key = new long[2];
+        hash(instance, key);
+        return new Key(key[0], key[1]);
+    }
+
+    /**
+     * Gets the bits that represent the (quantised) value of a hashed numeric or categorical field.
+     *
+     * @param instance The instance.
+     * @param position The position of the field in {@link #fields}.
+     * @return The bits of the value.
+     */
+    private long numericBits(final Instance instance, final int position) {
+        final double value = instance.getValue(this.fields[position]);
+        if (Double.isNaN(value)) {
+            return MISSING;
+        }
+        final double step = this.quantisationSteps[position];
+        if (step > 0) {
+            return (long) Math.floor(value / step);
+        }
+        // adding 0.0 turns -0.0 into 0.0, so that both have the same key
+        return Double.doubleToLongBits(value + 0.0);
+    }
+
+    /**
+     * Mixes a string into the hash, 8 characters per 128-bit block, followed by a block with its length, so that
+     * characters can't be shifted between consecutive string fields without changing the key.
+     *
+     * @param key   The state of the hash.
+     * @param value The string, or {@code null} if missing.
+     * @return The number of bytes mixed.
+     */
+    private static long mixString(final long[] key, final String value) {
+        if (value == null) {
+            mixBlock(key, MISSING, MISSING);
+            return 2 * Long.BYTES;
+        }
+
+        long blocks = 1;
+        for (int start = 0; start < value.length(); start += 2 * CHARS_PER_HALF) {
+            mixBlock(key, packChars(value, start), packChars(value, start + CHARS_PER_HALF));
+            blocks++;
+        }
+        mixBlock(key, value.length(), STRING_END);
+        return blocks * 2 * Long.BYTES;
+    }
+
+    /**
+     * Packs up to {@link #CHARS_PER_HALF} characters of a string into 64 bits, with zeros after its end.
+     *
+     * @param value The string.
+     * @param start The index of the first character.
+     * @return The packed characters.
+     */
+    private static long packChars(final String value, final int start) {
+        final int end = Math.min(start + CHARS_PER_HALF, value.length());
+        long bits = 0;
+        for (int i = start; i < end; i++) {
+            bits |= (long) value.charAt(i) << ((i - start) * Character.SIZE);
+        }
+        return bits;
+    }
+
+    /**
+     * Mixes a 128-bit block into the hash, as in a MurmurHash3 round.
+     *
+     * @param key The state of the hash, updated in place.
+     * @param k1  The first 64 bits of the block.
+     * @param k2  The second 64 bits of the block.
+     */
+    private static void mixBlock(final long[] key, final long k1, final long k2) {
+        long h1 = key[0];
+        long h2 = key[1];
+
+        h1 ^= mixK1(k1);
+        h1 = Long.rotateLeft(h1, 27);
+        h1 += h2;
+        h1 = h1 * 5 + 0x52dce729;
+
+        h2 ^= mixK2(k2);
+        h2 = Long.rotateLeft(h2, 31);
+        h2 += h1;
+        h2 = h2 * 5 + 0x38495ab5;
+
+        key[0] = h1;
+        key[1] = h2;
+    }
+
+    /**
+     * Mixes the first 64-bit block of a MurmurHash3 round.
+     *
+     * @param k1 The block.
+     * @return The mixed block.
+     */
+    private static long mixK1(final long k1) {
+        return Long.rotateLeft(k1 * C1, 31) * C2;
+    }
+
+    /**
+     * Mixes the second 64-bit block of a MurmurHash3 round.
+     *
+     * @param k2 The block.
+     * @return The mixed block.
+     */
+    private static long mixK2(final long k2) {
+        return Long.rotateLeft(k2 * C2, 33) * C1;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("fields", Arrays.toString(this.fields))
+                .add("quantisationSteps", Arrays.toString(this.quantisationSteps))
+                .toString();
+    }
+
+    /**
+     * A 128-bit key of an instance.
+     */
+    public static final class Key {
+
+        /**
+         * The high 64 bits of the key.
+         */
+        private final long high;
+
+        /**
+         * The low 64 bits of the key.
+         */
+        private final long low;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param high The high 64 bits of the key.
+         * @param low  The low 64 bits of the key.
+         */
+        public Key(final long high, final long low) {
+            this.high = high;
+            this.low = low;
+        }
+
+        /**
+         * Gets the high 64 bits of the key.
+         *
+         * @return The high bits.
+         */
+        public long getHigh() {
+            return this.high;
+        }
+
+        /**
+         * Gets the low 64 bits of the key.
+         *
+         * @return The low bits.
+         */
+        public long getLow() {
+            return this.low;
+        }
+
+        @Override
+        public int hashCode() {
+            return (int) (this.high ^ (this.high >>> 32));
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            final Key other = (Key) obj;
+            return this.high == other.high && this.low == other.low;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%016x%016x", this.high, this.low);
+        }
+    }
+
+    /**
+     * Builder of {@link InstanceHasher}.
+     */
+    public static final class Builder {
+
+        /**
+         * The schema of the instances.
+         */
+        private final DatasetSchema schema;
+
+        /**
+         * The indexes of the fields that are not hashed, besides the target.
+         */
+        private final Set<Integer> ignoredFields = new HashSet<>();
+
+        /**
+         * The width of the quantisation buckets, by field index.
+         */
+        private final Map<Integer, Double> quantisationSteps = new HashMap<>();
+
+        /**
+         * The seed of the hash.
+         */
+        private long seed = 0;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param schema The schema of the instances.
+         */
+        private Builder(final DatasetSchema schema) {
+            this.schema = Preconditions.checkNotNull(schema, "schema cannot be null");
+        }
+
+        /**
+         * Excludes fields from the key, so that instances that only differ in those fields have the same key.
+         *
+         * @param fieldIndexes The indexes of the fields.
+         * @return This builder.
+         */
+        public Builder withIgnoredFields(final int... fieldIndexes) {
+            for (final int field : fieldIndexes) {
+                checkField(field);
+                this.ignoredFields.add(field);
+            }
+            return this;
+        }
+
+        /**
+         * Quantises the values of a numeric field before hashing them: values in the same bucket
+         * {@code [k * step, (k + 1) * step[} have the same key.
+         *
+         * @param fieldIndex The index of the field.
+         * @param step       The width of the buckets.
+         * @return This builder.
+         */
+        public Builder withQuantisation(final int fieldIndex, final double step) {
+            checkField(fieldIndex);
+            Preconditions.checkArgument(
+                    !(this.schema.getFieldSchemas().get(fieldIndex).getValueSchema() instanceof StringValueSchema),
+                    "the string field %s cannot be quantised", fieldIndex
+            );
+            Preconditions.checkArgument(step > 0, "the quantisation step should be positive");
+            this.quantisationSteps.put(fieldIndex, step);
+            return this;
+        }
+
+        /**
+         * Sets the seed of the hash. Defaults to 0.
+         *
+         * @param seed The seed.
+         * @return This builder.
+         */
+        public Builder withSeed(final long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        /**
+         * Creates the {@link InstanceHasher} with the settings of this builder.
+         *
+         * @return The hasher.
+         */
+        public InstanceHasher build() {
+            return new InstanceHasher(this);
+        }
+
+        /**
+         * Validates the index of a field.
+         *
+         * @param fieldIndex The index of the field.
+         */
+        private void checkField(final int fieldIndex) {
+            Preconditions.checkElementIndex(fieldIndex, this.schema.getFieldSchemas().size(), "field index");
+        }
+    }
+}
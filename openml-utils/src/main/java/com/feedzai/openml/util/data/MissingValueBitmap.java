@@ -0,0 +1,312 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.data;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+/**
+ * A bitmap of the missing values of a column, with one bit per row that is set when the value of the row is missing
+ * ({@link Double#NaN} for numeric and categorical fields, {@code null} for string fields).
+ * <p>
+ * The bits are packed in 64-bit words, so that missing values are counted with population counts, present or missing
+ * rows are skipped a word at a time, and the bitmaps of several columns are combined with word-level operations (e.g.
+ * to find the rows where any of the fields used by a model is missing). Instances of this class are immutable.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public final class MissingValueBitmap {
+
+    /**
+     * The number of bits in each word, as a power of 2.
+     */
+    private static final int WORD_SHIFT = 6;
+
+    /**
+     * The bits of the bitmap, where bit {@code row % 64} of word {@code row / 64} is set if the row is missing. The
+     * bits after the last row are not set.
+     */
+    private final long[] words;
+
+    /**
+     * The number of rows.
+     */
+    private final int numberRows;
+
+    /**
+     * The number of missing rows.
+     */
+    private final int missingCount;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param words      The bits of the bitmap, without bits set after the last row.
+     * @param numberRows The number of rows.
+     */
+    private MissingValueBitmap(final long[] words, final int numberRows) {
+        this.words = words;
+        this.numberRows = numberRows;
+        int count = 0;
+        for (final long word : words) {
+            count += Long.bitCount(word);
+        }
+        this.missingCount = count;
+    }
+
+    /**
+     * Creates the bitmap of the missing values of a numeric or categorical column.
+     *
+     * @param column     The values of the column, by row.
+     * @param numberRows The number of rows of the column.
+     * @return The bitmap.
+     */
+    public static MissingValueBitmap of(final double[] column, final int numberRows) {
+        Preconditions.checkArgument(column.length >= numberRows, "the column should have %s values", numberRows);
+        final long[] words = new long[numberWords(numberRows)];
+        for (int row = 0; row < numberRows; row++) {
+            if (Double.isNaN(column[row])) {
+                words[row >>> WORD_SHIFT] |= 1L << row;
+            }
+        }
+        return new MissingValueBitmap(words, numberRows);
+    }
+
+    /**
+     * Creates the bitmap of the missing values of a string column.
+     *
+     * @param column     The values of the column, by row.
+     * @param numberRows The number of rows of the column.
+     * @return The bitmap.
+     */
+    public static MissingValueBitmap of(final String[] column, final int numberRows) {
+        Preconditions.checkArgument(column.length >= numberRows, "the column should have %s values", numberRows);
+        final long[] words = new long[numberWords(numberRows)];
+        for (int row = 0; row < numberRows; row++) {
+            if (column[row] == null) {
+                words[row >>> WORD_SHIFT] |= 1L << row;
+            }
+        }
+        return new MissingValueBitmap(words, numberRows);
+    }
+
+    /**
+     * Creates the bitmap of the missing values of a dictionary encoded string column, where the missing values have a
+     * negative code (i.e. {@link StringDictionary#MISSING}).
+     *
+     * @param codes      The codes of the values of the column, by row.
+     * @param numberRows The number of rows of the column.
+     * @return The bitmap.
+     */
+    public static MissingValueBitmap of(final int[] codes, final int numberRows) {
+        Preconditions.checkArgument(codes.length >= numberRows, "the column should have %s values", numberRows);
+        final long[] words = new long[numberWords(numberRows)];
+        for (int row = 0; row < numberRows; row++) {
+            if (codes[row] < 0) {
+                words[row >>> WORD_SHIFT] |= 1L << row;
+            }
+        }
+        return new MissingValueBitmap(words, numberRows);
+    }
+
+    /**
+     * Gets the number of rows of this bitmap.
+     *
+     * @return The number of rows.
+     */
+    public int getNumberRows() {
+        return this.numberRows;
+    }
+
+    /**
+     * Gets the number of rows whose value is missing.
+     *
+     * @return The number of missing values.
+     */
+    public int getMissingCount() {
+        return this.missingCount;
+    }
+
+    /**
+     * Gets the number of rows whose value is present.
+     *
+     * @return The number of present values.
+     */
+    public int getPresentCount() {
+        return this.numberRows - this.missingCount;
+    }
+
+    /**
+     * Checks whether the value of a row is missing.
+     *
+     * @param row The index of the row.
+     * @return {@code true} if the value is missing, {@code false} otherwise.
+     */
+    public boolean isMissing(final int row) {
+        Preconditions.checkElementIndex(row, this.numberRows);
+        return (this.words[row >>> WORD_SHIFT] & (1L << row)) != 0;
+    }
+
+    /**
+     * Finds the first row with a missing value, starting at the given row.
+     *
+     * @param fromRow The row where to start (inclusive).
+     * @return The index of the row, or {@code -1} if there is none.
+     */
+    public int nextMissing(final int fromRow) {
+        Preconditions.checkArgument(fromRow >= 0, "the row should not be negative");
+        int wordIndex = fromRow >>> WORD_SHIFT;
+        if (wordIndex >= this.words.length) {
+            return -1;
+        }
+        long word = this.words[wordIndex] & (-1L << fromRow);
+        while (word == 0) {
+            if (++wordIndex == this.words.length) {
+                return -1;
+            }
+            word = this.words[wordIndex];
+        }
+        return (wordIndex << WORD_SHIFT) + Long.numberOfTrailingZeros(word);
+    }
+
+    /**
+     * Finds the first row with a present value, starting at the given row.
+     *
+     * @param fromRow The row where to start (inclusive).
+     * @return The index of the row, or {@code -1} if there is none.
+     */
+    public int nextPresent(final int fromRow) {
+        Preconditions.checkArgument(fromRow >= 0, "the row should not be negative");
+        int wordIndex = fromRow >>> WORD_SHIFT;
+        if (wordIndex >= this.words.length) {
+            return -1;
+        }
+        long word = ~this.words[wordIndex] & (-1L << fromRow);
+        while (word == 0) {
+            if (++wordIndex == this.words.length) {
+                return -1;
+            }
+            word = ~this.words[wordIndex];
+        }
+        final int row = (wordIndex << WORD_SHIFT) + Long.numberOfTrailingZeros(word);
+        return row < this.numberRows ? row : -1;
+    }
+
+    /**
+     * Combines this bitmap with another one of the same rows, into the bitmap of the rows missing in either.
+     *
+     * @param other The other bitmap.
+     * @return The combined bitmap.
+     */
+    public MissingValueBitmap or(final MissingValueBitmap other) {
+        checkSameRows(other);
+        final long[] combined = new long[this.words.length];
+        for (int word = 0; word < combined.length; word++) {
+            combined[word] = this.words[word] | other.words[word];
+        }
+        return new MissingValueBitmap(combined, this.numberRows);
+    }
+
+    /**
+     * Combines this bitmap with another one of the same rows, into the bitmap of the rows missing in both.
+     *
+     * @param other The other bitmap.
+     * @return The combined bitmap.
+     */
+    public MissingValueBitmap and(final MissingValueBitmap other) {
+        checkSameRows(other);
+        final long[] combined = new long[this.words.length];
+        for (int word = 0; word < combined.length; word++) {
+            combined[word] = this.words[word] & other.words[word];
+        }
+        return new MissingValueBitmap(combined, this.numberRows);
+    }
+
+    /**
+     * Gets the indexes of the rows with a missing value.
+     *
+     * @return The indexes of the rows, in increasing order.
+     */
+    public int[] getMissingRows() {
+        final int[] rows = new int[this.missingCount];
+        int next = 0;
+        for (int word = 0; word < this.words.length; word++) {
+            long bits = this.words[word];
+            while (bits != 0) {
+                rows[next++] = (word << WORD_SHIFT) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Gets the indexes of the rows with a present value.
+     *
+     * @return The indexes of the rows, in increasing order.
+     */
+    public int[] getPresentRows() {
+        final int[] rows = new int[getPresentCount()];
+        int next = 0;
+        for (int word = 0; word < this.words.length; word++) {
+            long bits = ~this.words[word];
+            if (word == this.words.length - 1 && (this.numberRows & 63) != 0) {
+                // the bits after the last row aren't rows
+                bits &= (1L << this.numberRows) - 1;
+            }
+            while (bits != 0) {
+                rows[next++] = (word << WORD_SHIFT) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Checks that another bitmap has the same number of rows as this one.
+     *
+     * @param other The other bitmap.
+     */
+    private void checkSameRows(final MissingValueBitmap other) {
+        Preconditions.checkNotNull(other, "other cannot be null");
+        Preconditions.checkArgument(
+                other.numberRows == this.numberRows,
+                "the bitmaps have %s and %s rows", this.numberRows, other.numberRows
+        );
+    }
+
+    /**
+     * Gets the number of words needed for the given number of rows.
+     *
+     * @param numberRows The number of rows.
+     * @return The number of words.
+     */
+    private static int numberWords(final int numberRows) {
+        return (numberRows + 63) >>> WORD_SHIFT;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("numberRows", this.numberRows)
+                .add("missingCount", this.missingCount)
+                .toString();
+    }
+}
@@ -0,0 +1,132 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.data;
+
+/**
+ * Arithmetic shared by the hashers and the statistics accumulators of this module, such as the
+ * {@link DatasetProfiler} and the monitors, so that they hash values and combine moments in the same way.
+ * <p>
+ * The running moments follow Welford's algorithm, and partial moments computed in parallel are combined with the
+ * formulas of Chan et al.; both are numerically stable, unlike summing the squares of the values.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public final class StatisticsUtils {
+
+    /**
+     * Private constructor for utility class.
+     */
+    private StatisticsUtils() {
+    }
+
+    /**
+     * The finalisation mix of MurmurHash3, which spreads the bits of a value over the whole hash.
+     *
+     * @param value The value.
+     * @return The mixed value.
+     */
+    public static long fmix64(final long value) {
+        long hash = value;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    /**
+     * Computes a 64-bit hash of a string: FNV-1a over its characters, followed by {@link #fmix64(long)}.
+     *
+     * @param value The string.
+     * @return The hash.
+     */
+    public static long stringHash(final String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return fmix64(hash);
+    }
+
+    /**
+     * Updates a running mean with a new value.
+     *
+     * @param mean  The mean of the previous values.
+     * @param count The number of values, including the new one.
+     * @param value The new value.
+     * @return The mean including the new value.
+     */
+    public static double addToMean(final double mean, final long count, final double value) {
+        return mean + (value - mean) / count;
+    }
+
+    /**
+     * Updates a running sum of squared deviations from the mean with a new value.
+     *
+     * @param squaredDeviations The sum of squared deviations of the previous values.
+     * @param previousMean      The mean of the previous values.
+     * @param mean              The mean including the new value, from {@link #addToMean}.
+     * @param value             The new value.
+     * @return The sum of squared deviations including the new value.
+     */
+    public static double addToSquaredDeviations(final double squaredDeviations,
+                                                final double previousMean,
+                                                final double mean,
+                                                final double value) {
+        return squaredDeviations + (value - previousMean) * (value - mean);
+    }
+
+    /**
+     * Combines the means of two disjoint sets of values.
+     *
+     * @param count      The number of values of the first set.
+     * @param mean       The mean of the first set.
+     * @param otherCount The number of values of the second set, which should be positive.
+     * @param otherMean  The mean of the second set.
+     * @return The mean of the union of the sets.
+     */
+    public static double mergeMeans(final long count, final double mean, final long otherCount, final double otherMean) {
+        return mean + (otherMean - mean) * otherCount / (count + otherCount);
+    }
+
+    /**
+     * Combines the sums of squared deviations from the mean of two disjoint sets of values.
+     *
+     * @param count                  The number of values of the first set.
+     * @param mean                   The mean of the first set.
+     * @param squaredDeviations      The sum of squared deviations of the first set.
+     * @param otherCount             The number of values of the second set, which should be positive.
+     * @param otherMean              The mean of the second set.
+     * @param otherSquaredDeviations The sum of squared deviations of the second set.
+     * @return The sum of squared deviations of the union of the sets.
+     */
+    public static double mergeSquaredDeviations(final long count,
+                                                final double mean,
+                                                final double squaredDeviations,
+                                                final long otherCount,
+                                                final double otherMean,
+                                                final double otherSquaredDeviations) {
+        final double delta = otherMean - mean;
+        return squaredDeviations + otherSquaredDeviations
+                + delta * delta * ((double) count * otherCount / (count + otherCount));
+    }
+}
@@ -0,0 +1,141 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.data;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A dictionary of the values of a string field, which assigns an {@code int} code to each distinct value, so that
+ * columns store the codes instead of a {@link String} per row.
+ * <p>
+ * Codes are assigned in the order the values are first encoded, starting at 0, and never change, so a dictionary can
+ * be shared by several datasets with the same schema (e.g. the train and test sets), whose codes are then comparable.
+ * Missing values ({@code null}) have the code {@link #MISSING}. Instances of this class are thread-safe: looking up
+ * values that are already in the dictionary doesn't lock.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public final class StringDictionary {
+
+    /**
+     * The code of missing values.
+     */
+    public static final int MISSING = -1;
+
+    /**
+     * The code of each value.
+     */
+    private final Map<String, Integer> codes = new ConcurrentHashMap<>();
+
+    /**
+     * The values, by code. Replaced by a larger copy when full.
+     */
+    private volatile String[] values = new String[16];
+
+    /**
+     * The number of values. Written after the value is in {@link #values}, so that readers of a code below this size
+     * see its value.
+     */
+    private volatile int size = 0;
+
+    /**
+     * Creates a new empty dictionary.
+     */
+    public StringDictionary() {
+    }
+
+    /**
+     * Gets the code of a value, adding it to the dictionary if it is not there yet.
+     *
+     * @param value The value, or {@code null} if missing.
+     * @return The code of the value, or {@link #MISSING} if the value is missing.
+     */
+    public int encode(final String value) {
+        if (value == null) {
+            return MISSING;
+        }
+        final Integer code = this.codes.get(value);
+        if (code != null) {
+            return code;
+        }
+        synchronized (this) {
+            final Integer existing = this.codes.get(value);
+            if (existing != null) {
+                return existing;
+            }
+            final int newCode = this.size;
+            if (newCode == this.values.length) {
+                this.values = Arrays.copyOf(this.values, newCode * 2);
+            }
+            this.values[newCode] = value;
+            this.size = newCode + 1;
+            this.codes.put(value, newCode);
+            return newCode;
+        }
+    }
+
+    /**
+     * Gets the code of a value, without adding it to the dictionary.
+     *
+     * @param value The value, or {@code null} if missing.
+     * @return The code of the value, or {@link #MISSING} if the value is missing or not in the dictionary.
+     */
+    public int lookup(final String value) {
+        if (value == null) {
+            return MISSING;
+        }
+        return this.codes.getOrDefault(value, MISSING);
+    }
+
+    /**
+     * Gets the value of a code.
+     *
+     * @param code The code.
+     * @return The value, or {@code null} if the code is {@link #MISSING}.
+     */
+    public String decode(final int code) {
+        if (code == MISSING) {
+            return null;
+        }
+        Preconditions.checkElementIndex(code, this.size, "code");
+        return this.values[code];
+    }
+
+    /**
+     * Gets the number of distinct values in the dictionary.
+     *
+     * @return The number of values.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("size", this.size)
+                .toString();
+    }
+}
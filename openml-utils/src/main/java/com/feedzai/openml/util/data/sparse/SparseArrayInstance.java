@@ -0,0 +1,333 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.data.sparse;
+
+import com.feedzai.openml.data.Instance;
+import com.feedzai.openml.data.SparseInstance;
+import com.feedzai.openml.data.schema.DatasetSchema;
+import com.feedzai.openml.data.schema.FieldSchema;
+import com.feedzai.openml.data.schema.StringValueSchema;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+import java.util.Arrays;
+
+/**
+ * A {@link SparseInstance} that stores its present values in arrays of field indexes and values, sorted by field
+ * index, so that a value is found by binary search and the present values are iterated without going through the
+ * missing ones.
+ * <p>
+ * The values of the string fields are stored the same way, apart from the numeric and categorical ones. Instances of
+ * this class are immutable.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public final class SparseArrayInstance implements SparseInstance {
+
+    /**
+     * The indexes of the numeric and categorical fields with a present value, in increasing order.
+     */
+    private final int[] indexes;
+
+    /**
+     * The present values, in the same order as {@link #indexes}.
+     */
+    private final double[] values;
+
+    /**
+     * The indexes of the string fields with a present value, in increasing order.
+     */
+    private final int[] stringIndexes;
+
+    /**
+     * The present values of the string fields, in the same order as {@link #stringIndexes}.
+     */
+    private final String[] stringValues;
+
+    /**
+     * Creates a new instance. The given arrays are used directly, without being copied.
+     *
+     * @param indexes       The indexes of the numeric and categorical fields with a present value, in increasing
+     *                      order.
+     * @param values        The present values, in the same order as {@code indexes}.
+     * @param stringIndexes The indexes of the string fields with a present value, in increasing order.
+     * @param stringValues  The present values of the string fields, in the same order as {@code stringIndexes}.
+     */
+    public SparseArrayInstance(final int[] indexes,
+                               final double[] values,
+                               final int[] stringIndexes,
+                               final String[] stringValues) {
+        Preconditions.checkArgument(indexes.length == values.length, "there should be one value per index");
+        Preconditions.checkArgument(
+                stringIndexes.length == stringValues.length,
+                "there should be one string value per string index"
+        );
+        checkIncreasing(indexes);
+        checkIncreasing(stringIndexes);
+
+        this.indexes = indexes;
+        this.values = values;
+        this.stringIndexes = stringIndexes;
+        this.stringValues = stringValues;
+    }
+
+    /**
+     * Creates a new builder of a {@link SparseArrayInstance}.
+     *
+     * @return The builder.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Converts an instance into a sparse instance with its values that are present.
+     *
+     * @param instance The instance.
+     * @param schema   The schema of the instance.
+     * @return The sparse instance.
+     */
+    public static SparseArrayInstance fromDense(final Instance instance, final DatasetSchema schema) {
+        Preconditions.checkNotNull(instance, "instance cannot be null");
+        Preconditions.checkNotNull(schema, "schema cannot be null");
+        if (instance instanceof SparseArrayInstance) {
+            return (SparseArrayInstance) instance;
+        }
+
+        final Builder builder = builder();
+        for (final FieldSchema field : schema.getFieldSchemas()) {
+            final int index = field.getFieldIndex();
+            if (field.getValueSchema() instanceof StringValueSchema) {
+                builder.withStringValue(index, instance.getStringValue(index));
+            } else {
+                builder.withValue(index, instance.getValue(index));
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Converts this instance into a dense array with the values of all the numeric and categorical fields, where the
+     * fields that are not present are {@link Double#NaN}.
+     *
+     * @param numberFields The number of fields of the schema of this instance.
+     * @return The values, by field index.
+     */
+    public double[] toDense(final int numberFields) {
+        final double[] dense = new double[numberFields];
+        Arrays.fill(dense, Double.NaN);
+        for (int position = 0; position < this.indexes.length; position++) {
+            dense[this.indexes[position]] = this.values[position];
+        }
+        return dense;
+    }
+
+    @Override
+    public int getNumberPresentValues() {
+        return this.indexes.length;
+    }
+
+    @Override
+    public int getPresentIndex(final int position) {
+        return this.indexes[position];
+    }
+
+    @Override
+    public double getPresentValue(final int position) {
+        return this.values[position];
+    }
+
+    @Override
+    public double getValue(final int index) {
+        final int position = Arrays.binarySearch(this.indexes, index);
+        return position < 0 ? Double.NaN : this.values[position];
+    }
+
+    @Override
+    public String getStringValue(final int index) {
+        final int position = Arrays.binarySearch(this.stringIndexes, index);
+        return position < 0 ? null : this.stringValues[position];
+    }
+
+    /**
+     * Checks that the given indexes are in increasing order, without repetitions.
+     *
+     * @param indexes The indexes.
+     */
+    private static void checkIncreasing(final int[] indexes) {
+        for (int position = 1; position < indexes.length; position++) {
+            Preconditions.checkArgument(
+                    indexes[position - 1] < indexes[position],
+                    "the field indexes should be in increasing order, without repetitions"
+            );
+        }
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("indexes", Arrays.toString(this.indexes))
+                .add("values", Arrays.toString(this.values))
+                .add("stringIndexes", Arrays.toString(this.stringIndexes))
+                .add("stringValues", Arrays.toString(this.stringValues))
+                .toString();
+    }
+
+    /**
+     * Builder of {@link SparseArrayInstance}, where the values can be given in any order of field index.
+     */
+    public static final class Builder {
+
+        /**
+         * The indexes of the numeric and categorical fields with a value.
+         */
+        private int[] indexes = new int[8];
+
+        /**
+         * The values of the numeric and categorical fields, in the same order as {@link #indexes}.
+         */
+        private double[] values = new double[8];
+
+        /**
+         * The number of values of numeric and categorical fields.
+         */
+        private int size = 0;
+
+        /**
+         * The indexes of the string fields with a value.
+         */
+        private int[] stringIndexes = new int[0];
+
+        /**
+         * The values of the string fields, in the same order as {@link #stringIndexes}.
+         */
+        private String[] stringValues = new String[0];
+
+        /**
+         * The number of values of string fields.
+         */
+        private int stringSize = 0;
+
+        /**
+         * Creates a new instance.
+         */
+        private Builder() {
+        }
+
+        /**
+         * Sets the value of a numeric or categorical field. Missing values ({@link Double#NaN}) are ignored.
+         *
+         * @param index The index of the field.
+         * @param value The value, encoded as described in {@link Instance#getValue(int)}.
+         * @return This builder.
+         */
+        public Builder withValue(final int index, final double value) {
+            Preconditions.checkArgument(index >= 0, "the field index should not be negative");
+            if (Double.isNaN(value)) {
+                return this;
+            }
+            if (this.size == this.indexes.length) {
+                this.indexes = Arrays.copyOf(this.indexes, this.size * 2);
+                this.values = Arrays.copyOf(this.values, this.size * 2);
+            }
+            this.indexes[this.size] = index;
+            this.values[this.size++] = value;
+            return this;
+        }
+
+        /**
+         * Sets the value of a string field. Missing values ({@code null}) are ignored.
+         *
+         * @param index The index of the field.
+         * @param value The value.
+         * @return This builder.
+         */
+        public Builder withStringValue(final int index, final String value) {
+            Preconditions.checkArgument(index >= 0, "the field index should not be negative");
+            if (value == null) {
+                return this;
+            }
+            if (this.stringSize == this.stringIndexes.length) {
+                this.stringIndexes = Arrays.copyOf(this.stringIndexes, Math.max(4, this.stringSize * 2));
+                this.stringValues = Arrays.copyOf(this.stringValues, Math.max(4, this.stringSize * 2));
+            }
+            this.stringIndexes[this.stringSize] = index;
+            this.stringValues[this.stringSize++] = value;
+            return this;
+        }
+
+        /**
+         * Creates the {@link SparseArrayInstance} with the values of this builder.
+         *
+         * @return The instance.
+         * @throws IllegalArgumentException If a field was given more than one value.
+         */
+        public SparseArrayInstance build() {
+            final int[] order = sortedOrder(this.indexes, this.size);
+            final int[] sortedIndexes = new int[this.size];
+            final double[] sortedValues = new double[this.size];
+            for (int position = 0; position < this.size; position++) {
+                sortedIndexes[position] = this.indexes[order[position]];
+                sortedValues[position] = this.values[order[position]];
+            }
+
+            final int[] stringOrder = sortedOrder(this.stringIndexes, this.stringSize);
+            final int[] sortedStringIndexes = new int[this.stringSize];
+            final String[] sortedStringValues = new String[this.stringSize];
+            for (int position = 0; position < this.stringSize; position++) {
+                sortedStringIndexes[position] = this.stringIndexes[stringOrder[position]];
+                sortedStringValues[position] = this.stringValues[stringOrder[position]];
+            }
+
+            return new SparseArrayInstance(sortedIndexes, sortedValues, sortedStringIndexes, sortedStringValues);
+        }
+
+        /**
+         * Gets the positions of the given indexes sorted by index, without sorting when they are already in order
+         * (the common case when the values are given field by field).
+         *
+         * @param indexes The indexes.
+         * @param size    The number of indexes (from the start of {@code indexes}).
+         * @return The positions, in increasing order of index.
+         */
+        private static int[] sortedOrder(final int[] indexes, final int size) {
+            boolean sorted = true;
+            for (int position = 1; position < size && sorted; position++) {
+                sorted = indexes[position - 1] < indexes[position];
+            }
+            if (sorted) {
+                final int[] order = new int[size];
+                Arrays.setAll(order, position -> position);
+                return order;
+            }
+            // packs each index with its position, so that sorting the longs sorts the positions by index
+            final long[] packed = new long[size];
+            for (int position = 0; position < size; position++) {
+                packed[position] = ((long) indexes[position] << 32) | position;
+            }
+            Arrays.sort(packed);
+            final int[] order = new int[size];
+            for (int position = 0; position < size; position++) {
+                order[position] = (int) packed[position];
+            }
+            return order;
+        }
+    }
+}
@@ -0,0 +1,239 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.data.sparse;
+
+import com.feedzai.openml.data.FeatureValues;
+import com.feedzai.openml.data.SparseInstance;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The values of a numeric or categorical field of a dataset, where only the rows with a present value are stored, in
+ * arrays of row indexes and values sorted by row. The rows that are not stored are missing ({@link Double#NaN}).
+ * <p>
+ * A value is found by binary search, and the present values can be iterated by their position without going through
+ * the missing ones. Instances of this class are immutable.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public final class SparseColumn implements FeatureValues {
+
+    /**
+     * The number of rows of the column, including the missing ones.
+     */
+    private final int numberRows;
+
+    /**
+     * The indexes of the rows with a present value, in increasing order.
+     */
+    private final int[] rows;
+
+    /**
+     * The present values, in the same order as {@link #rows}.
+     */
+    private final double[] values;
+
+    /**
+     * Creates a new instance. The given arrays are used directly, without being copied.
+     *
+     * @param numberRows The number of rows of the column, including the missing ones.
+     * @param rows       The indexes of the rows with a present value, in increasing order.
+     * @param values     The present values, in the same order as {@code rows}.
+     */
+    public SparseColumn(final int numberRows, final int[] rows, final double[] values) {
+        Preconditions.checkArgument(numberRows >= 0, "the number of rows should not be negative");
+        Preconditions.checkArgument(rows.length == values.length, "there should be one value per row");
+        for (int position = 0; position < rows.length; position++) {
+            Preconditions.checkArgument(
+                    (position == 0 || rows[position - 1] < rows[position]) && rows[position] >= 0
+                            && rows[position] < numberRows,
+                    "the rows should be in increasing order, without repetitions, and less than %s", numberRows
+            );
+        }
+
+        this.numberRows = numberRows;
+        this.rows = rows;
+        this.values = values;
+    }
+
+    /**
+     * Converts a dense column into a sparse one, with its values that are not {@link Double#NaN}.
+     *
+     * @param column The values of the column, by row.
+     * @return The sparse column.
+     */
+    public static SparseColumn fromDense(final double[] column) {
+        return fromDense(row -> column[row], column.length);
+    }
+
+    /**
+     * Converts the values of a feature into a sparse column, with its values that are not {@link Double#NaN}.
+     *
+     * @param feature    The values of the feature, e.g. from {@link com.feedzai.openml.data.Dataset#feature(int)}.
+     * @param numberRows The number of rows of the feature.
+     * @return The sparse column.
+     */
+    public static SparseColumn fromDense(final FeatureValues feature, final int numberRows) {
+        Preconditions.checkNotNull(feature, "feature cannot be null");
+
+        int present = 0;
+        for (int row = 0; row < numberRows; row++) {
+            if (!Double.isNaN(feature.getValue(row))) {
+                present++;
+            }
+        }
+
+        final int[] rows = new int[present];
+        final double[] values = new double[present];
+        int position = 0;
+        for (int row = 0; row < numberRows && position < present; row++) {
+            final double value = feature.getValue(row);
+            if (!Double.isNaN(value)) {
+                rows[position] = row;
+                values[position++] = value;
+            }
+        }
+        return new SparseColumn(numberRows, rows, values);
+    }
+
+    /**
+     * Transposes sparse instances into sparse columns, e.g. for trainers that work field by field, in two passes over
+     * their present values.
+     *
+     * @param instances    The instances, one per row.
+     * @param numberFields The number of fields of the schema of the instances.
+     * @return The sparse column of each field, by field index, which are empty for the string fields.
+     */
+    public static SparseColumn[] fromRows(final List<? extends SparseInstance> instances, final int numberFields) {
+        Preconditions.checkNotNull(instances, "instances cannot be null");
+
+        final int[] counts = new int[numberFields];
+        for (final SparseInstance instance : instances) {
+            for (int position = 0; position < instance.getNumberPresentValues(); position++) {
+                counts[instance.getPresentIndex(position)]++;
+            }
+        }
+
+        final int[][] rows = new int[numberFields][];
+        final double[][] values = new double[numberFields][];
+        for (int field = 0; field < numberFields; field++) {
+            rows[field] = new int[counts[field]];
+            values[field] = new double[counts[field]];
+        }
+
+        // the rows are visited in order, so each column is filled in increasing order of row
+        final int[] filled = new int[numberFields];
+        for (int row = 0; row < instances.size(); row++) {
+            final SparseInstance instance = instances.get(row);
+            for (int position = 0; position < instance.getNumberPresentValues(); position++) {
+                final int field = instance.getPresentIndex(position);
+                rows[field][filled[field]] = row;
+                values[field][filled[field]++] = instance.getPresentValue(position);
+            }
+        }
+
+        final SparseColumn[] columns = new SparseColumn[numberFields];
+        for (int field = 0; field < numberFields; field++) {
+            columns[field] = new SparseColumn(instances.size(), rows[field], values[field]);
+        }
+        return columns;
+    }
+
+    /**
+     * Converts this column into a dense one, where the rows that are not present are {@link Double#NaN}.
+     *
+     * @return The values of the column, by row.
+     */
+    public double[] toDense() {
+        final double[] dense = new double[this.numberRows];
+        Arrays.fill(dense, Double.NaN);
+        for (int position = 0; position < this.rows.length; position++) {
+            dense[this.rows[position]] = this.values[position];
+        }
+        return dense;
+    }
+
+    @Override
+    public double getValue(final int index) {
+        Preconditions.checkElementIndex(index, this.numberRows);
+        final int position = Arrays.binarySearch(this.rows, index);
+        return position < 0 ? Double.NaN : this.values[position];
+    }
+
+    /**
+     * Gets the number of rows of this column, including the missing ones.
+     *
+     * @return The number of rows.
+     */
+    public int getNumberRows() {
+        return this.numberRows;
+    }
+
+    /**
+     * Gets the number of rows with a present value.
+     *
+     * @return The number of present values.
+     */
+    public int getNumberPresentValues() {
+        return this.rows.length;
+    }
+
+    /**
+     * Gets the row of a present value.
+     *
+     * @param position The position of the present value, between 0 and {@link #getNumberPresentValues()}
+     *                 (exclusive).
+     * @return The index of the row.
+     */
+    public int getPresentRow(final int position) {
+        return this.rows[position];
+    }
+
+    /**
+     * Gets a present value.
+     *
+     * @param position The position of the present value, between 0 and {@link #getNumberPresentValues()}
+     *                 (exclusive).
+     * @return The value.
+     */
+    public double getPresentValue(final int position) {
+        return this.values[position];
+    }
+
+    /**
+     * Gets the fraction of the rows with a present value.
+     *
+     * @return The density of this column, between 0 and 1.
+     */
+    public double getDensity() {
+        return this.numberRows == 0 ? 0 : (double) this.rows.length / this.numberRows;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("numberRows", this.numberRows)
+                .add("numberPresentValues", this.rows.length)
+                .toString();
+    }
+}
@@ -0,0 +1,64 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.data.sparse;
+
+import com.feedzai.openml.data.Instance;
+import com.feedzai.openml.data.SparseInstance;
+import com.feedzai.openml.model.ClassificationMLModel;
+import com.feedzai.openml.model.SparseClassificationMLModel;
+import com.google.common.base.Preconditions;
+
+/**
+ * Utility methods to score {@link SparseInstance}s.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public final class SparseScoring {
+
+    /**
+     * Private constructor for utility class.
+     */
+    private SparseScoring() {
+    }
+
+    /**
+     * Calculates the class probabilities distributions for a batch of {@link SparseInstance}s, writing them into the
+     * caller-supplied matrix.
+     * <p>
+     * Models that are {@link SparseClassificationMLModel}s receive the instances as they are; the others score them as
+     * any other {@link Instance}s, through {@link ClassificationMLModel#getClassDistributions(Instance[], double[][])}.
+     *
+     * @param model         The model.
+     * @param instances     The instances to be classified.
+     * @param distributions The matrix where to write the class probabilities distributions: row {@code i} receives the
+     *                      distribution of {@code instances[i]}, and should have one column per class.
+     */
+    public static void getClassDistributions(final ClassificationMLModel model,
+                                             final SparseInstance[] instances,
+                                             final double[][] distributions) {
+        Preconditions.checkNotNull(model, "model cannot be null");
+
+        if (model instanceof SparseClassificationMLModel) {
+            ((SparseClassificationMLModel) model).getSparseClassDistributions(instances, distributions);
+        } else {
+            model.getClassDistributions(instances, distributions);
+        }
+    }
+}
@@ -0,0 +1,376 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.data.stream;
+
+import com.feedzai.openml.data.Instance;
+import com.feedzai.openml.data.StreamingDataset;
+import com.feedzai.openml.data.schema.DatasetSchema;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A {@link StreamingDataset} fed by producer threads through a bounded queue.
+ * <p>
+ * Producers {@link #put(Instance) put} instances, waiting while the queue is full, so they can't get ahead of the
+ * consumer by more than the capacity of the queue. When there are no more instances, a producer either
+ * {@link #complete() completes} the dataset, after which the consumer reads the remaining instances and then the
+ * end of the dataset, or {@link #fail(Throwable) fails} it, after which the consumer gets the error.
+ * <p>
+ * If the consumer {@link #close() closes} the dataset before its end, the queued instances are discarded and
+ * producers are told to stop by {@link #put(Instance)} returning {@code false}. The dataset can be closed from another
+ * thread, e.g. to abort a training, in which case a consumer waiting for instances is woken up and fails.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public final class QueueStreamingDataset implements StreamingDataset {
+
+    /**
+     * The schema of the instances.
+     */
+    private final DatasetSchema schema;
+
+    /**
+     * The number of instances the producers will put, if known.
+     */
+    private final OptionalLong size;
+
+    /**
+     * The maximum number of queued instances.
+     */
+    private final int capacity;
+
+    /**
+     * The queued instances.
+     */
+    private final ArrayDeque<Instance> queue;
+
+    /**
+     * The lock that guards the state of the queue.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Signalled when instances are queued, the dataset ends or it is closed.
+     */
+    private final Condition notEmpty = this.lock.newCondition();
+
+    /**
+     * Signalled when instances are taken or the dataset is closed.
+     */
+    private final Condition notFull = this.lock.newCondition();
+
+    /**
+     * Whether the producers completed the dataset.
+     */
+    private boolean completed = false;
+
+    /**
+     * The error that failed the dataset, or {@code null} if it didn't fail.
+     */
+    private Throwable failure = null;
+
+    /**
+     * Whether the consumer closed the dataset.
+     */
+    private boolean closed = false;
+
+    /**
+     * Creates a new instance from the given builder.
+     *
+     * @param builder The builder.
+     */
+    private QueueStreamingDataset(final Builder builder) {
+        this.schema = builder.schema;
+        this.size = builder.size;
+        this.capacity = builder.capacity;
+        this.queue = new ArrayDeque<>(builder.capacity);
+    }
+
+    /**
+     * Creates a new builder of a queue of instances of the given schema.
+     *
+     * @param schema The schema of the instances.
+     * @return The builder.
+     */
+    public static Builder builder(final DatasetSchema schema) {
+        return new Builder(schema);
+    }
+
+    /**
+     * Queues an instance, waiting while the queue is full.
+     *
+     * @param instance The instance.
+     * @return {@code true} if the instance was queued, {@code false} if the consumer closed the dataset.
+     * @throws InterruptedException If interrupted while waiting.
+     * @throws IllegalStateException If the dataset was already completed or failed.
+     */
+    public boolean put(final Instance instance) throws InterruptedException {
+        Preconditions.checkNotNull(instance, "instance cannot be null");
+
+        this.lock.lockInterruptibly();
+        try {
+            checkOpenForProducers();
+            while (this.queue.size() == this.capacity && !this.closed) {
+                this.notFull.await();
+            }
+            return enqueue(instance);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Queues an instance, waiting up to the given time while the queue is full.
+     *
+     * @param instance The instance.
+     * @param timeout  The maximum time to wait.
+     * @param unit     The unit of the timeout.
+     * @return {@code true} if the instance was queued, {@code false} if the queue remained full or the consumer
+     * closed the dataset.
+     * @throws InterruptedException If interrupted while waiting.
+     * @throws IllegalStateException If the dataset was already completed or failed.
+     */
+    public boolean offer(final Instance instance, final long timeout, final TimeUnit unit) throws InterruptedException {
+        Preconditions.checkNotNull(instance, "instance cannot be null");
+        Preconditions.checkNotNull(unit, "unit cannot be null");
+
+        long remainingNanos = unit.toNanos(timeout);
+        this.lock.lockInterruptibly();
+        try {
+            checkOpenForProducers();
+            while (this.queue.size() == this.capacity && !this.closed) {
+                if (remainingNanos <= 0) {
+                    return false;
+                }
+                remainingNanos = this.notFull.awaitNanos(remainingNanos);
+            }
+            return enqueue(instance);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Marks the end of the dataset: the consumer will read the instances already queued, and then the end.
+     */
+    public void complete() {
+        this.lock.lock();
+        try {
+            this.completed = true;
+            this.notEmpty.signalAll();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Fails the dataset: the consumer will get an {@link IOException} caused by the given error on its next read,
+     * even if there are instances queued.
+     *
+     * @param cause The error.
+     */
+    public void fail(final Throwable cause) {
+        Preconditions.checkNotNull(cause, "cause cannot be null");
+
+        this.lock.lock();
+        try {
+            if (this.failure == null) {
+                this.failure = cause;
+            }
+            this.notEmpty.signalAll();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of instances currently queued.
+     *
+     * @return The number of queued instances.
+     */
+    public int getQueueSize() {
+        this.lock.lock();
+        try {
+            return this.queue.size();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public DatasetSchema getSchema() {
+        return this.schema;
+    }
+
+    @Override
+    public OptionalLong getSize() {
+        return this.size;
+    }
+
+    @Override
+    public List<Instance> nextChunk(final int maxInstances) throws IOException, InterruptedException {
+        Preconditions.checkArgument(maxInstances > 0, "the maximum number of instances should be positive");
+
+        this.lock.lockInterruptibly();
+        try {
+            Preconditions.checkState(!this.closed, "the dataset is closed");
+            while (this.queue.isEmpty() && !this.completed && this.failure == null && !this.closed) {
+                this.notEmpty.await();
+            }
+            Preconditions.checkState(!this.closed, "the dataset was closed while waiting for instances");
+            if (this.failure != null) {
+                throw new IOException("The producer of the instances failed", this.failure);
+            }
+            if (this.queue.isEmpty()) {
+                return Collections.emptyList();
+            }
+
+            final List<Instance> chunk = new ArrayList<>(Math.min(maxInstances, this.queue.size()));
+            while (chunk.size() < maxInstances && !this.queue.isEmpty()) {
+                chunk.add(this.queue.poll());
+            }
+            this.notFull.signalAll();
+            return chunk;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        this.lock.lock();
+        try {
+            this.closed = true;
+            this.queue.clear();
+            this.notFull.signalAll();
+            this.notEmpty.signalAll();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Checks that producers can still put instances. Must be called with the lock held.
+     *
+     * @throws IllegalStateException If the dataset was already completed or failed.
+     */
+    private void checkOpenForProducers() {
+        Preconditions.checkState(!this.completed, "the dataset was already completed");
+        Preconditions.checkState(this.failure == null, "the dataset already failed");
+    }
+
+    /**
+     * Queues an instance if the dataset is not closed. Must be called with the lock held, when the queue isn't full.
+     *
+     * @param instance The instance.
+     * @return {@code true} if the instance was queued, {@code false} if the consumer closed the dataset.
+     */
+    private boolean enqueue(final Instance instance) {
+        if (this.closed) {
+            return false;
+        }
+        this.queue.add(instance);
+        this.notEmpty.signal();
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("capacity", this.capacity)
+                .add("size", this.size)
+                .toString();
+    }
+
+    /**
+     * Builder of {@link QueueStreamingDataset}.
+     */
+    public static final class Builder {
+
+        /**
+         * The schema of the instances.
+         */
+        private final DatasetSchema schema;
+
+        /**
+         * The number of instances the producers will put, if known.
+         */
+        private OptionalLong size = OptionalLong.empty();
+
+        /**
+         * The maximum number of queued instances.
+         */
+        private int capacity = 10_000;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param schema The schema of the instances.
+         */
+        private Builder(final DatasetSchema schema) {
+            this.schema = Preconditions.checkNotNull(schema, "schema cannot be null");
+        }
+
+        /**
+         * Sets the maximum number of queued instances, after which producers wait for the consumer. Defaults to
+         * 10000.
+         *
+         * @param capacity The capacity of the queue.
+         * @return This builder.
+         */
+        public Builder withCapacity(final int capacity) {
+            Preconditions.checkArgument(capacity > 0, "the capacity should be positive");
+            this.capacity = capacity;
+            return this;
+        }
+
+        /**
+         * Sets the number of instances the producers will put, when it is known in advance. By default the size is
+         * unknown.
+         *
+         * @param size The number of instances.
+         * @return This builder.
+         */
+        public Builder withSize(final long size) {
+            Preconditions.checkArgument(size >= 0, "the size should not be negative");
+            this.size = OptionalLong.of(size);
+            return this;
+        }
+
+        /**
+         * Creates the {@link QueueStreamingDataset} with the settings of this builder.
+         *
+         * @return The dataset.
+         */
+        public QueueStreamingDataset build() {
+            return new QueueStreamingDataset(this);
+        }
+    }
+}
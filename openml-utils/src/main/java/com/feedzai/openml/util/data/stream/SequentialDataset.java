@@ -0,0 +1,660 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.data.stream;
+
+import com.feedzai.openml.data.Dataset;
+import com.feedzai.openml.data.FeatureValues;
+import com.feedzai.openml.data.Instance;
+import com.feedzai.openml.data.PartitionedDataset;
+import com.feedzai.openml.data.StreamingDataset;
+import com.feedzai.openml.data.schema.DatasetSchema;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Adapts {@link StreamingDataset}s to the {@link Dataset} interface, for trainers that mostly go through the instances
+ * sequentially with {@link #getInstances()}.
+ * <p>
+ * Each call to {@link #getInstances()} opens a new stream from the {@link Source} of this dataset and reads it in
+ * chunks as the iterator advances, so only one chunk is held in memory at a time. The stream is closed when the
+ * iterator reaches its end or fails; consumers that stop early should {@link InstanceIterator#close() close} the
+ * iterator, and the iterators still open are closed with this dataset. Datasets created from a single stream with
+ * {@link #singlePass(StreamingDataset)} can only be read once, while those created from a source that reopens the
+ * input (e.g. a file) can be iterated as many times as needed.
+ * <p>
+ * Operations that need random access, {@link #instance(int)}, {@link #feature(int)} and {@link #groupBy(Function)},
+ * first spool all the instances into a {@link SpooledDataset}, which then also serves the next passes. The spooled
+ * files are deleted when this dataset is {@link #close() closed}, as are those of the filtered datasets derived from
+ * it. {@link #filter(Predicate)} and {@link #partition(Predicate)} are lazy, and filter the instances while they are
+ * read.
+ * <p>
+ * As {@link Iterator}s can't throw checked exceptions, errors reading a stream are thrown as
+ * {@link UncheckedIOException}s, and interruptions as {@link IllegalStateException}s (with the interrupted flag of
+ * the thread restored).
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public final class SequentialDataset implements Dataset, Closeable {
+
+    /**
+     * The default number of instances read at a time.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1024;
+
+    /**
+     * The schema of the instances.
+     */
+    private final DatasetSchema schema;
+
+    /**
+     * The source of the streams of instances.
+     */
+    private final Source source;
+
+    /**
+     * The number of instances read at a time.
+     */
+    private final int chunkSize;
+
+    /**
+     * The directory where the instances are spooled for random access.
+     */
+    private final Path spoolDirectory;
+
+    /**
+     * The dataset this one was derived from, which closes it, or {@code null} if this dataset was created directly.
+     */
+    private final SequentialDataset parent;
+
+    /**
+     * The resources closed with this dataset: the iterators still open, and the derived datasets that were read.
+     */
+    private final Set<Closeable> resources = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The instances spooled for random access, or {@code null} if they were not spooled yet.
+     */
+    private SpooledDataset spooled;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param schema         The schema of the instances.
+     * @param source         The source of the streams of instances.
+     * @param chunkSize      The number of instances read at a time.
+     * @param spoolDirectory The directory where the instances are spooled for random access.
+     * @param parent         The dataset this one was derived from, or {@code null}.
+     */
+    private SequentialDataset(final DatasetSchema schema,
+                              final Source source,
+                              final int chunkSize,
+                              final Path spoolDirectory,
+                              final SequentialDataset parent) {
+        this.schema = schema;
+        this.source = source;
+        this.chunkSize = chunkSize;
+        this.spoolDirectory = spoolDirectory;
+        this.parent = parent;
+    }
+
+    /**
+     * Creates a dataset that can be iterated once, over the instances of the given stream.
+     *
+     * @param stream The stream of instances.
+     * @return The dataset.
+     */
+    public static SequentialDataset singlePass(final StreamingDataset stream) {
+        Preconditions.checkNotNull(stream, "stream cannot be null");
+
+        final AtomicBoolean opened = new AtomicBoolean(false);
+        return multiPass(stream.getSchema(), () -> {
+            Preconditions.checkState(opened.compareAndSet(false, true), "a single pass dataset can only be iterated once");
+            return stream;
+        });
+    }
+
+    /**
+     * Creates a dataset that can be iterated as many times as needed, over the instances of new streams opened by the
+     * given source.
+     *
+     * @param schema The schema of the instances.
+     * @param source The source of the streams, which should have the same instances each time they are opened.
+     * @return The dataset.
+     */
+    public static SequentialDataset multiPass(final DatasetSchema schema, final Source source) {
+        Preconditions.checkNotNull(schema, "schema cannot be null");
+        Preconditions.checkNotNull(source, "source cannot be null");
+        return new SequentialDataset(
+                schema, source, DEFAULT_CHUNK_SIZE, Paths.get(System.getProperty("java.io.tmpdir")), null
+        );
+    }
+
+    /**
+     * Creates a copy of this dataset that reads the given number of instances at a time.
+     *
+     * @param chunkSize The number of instances read at a time.
+     * @return The new dataset.
+     */
+    public SequentialDataset withChunkSize(final int chunkSize) {
+        Preconditions.checkArgument(chunkSize > 0, "the chunk size should be positive");
+        return new SequentialDataset(this.schema, this.source, chunkSize, this.spoolDirectory, this.parent);
+    }
+
+    /**
+     * Creates a copy of this dataset that spools its instances into the given directory when random access is needed.
+     * Defaults to the temporary directory of the system.
+     *
+     * @param spoolDirectory The directory.
+     * @return The new dataset.
+     */
+    public SequentialDataset withSpoolDirectory(final Path spoolDirectory) {
+        Preconditions.checkNotNull(spoolDirectory, "spoolDirectory cannot be null");
+        return new SequentialDataset(this.schema, this.source, this.chunkSize, spoolDirectory, this.parent);
+    }
+
+    /**
+     * Opens a new stream over the instances of this dataset, e.g. to spool them into a {@link SpooledDataset}.
+     *
+     * @return The stream, which should be closed by the caller.
+     * @throws IOException If the stream cannot be opened.
+     */
+    public StreamingDataset openStream() throws IOException {
+        return this.source.open();
+    }
+
+    @Override
+    public DatasetSchema getSchema() {
+        return this.schema;
+    }
+
+    /**
+     * Gets an instance by its index, spooling the instances first if they were not spooled yet.
+     *
+     * @param index The index of the instance.
+     * @return The instance.
+     */
+    @Override
+    public Instance instance(final int index) {
+        return spool().instance(index);
+    }
+
+    /**
+     * Gets the values of a feature, spooling the instances first if they were not spooled yet.
+     *
+     * @param index The index of the feature.
+     * @return The values of the feature.
+     */
+    @Override
+    public FeatureValues feature(final int index) {
+        return spool().feature(index);
+    }
+
+    /**
+     * Iterates over the instances, reading a new stream from the source unless they were already spooled.
+     *
+     * @return The iterator, which should be {@link InstanceIterator#close() closed} if it is not read until its end.
+     */
+    @Override
+    public InstanceIterator getInstances() {
+        final SpooledDataset spooledDataset;
+        synchronized (this) {
+            spooledDataset = this.spooled;
+        }
+        if (spooledDataset != null) {
+            final Iterator<Instance> instances = spooledDataset.getInstances();
+            return new InstanceIterator() {
+                @Override
+                public boolean hasNext() {
+                    return instances.hasNext();
+                }
+
+                @Override
+                public Instance next() {
+                    return instances.next();
+                }
+
+                @Override
+                public void close() {
+                    // the spooled dataset is closed with this one
+                }
+            };
+        }
+
+        final StreamingDataset stream;
+        try {
+            stream = this.source.open();
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Could not open the stream of instances", e);
+        }
+        final ChunkIterator iterator = new ChunkIterator(stream, this.chunkSize, this.resources);
+        this.resources.add(iterator);
+        registerWithParent();
+        return iterator;
+    }
+
+    @Override
+    public Dataset filter(final Predicate<Instance> predicate) {
+        Preconditions.checkNotNull(predicate, "predicate cannot be null");
+        return derive(() -> new FilteredStream(this.source.open(), predicate));
+    }
+
+    /**
+     * Groups the instances, spooling them first if they were not spooled yet. The groups are copied into the heap.
+     *
+     * @param function The grouping function.
+     * @param <K>      The concrete type of the value used for the grouping.
+     * @return The groups.
+     */
+    @Override
+    public <K> Map<K, Dataset> groupBy(final Function<Instance, K> function) {
+        return spool().groupBy(function);
+    }
+
+    /**
+     * Segments this dataset into two lazily filtered datasets. Each one reads the instances of this dataset when
+     * iterated, so both can only be iterated if this dataset can be iterated more than once.
+     *
+     * @param predicate The predicate used to split the dataset into two.
+     * @return A {@link PartitionedDataset}.
+     */
+    @Override
+    public PartitionedDataset partition(final Predicate<Instance> predicate) {
+        final Dataset matched = filter(predicate);
+        final Dataset unmatched = filter(predicate.negate());
+        return new PartitionedDataset() {
+            @Override
+            public Dataset getMatchedData() {
+                return matched;
+            }
+
+            @Override
+            public Dataset getUnmatchedData() {
+                return unmatched;
+            }
+        };
+    }
+
+    @Override
+    public Dataset empty() {
+        return derive(() -> new EmptyStream(this.schema));
+    }
+
+    /**
+     * Closes the iterators still open and deletes the spooled instances, of this dataset and of the datasets derived
+     * from it. The dataset can still be used afterwards, opening new streams as needed.
+     *
+     * @throws IOException If any of the resources fails to close.
+     */
+    @Override
+    public void close() throws IOException {
+        final SpooledDataset spooledDataset;
+        synchronized (this) {
+            spooledDataset = this.spooled;
+            this.spooled = null;
+        }
+
+        IOException failure = null;
+        for (final Closeable resource : new ArrayList<>(this.resources)) {
+            try {
+                resource.close();
+            } catch (final IOException e) {
+                failure = addFailure(failure, e);
+            } catch (final UncheckedIOException e) {
+                failure = addFailure(failure, e.getCause());
+            }
+        }
+        this.resources.clear();
+        if (this.parent != null) {
+            this.parent.resources.remove(this);
+        }
+
+        if (spooledDataset != null) {
+            try {
+                spooledDataset.close();
+            } catch (final IOException e) {
+                failure = addFailure(failure, e);
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Creates a dataset over the instances of another source, closed with this dataset if it spools its instances.
+     *
+     * @param derivedSource The source of the derived dataset.
+     * @return The derived dataset.
+     */
+    private SequentialDataset derive(final Source derivedSource) {
+        return new SequentialDataset(this.schema, derivedSource, this.chunkSize, this.spoolDirectory, this);
+    }
+
+    /**
+     * Spools the instances of a new stream, the first time random access is needed.
+     *
+     * @return The spooled instances.
+     */
+    private synchronized SpooledDataset spool() {
+        if (this.spooled == null) {
+            try (StreamingDataset stream = this.source.open()) {
+                this.spooled = SpooledDataset.spool(stream, this.spoolDirectory);
+            } catch (final IOException e) {
+                throw new UncheckedIOException("Could not spool the instances", e);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while spooling the instances", e);
+            }
+            registerWithParent();
+        }
+        return this.spooled;
+    }
+
+    /**
+     * Registers this dataset to be closed with the dataset it was derived from, once it holds resources of its own.
+     */
+    private void registerWithParent() {
+        if (this.parent != null) {
+            this.parent.resources.add(this);
+        }
+    }
+
+    /**
+     * Keeps the first failure of closing several resources, adding the next ones as suppressed.
+     *
+     * @param failure The first failure, or {@code null} if there was none yet.
+     * @param next    The new failure.
+     * @return The first failure.
+     */
+    private static IOException addFailure(final IOException failure, final IOException next) {
+        if (failure == null) {
+            return next;
+        }
+        failure.addSuppressed(next);
+        return failure;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("schema", this.schema)
+                .add("chunkSize", this.chunkSize)
+                .toString();
+    }
+
+    /**
+     * Opens the streams of instances of a {@link SequentialDataset}.
+     */
+    @FunctionalInterface
+    public interface Source {
+
+        /**
+         * Opens a new stream of instances.
+         *
+         * @return The stream.
+         * @throws IOException If the stream cannot be opened.
+         */
+        StreamingDataset open() throws IOException;
+    }
+
+    /**
+     * An iterator over the instances of a {@link SequentialDataset}, which holds an open stream until it reaches its
+     * end or is closed.
+     */
+    public interface InstanceIterator extends Iterator<Instance>, Closeable {
+
+        /**
+         * Closes the stream read by this iterator, if it is still open. Closing it more than once has no effect.
+         *
+         * @throws UncheckedIOException If the stream fails to close.
+         */
+        @Override
+        void close();
+    }
+
+    /**
+     * An iterator over the instances of a stream, which reads them in chunks.
+     */
+    private static final class ChunkIterator implements InstanceIterator {
+
+        /**
+         * The stream, or {@code null} after it ended.
+         */
+        private StreamingDataset stream;
+
+        /**
+         * The number of instances read at a time.
+         */
+        private final int chunkSize;
+
+        /**
+         * The resources of the dataset, from which this iterator removes itself when its stream is closed.
+         */
+        private final Set<Closeable> resources;
+
+        /**
+         * The current chunk.
+         */
+        private List<Instance> chunk = Collections.emptyList();
+
+        /**
+         * The position of the next instance in the current chunk.
+         */
+        private int position = 0;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param stream    The stream.
+         * @param chunkSize The number of instances read at a time.
+         * @param resources The resources of the dataset, which include this iterator until its stream is closed.
+         */
+        private ChunkIterator(final StreamingDataset stream, final int chunkSize, final Set<Closeable> resources) {
+            this.stream = stream;
+            this.chunkSize = chunkSize;
+            this.resources = resources;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (this.position < this.chunk.size()) {
+                return true;
+            }
+            if (this.stream == null) {
+                return false;
+            }
+
+            try {
+                this.chunk = this.stream.nextChunk(this.chunkSize);
+                this.position = 0;
+                if (this.chunk.isEmpty()) {
+                    closeStream();
+                    return false;
+                }
+                return true;
+            } catch (final IOException e) {
+                closeQuietly();
+                throw new UncheckedIOException("Could not read the stream of instances", e);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                closeQuietly();
+                throw new IllegalStateException("Interrupted while reading the stream of instances", e);
+            }
+        }
+
+        @Override
+        public Instance next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return this.chunk.get(this.position++);
+        }
+
+        @Override
+        public void close() {
+            if (this.stream == null) {
+                return;
+            }
+            try {
+                closeStream();
+            } catch (final IOException e) {
+                throw new UncheckedIOException("Could not close the stream of instances", e);
+            }
+        }
+
+        /**
+         * Closes the stream after it ended.
+         *
+         * @throws IOException If the stream cannot be closed.
+         */
+        private void closeStream() throws IOException {
+            final StreamingDataset ended = this.stream;
+            this.stream = null;
+            this.chunk = Collections.emptyList();
+            this.resources.remove(this);
+            ended.close();
+        }
+
+        /**
+         * Closes the stream after an error, keeping the original error.
+         */
+        private void closeQuietly() {
+            try {
+                closeStream();
+            } catch (final IOException e) {
+                // the error that made us close the stream is more relevant than this one
+            }
+        }
+    }
+
+    /**
+     * A stream with the instances of another stream that pass a predicate.
+     */
+    private static final class FilteredStream implements StreamingDataset {
+
+        /**
+         * The stream with all the instances.
+         */
+        private final StreamingDataset stream;
+
+        /**
+         * The predicate the instances should pass.
+         */
+        private final Predicate<Instance> predicate;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param stream    The stream with all the instances.
+         * @param predicate The predicate the instances should pass.
+         */
+        private FilteredStream(final StreamingDataset stream, final Predicate<Instance> predicate) {
+            this.stream = stream;
+            this.predicate = predicate;
+        }
+
+        @Override
+        public DatasetSchema getSchema() {
+            return this.stream.getSchema();
+        }
+
+        @Override
+        public OptionalLong getSize() {
+            return OptionalLong.empty();
+        }
+
+        @Override
+        public List<Instance> nextChunk(final int maxInstances) throws IOException, InterruptedException {
+            while (true) {
+                final List<Instance> chunk = this.stream.nextChunk(maxInstances);
+                if (chunk.isEmpty()) {
+                    return chunk;
+                }
+                final List<Instance> filtered = new ArrayList<>(chunk.size());
+                for (final Instance instance : chunk) {
+                    if (this.predicate.test(instance)) {
+                        filtered.add(instance);
+                    }
+                }
+                if (!filtered.isEmpty()) {
+                    return filtered;
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.stream.close();
+        }
+    }
+
+    /**
+     * A stream without instances.
+     */
+    private static final class EmptyStream implements StreamingDataset {
+
+        /**
+         * The schema of the (absent) instances.
+         */
+        private final DatasetSchema schema;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param schema The schema of the (absent) instances.
+         */
+        private EmptyStream(final DatasetSchema schema) {
+            this.schema = schema;
+        }
+
+        @Override
+        public DatasetSchema getSchema() {
+            return this.schema;
+        }
+
+        @Override
+        public OptionalLong getSize() {
+            return OptionalLong.of(0);
+        }
+
+        @Override
+        public List<Instance> nextChunk(final int maxInstances) {
+            return Collections.emptyList();
+        }
+    }
+}
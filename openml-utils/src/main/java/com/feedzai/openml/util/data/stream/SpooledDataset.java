@@ -0,0 +1,544 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.data.stream;
+
+import com.feedzai.openml.data.Dataset;
+import com.feedzai.openml.data.FeatureValues;
+import com.feedzai.openml.data.Instance;
+import com.feedzai.openml.data.PartitionedDataset;
+import com.feedzai.openml.data.StreamingDataset;
+import com.feedzai.openml.data.schema.DatasetSchema;
+import com.feedzai.openml.data.schema.FieldSchema;
+import com.feedzai.openml.data.schema.StringValueSchema;
+import com.feedzai.openml.util.data.ColumnarDataset;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A {@link Dataset} with random access over the instances of a {@link StreamingDataset}, which are spooled to
+ * temporary files that are memory-mapped instead of being held in the heap.
+ * <p>
+ * Each instance is stored as a fixed-size row with 8 bytes per field: numeric and categorical values are stored
+ * directly, and string values are stored in a separate file, with their position in that file stored in the row. The
+ * rows are memory-mapped, so reading numeric and categorical values is as cheap as reading an array once the pages
+ * are loaded by the operating system; string values are read from their file when requested.
+ * <p>
+ * {@link #filter(Predicate)}, {@link #groupBy(Function)} and {@link #partition(Predicate)} copy the selected
+ * instances into {@link ColumnarDataset}s in the heap. The temporary files are deleted when this dataset is
+ * {@link #close() closed}, after which it can no longer be used.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public final class SpooledDataset implements Dataset, Closeable {
+
+    /**
+     * Logger for this class.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(SpooledDataset.class);
+
+    /**
+     * The number of instances read at a time from the stream.
+     */
+    private static final int CHUNK_SIZE = 1024;
+
+    /**
+     * The size of the buffers used to write the files.
+     */
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+
+    /**
+     * The position of a missing string value.
+     */
+    private static final long MISSING_STRING = -1;
+
+    /**
+     * The schema of the instances.
+     */
+    private final DatasetSchema schema;
+
+    /**
+     * Whether each field is a string field.
+     */
+    private final boolean[] stringFields;
+
+    /**
+     * The number of instances.
+     */
+    private final int numberInstances;
+
+    /**
+     * The size of each row, in bytes.
+     */
+    private final int rowSize;
+
+    /**
+     * The number of rows in each mapped segment of the rows file.
+     */
+    private final int rowsPerSegment;
+
+    /**
+     * The mapped segments of the rows file.
+     */
+    private final MappedByteBuffer[] segments;
+
+    /**
+     * The file with the rows.
+     */
+    private final Path rowsFile;
+
+    /**
+     * The file with the string values.
+     */
+    private final Path stringsFile;
+
+    /**
+     * The channel used to read the string values.
+     */
+    private final FileChannel strings;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param schema          The schema of the instances.
+     * @param numberInstances The number of instances.
+     * @param rowsFile        The file with the rows.
+     * @param stringsFile     The file with the string values.
+     * @throws IOException If the files cannot be mapped or opened.
+     */
+    private SpooledDataset(final DatasetSchema schema,
+                           final int numberInstances,
+                           final Path rowsFile,
+                           final Path stringsFile) throws IOException {
+        this.schema = schema;
+        this.stringFields = stringFields(schema);
+        this.numberInstances = numberInstances;
+        this.rowSize = Math.max(1, this.stringFields.length) * Long.BYTES;
+        this.rowsPerSegment = Integer.MAX_VALUE / this.rowSize;
+        this.rowsFile = rowsFile;
+        this.stringsFile = stringsFile;
+
+        final int numberSegments = (numberInstances + this.rowsPerSegment - 1) / this.rowsPerSegment;
+        this.segments = new MappedByteBuffer[numberSegments];
+        try (FileChannel rows = FileChannel.open(rowsFile, StandardOpenOption.READ)) {
+            for (int segment = 0; segment < numberSegments; segment++) {
+                final long start = (long) segment * this.rowsPerSegment * this.rowSize;
+                final long size = Math.min((long) this.rowsPerSegment * this.rowSize, rows.size() - start);
+                this.segments[segment] = rows.map(FileChannel.MapMode.READ_ONLY, start, size);
+            }
+        }
+        this.strings = FileChannel.open(stringsFile, StandardOpenOption.READ);
+    }
+
+    /**
+     * Reads all the instances of a stream into temporary files in the given directory, and memory-maps them.
+     * <p>
+     * The stream is read until its end, but is not closed.
+     *
+     * @param stream    The stream of instances.
+     * @param directory The directory where to create the temporary files.
+     * @return The dataset, which should be closed to delete the files.
+     * @throws IOException          If the instances cannot be read or written.
+     * @throws InterruptedException If interrupted while reading the instances.
+     */
+    public static SpooledDataset spool(final StreamingDataset stream,
+                                       final Path directory) throws IOException, InterruptedException {
+        Preconditions.checkNotNull(stream, "stream cannot be null");
+        Preconditions.checkNotNull(directory, "directory cannot be null");
+
+        final DatasetSchema schema = stream.getSchema();
+        final boolean[] stringFields = stringFields(schema);
+        final Path rowsFile = Files.createTempFile(directory, "openml-spool-", ".rows");
+        final Path stringsFile = Files.createTempFile(directory, "openml-spool-", ".strings");
+
+        boolean spooled = false;
+        try (FileChannel rows = FileChannel.open(rowsFile, StandardOpenOption.WRITE);
+             FileChannel strings = FileChannel.open(stringsFile, StandardOpenOption.WRITE)) {
+
+            final ByteBuffer rowBuffer = ByteBuffer.allocate(Math.max(WRITE_BUFFER_SIZE, stringFields.length * Long.BYTES));
+            final ByteBuffer stringBuffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE);
+            long stringsPosition = 0;
+            long numberInstances = 0;
+
+            List<Instance> chunk;
+            while (!(chunk = stream.nextChunk(CHUNK_SIZE)).isEmpty()) {
+                for (final Instance instance : chunk) {
+                    if (rowBuffer.remaining() < Math.max(1, stringFields.length) * Long.BYTES) {
+                        flush(rowBuffer, rows);
+                    }
+                    for (int field = 0; field < stringFields.length; field++) {
+                        if (!stringFields[field]) {
+                            rowBuffer.putDouble(instance.getValue(field));
+                            continue;
+                        }
+                        final String value = instance.getStringValue(field);
+                        if (value == null) {
+                            rowBuffer.putLong(MISSING_STRING);
+                            continue;
+                        }
+                        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                        rowBuffer.putLong(stringsPosition);
+                        stringsPosition += writeString(bytes, stringBuffer, strings);
+                    }
+                    if (stringFields.length == 0) {
+                        rowBuffer.putLong(0);
+                    }
+                    numberInstances++;
+                }
+            }
+            flush(rowBuffer, rows);
+            flush(stringBuffer, strings);
+
+            if (numberInstances > Integer.MAX_VALUE) {
+                throw new IOException(String.format("The stream has too many instances to spool: %d", numberInstances));
+            }
+            final SpooledDataset dataset = new SpooledDataset(schema, (int) numberInstances, rowsFile, stringsFile);
+            spooled = true;
+            return dataset;
+        } finally {
+            if (!spooled) {
+                Files.deleteIfExists(rowsFile);
+                Files.deleteIfExists(stringsFile);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of instances in the dataset.
+     *
+     * @return The number of instances.
+     */
+    public int getNumberInstances() {
+        return this.numberInstances;
+    }
+
+    /**
+     * Gets the value of a numeric or categorical field for an instance, without going through an {@link Instance}.
+     *
+     * @param row   The index of the instance.
+     * @param field The index of the field.
+     * @return The value, encoded as described in {@link Instance#getValue(int)}.
+     * @throws IllegalArgumentException If the field is a string field.
+     */
+    public double getValue(final int row, final int field) {
+        Preconditions.checkElementIndex(row, this.numberInstances);
+        Preconditions.checkElementIndex(field, this.stringFields.length);
+        if (this.stringFields[field]) {
+            throw new IllegalArgumentException(String.format("The field %d is a string field", field));
+        }
+        return this.segments[row / this.rowsPerSegment].getDouble(offset(row, field));
+    }
+
+    /**
+     * Gets the value of a string field for an instance, without going through an {@link Instance}.
+     *
+     * @param row   The index of the instance.
+     * @param field The index of the field.
+     * @return The value.
+     * @throws IllegalArgumentException If the field is not a string field.
+     * @throws UncheckedIOException     If the value cannot be read.
+     */
+    public String getStringValue(final int row, final int field) {
+        Preconditions.checkElementIndex(row, this.numberInstances);
+        Preconditions.checkElementIndex(field, this.stringFields.length);
+        if (!this.stringFields[field]) {
+            throw new IllegalArgumentException(String.format("The field %d is not a string field", field));
+        }
+
+        final long position = this.segments[row / this.rowsPerSegment].getLong(offset(row, field));
+        if (position == MISSING_STRING) {
+            return null;
+        }
+        try {
+            final ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+            readFully(length, position);
+            final ByteBuffer bytes = ByteBuffer.allocate(length.getInt(0));
+            readFully(bytes, position + Integer.BYTES);
+            return new String(bytes.array(), StandardCharsets.UTF_8);
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Could not read a spooled string value", e);
+        }
+    }
+
+    @Override
+    public DatasetSchema getSchema() {
+        return this.schema;
+    }
+
+    @Override
+    public Instance instance(final int index) {
+        Preconditions.checkElementIndex(index, this.numberInstances);
+        return new RowInstance(this, index);
+    }
+
+    @Override
+    public FeatureValues feature(final int index) {
+        Preconditions.checkElementIndex(index, this.stringFields.length);
+        Preconditions.checkArgument(!this.stringFields[index], "the field %s is a string field", index);
+        return row -> getValue(row, index);
+    }
+
+    @Override
+    public Iterator<Instance> getInstances() {
+        return new Iterator<Instance>() {
+
+            /**
+             * The index of the next instance.
+             */
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return this.next < SpooledDataset.this.numberInstances;
+            }
+
+            @Override
+            public Instance next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return new RowInstance(SpooledDataset.this, this.next++);
+            }
+        };
+    }
+
+    @Override
+    public Dataset filter(final Predicate<Instance> predicate) {
+        final List<Instance> matched = new ArrayList<>();
+        for (int row = 0; row < this.numberInstances; row++) {
+            final Instance instance = new RowInstance(this, row);
+            if (predicate.test(instance)) {
+                matched.add(instance);
+            }
+        }
+        return ColumnarDataset.copyOf(this.schema, matched);
+    }
+
+    @Override
+    public <K> Map<K, Dataset> groupBy(final Function<Instance, K> function) {
+        final Map<K, List<Instance>> groupInstances = new LinkedHashMap<>();
+        for (int row = 0; row < this.numberInstances; row++) {
+            final Instance instance = new RowInstance(this, row);
+            groupInstances.computeIfAbsent(function.apply(instance), key -> new ArrayList<>()).add(instance);
+        }
+
+        final Map<K, Dataset> groups = new LinkedHashMap<>();
+        groupInstances.forEach((key, instances) -> groups.put(key, ColumnarDataset.copyOf(this.schema, instances)));
+        return groups;
+    }
+
+    @Override
+    public PartitionedDataset partition(final Predicate<Instance> predicate) {
+        final Dataset matched = filter(predicate);
+        final Dataset unmatched = filter(predicate.negate());
+        return new PartitionedDataset() {
+            @Override
+            public Dataset getMatchedData() {
+                return matched;
+            }
+
+            @Override
+            public Dataset getUnmatchedData() {
+                return unmatched;
+            }
+        };
+    }
+
+    @Override
+    public Dataset empty() {
+        return ColumnarDataset.copyOf(this.schema, new ArrayList<>());
+    }
+
+    /**
+     * Deletes the temporary files of this dataset.
+     *
+     * @throws IOException If the files cannot be deleted.
+     */
+    @Override
+    public void close() throws IOException {
+        this.strings.close();
+        Files.deleteIfExists(this.stringsFile);
+        try {
+            Files.deleteIfExists(this.rowsFile);
+        } catch (final IOException e) {
+            // some platforms don't allow deleting files that are still mapped, which are only unmapped when collected
+            logger.warn("Could not delete the spooled rows file [{}], deleting it on exit", this.rowsFile, e);
+            this.rowsFile.toFile().deleteOnExit();
+        }
+    }
+
+    /**
+     * Computes the offset of a value in its segment of the rows file.
+     *
+     * @param row   The index of the instance.
+     * @param field The index of the field.
+     * @return The offset of the value.
+     */
+    private int offset(final int row, final int field) {
+        return (row % this.rowsPerSegment) * this.rowSize + field * Long.BYTES;
+    }
+
+    /**
+     * Reads bytes of the strings file, until the buffer is full.
+     *
+     * @param buffer   The buffer where to read the bytes.
+     * @param position The position of the first byte.
+     * @throws IOException If the file cannot be read.
+     */
+    private void readFully(final ByteBuffer buffer, final long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (this.strings.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of the spooled strings file");
+            }
+        }
+    }
+
+    /**
+     * Appends a string value, preceded by its length, to the strings file.
+     *
+     * @param bytes   The UTF-8 bytes of the value.
+     * @param buffer  The write buffer of the strings file.
+     * @param strings The channel of the strings file.
+     * @return The number of bytes appended.
+     * @throws IOException If the file cannot be written.
+     */
+    private static int writeString(final byte[] bytes,
+                                   final ByteBuffer buffer,
+                                   final FileChannel strings) throws IOException {
+        if (buffer.remaining() < Integer.BYTES) {
+            flush(buffer, strings);
+        }
+        buffer.putInt(bytes.length);
+
+        int written = 0;
+        while (written < bytes.length) {
+            if (!buffer.hasRemaining()) {
+                flush(buffer, strings);
+            }
+            final int length = Math.min(buffer.remaining(), bytes.length - written);
+            buffer.put(bytes, written, length);
+            written += length;
+        }
+        return Integer.BYTES + bytes.length;
+    }
+
+    /**
+     * Writes the contents of a buffer to the end of a file, and clears the buffer.
+     *
+     * @param buffer  The buffer.
+     * @param channel The channel of the file.
+     * @throws IOException If the file cannot be written.
+     */
+    private static void flush(final ByteBuffer buffer, final FileChannel channel) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Gets whether each field of a schema is a string field.
+     *
+     * @param schema The schema.
+     * @return Whether each field, by field index, is a {@link StringValueSchema string} field.
+     */
+    private static boolean[] stringFields(final DatasetSchema schema) {
+        final List<FieldSchema> fields = schema.getFieldSchemas();
+        final boolean[] stringFields = new boolean[fields.size()];
+        for (final FieldSchema field : fields) {
+            stringFields[field.getFieldIndex()] = field.getValueSchema() instanceof StringValueSchema;
+        }
+        return stringFields;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("schema", this.schema)
+                .add("numberInstances", this.numberInstances)
+                .add("rowsFile", this.rowsFile)
+                .toString();
+    }
+
+    /**
+     * An {@link Instance} that is a view over a row of a {@link SpooledDataset}.
+     */
+    private static final class RowInstance implements Instance {
+
+        /**
+         * The dataset.
+         */
+        private final SpooledDataset dataset;
+
+        /**
+         * The index of the row.
+         */
+        private final int row;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param dataset The dataset.
+         * @param row     The index of the row.
+         */
+        private RowInstance(final SpooledDataset dataset, final int row) {
+            this.dataset = dataset;
+            this.row = row;
+        }
+
+        @Override
+        public double getValue(final int index) {
+            return this.dataset.getValue(this.row, index);
+        }
+
+        @Override
+        public String getStringValue(final int index) {
+            return this.dataset.getStringValue(this.row, index);
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(this)
+                    .add("row", this.row)
+                    .toString();
+        }
+    }
+}
@@ -0,0 +1,291 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.explanations;
+
+import com.feedzai.openml.data.Instance;
+import com.feedzai.openml.explanations.ModelExplainer;
+import com.feedzai.openml.util.data.InstanceHasher;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * A {@link ModelExplainer} that caches the feature contributions computed by another explainer, so that instances
+ * with the same {@link InstanceHasher key} (e.g. the same merchant and amount bucket) are only explained once.
+ * <p>
+ * The cache is bounded and concurrent, and entries expire a fixed time after being computed. Entries only hold the
+ * 128-bit key and the primitive array of contributions, never the instances themselves. Instances for which the
+ * {@link Builder#withBypass(Predicate) bypass predicate} holds are always explained by the underlying explainer.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public final class CachingModelExplainer implements ModelExplainer {
+
+    /**
+     * The explainer whose contributions are cached.
+     */
+    private final ModelExplainer delegate;
+
+    /**
+     * The hasher that computes the keys of the cache.
+     */
+    private final InstanceHasher hasher;
+
+    /**
+     * The instances that should not use the cache.
+     */
+    private final Predicate<Instance> bypass;
+
+    /**
+     * The cached contributions, by instance key.
+     */
+    private final Cache<InstanceHasher.Key, double[]> cache;
+
+    /**
+     * Creates a new instance from the given builder.
+     *
+     * @param builder The builder.
+     */
+    private CachingModelExplainer(final Builder builder) {
+        this.delegate = builder.delegate;
+        this.hasher = builder.hasher;
+        this.bypass = builder.bypass;
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(builder.maximumSize)
+                .expireAfterWrite(builder.expireAfterWriteNanos, TimeUnit.NANOSECONDS)
+                .concurrencyLevel(builder.concurrencyLevel)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Creates a new builder of a cache of the contributions of the given explainer.
+     *
+     * @param delegate The explainer whose contributions are cached.
+     * @param hasher   The hasher that computes the keys of the cache from the relevant features of the instances.
+     * @return The builder.
+     */
+    public static Builder builder(final ModelExplainer delegate, final InstanceHasher hasher) {
+        return new Builder(delegate, hasher);
+    }
+
+    @Override
+    public double[] getFeatureContributions(final Instance instance) {
+        // the cached array is shared, so callers get a copy they are free to modify
+        return contributions(instance).clone();
+    }
+
+    @Override
+    public void getFeatureContributions(final Instance[] instances, final double[][] contributions) {
+        Preconditions.checkNotNull(instances, "instances cannot be null");
+        Preconditions.checkNotNull(contributions, "contributions cannot be null");
+        Preconditions.checkArgument(
+                contributions.length >= instances.length,
+                "the contributions matrix has %s rows, but there are %s instances", contributions.length, instances.length
+        );
+
+        for (int row = 0; row < instances.length; row++) {
+            final double[] rowContributions = contributions(instances[row]);
+            System.arraycopy(rowContributions, 0, contributions[row], 0, rowContributions.length);
+        }
+    }
+
+    /**
+     * Gets the statistics of the cache, such as its hit rate.
+     *
+     * @return The statistics.
+     */
+    public CacheStats getStats() {
+        return this.cache.stats();
+    }
+
+    /**
+     * Gets the fraction of the explanations that used the cache and were found in it, excluding bypassed instances.
+     *
+     * @return The hit rate, in [0, 1].
+     */
+    public double getHitRate() {
+        return this.cache.stats().hitRate();
+    }
+
+    /**
+     * Gets the approximate number of explanations in the cache.
+     *
+     * @return The number of cached explanations.
+     */
+    public long getSize() {
+        return this.cache.size();
+    }
+
+    /**
+     * Removes all explanations from the cache, e.g. after the underlying model was replaced.
+     */
+    public void invalidateAll() {
+        this.cache.invalidateAll();
+    }
+
+    /**
+     * Gets the contributions of an instance, from the cache if possible.
+     *
+     * @param instance The instance.
+     * @return The contributions, which should not be modified.
+     */
+    private double[] contributions(final Instance instance) {
+        Preconditions.checkNotNull(instance, "instance cannot be null");
+
+        if (this.bypass.test(instance)) {
+            return this.delegate.getFeatureContributions(instance);
+        }
+
+        try {
+            return this.cache.get(this.hasher.key(instance), () -> this.delegate.getFeatureContributions(instance));
+        } catch (final UncheckedExecutionException e) {
+            Throwables.throwIfUnchecked(e.getCause());
+            throw e;
+        } catch (final ExecutionException e) {
+            // the explainer doesn't throw checked exceptions
+            throw new IllegalStateException("Failed to compute the feature contributions", e.getCause());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("delegate", this.delegate)
+                .add("hasher", this.hasher)
+                .add("size", getSize())
+                .add("stats", getStats())
+                .toString();
+    }
+
+    /**
+     * Builder of {@link CachingModelExplainer}.
+     */
+    public static final class Builder {
+
+        /**
+         * The explainer whose contributions are cached.
+         */
+        private final ModelExplainer delegate;
+
+        /**
+         * The hasher that computes the keys of the cache.
+         */
+        private final InstanceHasher hasher;
+
+        /**
+         * The maximum number of cached explanations.
+         */
+        private long maximumSize = 100_000;
+
+        /**
+         * The time after which cached explanations expire, in nanoseconds.
+         */
+        private long expireAfterWriteNanos = TimeUnit.MINUTES.toNanos(10);
+
+        /**
+         * The expected number of threads updating the cache concurrently.
+         */
+        private int concurrencyLevel = Runtime.getRuntime().availableProcessors();
+
+        /**
+         * The instances that should not use the cache.
+         */
+        private Predicate<Instance> bypass = instance -> false;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param delegate The explainer whose contributions are cached.
+         * @param hasher   The hasher that computes the keys of the cache.
+         */
+        private Builder(final ModelExplainer delegate, final InstanceHasher hasher) {
+            this.delegate = Preconditions.checkNotNull(delegate, "delegate cannot be null");
+            this.hasher = Preconditions.checkNotNull(hasher, "hasher cannot be null");
+        }
+
+        /**
+         * Sets the maximum number of cached explanations. Defaults to 100000.
+         *
+         * @param maximumSize The maximum number of explanations.
+         * @return This builder.
+         */
+        public Builder withMaximumSize(final long maximumSize) {
+            Preconditions.checkArgument(maximumSize > 0, "the maximum size should be positive");
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        /**
+         * Sets the time after which cached explanations expire. Defaults to 10 minutes.
+         *
+         * @param duration The time to live of the explanations.
+         * @param unit     The unit of the duration.
+         * @return This builder.
+         */
+        public Builder withExpireAfterWrite(final long duration, final TimeUnit unit) {
+            Preconditions.checkArgument(duration > 0, "the expiration time should be positive");
+            this.expireAfterWriteNanos = unit.toNanos(duration);
+            return this;
+        }
+
+        /**
+         * Sets the expected number of threads updating the cache concurrently. Defaults to the number of available
+         * processors.
+         *
+         * @param concurrencyLevel The number of threads.
+         * @return This builder.
+         */
+        public Builder withConcurrencyLevel(final int concurrencyLevel) {
+            Preconditions.checkArgument(concurrencyLevel > 0, "the concurrency level should be positive");
+            this.concurrencyLevel = concurrencyLevel;
+            return this;
+        }
+
+        /**
+         * Sets the instances that should always be explained by the underlying explainer, without using the cache
+         * (e.g. those whose value of some field makes the quantised key too coarse).
+         *
+         * @param bypass The predicate that holds for the instances that bypass the cache.
+         * @return This builder.
+         */
+        public Builder withBypass(final Predicate<Instance> bypass) {
+            this.bypass = Preconditions.checkNotNull(bypass, "bypass cannot be null");
+            return this;
+        }
+
+        /**
+         * Creates the {@link CachingModelExplainer} with the settings of this builder.
+         *
+         * @return The caching explainer.
+         */
+        public CachingModelExplainer build() {
+            return new CachingModelExplainer(this);
+        }
+    }
+}
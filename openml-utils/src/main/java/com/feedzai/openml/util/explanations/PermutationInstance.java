@@ -0,0 +1,89 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.explanations;
+
+import com.feedzai.openml.data.Instance;
+import com.google.common.base.MoreObjects;
+
+/**
+ * An {@link Instance} on the path of a permutation from a background instance to the instance being explained: the
+ * features whose rank in the permutation is below a prefix take the values of the explained instance, and all the
+ * others take the values of the background instance.
+ * <p>
+ * This is a view, so building the coalitions of a permutation doesn't copy any values.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+final class PermutationInstance implements Instance {
+
+    /**
+     * The instance being explained.
+     */
+    private final Instance explained;
+
+    /**
+     * The background instance.
+     */
+    private final Instance background;
+
+    /**
+     * The rank of each field in the permutation, by field index.
+     */
+    private final int[] ranks;
+
+    /**
+     * The number of features of the permutation that take the values of the explained instance.
+     */
+    private final int prefix;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param explained  The instance being explained.
+     * @param background The background instance.
+     * @param ranks      The rank of each field in the permutation, by field index.
+     * @param prefix     The number of features of the permutation that take the values of the explained instance.
+     */
+    PermutationInstance(final Instance explained, final Instance background, final int[] ranks, final int prefix) {
+        this.explained = explained;
+        this.background = background;
+        this.ranks = ranks;
+        this.prefix = prefix;
+    }
+
+    @Override
+    public double getValue(final int index) {
+        return this.ranks[index] < this.prefix ? this.explained.getValue(index) : this.background.getValue(index);
+    }
+
+    @Override
+    public String getStringValue(final int index) {
+        return this.ranks[index] < this.prefix ? this.explained.getStringValue(index) : this.background.getStringValue(index);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("explained", this.explained)
+                .add("background", this.background)
+                .add("prefix", this.prefix)
+                .toString();
+    }
+}
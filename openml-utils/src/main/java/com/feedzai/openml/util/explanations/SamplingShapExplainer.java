@@ -0,0 +1,484 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.explanations;
+
+import com.feedzai.openml.data.Dataset;
+import com.feedzai.openml.data.Instance;
+import com.feedzai.openml.data.schema.FieldSchema;
+import com.feedzai.openml.explanations.ModelExplainer;
+import com.feedzai.openml.model.ClassificationMLModel;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.Futures;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * A {@link ModelExplainer} for any {@link ClassificationMLModel}, which estimates the Shapley values of the features
+ * by sampling permutations against a background {@link Dataset}.
+ * <p>
+ * For each pair of a sampled permutation and a background instance, the features of the background instance are
+ * replaced, in the order of the permutation, by the features of the explained instance; the contribution of each
+ * feature is the change in the probability of the explained class when it is replaced. The contributions are averaged
+ * over all pairs, so they always add up to the difference between the prediction for the explained instance and the
+ * {@link #getBaseValue() average prediction} for the background instances.
+ * <p>
+ * The permutations (half of them the reverse of the other half, to reduce the variance) and the background instances
+ * are sampled once, and reused for all the explained instances, so explanations are deterministic and comparable
+ * between instances. The sample budget is the number of permutations times the number of background instances, and
+ * each of those costs one batch of {@code features + 1} {@link ClassificationMLModel#getClassDistributions batch
+ * scoring} calls; it trades accuracy for latency.
+ * <p>
+ * The contributions are returned by field index, with {@code 0} for the target field.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public final class SamplingShapExplainer implements ModelExplainer {
+
+    /**
+     * The model whose predictions are explained.
+     */
+    private final ClassificationMLModel model;
+
+    /**
+     * The background instances against which the features are compared.
+     */
+    private final List<Instance> background;
+
+    /**
+     * The sampled permutations of the predictive fields, as lists of field indexes.
+     */
+    private final int[][] permutations;
+
+    /**
+     * The rank of each field in each permutation, by field index; fields that are not permuted have the highest rank.
+     */
+    private final int[][] ranks;
+
+    /**
+     * The number of fields of the schema of the model.
+     */
+    private final int numberFields;
+
+    /**
+     * The number of classes of the predictions of the model.
+     */
+    private final int numberClasses;
+
+    /**
+     * The index of the class whose probability is explained.
+     */
+    private final int classIndex;
+
+    /**
+     * The average probability of the explained class for the background instances.
+     */
+    private final double baseValue;
+
+    /**
+     * The executor where to explain in parallel, or {@code null} to explain in the calling thread.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * The number of tasks into which each explanation is split when running in parallel.
+     */
+    private final int parallelism;
+
+    /**
+     * Creates a new instance from the given builder.
+     *
+     * @param builder The builder.
+     */
+    private SamplingShapExplainer(final Builder builder) {
+        this.model = builder.model;
+        this.classIndex = builder.classIndex;
+        this.executor = builder.executor;
+        this.parallelism = builder.parallelism;
+
+        final Random random = new Random(builder.seed);
+        this.background = sampleBackground(builder.background, builder.backgroundSamples, random);
+        Preconditions.checkArgument(!this.background.isEmpty(), "the background dataset should not be empty");
+
+        final List<FieldSchema> fields = this.model.getSchema().getFieldSchemas();
+        this.numberFields = fields.size();
+        final int[] predictiveFields = this.model.getSchema().getPredictiveFields().stream()
+                .mapToInt(FieldSchema::getFieldIndex)
+                .toArray();
+
+        this.permutations = new int[builder.permutations][];
+        this.ranks = new int[builder.permutations][];
+        for (int permutation = 0; permutation < builder.permutations; permutation++) {
+            final int[] order = predictiveFields.clone();
+            if (permutation % 2 == 0) {
+                shuffle(order, random);
+            } else {
+                // antithetic sampling: the reverse of the previous permutation
+                final int[] previous = this.permutations[permutation - 1];
+                for (int position = 0; position < order.length; position++) {
+                    order[position] = previous[order.length - 1 - position];
+                }
+            }
+            this.permutations[permutation] = order;
+            this.ranks[permutation] = ranks(order, this.numberFields);
+        }
+
+        final double[][] backgroundDistributions = new double[this.background.size()][];
+        for (int row = 0; row < backgroundDistributions.length; row++) {
+            backgroundDistributions[row] = this.model.getClassDistribution(this.background.get(row));
+        }
+        this.numberClasses = backgroundDistributions[0].length;
+        Preconditions.checkArgument(
+                this.classIndex < this.numberClasses,
+                "the class index %s is out of the %s classes of the model", this.classIndex, this.numberClasses
+        );
+        this.baseValue = Arrays.stream(backgroundDistributions)
+                .mapToDouble(distribution -> distribution[this.classIndex])
+                .average()
+                .orElse(0);
+    }
+
+    /**
+     * Creates a new builder for an explainer of the given model.
+     *
+     * @param model      The model whose predictions are explained.
+     * @param background The dataset from which the background instances are sampled.
+     * @return The builder.
+     */
+    public static Builder builder(final ClassificationMLModel model, final Dataset background) {
+        return new Builder(model, background);
+    }
+
+    /**
+     * Gets the average probability of the explained class for the background instances, which is the prediction
+     * that is explained away by the feature contributions.
+     *
+     * @return The base value.
+     */
+    public double getBaseValue() {
+        return this.baseValue;
+    }
+
+    @Override
+    public double[] getFeatureContributions(final Instance instance) {
+        Preconditions.checkNotNull(instance, "instance cannot be null");
+
+        final int chains = this.permutations.length * this.background.size();
+        final double[] contributions = new double[this.numberFields];
+
+        if (this.executor == null || this.parallelism == 1 || chains == 1) {
+            accumulateChains(instance, 0, chains, contributions);
+        } else {
+            final int tasks = Math.min(this.parallelism, chains);
+            final List<Future<double[]>> futures = new ArrayList<>(tasks);
+            for (int task = 0; task < tasks; task++) {
+                final int from = (int) ((long) chains * task / tasks);
+                final int to = (int) ((long) chains * (task + 1) / tasks);
+                futures.add(this.executor.submit(() -> {
+                    final double[] partial = new double[this.numberFields];
+                    accumulateChains(instance, from, to, partial);
+                    return partial;
+                }));
+            }
+            for (final Future<double[]> future : futures) {
+                final double[] partial = Futures.getUnchecked(future);
+                for (int field = 0; field < this.numberFields; field++) {
+                    contributions[field] += partial[field];
+                }
+            }
+        }
+
+        for (int field = 0; field < this.numberFields; field++) {
+            contributions[field] /= chains;
+        }
+        return contributions;
+    }
+
+    @Override
+    public void getFeatureContributions(final Instance[] instances, final double[][] contributions) {
+        if (this.executor == null) {
+            ModelExplainer.super.getFeatureContributions(instances, contributions);
+            return;
+        }
+
+        Preconditions.checkNotNull(instances, "instances cannot be null");
+        Preconditions.checkNotNull(contributions, "contributions cannot be null");
+        Preconditions.checkArgument(
+                contributions.length >= instances.length,
+                "the contributions matrix has %s rows, but there are %s instances", contributions.length, instances.length
+        );
+
+        // with several instances, it is cheaper to parallelise over the instances than within each explanation
+        final List<Future<double[]>> futures = new ArrayList<>(instances.length);
+        for (final Instance instance : instances) {
+            futures.add(this.executor.submit(() -> {
+                final int chains = this.permutations.length * this.background.size();
+                final double[] rowContributions = new double[this.numberFields];
+                accumulateChains(instance, 0, chains, rowContributions);
+                for (int field = 0; field < this.numberFields; field++) {
+                    rowContributions[field] /= chains;
+                }
+                return rowContributions;
+            }));
+        }
+        for (int row = 0; row < instances.length; row++) {
+            final double[] rowContributions = Futures.getUnchecked(futures.get(row));
+            System.arraycopy(rowContributions, 0, contributions[row], 0, rowContributions.length);
+        }
+    }
+
+    /**
+     * Accumulates the changes in the prediction along a range of chains, each being the path from a background
+     * instance to the explained instance in the order of a permutation.
+     *
+     * @param instance      The instance being explained.
+     * @param from          The first chain, inclusive.
+     * @param to            The last chain, exclusive.
+     * @param contributions The array where to accumulate the contributions, by field index.
+     */
+    private void accumulateChains(final Instance instance, final int from, final int to, final double[] contributions) {
+        final int features = this.permutations.length == 0 ? 0 : this.permutations[0].length;
+        final Instance[] path = new Instance[features + 1];
+        final double[][] distributions = new double[features + 1][this.numberClasses];
+
+        for (int chain = from; chain < to; chain++) {
+            final int permutation = chain / this.background.size();
+            final Instance backgroundInstance = this.background.get(chain % this.background.size());
+            final int[] order = this.permutations[permutation];
+
+            for (int step = 0; step <= features; step++) {
+                path[step] = new PermutationInstance(instance, backgroundInstance, this.ranks[permutation], step);
+            }
+            this.model.getClassDistributions(path, distributions);
+
+            for (int step = 0; step < features; step++) {
+                contributions[order[step]] += distributions[step + 1][this.classIndex] - distributions[step][this.classIndex];
+            }
+        }
+    }
+
+    /**
+     * Samples the background instances from a dataset, with reservoir sampling.
+     *
+     * @param dataset The dataset.
+     * @param samples The maximum number of instances to sample.
+     * @param random  The source of randomness.
+     * @return The sampled instances.
+     */
+    private static List<Instance> sampleBackground(final Dataset dataset, final int samples, final Random random) {
+        final List<Instance> sampled = new ArrayList<>(samples);
+        final Iterator<Instance> instances = dataset.getInstances();
+        int seen = 0;
+        while (instances.hasNext()) {
+            final Instance instance = instances.next();
+            if (seen < samples) {
+                sampled.add(instance);
+            } else {
+                final int position = random.nextInt(seen + 1);
+                if (position < samples) {
+                    sampled.set(position, instance);
+                }
+            }
+            seen++;
+        }
+        return ImmutableList.copyOf(sampled);
+    }
+
+    /**
+     * Shuffles an array in place.
+     *
+     * @param array  The array.
+     * @param random The source of randomness.
+     */
+    private static void shuffle(final int[] array, final Random random) {
+        for (int i = array.length - 1; i > 0; i--) {
+            final int j = random.nextInt(i + 1);
+            final int temp = array[i];
+            array[i] = array[j];
+            array[j] = temp;
+        }
+    }
+
+    /**
+     * Computes the rank of each field in a permutation.
+     *
+     * @param order        The permutation, as a list of field indexes.
+     * @param numberFields The number of fields of the schema.
+     * @return The rank of each field, by field index, with {@link Integer#MAX_VALUE} for the fields that are not in
+     * the permutation.
+     */
+    private static int[] ranks(final int[] order, final int numberFields) {
+        final int[] ranks = new int[numberFields];
+        Arrays.fill(ranks, Integer.MAX_VALUE);
+        for (int position = 0; position < order.length; position++) {
+            ranks[order[position]] = position;
+        }
+        return ranks;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("model", this.model)
+                .add("permutations", this.permutations.length)
+                .add("backgroundSamples", this.background.size())
+                .add("classIndex", this.classIndex)
+                .add("baseValue", this.baseValue)
+                .add("parallel", this.executor != null)
+                .toString();
+    }
+
+    /**
+     * Builder of {@link SamplingShapExplainer}.
+     */
+    public static final class Builder {
+
+        /**
+         * The model whose predictions are explained.
+         */
+        private final ClassificationMLModel model;
+
+        /**
+         * The dataset from which the background instances are sampled.
+         */
+        private final Dataset background;
+
+        /**
+         * The number of permutations sampled.
+         */
+        private int permutations = 16;
+
+        /**
+         * The maximum number of background instances sampled.
+         */
+        private int backgroundSamples = 32;
+
+        /**
+         * The index of the class whose probability is explained.
+         */
+        private int classIndex = 1;
+
+        /**
+         * The seed used to sample the permutations and background instances.
+         */
+        private long seed = 0;
+
+        /**
+         * The executor where to explain in parallel, or {@code null} to explain in the calling thread.
+         */
+        private ExecutorService executor = null;
+
+        /**
+         * The number of tasks into which each explanation is split when running in parallel.
+         */
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+
+        /**
+         * Creates a new instance.
+         *
+         * @param model      The model whose predictions are explained.
+         * @param background The dataset from which the background instances are sampled.
+         */
+        private Builder(final ClassificationMLModel model, final Dataset background) {
+            this.model = Preconditions.checkNotNull(model, "model cannot be null");
+            this.background = Preconditions.checkNotNull(background, "background cannot be null");
+        }
+
+        /**
+         * Sets the number of permutations sampled. Defaults to 16.
+         *
+         * @param permutations The number of permutations.
+         * @return This builder.
+         */
+        public Builder withPermutations(final int permutations) {
+            Preconditions.checkArgument(permutations > 0, "the number of permutations should be positive");
+            this.permutations = permutations;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of background instances sampled from the background dataset. Defaults to 32.
+         *
+         * @param backgroundSamples The number of background instances.
+         * @return This builder.
+         */
+        public Builder withBackgroundSamples(final int backgroundSamples) {
+            Preconditions.checkArgument(backgroundSamples > 0, "the number of background samples should be positive");
+            this.backgroundSamples = backgroundSamples;
+            return this;
+        }
+
+        /**
+         * Sets the index of the class whose probability is explained. Defaults to 1, the positive class of a binary
+         * classifier.
+         *
+         * @param classIndex The index of the class.
+         * @return This builder.
+         */
+        public Builder withClassIndex(final int classIndex) {
+            Preconditions.checkArgument(classIndex >= 0, "the class index should not be negative");
+            this.classIndex = classIndex;
+            return this;
+        }
+
+        /**
+         * Sets the seed used to sample the permutations and the background instances. Defaults to 0.
+         *
+         * @param seed The seed.
+         * @return This builder.
+         */
+        public Builder withSeed(final long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        /**
+         * Makes the explainer run in parallel in the given executor, splitting each explanation into at most
+         * {@code parallelism} tasks. The executor is not shut down by the explainer.
+         *
+         * @param executor    The executor.
+         * @param parallelism The number of tasks into which each explanation is split.
+         * @return This builder.
+         */
+        public Builder withExecutor(final ExecutorService executor, final int parallelism) {
+            Preconditions.checkArgument(parallelism > 0, "the parallelism should be positive");
+            this.executor = Preconditions.checkNotNull(executor, "executor cannot be null");
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * Creates the {@link SamplingShapExplainer} with the settings of this builder. This samples the background
+         * instances and scores them with the model.
+         *
+         * @return The explainer.
+         */
+        public SamplingShapExplainer build() {
+            return new SamplingShapExplainer(this);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.load;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterators;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+
+/**
+ * A {@link URLClassLoader} that looks for classes in its own URLs before delegating to the parent, except for the
+ * classes that belong to a set of shared packages (and the JDK classes), which are always obtained from the parent.
+ * <p>
+ * This allows several providers to be loaded in the same JVM with conflicting versions of their dependencies, while
+ * still exchanging the OpenML API types with the host.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public class ChildFirstClassLoader extends URLClassLoader {
+
+    static {
+        ClassLoader.registerAsParallelCapable();
+    }
+
+    /**
+     * Prefixes of the packages that are always loaded from the JDK.
+     */
+    private static final List<String> SYSTEM_PACKAGE_PREFIXES = ImmutableList.of("java.", "javax.", "sun.", "jdk.");
+
+    /**
+     * Prefixes of the packages whose classes and resources are always obtained from the parent class loader.
+     */
+    private final List<String> sharedPackagePrefixes;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param urls                  The URLs from which to load classes and resources.
+     * @param parent                The parent class loader, used for the shared packages and as a fallback.
+     * @param sharedPackagePrefixes Prefixes of the packages that should always be loaded from the parent.
+     */
+    public ChildFirstClassLoader(final URL[] urls,
+                                 final ClassLoader parent,
+                                 final Collection<String> sharedPackagePrefixes) {
+        super(urls, parent);
+        this.sharedPackagePrefixes = ImmutableList.copyOf(sharedPackagePrefixes);
+    }
+
+    @Override
+    protected Class<?> loadClass(final String name, final boolean resolve) throws ClassNotFoundException {
+        synchronized (getClassLoadingLock(name)) {
+            Class<?> loadedClass = findLoadedClass(name);
+
+            if (loadedClass == null) {
+                if (isParentFirst(name)) {
+                    loadedClass = super.loadClass(name, false);
+                } else {
+                    try {
+                        loadedClass = findClass(name);
+                    } catch (final ClassNotFoundException e) {
+                        loadedClass = super.loadClass(name, false);
+                    }
+                }
+            }
+
+            if (resolve) {
+                resolveClass(loadedClass);
+            }
+            return loadedClass;
+        }
+    }
+
+    @Override
+    public URL getResource(final String name) {
+        if (isParentFirst(resourceToClassName(name))) {
+            return super.getResource(name);
+        }
+
+        final URL resource = findResource(name);
+        return resource != null ? resource : super.getResource(name);
+    }
+
+    @Override
+    public Enumeration<URL> getResources(final String name) throws IOException {
+        final Enumeration<URL> ownResources = findResources(name);
+        final ClassLoader parent = getParent();
+        final Enumeration<URL> parentResources = parent == null
+                ? Collections.emptyEnumeration()
+                : parent.getResources(name);
+
+        if (isParentFirst(resourceToClassName(name))) {
+            return Iterators.asEnumeration(Iterators.concat(
+                    Iterators.forEnumeration(parentResources),
+                    Iterators.forEnumeration(ownResources)
+            ));
+        }
+        return Iterators.asEnumeration(Iterators.concat(
+                Iterators.forEnumeration(ownResources),
+                Iterators.forEnumeration(parentResources)
+        ));
+    }
+
+    /**
+     * Finds the resources with the given name in the URLs of this class loader only, ignoring the parent.
+     *
+     * @param name The resource name.
+     * @return An enumeration of the resources found.
+     * @throws IOException If an I/O error occurs.
+     */
+    Enumeration<URL> findOwnResources(final String name) throws IOException {
+        return findResources(name);
+    }
+
+    /**
+     * Checks whether a class should be loaded from the parent before trying the URLs of this class loader.
+     *
+     * @param className The fully qualified name of the class.
+     * @return {@code true} if the class belongs to the JDK or to one of the shared packages, {@code false} otherwise.
+     */
+    private boolean isParentFirst(final String className) {
+        return SYSTEM_PACKAGE_PREFIXES.stream().anyMatch(className::startsWith)
+                || this.sharedPackagePrefixes.stream().anyMatch(className::startsWith);
+    }
+
+    /**
+     * Converts the name of a resource into the equivalent dotted name, so that it can be matched against the package
+     * prefixes.
+     *
+     * @param resourceName The name of the resource (e.g. {@code com/feedzai/openml/data/Dataset.class}).
+     * @return The dotted representation of the resource name.
+     */
+    private static String resourceToClassName(final String resourceName) {
+        return resourceName.replace('/', '.');
+    }
+}
@@ -0,0 +1,1185 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.load;
+
+import com.feedzai.openml.data.schema.AbstractValueSchema;
+import com.feedzai.openml.data.schema.CategoricalValueSchema;
+import com.feedzai.openml.data.schema.DatasetSchema;
+import com.feedzai.openml.data.schema.FieldSchema;
+import com.feedzai.openml.data.schema.StringValueSchema;
+import com.feedzai.openml.provider.exception.ModelLoadingException;
+import com.feedzai.openml.util.data.ColumnarDataset;
+import com.feedzai.openml.util.data.StringDictionary;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Reads CSV files into {@link ColumnarDataset}s, parsing and encoding the values straight from the bytes of the file.
+ * <p>
+ * The file is split into chunks of whole lines that are read with a {@link FileChannel} and parsed in parallel.
+ * Numeric values are parsed from the bytes (falling back to {@link Double#parseDouble} only for unusual notations),
+ * and categorical values are looked up by their bytes, so no {@link String} is created except for the values of
+ * string fields. The columns of the chunks are then concatenated, in the order of the file.
+ * <p>
+ * String fields with few distinct values can be {@link Builder#withDictionaryEncoding dictionary encoded}: each chunk
+ * then looks up their values by their bytes too, so a {@link String} is only created for the first occurrence of each
+ * distinct value in a chunk, and stores their codes, which are translated into those of the {@link StringDictionary}
+ * of the field when the chunks are concatenated. The dictionaries can be
+ * {@link Builder#withStringDictionaries shared} by several datasets. Fields with many distinct values, such as
+ * identifiers, are better left as plain values, as a dictionary adds an entry per distinct value on top of it.
+ * <p>
+ * The format and the encoding of the values are the same as in {@link LoadInstancesUtils#instancesFromCsv}: the first
+ * line is a header, columns are matched to the fields by name, empty values and values that can't be encoded are
+ * missing. As lines are split by their line breaks before being parsed, quoted values can't contain line breaks.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public final class CsvDatasetReader {
+
+    /**
+     * Logger for this class.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(CsvDatasetReader.class);
+
+    /**
+     * The byte that separates the values in a line.
+     */
+    private static final byte SEPARATOR = ',';
+
+    /**
+     * The byte used to quote values.
+     */
+    private static final byte QUOTE = '"';
+
+    /**
+     * The byte that ends a line.
+     */
+    private static final byte LINE_FEED = '\n';
+
+    /**
+     * The byte that may precede a {@link #LINE_FEED}, which is ignored.
+     */
+    private static final byte CARRIAGE_RETURN = '\r';
+
+    /**
+     * The size of the windows read while looking for the end of a line.
+     */
+    private static final int LINE_SEARCH_WINDOW = 8192;
+
+    /**
+     * The largest mantissa that, as all its integers, is represented exactly by a double.
+     */
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    /**
+     * The powers of 10 that are represented exactly by a double.
+     */
+    private static final double[] EXACT_POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /**
+     * The schema of the datasets.
+     */
+    private final DatasetSchema schema;
+
+    /**
+     * The number of chunks parsed in parallel.
+     */
+    private final int parallelism;
+
+    /**
+     * The approximate size of each chunk, in bytes.
+     */
+    private final int chunkSize;
+
+    /**
+     * The kind of each field.
+     */
+    private final FieldKind[] kinds;
+
+    /**
+     * The dictionaries of the nominal values of each categorical field, or {@code null} for other fields.
+     */
+    private final CategoryDictionary[] dictionaries;
+
+    /**
+     * The dictionaries shared by the datasets read, by field index, with {@code null} for the fields whose
+     * dictionaries are created for each dataset.
+     */
+    private final StringDictionary[] stringDictionaries;
+
+    /**
+     * Creates a new instance from the given builder.
+     *
+     * @param builder The builder.
+     */
+    private CsvDatasetReader(final Builder builder) {
+        this.schema = builder.schema;
+        this.parallelism = builder.parallelism;
+        this.chunkSize = builder.chunkSize;
+        this.stringDictionaries = builder.stringDictionaries;
+
+        final List<FieldSchema> fields = this.schema.getFieldSchemas();
+        this.kinds = new FieldKind[fields.size()];
+        this.dictionaries = new CategoryDictionary[fields.size()];
+        for (final FieldSchema field : fields) {
+            final AbstractValueSchema valueSchema = field.getValueSchema();
+            if (valueSchema instanceof CategoricalValueSchema) {
+                this.kinds[field.getFieldIndex()] = FieldKind.CATEGORICAL;
+                this.dictionaries[field.getFieldIndex()] =
+                        new CategoryDictionary(((CategoricalValueSchema) valueSchema).getNominalValues());
+            } else if (valueSchema instanceof StringValueSchema) {
+                this.kinds[field.getFieldIndex()] = builder.encodedFields[field.getFieldIndex()]
+                        ? FieldKind.ENCODED_STRING
+                        : FieldKind.STRING;
+            } else {
+                this.kinds[field.getFieldIndex()] = FieldKind.NUMERIC;
+            }
+        }
+    }
+
+    /**
+     * Creates a new builder of a reader of CSV files with the given schema.
+     *
+     * @param schema The {@link DatasetSchema} of the datasets.
+     * @return The builder.
+     */
+    public static Builder builder(final DatasetSchema schema) {
+        return new Builder(schema);
+    }
+
+    /**
+     * Reads a CSV file whose first line is a header with the names of the fields.
+     *
+     * @param csvFile The CSV file.
+     * @return The dataset with the instances in the file, in the order they appear in it.
+     * @throws ModelLoadingException If the file cannot be read or is not a valid CSV file.
+     */
+    public ColumnarDataset read(final Path csvFile) throws ModelLoadingException {
+        Preconditions.checkNotNull(csvFile, "csvFile cannot be null");
+
+        final ExecutorService executor = Executors.newFixedThreadPool(
+                this.parallelism,
+                new ThreadFactoryBuilder().setNameFormat("openml-csv-reader-%d").setDaemon(true).build()
+        );
+        try (FileChannel channel = FileChannel.open(csvFile, StandardOpenOption.READ)) {
+            final long fileSize = channel.size();
+            final long headerEnd = findNextLineStart(channel, 0, fileSize);
+            if (headerEnd == 0) {
+                throw new ModelLoadingException(String.format("The file [%s] has no header", csvFile));
+            }
+            final int[] columnToField = mapColumnsToFields(readHeader(channel, headerEnd));
+
+            final List<Future<Chunk>> chunks = new ArrayList<>();
+            long chunkStart = headerEnd;
+            while (chunkStart < fileSize) {
+                final long chunkEnd = findNextLineStart(channel, Math.min(chunkStart + this.chunkSize, fileSize), fileSize);
+                final long start = chunkStart;
+                chunks.add(executor.submit(() -> parseChunk(channel, start, chunkEnd, columnToField)));
+                chunkStart = chunkEnd;
+            }
+
+            final List<Chunk> parsedChunks = new ArrayList<>(chunks.size());
+            for (final Future<Chunk> chunk : chunks) {
+                parsedChunks.add(chunk.get());
+            }
+            return concatenate(parsedChunks, csvFile);
+
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof ChunkParsingException) {
+                throw new ModelLoadingException(
+                        String.format("Could not parse [%s]: %s", csvFile, e.getCause().getMessage())
+                );
+            }
+            final String msg = String.format("Could not read the instances in [%s]", csvFile);
+            logger.error(msg, e.getCause());
+            throw new ModelLoadingException(msg, e.getCause());
+        } catch (final IOException e) {
+            final String msg = String.format("Could not read the instances in [%s]", csvFile);
+            logger.error(msg, e);
+            throw new ModelLoadingException(msg, e);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ModelLoadingException(String.format("Interrupted while reading [%s]", csvFile), e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Reads the header of the file.
+     *
+     * @param channel   The channel of the file.
+     * @param headerEnd The position after the line break of the header.
+     * @return The names of the columns.
+     * @throws IOException If the file cannot be read.
+     */
+    private static List<String> readHeader(final FileChannel channel, final long headerEnd) throws IOException {
+        final byte[] bytes = new byte[(int) headerEnd];
+        readFully(channel, 0, bytes, bytes.length);
+
+        int start = 0;
+        // skips the UTF-8 byte order mark, if present
+        if (bytes.length >= 3 && bytes[0] == (byte) 0xEF && bytes[1] == (byte) 0xBB && bytes[2] == (byte) 0xBF) {
+            start = 3;
+        }
+        final int end = trimLineBreak(bytes, start, bytes.length);
+        return LoadInstancesUtils.splitLine(new String(bytes, start, end - start, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Maps each column of the file to the field with the same name.
+     *
+     * @param header The names of the columns.
+     * @return For each column, the index of its field, or {@code -1} if the column is not in the schema.
+     */
+    private int[] mapColumnsToFields(final List<String> header) {
+        final int[] fieldToColumn = LoadInstancesUtils.mapFieldsToColumns(this.schema.getFieldSchemas(), header);
+        final int[] columnToField = new int[header.size()];
+        Arrays.fill(columnToField, -1);
+        for (int field = 0; field < fieldToColumn.length; field++) {
+            if (fieldToColumn[field] >= 0) {
+                columnToField[fieldToColumn[field]] = field;
+            }
+        }
+        return columnToField;
+    }
+
+    /**
+     * Parses the lines of a chunk of the file.
+     *
+     * @param channel       The channel of the file.
+     * @param start         The position of the first line of the chunk.
+     * @param end           The position after the last line of the chunk.
+     * @param columnToField For each column, the index of its field, or {@code -1} if the column is not in the schema.
+     * @return The columns of the chunk.
+     * @throws IOException           If the file cannot be read.
+     * @throws ChunkParsingException If a line doesn't have the values of all the fields in the header.
+     */
+    private Chunk parseChunk(final FileChannel channel,
+                             final long start,
+                             final long end,
+                             final int[] columnToField) throws IOException, ChunkParsingException {
+        final int length = (int) (end - start);
+        final byte[] bytes = new byte[length];
+        readFully(channel, start, bytes, length);
+
+        int requiredValues = 0;
+        for (int column = 0; column < columnToField.length; column++) {
+            if (columnToField[column] >= 0) {
+                requiredValues = column + 1;
+            }
+        }
+
+        final ChunkParser parser = new ChunkParser(bytes, columnToField, length / 64 + 16);
+        int lineStart = 0;
+        while (lineStart < length) {
+            int lineEnd = lineStart;
+            while (lineEnd < length && bytes[lineEnd] != LINE_FEED) {
+                lineEnd++;
+            }
+            final int contentEnd = trimLineBreak(bytes, lineStart, lineEnd);
+            if (contentEnd > lineStart) {
+                final int values = parser.parseLine(lineStart, contentEnd);
+                if (values < requiredValues) {
+                    throw new ChunkParsingException(String.format(
+                            "the line at byte %d has %d values, expected at least %d",
+                            start + lineStart, values, requiredValues
+                    ));
+                }
+            }
+            lineStart = lineEnd + 1;
+        }
+        return parser.chunk;
+    }
+
+    /**
+     * Concatenates the columns of the chunks into a dataset.
+     *
+     * @param chunks  The parsed chunks, in the order of the file.
+     * @param csvFile The CSV file, for error messages.
+     * @return The dataset.
+     * @throws ModelLoadingException If the file has more instances than a dataset can hold.
+     */
+    private ColumnarDataset concatenate(final List<Chunk> chunks, final Path csvFile) throws ModelLoadingException {
+        long total = 0;
+        for (final Chunk chunk : chunks) {
+            total += chunk.rows;
+        }
+        if (total > Integer.MAX_VALUE) {
+            throw new ModelLoadingException(String.format("The file [%s] has too many instances: %d", csvFile, total));
+        }
+
+        final int numberInstances = (int) total;
+        final double[][] numericColumns = new double[this.kinds.length][];
+        final String[][] stringColumns = new String[this.kinds.length][];
+        final int[][] codeColumns = new int[this.kinds.length][];
+        final StringDictionary[] stringDictionaries = new StringDictionary[this.kinds.length];
+        for (int field = 0; field < this.kinds.length; field++) {
+            if (this.kinds[field] == FieldKind.STRING) {
+                stringColumns[field] = new String[numberInstances];
+            } else if (this.kinds[field] == FieldKind.ENCODED_STRING) {
+                codeColumns[field] = new int[numberInstances];
+                stringDictionaries[field] = this.stringDictionaries[field] != null
+                        ? this.stringDictionaries[field]
+                        : new StringDictionary();
+            } else {
+                numericColumns[field] = new double[numberInstances];
+            }
+        }
+
+        int offset = 0;
+        for (final Chunk chunk : chunks) {
+            for (int field = 0; field < this.kinds.length; field++) {
+                if (this.kinds[field] == FieldKind.STRING) {
+                    System.arraycopy(chunk.stringColumns[field], 0, stringColumns[field], offset, chunk.rows);
+                } else if (this.kinds[field] == FieldKind.ENCODED_STRING) {
+                    // the chunks are translated in the order of the file, so new values get codes in that order
+                    final StringTable table = chunk.stringTables[field];
+                    final int[] translation = new int[table.size];
+                    for (int code = 0; code < table.size; code++) {
+                        translation[code] = stringDictionaries[field].encode(table.values[code]);
+                    }
+                    final int[] chunkCodes = chunk.codeColumns[field];
+                    final int[] codes = codeColumns[field];
+                    for (int row = 0; row < chunk.rows; row++) {
+                        final int code = chunkCodes[row];
+                        codes[offset + row] = code < 0 ? StringDictionary.MISSING : translation[code];
+                    }
+                } else {
+                    System.arraycopy(chunk.numericColumns[field], 0, numericColumns[field], offset, chunk.rows);
+                }
+            }
+            offset += chunk.rows;
+        }
+        return new ColumnarDataset(
+                this.schema, numberInstances, numericColumns, stringColumns, codeColumns, stringDictionaries
+        );
+    }
+
+    /**
+     * Finds the start of the line after a position, i.e. the position after the next line break.
+     *
+     * @param channel  The channel of the file.
+     * @param position The position where to start looking.
+     * @param fileSize The size of the file.
+     * @return The position after the next line break, or the size of the file if there are no more line breaks.
+     * @throws IOException If the file cannot be read.
+     */
+    private static long findNextLineStart(final FileChannel channel,
+                                          final long position,
+                                          final long fileSize) throws IOException {
+        final ByteBuffer window = ByteBuffer.allocate(LINE_SEARCH_WINDOW);
+        long windowStart = position;
+        while (windowStart < fileSize) {
+            window.clear();
+            final int read = channel.read(window, windowStart);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (window.get(i) == LINE_FEED) {
+                    return windowStart + i + 1;
+                }
+            }
+            windowStart += read;
+        }
+        return fileSize;
+    }
+
+    /**
+     * Reads bytes of the file into an array.
+     *
+     * @param channel  The channel of the file.
+     * @param position The position of the first byte.
+     * @param bytes    The array where to read the bytes.
+     * @param length   The number of bytes to read.
+     * @throws IOException If the file cannot be read, or ends before the requested bytes.
+     */
+    private static void readFully(final FileChannel channel,
+                                  final long position,
+                                  final byte[] bytes,
+                                  final int length) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.wrap(bytes, 0, length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of file at " + (position + buffer.position()));
+            }
+        }
+    }
+
+    /**
+     * Gets the end of the content of a line, without its line break.
+     *
+     * @param bytes The bytes of the line.
+     * @param start The position of the start of the line.
+     * @param end   The position of the end of the line, possibly including the line break.
+     * @return The end of the content of the line.
+     */
+    private static int trimLineBreak(final byte[] bytes, final int start, final int end) {
+        int contentEnd = end;
+        while (contentEnd > start
+                && (bytes[contentEnd - 1] == LINE_FEED || bytes[contentEnd - 1] == CARRIAGE_RETURN)) {
+            contentEnd--;
+        }
+        return contentEnd;
+    }
+
+    /**
+     * Parses a double from its decimal representation, without creating a {@link String} for the common cases.
+     * <p>
+     * Values with at most 2^53 as the mantissa and 10^22 as the power of 10 (the vast majority of the values in CSV
+     * files) are computed with a single correctly rounded multiplication or division; other values fall back to
+     * {@link Double#parseDouble}.
+     *
+     * @param bytes The bytes of the value.
+     * @param from  The position of the first byte of the value.
+     * @param to    The position after the last byte of the value.
+     * @return The value, or {@link Double#NaN} if it is not a number.
+     */
+    static double parseDouble(final byte[] bytes, final int from, final int to) {
+        int position = from;
+        boolean negative = false;
+        if (position < to && (bytes[position] == '-' || bytes[position] == '+')) {
+            negative = bytes[position] == '-';
+            position++;
+        }
+
+        long mantissa = 0;
+        int scale = 0;
+        boolean hasDigits = false;
+        while (position < to && isDigit(bytes[position])) {
+            mantissa = mantissa * 10 + (bytes[position] - '0');
+            if (mantissa > MAX_EXACT_MANTISSA) {
+                return parseDoubleSlowly(bytes, from, to);
+            }
+            hasDigits = true;
+            position++;
+        }
+        if (position < to && bytes[position] == '.') {
+            position++;
+            while (position < to && isDigit(bytes[position])) {
+                mantissa = mantissa * 10 + (bytes[position] - '0');
+                if (mantissa > MAX_EXACT_MANTISSA) {
+                    return parseDoubleSlowly(bytes, from, to);
+                }
+                scale--;
+                hasDigits = true;
+                position++;
+            }
+        }
+        if (!hasDigits) {
+            return parseDoubleSlowly(bytes, from, to);
+        }
+
+        if (position < to && (bytes[position] == 'e' || bytes[position] == 'E')) {
+            position++;
+            boolean negativeExponent = false;
+            if (position < to && (bytes[position] == '-' || bytes[position] == '+')) {
+                negativeExponent = bytes[position] == '-';
+                position++;
+            }
+            int exponent = 0;
+            final int exponentStart = position;
+            while (position < to && isDigit(bytes[position]) && exponent < EXACT_POWERS_OF_TEN.length * 2) {
+                exponent = exponent * 10 + (bytes[position] - '0');
+                position++;
+            }
+            if (position == exponentStart) {
+                return parseDoubleSlowly(bytes, from, to);
+            }
+            scale += negativeExponent ? -exponent : exponent;
+        }
+
+        if (position != to || Math.abs(scale) >= EXACT_POWERS_OF_TEN.length) {
+            return parseDoubleSlowly(bytes, from, to);
+        }
+
+        final double value = scale >= 0
+                ? mantissa * EXACT_POWERS_OF_TEN[scale]
+                : mantissa / EXACT_POWERS_OF_TEN[-scale];
+        return negative ? -value : value;
+    }
+
+    /**
+     * Parses a double with {@link Double#parseDouble}, for the representations the fast path doesn't handle.
+     *
+     * @param bytes The bytes of the value.
+     * @param from  The position of the first byte of the value.
+     * @param to    The position after the last byte of the value.
+     * @return The value, or {@link Double#NaN} if it is not a number.
+     */
+    private static double parseDoubleSlowly(final byte[] bytes, final int from, final int to) {
+        try {
+            return Double.parseDouble(new String(bytes, from, to - from, StandardCharsets.UTF_8));
+        } catch (final NumberFormatException e) {
+            // Not logging on purpose since this may be called a LOT of times, as in EncodingHelper
+            return Double.NaN;
+        }
+    }
+
+    /**
+     * Checks whether a byte is an ASCII digit.
+     *
+     * @param value The byte.
+     * @return {@code true} if the byte is a digit, {@code false} otherwise.
+     */
+    private static boolean isDigit(final byte value) {
+        return value >= '0' && value <= '9';
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("parallelism", this.parallelism)
+                .add("chunkSize", this.chunkSize)
+                .toString();
+    }
+
+    /**
+     * The kinds of fields, which determine how the values are encoded.
+     */
+    private enum FieldKind {
+        /**
+         * A numeric field.
+         */
+        NUMERIC,
+        /**
+         * A categorical field.
+         */
+        CATEGORICAL,
+        /**
+         * A string field, stored as plain values.
+         */
+        STRING,
+        /**
+         * A dictionary encoded string field.
+         */
+        ENCODED_STRING
+    }
+
+    /**
+     * The columns parsed from a chunk of the file.
+     */
+    private static final class Chunk {
+
+        /**
+         * The number of rows.
+         */
+        private int rows;
+
+        /**
+         * The values of the numeric and categorical fields, by field index ({@code null} for string fields).
+         */
+        private final double[][] numericColumns;
+
+        /**
+         * The values of the plain string fields, by field index ({@code null} for other fields).
+         */
+        private final String[][] stringColumns;
+
+        /**
+         * The codes of the values of the dictionary encoded string fields in {@link #stringTables}, by field index
+         * ({@code null} for other fields), with {@code -1} for missing values.
+         */
+        private final int[][] codeColumns;
+
+        /**
+         * The distinct values of the dictionary encoded string fields in this chunk, by field index ({@code null} for
+         * other fields).
+         */
+        private final StringTable[] stringTables;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param numericColumns The initial numeric columns.
+         * @param stringColumns  The initial columns of the plain string fields.
+         * @param codeColumns    The initial columns of codes of the dictionary encoded string fields.
+         * @param stringTables   The tables of the values of the dictionary encoded string fields.
+         */
+        private Chunk(final double[][] numericColumns,
+                      final String[][] stringColumns,
+                      final int[][] codeColumns,
+                      final StringTable[] stringTables) {
+            this.numericColumns = numericColumns;
+            this.stringColumns = stringColumns;
+            this.codeColumns = codeColumns;
+            this.stringTables = stringTables;
+        }
+    }
+
+    /**
+     * Thrown when a chunk of the file is not valid CSV.
+     */
+    private static final class ChunkParsingException extends Exception {
+
+        /**
+         * Serial version UID.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param message The description of the problem.
+         */
+        private ChunkParsingException(final String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Parses the lines of a chunk into columns, following the same rules as {@link LoadInstancesUtils#splitLine}.
+     */
+    private final class ChunkParser {
+
+        /**
+         * The bytes of the chunk.
+         */
+        private final byte[] bytes;
+
+        /**
+         * For each column, the index of its field, or {@code -1} if the column is not in the schema.
+         */
+        private final int[] columnToField;
+
+        /**
+         * Whether each field has a column in the file.
+         */
+        private final boolean[] fieldHasColumn;
+
+        /**
+         * The parsed columns.
+         */
+        private final Chunk chunk;
+
+        /**
+         * The buffer of the unquoted bytes of quoted values.
+         */
+        private byte[] unquoted = new byte[64];
+
+        /**
+         * The number of bytes in {@link #unquoted}.
+         */
+        private int unquotedLength;
+
+        /**
+         * The capacity of the columns.
+         */
+        private int capacity;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param bytes           The bytes of the chunk.
+         * @param columnToField   For each column, the index of its field, or {@code -1} if not in the schema.
+         * @param initialCapacity The initial capacity of the columns.
+         */
+        private ChunkParser(final byte[] bytes, final int[] columnToField, final int initialCapacity) {
+            this.bytes = bytes;
+            this.columnToField = columnToField;
+            this.capacity = initialCapacity;
+
+            final int numberFields = CsvDatasetReader.this.kinds.length;
+            this.fieldHasColumn = new boolean[numberFields];
+            for (final int field : columnToField) {
+                if (field >= 0) {
+                    this.fieldHasColumn[field] = true;
+                }
+            }
+
+            final double[][] numericColumns = new double[numberFields][];
+            final String[][] stringColumns = new String[numberFields][];
+            final int[][] codeColumns = new int[numberFields][];
+            final StringTable[] stringTables = new StringTable[numberFields];
+            for (int field = 0; field < numberFields; field++) {
+                if (CsvDatasetReader.this.kinds[field] == FieldKind.STRING) {
+                    stringColumns[field] = new String[initialCapacity];
+                } else if (CsvDatasetReader.this.kinds[field] == FieldKind.ENCODED_STRING) {
+                    codeColumns[field] = new int[initialCapacity];
+                    stringTables[field] = new StringTable();
+                } else {
+                    numericColumns[field] = new double[initialCapacity];
+                }
+            }
+            this.chunk = new Chunk(numericColumns, stringColumns, codeColumns, stringTables);
+        }
+
+        /**
+         * Parses a line into a new row of the columns.
+         *
+         * @param start The position of the first byte of the line.
+         * @param end   The position after the last byte of the line, without the line break.
+         * @return The number of values in the line.
+         */
+        private int parseLine(final int start, final int end) {
+            if (this.chunk.rows == this.capacity) {
+                grow();
+            }
+            final int row = this.chunk.rows;
+
+            int column = 0;
+            int position = start;
+            while (true) {
+                final int valueEnd = findValueEnd(position, end);
+                if (column < this.columnToField.length && this.columnToField[column] >= 0) {
+                    if (this.unquotedLength >= 0) {
+                        setValue(this.columnToField[column], row, this.unquoted, 0, this.unquotedLength);
+                    } else {
+                        setValue(this.columnToField[column], row, this.bytes, position, valueEnd);
+                    }
+                }
+                column++;
+                if (valueEnd >= end) {
+                    break;
+                }
+                position = valueEnd + 1;
+            }
+
+            for (int field = 0; field < this.fieldHasColumn.length; field++) {
+                if (!this.fieldHasColumn[field]) {
+                    setValue(field, row, this.bytes, 0, 0);
+                }
+            }
+            this.chunk.rows++;
+            return column;
+        }
+
+        /**
+         * Finds the end of a value: the next separator that is not between quotes, or the end of the line. If the
+         * value has quotes, its unquoted bytes are copied to {@link #unquoted}; otherwise {@link #unquotedLength} is
+         * set to {@code -1}, and the value is the bytes between the start and the end.
+         *
+         * @param start The position of the first byte of the value.
+         * @param end   The end of the line.
+         * @return The position of the separator after the value, or the end of the line.
+         */
+        private int findValueEnd(final int start, final int end) {
+            this.unquotedLength = -1;
+            int position = start;
+            while (position < end && this.bytes[position] != SEPARATOR) {
+                if (this.bytes[position] == QUOTE) {
+                    return findQuotedValueEnd(start, end);
+                }
+                position++;
+            }
+            return position;
+        }
+
+        /**
+         * Finds the end of a value with quotes, copying its unquoted bytes to {@link #unquoted}.
+         *
+         * @param start The position of the first byte of the value.
+         * @param end   The end of the line.
+         * @return The position of the separator after the value, or the end of the line.
+         */
+        private int findQuotedValueEnd(final int start, final int end) {
+            this.unquotedLength = 0;
+            boolean quoted = false;
+            int position = start;
+            while (position < end) {
+                final byte current = this.bytes[position];
+                if (quoted) {
+                    if (current == QUOTE && position + 1 < end && this.bytes[position + 1] == QUOTE) {
+                        appendUnquoted(QUOTE);
+                        position++;
+                    } else if (current == QUOTE) {
+                        quoted = false;
+                    } else {
+                        appendUnquoted(current);
+                    }
+                } else if (current == QUOTE) {
+                    quoted = true;
+                } else if (current == SEPARATOR) {
+                    return position;
+                } else {
+                    appendUnquoted(current);
+                }
+                position++;
+            }
+            return end;
+        }
+
+        /**
+         * Appends a byte to the unquoted value.
+         *
+         * @param value The byte.
+         */
+        private void appendUnquoted(final byte value) {
+            if (this.unquotedLength == this.unquoted.length) {
+                this.unquoted = Arrays.copyOf(this.unquoted, this.unquoted.length * 2);
+            }
+            this.unquoted[this.unquotedLength++] = value;
+        }
+
+        /**
+         * Encodes a value and sets it in its column.
+         *
+         * @param field The index of the field.
+         * @param row   The row.
+         * @param value The bytes of the value.
+         * @param from  The position of the first byte of the value.
+         * @param to    The position after the last byte of the value; an empty value is missing.
+         */
+        private void setValue(final int field, final int row, final byte[] value, final int from, final int to) {
+            switch (CsvDatasetReader.this.kinds[field]) {
+                case STRING:
+                    this.chunk.stringColumns[field][row] = from == to
+                            ? null
+                            : new String(value, from, to - from, StandardCharsets.UTF_8);
+                    break;
+                case ENCODED_STRING:
+                    this.chunk.codeColumns[field][row] = from == to
+                            ? -1
+                            : this.chunk.stringTables[field].codeOf(value, from, to);
+                    break;
+                case CATEGORICAL:
+                    final int category = from == to ? -1 : CsvDatasetReader.this.dictionaries[field].indexOf(value, from, to);
+                    this.chunk.numericColumns[field][row] = category < 0 ? Double.NaN : category;
+                    break;
+                default:
+                    this.chunk.numericColumns[field][row] = from == to ? Double.NaN : parseDouble(value, from, to);
+                    break;
+            }
+        }
+
+        /**
+         * Doubles the capacity of the columns.
+         */
+        private void grow() {
+            this.capacity *= 2;
+            for (int field = 0; field < CsvDatasetReader.this.kinds.length; field++) {
+                if (this.chunk.stringColumns[field] != null) {
+                    this.chunk.stringColumns[field] = Arrays.copyOf(this.chunk.stringColumns[field], this.capacity);
+                } else if (this.chunk.codeColumns[field] != null) {
+                    this.chunk.codeColumns[field] = Arrays.copyOf(this.chunk.codeColumns[field], this.capacity);
+                } else {
+                    this.chunk.numericColumns[field] = Arrays.copyOf(this.chunk.numericColumns[field], this.capacity);
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the index of a nominal value by its UTF-8 bytes, with an open addressing hash table.
+     */
+    private static final class CategoryDictionary {
+
+        /**
+         * The UTF-8 bytes of the nominal values, in the order of their indexes.
+         */
+        private final byte[][] values;
+
+        /**
+         * The hash table, with the index of a nominal value plus one in each used slot, and {@code 0} in empty ones.
+         */
+        private final int[] table;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param nominalValues The nominal values, in the order of their indexes.
+         */
+        private CategoryDictionary(final Iterable<String> nominalValues) {
+            final List<byte[]> encodedValues = new ArrayList<>();
+            nominalValues.forEach(value -> encodedValues.add(value.getBytes(StandardCharsets.UTF_8)));
+            this.values = encodedValues.toArray(new byte[0][]);
+
+            this.table = new int[Integer.highestOneBit(Math.max(1, this.values.length) * 4 - 1) << 1];
+            for (int index = 0; index < this.values.length; index++) {
+                int slot = hash(this.values[index], 0, this.values[index].length) & (this.table.length - 1);
+                while (this.table[slot] != 0) {
+                    slot = (slot + 1) & (this.table.length - 1);
+                }
+                this.table[slot] = index + 1;
+            }
+        }
+
+        /**
+         * Gets the index of a nominal value.
+         *
+         * @param bytes The bytes of the value.
+         * @param from  The position of the first byte of the value.
+         * @param to    The position after the last byte of the value.
+         * @return The index of the nominal value, or {@code -1} if the value is not a nominal value.
+         */
+        private int indexOf(final byte[] bytes, final int from, final int to) {
+            int slot = hash(bytes, from, to) & (this.table.length - 1);
+            while (this.table[slot] != 0) {
+                final int index = this.table[slot] - 1;
+                final byte[] candidate = this.values[index];
+                if (candidate.length == to - from && rangeEquals(candidate, bytes, from)) {
+                    return index;
+                }
+                slot = (slot + 1) & (this.table.length - 1);
+            }
+            return -1;
+        }
+
+        /**
+         * Checks whether a nominal value is equal to a range of bytes of the same length.
+         *
+         * @param candidate The bytes of the nominal value.
+         * @param bytes     The bytes of the value.
+         * @param from      The position of the first byte of the value.
+         * @return {@code true} if the bytes are equal, {@code false} otherwise.
+         */
+        private static boolean rangeEquals(final byte[] candidate, final byte[] bytes, final int from) {
+            for (int i = 0; i < candidate.length; i++) {
+                if (candidate[i] != bytes[from + i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Computes the hash of a range of bytes (FNV-1a).
+         *
+         * @param bytes The bytes.
+         * @param from  The position of the first byte.
+         * @param to    The position after the last byte.
+         * @return The hash.
+         */
+        private static int hash(final byte[] bytes, final int from, final int to) {
+            int hash = 0x811c9dc5;
+            for (int i = from; i < to; i++) {
+                hash ^= bytes[i];
+                hash *= 0x01000193;
+            }
+            return hash ^ (hash >>> 16);
+        }
+    }
+
+    /**
+     * The distinct values of a string field in a chunk, looked up by their UTF-8 bytes with an open addressing hash
+     * table, so that a {@link String} is only created for the first occurrence of each value.
+     */
+    private static final class StringTable {
+
+        /**
+         * The bytes of the values, by code.
+         */
+        private byte[][] keys = new byte[16][];
+
+        /**
+         * The values, by code.
+         */
+        private String[] values = new String[16];
+
+        /**
+         * The number of values.
+         */
+        private int size = 0;
+
+        /**
+         * The hash table, with the code of a value plus one in each used slot, and {@code 0} in empty ones.
+         */
+        private int[] table = new int[64];
+
+        /**
+         * Gets the code of a value, adding it to the table if it is not there yet.
+         *
+         * @param bytes The bytes of the value.
+         * @param from  The position of the first byte of the value.
+         * @param to    The position after the last byte of the value.
+         * @return The code of the value.
+         */
+        private int codeOf(final byte[] bytes, final int from, final int to) {
+            final int hash = CategoryDictionary.hash(bytes, from, to);
+            int slot = hash & (this.table.length - 1);
+            while (this.table[slot] != 0) {
+                final int code = this.table[slot] - 1;
+                final byte[] candidate = this.keys[code];
+                if (candidate.length == to - from && CategoryDictionary.rangeEquals(candidate, bytes, from)) {
+                    return code;
+                }
+                slot = (slot + 1) & (this.table.length - 1);
+            }
+
+            final int code = this.size++;
+            if (code == this.keys.length) {
+                this.keys = Arrays.copyOf(this.keys, code * 2);
+                this.values = Arrays.copyOf(this.values, code * 2);
+            }
+            this.keys[code] = Arrays.copyOfRange(bytes, from, to);
+            this.values[code] = new String(bytes, from, to - from, StandardCharsets.UTF_8);
+            this.table[slot] = code + 1;
+            if (this.size * 2 > this.table.length) {
+                rehash();
+            }
+            return code;
+        }
+
+        /**
+         * Doubles the size of the hash table.
+         */
+        private void rehash() {
+            this.table = new int[this.table.length * 2];
+            for (int code = 0; code < this.size; code++) {
+                int slot = CategoryDictionary.hash(this.keys[code], 0, this.keys[code].length) & (this.table.length - 1);
+                while (this.table[slot] != 0) {
+                    slot = (slot + 1) & (this.table.length - 1);
+                }
+                this.table[slot] = code + 1;
+            }
+        }
+    }
+
+    /**
+     * Builder of {@link CsvDatasetReader}.
+     */
+    public static final class Builder {
+
+        /**
+         * The schema of the datasets.
+         */
+        private final DatasetSchema schema;
+
+        /**
+         * The number of chunks parsed in parallel.
+         */
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+
+        /**
+         * The approximate size of each chunk, in bytes.
+         */
+        private int chunkSize = 16 * 1024 * 1024;
+
+        /**
+         * The dictionaries shared by the datasets read, by field index.
+         */
+        private StringDictionary[] stringDictionaries;
+
+        /**
+         * Whether each string field, by field index, is dictionary encoded.
+         */
+        private final boolean[] encodedFields;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param schema The schema of the datasets.
+         */
+        private Builder(final DatasetSchema schema) {
+            this.schema = Preconditions.checkNotNull(schema, "schema cannot be null");
+            this.stringDictionaries = new StringDictionary[schema.getFieldSchemas().size()];
+            this.encodedFields = new boolean[schema.getFieldSchemas().size()];
+        }
+
+        /**
+         * Sets the number of chunks parsed in parallel. Defaults to the number of available processors.
+         *
+         * @param parallelism The number of threads.
+         * @return This builder.
+         */
+        public Builder withParallelism(final int parallelism) {
+            Preconditions.checkArgument(parallelism > 0, "the parallelism should be positive");
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * Sets the approximate size of the chunks the file is split into; each chunk ends at the first line break
+         * after this size. Defaults to 16MB.
+         *
+         * @param chunkSize The size of the chunks, in bytes.
+         * @return This builder.
+         */
+        public Builder withChunkSize(final int chunkSize) {
+            Preconditions.checkArgument(chunkSize > 0, "the chunk size should be positive");
+            this.chunkSize = chunkSize;
+            return this;
+        }
+
+        /**
+         * Sets string fields to be dictionary encoded, which saves memory for fields with few distinct values. By
+         * default, string fields are stored as plain values.
+         *
+         * @param fields The indexes of the string fields.
+         * @return This builder.
+         */
+        public Builder withDictionaryEncoding(final int... fields) {
+            for (final int field : fields) {
+                Preconditions.checkElementIndex(field, this.encodedFields.length, "field index");
+                Preconditions.checkArgument(
+                        this.schema.getFieldSchemas().get(field).getValueSchema() instanceof StringValueSchema,
+                        "the field %s is not a string field",
+                        field
+                );
+                this.encodedFields[field] = true;
+            }
+            return this;
+        }
+
+        /**
+         * Sets the dictionaries used to encode the string fields of all the datasets read, e.g. those of a dataset
+         * read before (see {@link ColumnarDataset#getStringDictionaries()}), so that the same value has the same code
+         * in all of them. The fields with a dictionary are {@link #withDictionaryEncoding dictionary encoded}.
+         *
+         * @param stringDictionaries The dictionaries, by field index, where a {@code null} entry of a string field
+         *                           means a new dictionary for each dataset, if the field is dictionary encoded.
+         * @return This builder.
+         */
+        public Builder withStringDictionaries(final StringDictionary[] stringDictionaries) {
+            Preconditions.checkNotNull(stringDictionaries, "stringDictionaries cannot be null");
+            Preconditions.checkArgument(
+                    stringDictionaries.length == this.schema.getFieldSchemas().size(),
+                    "there should be one dictionary per field of the schema"
+            );
+            for (int field = 0; field < stringDictionaries.length; field++) {
+                if (stringDictionaries[field] != null) {
+                    withDictionaryEncoding(field);
+                }
+            }
+            this.stringDictionaries = stringDictionaries.clone();
+            return this;
+        }
+
+        /**
+         * Creates the {@link CsvDatasetReader} with the settings of this builder.
+         *
+         * @return The reader.
+         */
+        public CsvDatasetReader build() {
+            return new CsvDatasetReader(this);
+        }
+    }
+}
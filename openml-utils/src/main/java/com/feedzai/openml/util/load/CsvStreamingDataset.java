@@ -0,0 +1,165 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.load;
+
+import com.feedzai.openml.data.Instance;
+import com.feedzai.openml.data.StreamingDataset;
+import com.feedzai.openml.data.schema.DatasetSchema;
+import com.feedzai.openml.provider.exception.ModelLoadingException;
+import com.feedzai.openml.util.data.encoding.EncodingHelper;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * A {@link StreamingDataset} over the instances in a CSV file, which reads the lines of the file as the instances are
+ * requested, with the same rules as {@link LoadInstancesUtils#instancesFromCsv(Path, DatasetSchema)}.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+final class CsvStreamingDataset implements StreamingDataset {
+
+    /**
+     * The CSV file.
+     */
+    private final Path csvFile;
+
+    /**
+     * The schema of the instances.
+     */
+    private final DatasetSchema schema;
+
+    /**
+     * The reader of the file, positioned after the last line read.
+     */
+    private final BufferedReader reader;
+
+    /**
+     * For each field, the index of its column, or {@code -1} if there is no column for the field.
+     */
+    private final int[] fieldToColumn;
+
+    /**
+     * The helper that encodes the values of the fields.
+     */
+    private final EncodingHelper encodingHelper;
+
+    /**
+     * The number of the last line read.
+     */
+    private int lineNumber = 1;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param csvFile       The CSV file.
+     * @param schema        The schema of the instances.
+     * @param reader        The reader of the file, positioned after the header.
+     * @param fieldToColumn For each field, the index of its column, or {@code -1} if there is no column for the field.
+     */
+    private CsvStreamingDataset(final Path csvFile,
+                                final DatasetSchema schema,
+                                final BufferedReader reader,
+                                final int[] fieldToColumn) {
+        this.csvFile = csvFile;
+        this.schema = schema;
+        this.reader = reader;
+        this.fieldToColumn = fieldToColumn;
+        this.encodingHelper = new EncodingHelper(schema);
+    }
+
+    /**
+     * Opens a CSV file and reads its header.
+     *
+     * @param csvFile The CSV file.
+     * @param schema  The schema of the instances.
+     * @return The stream of the instances in the file.
+     * @throws IOException If the file cannot be read or has no header.
+     */
+    static CsvStreamingDataset open(final Path csvFile, final DatasetSchema schema) throws IOException {
+        final BufferedReader reader = Files.newBufferedReader(csvFile, StandardCharsets.UTF_8);
+        try {
+            final String header = reader.readLine();
+            if (header == null) {
+                throw new IOException(String.format("The file [%s] has no header", csvFile));
+            }
+            final int[] fieldToColumn = LoadInstancesUtils.mapFieldsToColumns(
+                    schema.getFieldSchemas(), LoadInstancesUtils.splitLine(header)
+            );
+            return new CsvStreamingDataset(csvFile, schema, reader, fieldToColumn);
+        } catch (final IOException | RuntimeException e) {
+            reader.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public DatasetSchema getSchema() {
+        return this.schema;
+    }
+
+    @Override
+    public OptionalLong getSize() {
+        return OptionalLong.empty();
+    }
+
+    @Override
+    public List<Instance> nextChunk(final int maxInstances) throws IOException {
+        Preconditions.checkArgument(maxInstances > 0, "the maximum number of instances should be positive");
+
+        final List<Instance> chunk = new ArrayList<>(Math.min(maxInstances, 1024));
+        String line;
+        while (chunk.size() < maxInstances && (line = this.reader.readLine()) != null) {
+            this.lineNumber++;
+            if (line.isEmpty()) {
+                continue;
+            }
+            try {
+                chunk.add(LoadInstancesUtils.encodeLine(
+                        LoadInstancesUtils.splitLine(line), this.fieldToColumn, this.encodingHelper, this.lineNumber, this.csvFile
+                ));
+            } catch (final ModelLoadingException e) {
+                throw new IOException(e.getMessage(), e);
+            }
+        }
+        return chunk;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.reader.close();
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("csvFile", this.csvFile)
+                .add("lineNumber", this.lineNumber)
+                .toString();
+    }
+}
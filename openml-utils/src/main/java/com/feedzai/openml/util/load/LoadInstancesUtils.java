@@ -0,0 +1,264 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.load;
+
+import com.feedzai.openml.data.Instance;
+import com.feedzai.openml.data.StreamingDataset;
+import com.feedzai.openml.data.schema.DatasetSchema;
+import com.feedzai.openml.data.schema.FieldSchema;
+import com.feedzai.openml.mocks.MockInstance;
+import com.feedzai.openml.provider.exception.ModelLoadingException;
+import com.feedzai.openml.util.data.ColumnarDataset;
+import com.feedzai.openml.util.data.encoding.EncodingHelper;
+import com.feedzai.openml.util.data.stream.SequentialDataset;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Utility class for loading recorded {@link Instance}s, e.g. to replay them against a model.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public final class LoadInstancesUtils {
+
+    /**
+     * Logger for this class.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(LoadInstancesUtils.class);
+
+    /**
+     * The character that separates the values in a CSV line.
+     */
+    private static final char SEPARATOR = ',';
+
+    /**
+     * The character used to quote values in a CSV line.
+     */
+    private static final char QUOTE = '"';
+
+    /**
+     * Private constructor for utility class.
+     */
+    private LoadInstancesUtils() {
+    }
+
+    /**
+     * Reads the instances in a CSV file whose first line is a header with the names of the fields.
+     * <p>
+     * The columns are matched to the fields of the schema by name: columns that are not in the schema are ignored,
+     * and fields of the schema that have no column are considered missing, as are empty values. Values are encoded
+     * with an {@link EncodingHelper} for the given schema.
+     *
+     * @param csvFile The CSV file.
+     * @param schema  The {@link DatasetSchema} of the instances.
+     * @return The instances, in the order they appear in the file.
+     * @throws ModelLoadingException If the file cannot be read or is not a valid CSV file.
+     */
+    public static List<Instance> instancesFromCsv(final Path csvFile,
+                                                  final DatasetSchema schema) throws ModelLoadingException {
+        Preconditions.checkNotNull(csvFile, "csvFile cannot be null");
+        Preconditions.checkNotNull(schema, "schema cannot be null");
+
+        final EncodingHelper encodingHelper = new EncodingHelper(schema);
+        final ImmutableList.Builder<Instance> instances = ImmutableList.builder();
+
+        try (BufferedReader reader = Files.newBufferedReader(csvFile, StandardCharsets.UTF_8)) {
+            final String header = reader.readLine();
+            if (header == null) {
+                throw new ModelLoadingException(String.format("The file [%s] has no header", csvFile));
+            }
+
+            final int[] fieldToColumn = mapFieldsToColumns(schema.getFieldSchemas(), splitLine(header));
+
+            String line;
+            int lineNumber = 1;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isEmpty()) {
+                    continue;
+                }
+
+                instances.add(encodeLine(splitLine(line), fieldToColumn, encodingHelper, lineNumber, csvFile));
+            }
+        } catch (final IOException e) {
+            final String msg = String.format("Could not read the instances in [%s]", csvFile);
+            logger.error(msg, e);
+            throw new ModelLoadingException(msg, e);
+        }
+
+        return instances.build();
+    }
+
+    /**
+     * Reads the instances in a CSV file into a {@link ColumnarDataset}, with the same rules as
+     * {@link #instancesFromCsv(Path, DatasetSchema)}.
+     * <p>
+     * The file is parsed in parallel by a {@link CsvDatasetReader} with the default settings, which is much faster
+     * than reading it line by line for large files.
+     *
+     * @param csvFile The CSV file.
+     * @param schema  The {@link DatasetSchema} of the instances.
+     * @return The dataset with the instances, in the order they appear in the file.
+     * @throws ModelLoadingException If the file cannot be read or is not a valid CSV file.
+     */
+    public static ColumnarDataset datasetFromCsv(final Path csvFile,
+                                                 final DatasetSchema schema) throws ModelLoadingException {
+        Preconditions.checkNotNull(schema, "schema cannot be null");
+        return CsvDatasetReader.builder(schema).build().read(csvFile);
+    }
+
+    /**
+     * Opens a stream over the instances in a CSV file, with the same rules as
+     * {@link #instancesFromCsv(Path, DatasetSchema)}, which reads the lines of the file as the instances are requested.
+     *
+     * @param csvFile The CSV file.
+     * @param schema  The {@link DatasetSchema} of the instances.
+     * @return The stream of instances, which should be closed by the caller.
+     * @throws ModelLoadingException If the file cannot be opened or has no header.
+     */
+    public static StreamingDataset streamFromCsv(final Path csvFile,
+                                                 final DatasetSchema schema) throws ModelLoadingException {
+        Preconditions.checkNotNull(csvFile, "csvFile cannot be null");
+        Preconditions.checkNotNull(schema, "schema cannot be null");
+
+        try {
+            return CsvStreamingDataset.open(csvFile, schema);
+        } catch (final IOException e) {
+            final String msg = String.format("Could not read the instances in [%s]", csvFile);
+            logger.error(msg, e);
+            throw new ModelLoadingException(msg, e);
+        }
+    }
+
+    /**
+     * Creates a {@link SequentialDataset} over the instances in a CSV file, with the same rules as
+     * {@link #instancesFromCsv(Path, DatasetSchema)}, for trainers that only need sequential passes over the data.
+     * <p>
+     * The file is read again on each pass, so memory usage doesn't depend on the size of the file.
+     *
+     * @param csvFile The CSV file.
+     * @param schema  The {@link DatasetSchema} of the instances.
+     * @return The dataset.
+     */
+    public static SequentialDataset sequentialDatasetFromCsv(final Path csvFile, final DatasetSchema schema) {
+        Preconditions.checkNotNull(csvFile, "csvFile cannot be null");
+        Preconditions.checkNotNull(schema, "schema cannot be null");
+        return SequentialDataset.multiPass(schema, () -> CsvStreamingDataset.open(csvFile, schema));
+    }
+
+    /**
+     * Encodes the values of a CSV line into an instance.
+     *
+     * @param values         The values in the line.
+     * @param fieldToColumn  For each field, the index of its column, or {@code -1} if there is no column for the field.
+     * @param encodingHelper The helper that encodes the values of the fields.
+     * @param lineNumber     The number of the line, for error messages.
+     * @param csvFile        The CSV file, for error messages.
+     * @return The instance.
+     * @throws ModelLoadingException If the line doesn't have the values of all the fields in the header.
+     */
+    static Instance encodeLine(final List<String> values,
+                               final int[] fieldToColumn,
+                               final EncodingHelper encodingHelper,
+                               final int lineNumber,
+                               final Path csvFile) throws ModelLoadingException {
+        final List<Serializable> encodedValues = new ArrayList<>(fieldToColumn.length);
+        for (int fieldIndex = 0; fieldIndex < fieldToColumn.length; fieldIndex++) {
+            final int column = fieldToColumn[fieldIndex];
+            if (column >= values.size()) {
+                throw new ModelLoadingException(String.format(
+                        "Line %d of [%s] has %d values, expected at least %d",
+                        lineNumber, csvFile, values.size(), column + 1
+                ));
+            }
+            final String value = column < 0 ? null : values.get(column);
+            encodedValues.add(encodingHelper.encode(value == null || value.isEmpty() ? null : value, fieldIndex));
+        }
+        return new MockInstance(encodedValues);
+    }
+
+    /**
+     * Maps each field of the schema to the column with the same name in the header.
+     *
+     * @param fields The fields of the schema.
+     * @param header The names of the columns.
+     * @return For each field, the index of its column, or {@code -1} if there is no column for the field.
+     */
+    static int[] mapFieldsToColumns(final List<FieldSchema> fields, final List<String> header) {
+        final int[] fieldToColumn = new int[fields.size()];
+        Arrays.fill(fieldToColumn, -1);
+
+        for (final FieldSchema field : fields) {
+            fieldToColumn[field.getFieldIndex()] = header.indexOf(field.getFieldName());
+            if (fieldToColumn[field.getFieldIndex()] < 0) {
+                logger.warn("There is no column for field [{}], its values will be missing", field.getFieldName());
+            }
+        }
+        return fieldToColumn;
+    }
+
+    /**
+     * Splits a CSV line into its values, handling quoted values (where quotes are escaped by doubling them).
+     *
+     * @param line The CSV line.
+     * @return The values in the line.
+     */
+    static List<String> splitLine(final String line) {
+        final List<String> values = new ArrayList<>();
+        final StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            final char c = line.charAt(i);
+            if (quoted) {
+                if (c == QUOTE && i + 1 < line.length() && line.charAt(i + 1) == QUOTE) {
+                    value.append(QUOTE);
+                    i++;
+                } else if (c == QUOTE) {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == QUOTE) {
+                quoted = true;
+            } else if (c == SEPARATOR) {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        values.add(value.toString());
+
+        return values;
+    }
+}
@@ -24,6 +24,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
 import java.nio.file.Path;
 
 /**
@@ -111,4 +118,43 @@ public final class LoadModelUtils {
 
         return modelFile.toPath();
     }
+
+    /**
+     * Reads an object written with {@link #writeSerialized(Path, Serializable)}, such as the statistics saved next to a
+     * model.
+     *
+     * @param file        The file.
+     * @param type        The expected type of the object.
+     * @param description The description of the object, used in the error message.
+     * @param <T>         The type of the object.
+     * @return The object.
+     * @throws ModelLoadingException If the file cannot be read or doesn't contain an object of the expected type.
+     * @since 1.3.0
+     */
+    public static <T extends Serializable> T readSerialized(final Path file,
+                                                             final Class<T> type,
+                                                             final String description) throws ModelLoadingException {
+        try (InputStream input = Files.newInputStream(file);
+             ObjectInputStream objectInput = new ObjectInputStream(input)) {
+            return type.cast(objectInput.readObject());
+        } catch (final IOException | ClassNotFoundException | ClassCastException e) {
+            throw new ModelLoadingException(String.format("Could not read the %s in [%s]", description, file), e);
+        }
+    }
+
+    /**
+     * Writes an object with Java serialization, so that it can be read with
+     * {@link #readSerialized(Path, Class, String)}.
+     *
+     * @param file   The file.
+     * @param object The object.
+     * @throws IOException If the file cannot be written.
+     * @since 1.3.0
+     */
+    public static void writeSerialized(final Path file, final Serializable object) throws IOException {
+        try (OutputStream output = Files.newOutputStream(file);
+             ObjectOutputStream objectOutput = new ObjectOutputStream(output)) {
+            objectOutput.writeObject(object);
+        }
+    }
 }
\ No newline at end of file
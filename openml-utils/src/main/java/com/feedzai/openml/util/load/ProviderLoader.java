@@ -0,0 +1,523 @@
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.load;
+
+import com.feedzai.openml.provider.MachineLearningProvider;
+import com.feedzai.openml.provider.TrainingMachineLearningProvider;
+import com.feedzai.openml.provider.exception.ModelLoadingException;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Loads {@link MachineLearningProvider}s from provider jars, each one isolated in its own
+ * {@link ChildFirstClassLoader}.
+ * <p>
+ * The classes of the OpenML API (see {@link #API_PACKAGE_PREFIXES}) are shared with the parent class loader, so that
+ * the loaded providers can be used by the host, while everything else bundled in a jar (including native libraries
+ * and their bindings) is private to that jar. Jars are opened concurrently and each jar is only opened once: loading
+ * the same jar again returns the providers obtained the first time.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public class ProviderLoader implements Closeable {
+
+    /**
+     * Logger for this class.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(ProviderLoader.class);
+
+    /**
+     * The prefixes of the classes of the OpenML API, which are shared between the host and all providers.
+     * <p>
+     * Only the API subpackages and classes of {@code com.feedzai.openml.provider} are listed, so that providers, which
+     * usually live under that package too, are still loaded from their own jars.
+     */
+    public static final List<String> API_PACKAGE_PREFIXES = ImmutableList.of(
+            "com.feedzai.openml.data.",
+            "com.feedzai.openml.explanations.",
+            "com.feedzai.openml.model.",
+            "com.feedzai.openml.provider.descriptor.",
+            "com.feedzai.openml.provider.exception.",
+            "com.feedzai.openml.provider.model.",
+            MachineLearningProvider.class.getName(),
+            TrainingMachineLearningProvider.class.getName()
+    );
+
+    /**
+     * The location of the service file that lists the providers available in a jar.
+     */
+    static final String PROVIDER_SERVICE_FILE = "META-INF/services/" + MachineLearningProvider.class.getName();
+
+    /**
+     * The class loader that provides the shared classes.
+     */
+    private final ClassLoader parent;
+
+    /**
+     * Prefixes of the packages that are loaded from the {@link #parent} class loader.
+     */
+    private final List<String> sharedPackagePrefixes;
+
+    /**
+     * The executor used to open the jars.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * Whether the {@link #executor} was created by this instance, and so should be shut down on {@link #close()}.
+     */
+    private final boolean ownsExecutor;
+
+    /**
+     * The jars that were already opened (or are being opened), by their normalized absolute path.
+     */
+    private final ConcurrentMap<Path, CompletableFuture<ProviderJar>> providerJars = new ConcurrentHashMap<>();
+
+    /**
+     * Whether {@link #close()} was called, after which no more jars are opened. Only written while holding the lock of
+     * this instance, so that no jar starts being opened once {@link #close()} collected the jars to close.
+     */
+    private volatile boolean closed;
+
+    /**
+     * Creates a new instance that shares the {@link #API_PACKAGE_PREFIXES API classes} from the class loader of this
+     * class, and opens the jars in a pool with one thread per available processor.
+     */
+    public ProviderLoader() {
+        this(
+                ProviderLoader.class.getClassLoader(),
+                API_PACKAGE_PREFIXES,
+                Executors.newFixedThreadPool(
+                        Runtime.getRuntime().availableProcessors(),
+                        new ThreadFactoryBuilder().setNameFormat("openml-provider-loader-%d").setDaemon(true).build()
+                ),
+                true
+        );
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param parent                The class loader that provides the shared classes.
+     * @param sharedPackagePrefixes Prefixes of the packages that are loaded from the {@code parent} class loader.
+     * @param executor              The executor used to open the jars. It is not shut down by {@link #close()}.
+     */
+    public ProviderLoader(final ClassLoader parent,
+                          final Collection<String> sharedPackagePrefixes,
+                          final ExecutorService executor) {
+        this(parent, sharedPackagePrefixes, executor, false);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param parent                The class loader that provides the shared classes.
+     * @param sharedPackagePrefixes Prefixes of the packages that are loaded from the {@code parent} class loader.
+     * @param executor              The executor used to open the jars.
+     * @param ownsExecutor          Whether the executor should be shut down on {@link #close()}.
+     */
+    private ProviderLoader(final ClassLoader parent,
+                           final Collection<String> sharedPackagePrefixes,
+                           final ExecutorService executor,
+                           final boolean ownsExecutor) {
+        Preconditions.checkNotNull(parent, "parent cannot be null");
+        Preconditions.checkNotNull(sharedPackagePrefixes, "sharedPackagePrefixes cannot be null");
+        Preconditions.checkNotNull(executor, "executor cannot be null");
+
+        this.parent = parent;
+        this.sharedPackagePrefixes = ImmutableList.copyOf(sharedPackagePrefixes);
+        this.executor = executor;
+        this.ownsExecutor = ownsExecutor;
+    }
+
+    /**
+     * Loads the providers declared in the given jar.
+     *
+     * @param jarPath The path of the provider jar.
+     * @return The providers declared in the jar, in the order they are declared.
+     * @throws ModelLoadingException If the jar cannot be opened or any of its providers cannot be instantiated.
+     */
+    public List<MachineLearningProvider<?>> loadProviders(final Path jarPath) throws ModelLoadingException {
+        Preconditions.checkNotNull(jarPath, "jarPath cannot be null");
+
+        return await(jarPath, open(jarPath)).getProviders();
+    }
+
+    /**
+     * Loads the providers declared in each of the given jars. The jars that were not opened yet are opened
+     * concurrently.
+     *
+     * @param jarPaths The paths of the provider jars.
+     * @return The providers declared in each jar, by the path of the jar, in the order of the given paths.
+     * @throws ModelLoadingException If any of the jars cannot be opened or any of its providers cannot be instantiated.
+     */
+    public Map<Path, List<MachineLearningProvider<?>>> loadProviders(final Collection<Path> jarPaths)
+            throws ModelLoadingException {
+        Preconditions.checkNotNull(jarPaths, "jarPaths cannot be null");
+
+        final Map<Path, CompletableFuture<ProviderJar>> pending = new LinkedHashMap<>();
+        for (final Path jarPath : jarPaths) {
+            pending.put(jarPath, open(jarPath));
+        }
+
+        final ImmutableMap.Builder<Path, List<MachineLearningProvider<?>>> providers = ImmutableMap.builder();
+        for (final Map.Entry<Path, CompletableFuture<ProviderJar>> entry : pending.entrySet()) {
+            providers.put(entry.getKey(), await(entry.getKey(), entry.getValue()).getProviders());
+        }
+        return providers.build();
+    }
+
+    /**
+     * Gets the class loader created for a jar that was already loaded.
+     *
+     * @param jarPath The path of the provider jar.
+     * @return The class loader of the jar, or {@link Optional#empty()} if the jar was not (successfully) loaded yet.
+     */
+    public Optional<ClassLoader> getClassLoader(final Path jarPath) {
+        final CompletableFuture<ProviderJar> providerJar = this.providerJars.get(normalize(jarPath));
+        if (providerJar == null || !providerJar.isDone() || providerJar.isCompletedExceptionally()) {
+            return Optional.empty();
+        }
+        return Optional.of(providerJar.join().getClassLoader());
+    }
+
+    /**
+     * Closes the class loaders of all the jars opened so far. The providers obtained from this instance should not be
+     * used afterwards.
+     * <p>
+     * The jars that are still waiting to be opened are skipped, while the ones being opened are waited for, so that
+     * their class loaders are closed as well.
+     *
+     * @throws IOException If any of the class loaders could not be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        final List<CompletableFuture<ProviderJar>> providerJars;
+        synchronized (this) {
+            this.closed = true;
+            providerJars = new ArrayList<>(this.providerJars.values());
+            this.providerJars.clear();
+        }
+
+        if (this.ownsExecutor) {
+            this.executor.shutdown();
+        }
+
+        IOException failure = null;
+        for (final CompletableFuture<ProviderJar> providerJar : providerJars) {
+            final ChildFirstClassLoader classLoader;
+            try {
+                classLoader = providerJar.join().getClassLoader();
+            } catch (final CompletionException | CancellationException e) {
+                // the jar was not opened, so there is no class loader to close
+                continue;
+            }
+            try {
+                classLoader.close();
+            } catch (final IOException e) {
+                failure = e;
+            }
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Starts opening the given jar, unless it was already opened (or is being opened).
+     *
+     * @param jarPath The path of the provider jar.
+     * @return The future with the result of opening the jar.
+     */
+    private synchronized CompletableFuture<ProviderJar> open(final Path jarPath) {
+        Preconditions.checkState(!this.closed, "the provider loader is closed");
+
+        return this.providerJars.computeIfAbsent(
+                normalize(jarPath),
+                path -> CompletableFuture.supplyAsync(() -> openJar(path), this.executor)
+        );
+    }
+
+    /**
+     * Waits for a jar to be opened, forgetting about it if it failed so that it can be retried later.
+     *
+     * @param jarPath     The path of the provider jar.
+     * @param providerJar The future with the result of opening the jar.
+     * @return The opened jar.
+     * @throws ModelLoadingException If the jar could not be opened.
+     */
+    private ProviderJar await(final Path jarPath,
+                              final CompletableFuture<ProviderJar> providerJar) throws ModelLoadingException {
+        try {
+            return providerJar.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ModelLoadingException(String.format("Interrupted while loading the providers in [%s]", jarPath), e);
+        } catch (final ExecutionException e) {
+            this.providerJars.remove(normalize(jarPath), providerJar);
+            final Throwable cause = e.getCause() instanceof CompletionException ? e.getCause().getCause() : e.getCause();
+            if (cause instanceof ProviderJarException) {
+                throw new ModelLoadingException(cause.getMessage(), cause.getCause());
+            }
+            throw new ModelLoadingException(String.format("Could not load the providers in [%s]", jarPath), cause);
+        }
+    }
+
+    /**
+     * Opens a jar in a new class loader and instantiates the providers it declares.
+     *
+     * @param jarPath The normalized path of the provider jar.
+     * @return The opened jar.
+     */
+    private ProviderJar openJar(final Path jarPath) {
+        if (this.closed) {
+            throw new ProviderJarException(String.format("The provider loader was closed before opening [%s]", jarPath), null);
+        }
+        if (!Files.isRegularFile(jarPath) || !Files.isReadable(jarPath)) {
+            throw new ProviderJarException(String.format("The path [%s] should be a readable jar file", jarPath), null);
+        }
+
+        final URL jarUrl;
+        try {
+            jarUrl = jarPath.toUri().toURL();
+        } catch (final MalformedURLException e) {
+            throw new ProviderJarException(String.format("Invalid provider jar path [%s]", jarPath), e);
+        }
+
+        final long startNanos = System.nanoTime();
+        final ChildFirstClassLoader classLoader = new ChildFirstClassLoader(
+                new URL[]{jarUrl},
+                this.parent,
+                this.sharedPackagePrefixes
+        );
+
+        final Thread currentThread = Thread.currentThread();
+        final ClassLoader previousContextClassLoader = currentThread.getContextClassLoader();
+        currentThread.setContextClassLoader(classLoader);
+        try {
+            final List<MachineLearningProvider<?>> providers = instantiateProviders(jarPath, classLoader);
+            logger.info("Loaded {} provider(s) from [{}] in {} ms",
+                    providers.size(), jarPath, (System.nanoTime() - startNanos) / 1_000_000);
+            return new ProviderJar(classLoader, providers);
+        } catch (final RuntimeException | LinkageError e) {
+            closeQuietly(classLoader);
+            if (e instanceof ProviderJarException) {
+                throw (ProviderJarException) e;
+            }
+            throw new ProviderJarException(String.format("Could not load the providers in [%s]", jarPath), e);
+        } finally {
+            currentThread.setContextClassLoader(previousContextClassLoader);
+        }
+    }
+
+    /**
+     * Instantiates the providers listed in the service files of the jar itself (ignoring any service files visible
+     * from the parent class loader).
+     *
+     * @param jarPath     The path of the provider jar.
+     * @param classLoader The class loader of the jar.
+     * @return The instantiated providers.
+     */
+    private static List<MachineLearningProvider<?>> instantiateProviders(final Path jarPath,
+                                                                         final ChildFirstClassLoader classLoader) {
+        final List<MachineLearningProvider<?>> providers = new ArrayList<>();
+
+        for (final String className : readProviderClassNames(jarPath, classLoader)) {
+            try {
+                final Class<?> providerClass = Class.forName(className, true, classLoader);
+                if (!MachineLearningProvider.class.isAssignableFrom(providerClass)) {
+                    throw new ProviderJarException(String.format(
+                            "The class [%s] in [%s] is not a %s (is the OpenML API bundled with a different version?)",
+                            className,
+                            jarPath,
+                            MachineLearningProvider.class.getSimpleName()
+                    ), null);
+                }
+                providers.add((MachineLearningProvider<?>) providerClass.getConstructor().newInstance());
+            } catch (final ReflectiveOperationException e) {
+                throw new ProviderJarException(
+                        String.format("Could not instantiate the provider [%s] in [%s]", className, jarPath),
+                        e
+                );
+            }
+        }
+
+        return providers;
+    }
+
+    /**
+     * Reads the names of the provider classes from the service files contained in the jar.
+     *
+     * @param jarPath     The path of the provider jar.
+     * @param classLoader The class loader of the jar.
+     * @return The names of the provider classes.
+     */
+    private static List<String> readProviderClassNames(final Path jarPath, final ChildFirstClassLoader classLoader) {
+        final List<String> classNames = new ArrayList<>();
+
+        try {
+            final Enumeration<URL> serviceFiles = classLoader.findOwnResources(PROVIDER_SERVICE_FILE);
+            while (serviceFiles.hasMoreElements()) {
+                final URL serviceFile = serviceFiles.nextElement();
+                try (BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(serviceFile.openStream(), StandardCharsets.UTF_8))) {
+
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        final int commentStart = line.indexOf('#');
+                        final String className = (commentStart >= 0 ? line.substring(0, commentStart) : line).trim();
+                        if (!className.isEmpty() && !classNames.contains(className)) {
+                            classNames.add(className);
+                        }
+                    }
+                }
+            }
+        } catch (final IOException e) {
+            throw new ProviderJarException(String.format("Could not read the provider service files in [%s]", jarPath), e);
+        }
+
+        if (classNames.isEmpty()) {
+            throw new ProviderJarException(
+                    String.format("The jar [%s] does not declare any provider in [%s]", jarPath, PROVIDER_SERVICE_FILE),
+                    null
+            );
+        }
+        return classNames;
+    }
+
+    /**
+     * Closes a class loader, logging any failure.
+     *
+     * @param classLoader The class loader to close.
+     */
+    private static void closeQuietly(final ChildFirstClassLoader classLoader) {
+        try {
+            classLoader.close();
+        } catch (final IOException e) {
+            logger.warn("Could not close the class loader {}", classLoader, e);
+        }
+    }
+
+    /**
+     * Normalizes a path so that it can be used as a key of {@link #providerJars}.
+     *
+     * @param jarPath The path to normalize.
+     * @return The absolute and normalized path.
+     */
+    private static Path normalize(final Path jarPath) {
+        return jarPath.toAbsolutePath().normalize();
+    }
+
+    /**
+     * A jar that was opened, along with the providers it declares.
+     */
+    private static final class ProviderJar {
+
+        /**
+         * The class loader of the jar.
+         */
+        private final ChildFirstClassLoader classLoader;
+
+        /**
+         * The providers declared in the jar.
+         */
+        private final List<MachineLearningProvider<?>> providers;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param classLoader The class loader of the jar.
+         * @param providers   The providers declared in the jar.
+         */
+        private ProviderJar(final ChildFirstClassLoader classLoader, final List<MachineLearningProvider<?>> providers) {
+            this.classLoader = classLoader;
+            this.providers = ImmutableList.copyOf(providers);
+        }
+
+        /**
+         * Gets the class loader of the jar.
+         *
+         * @return The class loader.
+         */
+        private ChildFirstClassLoader getClassLoader() {
+            return this.classLoader;
+        }
+
+        /**
+         * Gets the providers declared in the jar.
+         *
+         * @return The providers.
+         */
+        private List<MachineLearningProvider<?>> getProviders() {
+            return this.providers;
+        }
+    }
+
+    /**
+     * Unchecked exception used to carry the failures to open a jar out of the executor, converted afterwards into a
+     * {@link ModelLoadingException}.
+     */
+    private static final class ProviderJarException extends RuntimeException {
+
+        /**
+         * The serial version UID.
+         */
+        private static final long serialVersionUID = 2437612295829410637L;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param message The detail message.
+         * @param cause   The cause, possibly {@code null}.
+         */
+        private ProviderJarException(final String message, final Throwable cause) {
+            super(message, cause);
+        }
+    }
+}
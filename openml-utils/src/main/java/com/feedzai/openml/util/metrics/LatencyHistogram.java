@@ -0,0 +1,224 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.metrics;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A thread-safe histogram of latencies (or any other non-negative {@code long} values) with a fixed memory footprint.
+ * <p>
+ * Values are counted in log-linear buckets: each power of two is split in {@value #SUB_BUCKETS} buckets of the same
+ * width, so the values reported by {@link #getValueAtPercentile(double)} are never more than
+ * {@code 1 / }{@value #SUB_BUCKETS} (about 3%) above the real ones, regardless of their magnitude. Recording a value
+ * is lock-free and doesn't allocate, so it can be done in the scoring path.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public final class LatencyHistogram {
+
+    /**
+     * The number of bits of each value kept in the index of its bucket, besides the exponent.
+     */
+    private static final int SUB_BUCKET_BITS = 5;
+
+    /**
+     * The number of buckets in each power of two.
+     */
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * The number of buckets needed to cover all non-negative {@code long} values.
+     */
+    private static final int NUMBER_BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    /**
+     * The number of values in each bucket.
+     */
+    private final AtomicLongArray counts = new AtomicLongArray(NUMBER_BUCKETS);
+
+    /**
+     * The total number of values recorded.
+     */
+    private final LongAdder totalCount = new LongAdder();
+
+    /**
+     * The sum of the values recorded.
+     */
+    private final LongAdder totalSum = new LongAdder();
+
+    /**
+     * The highest value recorded.
+     */
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Records a value.
+     *
+     * @param value The value, which cannot be negative.
+     */
+    public void record(final long value) {
+        Preconditions.checkArgument(value >= 0, "the value should not be negative");
+        this.counts.incrementAndGet(bucketIndex(value));
+        this.totalCount.increment();
+        this.totalSum.add(value);
+        this.max.accumulate(value);
+    }
+
+    /**
+     * Adds all the values recorded in another histogram to this one.
+     *
+     * @param other The other histogram.
+     */
+    public void add(final LatencyHistogram other) {
+        Preconditions.checkNotNull(other, "other cannot be null");
+        for (int bucket = 0; bucket < NUMBER_BUCKETS; bucket++) {
+            final long count = other.counts.get(bucket);
+            if (count > 0) {
+                this.counts.addAndGet(bucket, count);
+            }
+        }
+        this.totalCount.add(other.totalCount.sum());
+        this.totalSum.add(other.totalSum.sum());
+        this.max.accumulate(other.max.get());
+    }
+
+    /**
+     * Gets the number of values recorded.
+     *
+     * @return The number of values.
+     */
+    public long getTotalCount() {
+        return this.totalCount.sum();
+    }
+
+    /**
+     * Gets the highest value recorded.
+     *
+     * @return The highest value, or {@code 0} if there are no values.
+     */
+    public long getMax() {
+        return this.max.get();
+    }
+
+    /**
+     * Gets the mean of the values recorded.
+     *
+     * @return The mean, or {@code 0} if there are no values.
+     */
+    public double getMean() {
+        final long count = this.totalCount.sum();
+        return count == 0 ? 0 : (double) this.totalSum.sum() / count;
+    }
+
+    /**
+     * Gets the value below which the given percentage of the recorded values fall.
+     * <p>
+     * The value returned is the highest value of the bucket where the percentile falls (and never above the highest
+     * value recorded), so it is never below the real percentile.
+     *
+     * @param percentile The percentile, in [0, 100].
+     * @return The value at the percentile, or {@code 0} if there are no values.
+     */
+    public long getValueAtPercentile(final double percentile) {
+        Preconditions.checkArgument(percentile >= 0 && percentile <= 100, "the percentile should be in [0, 100]");
+
+        long total = 0;
+        final long[] snapshot = new long[NUMBER_BUCKETS];
+        for (int bucket = 0; bucket < NUMBER_BUCKETS; bucket++) {
+            snapshot[bucket] = this.counts.get(bucket);
+            total += snapshot[bucket];
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        final long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long seen = 0;
+        for (int bucket = 0; bucket < NUMBER_BUCKETS; bucket++) {
+            seen += snapshot[bucket];
+            if (seen >= rank) {
+                return Math.min(bucketUpperBound(bucket), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * Removes all the values recorded.
+     * <p>
+     * Values recorded concurrently with this method may be partially lost.
+     */
+    public void reset() {
+        for (int bucket = 0; bucket < NUMBER_BUCKETS; bucket++) {
+            this.counts.set(bucket, 0);
+        }
+        this.totalCount.reset();
+        this.totalSum.reset();
+        this.max.reset();
+    }
+
+    /**
+     * Computes the index of the bucket of a value.
+     *
+     * @param value The value.
+     * @return The index of the bucket.
+     */
+    static int bucketIndex(final long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        // the bucket is given by the exponent of the value and its SUB_BUCKET_BITS most significant bits
+        final int shift = (Long.SIZE - 1 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+        return (shift << SUB_BUCKET_BITS) + (int) (value >>> shift);
+    }
+
+    /**
+     * Computes the highest value that falls in a bucket.
+     *
+     * @param bucket The index of the bucket.
+     * @return The highest value of the bucket.
+     */
+    static long bucketUpperBound(final int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        final int shift = (bucket >>> SUB_BUCKET_BITS) - 1;
+        final long mantissa = bucket - ((long) shift << SUB_BUCKET_BITS);
+        final long upperBound = ((mantissa + 1) << shift) - 1;
+        // the last bucket would overflow
+        return upperBound < 0 ? Long.MAX_VALUE : upperBound;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("count", getTotalCount())
+                .add("mean", getMean())
+                .add("p50", getValueAtPercentile(50))
+                .add("p99", getValueAtPercentile(99))
+                .add("max", getMax())
+                .toString();
+    }
+}
@@ -0,0 +1,713 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.model;
+
+import com.feedzai.openml.data.Instance;
+import com.feedzai.openml.data.schema.DatasetSchema;
+import com.feedzai.openml.model.ClassificationMLModel;
+import com.feedzai.openml.util.data.ClassificationDatasetSchemaUtil;
+import com.feedzai.openml.util.data.InstanceHasher;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Ticker;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link ClassificationMLModel} that memoises the class distributions computed by another model, so that instances
+ * scored several times (e.g. retries or several enrichment stages of the same event) only pay the cost of the model
+ * once.
+ * <p>
+ * Instances are identified by a 128-bit {@link InstanceHasher hash} of their values. The cache is split in stripes,
+ * each with its own lock, an open-addressing table of primitive keys and an arena (a single {@code double[]}) where
+ * the distributions are stored, so cached entries don't create any objects. Each stripe holds a fixed number of
+ * entries: when full, the oldest entry is evicted, and entries older than the time to live are never returned.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public final class CachingClassificationModel implements ClassificationMLModel {
+
+    /**
+     * The largest number of stripes, so that rounding it up to a power of two doesn't overflow.
+     */
+    private static final int MAX_STRIPES = 1 << 30;
+
+    /**
+     * The largest number of entries of a stripe, whose hash table has twice as many slots, rounded up to a power of
+     * two that should fit in an array.
+     */
+    private static final long MAX_ENTRIES_PER_STRIPE = 1 << 29;
+
+    /**
+     * The largest length of an array that the JVMs allocate.
+     */
+    private static final long MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+    /**
+     * The model whose class distributions are cached.
+     */
+    private final ClassificationMLModel delegate;
+
+    /**
+     * The hasher that computes the keys of the instances.
+     */
+    private final InstanceHasher hasher;
+
+    /**
+     * The number of classes of the distributions.
+     */
+    private final int numberClasses;
+
+    /**
+     * The stripes of the cache.
+     */
+    private final Stripe[] stripes;
+
+    /**
+     * The time after which entries expire, in nanoseconds.
+     */
+    private final long expireAfterWriteNanos;
+
+    /**
+     * The source of time, to expire entries.
+     */
+    private final Ticker ticker;
+
+    /**
+     * Buffer where each thread computes the keys, to avoid allocating one per call.
+     */
+    private final ThreadLocal<long[]> keyBuffer = ThreadLocal.withInitial(() -> new long[2]);
+
+    /**
+     * The number of lookups that found a valid entry.
+     */
+    private final LongAdder hits = new LongAdder();
+
+    /**
+     * The number of lookups that didn't find a valid entry.
+     */
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * The number of entries evicted to make room for others.
+     */
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates a new instance from the given builder.
+     *
+     * @param builder The builder.
+     */
+    private CachingClassificationModel(final Builder builder) {
+        this.delegate = builder.delegate;
+        this.hasher = builder.hasher != null
+                ? builder.hasher
+                : InstanceHasher.builder(builder.delegate.getSchema()).build();
+        this.numberClasses = ClassificationDatasetSchemaUtil.getNumClassValues(builder.delegate.getSchema())
+                .orElseThrow(() -> new IllegalArgumentException("the schema of the model should have a categorical target"));
+        this.expireAfterWriteNanos = builder.expireAfterWriteNanos;
+        this.ticker = builder.ticker;
+
+        final int numberStripes = ceilingPowerOfTwo(builder.stripes);
+        // the bounds were checked by the builder
+        final int entriesPerStripe = (int) entriesPerStripe(builder.maximumSize, numberStripes);
+        this.stripes = new Stripe[numberStripes];
+        for (int stripe = 0; stripe < numberStripes; stripe++) {
+            this.stripes[stripe] = new Stripe(entriesPerStripe, this.numberClasses);
+        }
+    }
+
+    /**
+     * Creates a new builder of a cache of the class distributions of the given model.
+     *
+     * @param delegate The model whose class distributions are cached.
+     * @return The builder.
+     */
+    public static Builder builder(final ClassificationMLModel delegate) {
+        return new Builder(delegate);
+    }
+
+    @Override
+    public double[] getClassDistribution(final Instance instance) {
+        final long[] key = this.keyBuffer.get();
+        this.hasher.hash(instance, key);
+        final Stripe stripe = stripe(key);
+
+        final double[] distribution = new double[this.numberClasses];
+        if (stripe.get(key[0], key[1], this.ticker.read(), this.expireAfterWriteNanos, distribution)) {
+            this.hits.increment();
+            return distribution;
+        }
+
+        this.misses.increment();
+        final double[] computed = this.delegate.getClassDistribution(instance);
+        put(stripe, key, computed);
+        return computed;
+    }
+
+    @Override
+    public void getClassDistributions(final Instance[] instances, final double[][] distributions) {
+        Preconditions.checkNotNull(instances, "instances cannot be null");
+        Preconditions.checkNotNull(distributions, "distributions cannot be null");
+        Preconditions.checkArgument(
+                distributions.length >= instances.length,
+                "the distributions matrix has %s rows, but there are %s instances", distributions.length, instances.length
+        );
+
+        final long now = this.ticker.read();
+        final long[][] keys = new long[instances.length][2];
+        final int[] missedRows = new int[instances.length];
+        int missed = 0;
+        for (int row = 0; row < instances.length; row++) {
+            this.hasher.hash(instances[row], keys[row]);
+            if (stripe(keys[row]).get(keys[row][0], keys[row][1], now, this.expireAfterWriteNanos, distributions[row])) {
+                this.hits.increment();
+            } else {
+                missedRows[missed++] = row;
+            }
+        }
+        this.misses.add(missed);
+        if (missed == 0) {
+            return;
+        }
+
+        // the instances not found are scored together, so the model can still score them in bulk
+        final Instance[] missedInstances = new Instance[missed];
+        final double[][] missedDistributions = new double[missed][];
+        for (int i = 0; i < missed; i++) {
+            missedInstances[i] = instances[missedRows[i]];
+            missedDistributions[i] = distributions[missedRows[i]];
+        }
+        this.delegate.getClassDistributions(missedInstances, missedDistributions);
+        for (int i = 0; i < missed; i++) {
+            put(stripe(keys[missedRows[i]]), keys[missedRows[i]], missedDistributions[i]);
+        }
+    }
+
+    @Override
+    @Deprecated
+    public int classify(final Instance instance) {
+        return this.delegate.classify(instance);
+    }
+
+    @Override
+    public boolean save(final Path dir, final String name) {
+        return this.delegate.save(dir, name);
+    }
+
+    @Override
+    public DatasetSchema getSchema() {
+        return this.delegate.getSchema();
+    }
+
+    @Override
+    public void close() throws Exception {
+        this.delegate.close();
+    }
+
+    /**
+     * Gets the number of lookups that found a valid entry.
+     *
+     * @return The number of hits.
+     */
+    public long getHitCount() {
+        return this.hits.sum();
+    }
+
+    /**
+     * Gets the number of lookups that didn't find a valid entry, and were scored by the model.
+     *
+     * @return The number of misses.
+     */
+    public long getMissCount() {
+        return this.misses.sum();
+    }
+
+    /**
+     * Gets the fraction of the lookups that found a valid entry.
+     *
+     * @return The hit rate, in [0, 1], or {@code 0} if there were no lookups.
+     */
+    public double getHitRate() {
+        final long hitCount = this.hits.sum();
+        final long total = hitCount + this.misses.sum();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    /**
+     * Gets the number of entries evicted to make room for others.
+     *
+     * @return The number of evictions.
+     */
+    public long getEvictionCount() {
+        return this.evictions.sum();
+    }
+
+    /**
+     * Gets the number of entries in the cache, including any expired entries not evicted yet.
+     *
+     * @return The number of entries.
+     */
+    public long getSize() {
+        return Arrays.stream(this.stripes).mapToLong(Stripe::size).sum();
+    }
+
+    /**
+     * Gets the memory used by the arrays of the cache. This is allocated upfront, so it doesn't depend on the number
+     * of entries.
+     *
+     * @return The memory used, in bytes.
+     */
+    public long getMemoryUsageBytes() {
+        return Arrays.stream(this.stripes).mapToLong(Stripe::memoryUsageBytes).sum();
+    }
+
+    /**
+     * Removes all the entries from the cache, e.g. after the underlying model was replaced.
+     */
+    public void invalidateAll() {
+        for (final Stripe stripe : this.stripes) {
+            stripe.clear();
+        }
+    }
+
+    /**
+     * Stores a distribution in the cache, unless its size doesn't match the schema.
+     *
+     * @param stripe       The stripe of the key.
+     * @param key          The key of the instance.
+     * @param distribution The class distribution of the instance.
+     */
+    private void put(final Stripe stripe, final long[] key, final double[] distribution) {
+        if (distribution != null && distribution.length == this.numberClasses
+                && stripe.put(key[0], key[1], this.ticker.read(), distribution)) {
+            this.evictions.increment();
+        }
+    }
+
+    /**
+     * Gets the stripe of a key.
+     *
+     * @param key The key.
+     * @return The stripe.
+     */
+    private Stripe stripe(final long[] key) {
+        return this.stripes[(int) (key[0] >>> 32) & (this.stripes.length - 1)];
+    }
+
+    /**
+     * Computes the number of entries of each stripe, rounding up so that the stripes hold at least the maximum size.
+     *
+     * @param maximumSize   The maximum number of entries in the cache.
+     * @param numberStripes The number of stripes.
+     * @return The number of entries of each stripe.
+     */
+    private static long entriesPerStripe(final long maximumSize, final int numberStripes) {
+        return Math.max(1, maximumSize / numberStripes + (maximumSize % numberStripes == 0 ? 0 : 1));
+    }
+
+    /**
+     * Computes the smallest power of two that is not smaller than the given value.
+     *
+     * @param value The value, which should be positive.
+     * @return The power of two.
+     */
+    private static int ceilingPowerOfTwo(final int value) {
+        return value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("delegate", this.delegate)
+                .add("size", getSize())
+                .add("hitRate", getHitRate())
+                .add("memoryUsageBytes", getMemoryUsageBytes())
+                .toString();
+    }
+
+    /**
+     * A stripe of the cache: a linear-probing hash table of 128-bit keys, with the values stored in an arena.
+     * <p>
+     * The slots of the arena are used in a circular fashion, so when the stripe is full, the new entry replaces the
+     * oldest one.
+     */
+    private static final class Stripe {
+
+        /**
+         * Marks the empty positions of the table and the free slots of the arena.
+         */
+        private static final int EMPTY = -1;
+
+        /**
+         * The high bits of the key in each position of the table.
+         */
+        private final long[] keyHighs;
+
+        /**
+         * The low bits of the key in each position of the table.
+         */
+        private final long[] keyLows;
+
+        /**
+         * The arena slot of the entry in each position of the table, or {@link #EMPTY}.
+         */
+        private final int[] slots;
+
+        /**
+         * The position in the table of the entry in each arena slot, or {@link #EMPTY}.
+         */
+        private final int[] owners;
+
+        /**
+         * The instant each arena slot was written, in nanoseconds.
+         */
+        private final long[] writeTimes;
+
+        /**
+         * The values of the entries, {@link #width} per arena slot.
+         */
+        private final double[] arena;
+
+        /**
+         * The number of values of each entry.
+         */
+        private final int width;
+
+        /**
+         * The mask that maps hashes to positions in the table.
+         */
+        private final int mask;
+
+        /**
+         * The next arena slot to use.
+         */
+        private int nextSlot = 0;
+
+        /**
+         * The number of entries in the stripe.
+         */
+        private int size = 0;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param capacity The maximum number of entries.
+         * @param width    The number of values of each entry.
+         */
+        private Stripe(final int capacity, final int width) {
+            // keeps the load factor at or below 0.5, so probe sequences stay short
+            final int tableSize = ceilingPowerOfTwo(capacity * 2);
+            this.keyHighs = new long[tableSize];
+            this.keyLows = new long[tableSize];
+            this.slots = new int[tableSize];
+            Arrays.fill(this.slots, EMPTY);
+            this.mask = tableSize - 1;
+
+            this.owners = new int[capacity];
+            Arrays.fill(this.owners, EMPTY);
+            this.writeTimes = new long[capacity];
+            this.arena = new double[capacity * width];
+            this.width = width;
+        }
+
+        /**
+         * Looks up an entry, removing it if it expired.
+         *
+         * @param high                  The high bits of the key.
+         * @param low                   The low bits of the key.
+         * @param now                   The current instant, in nanoseconds.
+         * @param expireAfterWriteNanos The time after which entries expire, in nanoseconds.
+         * @param values                The array where to copy the values of the entry, if found.
+         * @return {@code true} if a valid entry was found, {@code false} otherwise.
+         */
+        private synchronized boolean get(final long high,
+                                         final long low,
+                                         final long now,
+                                         final long expireAfterWriteNanos,
+                                         final double[] values) {
+            final int position = find(high, low);
+            if (position == EMPTY) {
+                return false;
+            }
+            final int slot = this.slots[position];
+            if (now - this.writeTimes[slot] > expireAfterWriteNanos) {
+                remove(position);
+                return false;
+            }
+            System.arraycopy(this.arena, slot * this.width, values, 0, this.width);
+            return true;
+        }
+
+        /**
+         * Stores an entry, replacing the existing entry with the same key, if any.
+         *
+         * @param high   The high bits of the key.
+         * @param low    The low bits of the key.
+         * @param now    The current instant, in nanoseconds.
+         * @param values The values of the entry.
+         * @return {@code true} if another entry was evicted to make room for this one, {@code false} otherwise.
+         */
+        private synchronized boolean put(final long high, final long low, final long now, final double[] values) {
+            boolean evicted = false;
+            int position = find(high, low);
+            if (position == EMPTY) {
+                final int slot = this.nextSlot;
+                this.nextSlot = (this.nextSlot + 1) % this.owners.length;
+                if (this.owners[slot] != EMPTY) {
+                    remove(this.owners[slot]);
+                    evicted = true;
+                }
+
+                position = home(low);
+                while (this.slots[position] != EMPTY) {
+                    position = (position + 1) & this.mask;
+                }
+                this.keyHighs[position] = high;
+                this.keyLows[position] = low;
+                this.slots[position] = slot;
+                this.owners[slot] = position;
+                this.size++;
+            }
+
+            final int slot = this.slots[position];
+            System.arraycopy(values, 0, this.arena, slot * this.width, this.width);
+            this.writeTimes[slot] = now;
+            return evicted;
+        }
+
+        /**
+         * Gets the number of entries in the stripe.
+         *
+         * @return The number of entries.
+         */
+        private synchronized int size() {
+            return this.size;
+        }
+
+        /**
+         * Removes all the entries of the stripe.
+         */
+        private synchronized void clear() {
+            Arrays.fill(this.slots, EMPTY);
+            Arrays.fill(this.owners, EMPTY);
+            this.size = 0;
+        }
+
+        /**
+         * Computes the memory used by the arrays of the stripe.
+         *
+         * @return The memory used, in bytes.
+         */
+        private long memoryUsageBytes() {
+            return (long) this.slots.length * (Long.BYTES * 2 + Integer.BYTES)
+                    + (long) this.owners.length * (Integer.BYTES + Long.BYTES)
+                    + (long) this.arena.length * Double.BYTES;
+        }
+
+        /**
+         * Finds the position of a key in the table.
+         *
+         * @param high The high bits of the key.
+         * @param low  The low bits of the key.
+         * @return The position of the key, or {@link #EMPTY} if the key is not in the table.
+         */
+        private int find(final long high, final long low) {
+            int position = home(low);
+            while (this.slots[position] != EMPTY) {
+                if (this.keyHighs[position] == high && this.keyLows[position] == low) {
+                    return position;
+                }
+                position = (position + 1) & this.mask;
+            }
+            return EMPTY;
+        }
+
+        /**
+         * Removes the entry in a position of the table, shifting back the following entries of its probe sequence so
+         * that lookups don't need tombstones.
+         *
+         * @param position The position of the entry.
+         */
+        private void remove(final int position) {
+            this.owners[this.slots[position]] = EMPTY;
+            this.size--;
+
+            int gap = position;
+            int next = position;
+            while (true) {
+                next = (next + 1) & this.mask;
+                if (this.slots[next] == EMPTY) {
+                    break;
+                }
+                final int home = home(this.keyLows[next]);
+                // the entry can move to the gap if its home is not in the cyclic range (gap, next]
+                final boolean canMove = gap <= next
+                        ? home <= gap || home > next
+                        : home <= gap && home > next;
+                if (canMove) {
+                    this.keyHighs[gap] = this.keyHighs[next];
+                    this.keyLows[gap] = this.keyLows[next];
+                    this.slots[gap] = this.slots[next];
+                    this.owners[this.slots[gap]] = gap;
+                    gap = next;
+                }
+            }
+            this.slots[gap] = EMPTY;
+        }
+
+        /**
+         * Computes the initial position of a key in the table.
+         *
+         * @param low The low bits of the key.
+         * @return The position.
+         */
+        private int home(final long low) {
+            return (int) low & this.mask;
+        }
+    }
+
+    /**
+     * Builder of {@link CachingClassificationModel}.
+     */
+    public static final class Builder {
+
+        /**
+         * The model whose class distributions are cached.
+         */
+        private final ClassificationMLModel delegate;
+
+        /**
+         * The hasher that computes the keys of the instances, or {@code null} to hash all the predictive fields.
+         */
+        private InstanceHasher hasher = null;
+
+        /**
+         * The maximum number of entries in the cache.
+         */
+        private long maximumSize = 100_000;
+
+        /**
+         * The number of stripes of the cache.
+         */
+        private int stripes = 16;
+
+        /**
+         * The time after which entries expire, in nanoseconds.
+         */
+        private long expireAfterWriteNanos = TimeUnit.MINUTES.toNanos(1);
+
+        /**
+         * The source of time, to expire entries.
+         */
+        private Ticker ticker = Ticker.systemTicker();
+
+        /**
+         * Creates a new instance.
+         *
+         * @param delegate The model whose class distributions are cached.
+         */
+        private Builder(final ClassificationMLModel delegate) {
+            this.delegate = Preconditions.checkNotNull(delegate, "delegate cannot be null");
+        }
+
+        /**
+         * Sets the hasher that computes the keys of the instances. Defaults to a hasher of the exact values of all
+         * the predictive fields.
+         *
+         * @param hasher The hasher.
+         * @return This builder.
+         */
+        public Builder withHasher(final InstanceHasher hasher) {
+            this.hasher = Preconditions.checkNotNull(hasher, "hasher cannot be null");
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of entries in the cache, which determines its memory usage. Defaults to 100000.
+         *
+         * @param maximumSize The maximum number of entries.
+         * @return This builder.
+         */
+        public Builder withMaximumSize(final long maximumSize) {
+            Preconditions.checkArgument(maximumSize > 0, "the maximum size should be positive");
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        /**
+         * Sets the number of stripes of the cache, rounded up to a power of two. More stripes reduce the contention
+         * between threads. Defaults to 16.
+         *
+         * @param stripes The number of stripes.
+         * @return This builder.
+         */
+        public Builder withStripes(final int stripes) {
+            Preconditions.checkArgument(stripes > 0, "the number of stripes should be positive");
+            Preconditions.checkArgument(stripes <= MAX_STRIPES, "the number of stripes should be at most %s", MAX_STRIPES);
+            this.stripes = stripes;
+            return this;
+        }
+
+        /**
+         * Sets the time after which entries expire. Defaults to 1 minute.
+         *
+         * @param duration The time to live of the entries.
+         * @param unit     The unit of the duration.
+         * @return This builder.
+         */
+        public Builder withExpireAfterWrite(final long duration, final TimeUnit unit) {
+            Preconditions.checkArgument(duration > 0, "the expiration time should be positive");
+            this.expireAfterWriteNanos = unit.toNanos(duration);
+            return this;
+        }
+
+        /**
+         * Sets the source of time used to expire entries. Defaults to {@link Ticker#systemTicker()}.
+         *
+         * @param ticker The ticker.
+         * @return This builder.
+         */
+        public Builder withTicker(final Ticker ticker) {
+            this.ticker = Preconditions.checkNotNull(ticker, "ticker cannot be null");
+            return this;
+        }
+
+        /**
+         * Creates the {@link CachingClassificationModel} with the settings of this builder, allocating the cache.
+         *
+         * @return The caching model.
+         * @throws IllegalArgumentException If the stripes of the cache would be too large to allocate.
+         */
+        public CachingClassificationModel build() {
+            final long entriesPerStripe = entriesPerStripe(this.maximumSize, ceilingPowerOfTwo(this.stripes));
+            final long width = ClassificationDatasetSchemaUtil.getNumClassValues(this.delegate.getSchema()).orElse(1);
+            Preconditions.checkArgument(
+                    entriesPerStripe <= MAX_ENTRIES_PER_STRIPE && entriesPerStripe * width <= MAX_ARRAY_LENGTH,
+                    "the maximum size %s is too large for %s stripes, use more stripes or a smaller size",
+                    this.maximumSize, this.stripes
+            );
+            return new CachingClassificationModel(this);
+        }
+    }
+}
@@ -0,0 +1,568 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.model;
+
+import com.feedzai.openml.data.Instance;
+import com.feedzai.openml.data.schema.DatasetSchema;
+import com.feedzai.openml.model.ClassificationMLModel;
+import com.feedzai.openml.util.metrics.LatencyHistogram;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link ClassificationMLModel} that enforces a deadline on each call to {@link #getClassDistribution(Instance)} of
+ * another model, answering with a fallback when the deadline passes.
+ * <p>
+ * The calls to the wrapped model run on a dedicated pool with a fixed number of threads and a bounded queue. A call
+ * that misses its deadline is cancelled (its worker is interrupted) and the result of the fallback model, or the
+ * default distribution, is returned instead, as it is for a call where the model fails. Calls are also answered by the
+ * fallback right away when the pool is saturated, so a stalled model can never make the pool grow.
+ * <p>
+ * The values of each instance are copied before the call is handed to the pool, as a call that timed out may still
+ * read them after the caller has returned with the fallback and reused or modified the instance.
+ * <p>
+ * The latency of the calls that timed out is measured from when their worker started scoring until it was released,
+ * which shows how long the slow calls actually hold the pool; calls cancelled before they started are not measured.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public final class DeadlineClassificationModel implements ClassificationMLModel {
+
+    /**
+     * Logger for this class.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(DeadlineClassificationModel.class);
+
+    /**
+     * The model whose calls are bounded.
+     */
+    private final ClassificationMLModel model;
+
+    /**
+     * The model scored when the deadline passes, or {@code null} to use the {@link #defaultDistribution}.
+     */
+    private final ClassificationMLModel fallbackModel;
+
+    /**
+     * The distribution returned when the deadline passes and there is no {@link #fallbackModel}.
+     */
+    private final double[] defaultDistribution;
+
+    /**
+     * The deadline of each call, in nanoseconds.
+     */
+    private final long deadlineNanos;
+
+    /**
+     * Copies the instances scored on the pool, which the caller may modify after the deadline passes.
+     */
+    private final InstanceSnapshots snapshots;
+
+    /**
+     * The maximum time to wait for the calls in progress when closing, in nanoseconds.
+     */
+    private final long closeTimeoutNanos;
+
+    /**
+     * The dedicated pool where the calls to the model run.
+     */
+    private final ThreadPoolExecutor pool;
+
+    /**
+     * The latency of all the calls, as seen by the callers, in nanoseconds.
+     */
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    /**
+     * The time the calls that timed out held a worker, in nanoseconds.
+     */
+    private final LatencyHistogram timedOutLatency = new LatencyHistogram();
+
+    /**
+     * The number of calls.
+     */
+    private final LongAdder calls = new LongAdder();
+
+    /**
+     * The number of calls that missed the deadline.
+     */
+    private final LongAdder timeouts = new LongAdder();
+
+    /**
+     * The number of calls where the model failed.
+     */
+    private final LongAdder failures = new LongAdder();
+
+    /**
+     * The number of calls answered by the fallback because the pool was saturated.
+     */
+    private final LongAdder rejections = new LongAdder();
+
+    /**
+     * Creates a new instance from the given builder.
+     *
+     * @param builder The builder.
+     */
+    private DeadlineClassificationModel(final Builder builder) {
+        Preconditions.checkArgument(
+                builder.fallbackModel != null || builder.defaultDistribution != null,
+                "either a fallback model or a default distribution should be given"
+        );
+
+        this.model = builder.model;
+        this.fallbackModel = builder.fallbackModel;
+        this.defaultDistribution = builder.defaultDistribution;
+        this.deadlineNanos = builder.deadlineNanos;
+        this.snapshots = new InstanceSnapshots(this.model.getSchema());
+        this.closeTimeoutNanos = builder.closeTimeoutNanos;
+        this.pool = new ThreadPoolExecutor(
+                builder.threads,
+                builder.threads,
+                0,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(builder.queueCapacity),
+                new ThreadFactoryBuilder().setNameFormat("openml-deadline-scoring-%d").setDaemon(true).build(),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    /**
+     * Creates a new builder of a deadline wrapper of the given model.
+     *
+     * @param model The model whose calls are bounded.
+     * @return The builder.
+     */
+    public static Builder builder(final ClassificationMLModel model) {
+        return new Builder(model);
+    }
+
+    @Override
+    public double[] getClassDistribution(final Instance instance) {
+        final long start = System.nanoTime();
+        this.calls.increment();
+        try {
+            final TimedCall call = new TimedCall(new Scoring(this.snapshots.snapshot(instance)));
+            try {
+                this.pool.execute(call);
+            } catch (final RejectedExecutionException e) {
+                this.rejections.increment();
+                return fallback(instance);
+            }
+
+            try {
+                return call.get(this.deadlineNanos, TimeUnit.NANOSECONDS);
+            } catch (final TimeoutException e) {
+                this.timeouts.increment();
+                call.timeOut();
+                return fallback(instance);
+            } catch (final ExecutionException e) {
+                this.failures.increment();
+                logger.debug("The model failed to score an instance", e.getCause());
+                return fallback(instance);
+            } catch (final InterruptedException e) {
+                call.cancel(true);
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the model", e);
+            }
+        } finally {
+            this.latency.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    @Deprecated
+    public int classify(final Instance instance) {
+        final double[] distribution = getClassDistribution(instance);
+        int best = 0;
+        for (int classIndex = 1; classIndex < distribution.length; classIndex++) {
+            if (distribution[classIndex] > distribution[best]) {
+                best = classIndex;
+            }
+        }
+        return best;
+    }
+
+    @Override
+    public boolean save(final Path dir, final String name) {
+        return this.model.save(dir, name);
+    }
+
+    @Override
+    public DatasetSchema getSchema() {
+        return this.model.getSchema();
+    }
+
+    /**
+     * Stops the pool, interrupting the calls in progress, and closes the models.
+     * <p>
+     * The bounded model is only closed once the pool has stopped: if a call is still inside the model after the
+     * {@link Builder#withCloseTimeout close timeout} (e.g. because the model ignores interruptions), the model is left
+     * open, as closing it could break that call.
+     *
+     * @throws Exception If any of the models fails to close.
+     */
+    @Override
+    public void close() throws Exception {
+        this.pool.shutdownNow();
+        boolean terminated;
+        try {
+            terminated = this.pool.awaitTermination(this.closeTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            terminated = false;
+        }
+
+        try {
+            if (terminated) {
+                this.model.close();
+            } else {
+                logger.warn("The deadline scoring workers didn't stop in time, so the bounded model is left open");
+            }
+        } finally {
+            if (this.fallbackModel != null) {
+                this.fallbackModel.close();
+            }
+        }
+    }
+
+    /**
+     * Gets the latency of all the calls, as seen by the callers, including the ones answered by the fallback.
+     *
+     * @return The latency histogram, in nanoseconds.
+     */
+    public LatencyHistogram getLatency() {
+        return this.latency;
+    }
+
+    /**
+     * Gets the time the calls that missed the deadline held a worker of the pool, until they finished or reacted to
+     * being cancelled.
+     *
+     * @return The latency histogram, in nanoseconds.
+     */
+    public LatencyHistogram getTimedOutLatency() {
+        return this.timedOutLatency;
+    }
+
+    /**
+     * Gets the number of calls.
+     *
+     * @return The number of calls.
+     */
+    public long getCallCount() {
+        return this.calls.sum();
+    }
+
+    /**
+     * Gets the number of calls that missed the deadline.
+     *
+     * @return The number of timeouts.
+     */
+    public long getTimeoutCount() {
+        return this.timeouts.sum();
+    }
+
+    /**
+     * Gets the number of calls answered by the fallback because the model failed.
+     *
+     * @return The number of failed calls.
+     */
+    public long getFailureCount() {
+        return this.failures.sum();
+    }
+
+    /**
+     * Gets the number of calls answered by the fallback because all the workers were busy and the queue was full.
+     *
+     * @return The number of rejected calls.
+     */
+    public long getRejectedCount() {
+        return this.rejections.sum();
+    }
+
+    /**
+     * Answers a call with the fallback model or the default distribution.
+     *
+     * @param instance The instance.
+     * @return The fallback distribution.
+     */
+    private double[] fallback(final Instance instance) {
+        return this.fallbackModel != null
+                ? this.fallbackModel.getClassDistribution(instance)
+                : this.defaultDistribution.clone();
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("model", this.model)
+                .add("deadlineNanos", this.deadlineNanos)
+                .add("fallbackModel", this.fallbackModel)
+                .add("timeouts", getTimeoutCount())
+                .toString();
+    }
+
+    /**
+     * A call to the model, that can be timed out by the caller.
+     */
+    private final class TimedCall extends FutureTask<double[]> {
+
+        /**
+         * The scoring of the instance run by this call.
+         */
+        private final Scoring scoring;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param scoring The scoring of the instance.
+         */
+        private TimedCall(final Scoring scoring) {
+            super(scoring);
+            this.scoring = scoring;
+        }
+
+        /**
+         * Marks this call as timed out and cancels it, interrupting its worker if it already started.
+         */
+        private void timeOut() {
+            this.scoring.timeOut();
+            cancel(true);
+            // removes the call from the queue if it did not start yet, so that it doesn't hold a slot
+            DeadlineClassificationModel.this.pool.remove(this);
+        }
+    }
+
+    /**
+     * The scoring of an instance by the model, that records how long it held its worker if it timed out.
+     * <p>
+     * The caller timing out and the worker finishing can happen in any order, so each of them sets its flag and the
+     * last one records the latency, exactly once. A scoring that never started doesn't finish, so it is not recorded.
+     */
+    private final class Scoring implements Callable<double[]> {
+
+        /**
+         * Flag set when the caller stopped waiting for the scoring.
+         */
+        private static final int TIMED_OUT = 1;
+
+        /**
+         * Flag set when the worker finished the scoring.
+         */
+        private static final int FINISHED = 2;
+
+        /**
+         * The copy of the instance to score.
+         */
+        private final Instance instance;
+
+        /**
+         * The {@link #TIMED_OUT} and {@link #FINISHED} flags.
+         */
+        private final AtomicInteger state = new AtomicInteger();
+
+        /**
+         * The time the scoring held its worker, in nanoseconds, set before the {@link #FINISHED} flag.
+         */
+        private long heldNanos;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param instance The copy of the instance to score.
+         */
+        private Scoring(final Instance instance) {
+            this.instance = instance;
+        }
+
+        @Override
+        public double[] call() {
+            final long start = System.nanoTime();
+            try {
+                return DeadlineClassificationModel.this.model.getClassDistribution(this.instance);
+            } finally {
+                this.heldNanos = System.nanoTime() - start;
+                if ((this.state.getAndAccumulate(FINISHED, (flags, flag) -> flags | flag) & TIMED_OUT) != 0) {
+                    DeadlineClassificationModel.this.timedOutLatency.record(this.heldNanos);
+                }
+            }
+        }
+
+        /**
+         * Marks the scoring as timed out, recording its latency if the worker already finished it.
+         */
+        private void timeOut() {
+            if ((this.state.getAndAccumulate(TIMED_OUT, (flags, flag) -> flags | flag) & FINISHED) != 0) {
+                DeadlineClassificationModel.this.timedOutLatency.record(this.heldNanos);
+            }
+        }
+    }
+
+    /**
+     * Builder of {@link DeadlineClassificationModel}.
+     */
+    public static final class Builder {
+
+        /**
+         * The model whose calls are bounded.
+         */
+        private final ClassificationMLModel model;
+
+        /**
+         * The model scored when the deadline passes.
+         */
+        private ClassificationMLModel fallbackModel = null;
+
+        /**
+         * The distribution returned when the deadline passes.
+         */
+        private double[] defaultDistribution = null;
+
+        /**
+         * The deadline of each call, in nanoseconds.
+         */
+        private long deadlineNanos = TimeUnit.MILLISECONDS.toNanos(50);
+
+        /**
+         * The number of threads of the pool.
+         */
+        private int threads = Runtime.getRuntime().availableProcessors();
+
+        /**
+         * The maximum number of calls waiting for a worker.
+         */
+        private int queueCapacity = 1024;
+
+        /**
+         * The maximum time to wait for the calls in progress when closing, in nanoseconds.
+         */
+        private long closeTimeoutNanos = TimeUnit.SECONDS.toNanos(1);
+
+        /**
+         * Creates a new instance.
+         *
+         * @param model The model whose calls are bounded.
+         */
+        private Builder(final ClassificationMLModel model) {
+            this.model = Preconditions.checkNotNull(model, "model cannot be null");
+        }
+
+        /**
+         * Sets the deadline of each call, measured from when it is made. Defaults to 50 milliseconds.
+         *
+         * @param deadline The deadline.
+         * @param unit     The unit of the deadline.
+         * @return This builder.
+         */
+        public Builder withDeadline(final long deadline, final TimeUnit unit) {
+            Preconditions.checkArgument(deadline > 0, "the deadline should be positive");
+            this.deadlineNanos = Preconditions.checkNotNull(unit, "unit cannot be null").toNanos(deadline);
+            return this;
+        }
+
+        /**
+         * Sets the model scored, in the calling thread, when the deadline passes or the bounded model fails. It should
+         * be much cheaper than the bounded model.
+         *
+         * @param fallbackModel The fallback model.
+         * @return This builder.
+         */
+        public Builder withFallbackModel(final ClassificationMLModel fallbackModel) {
+            this.fallbackModel = Preconditions.checkNotNull(fallbackModel, "fallback model cannot be null");
+            return this;
+        }
+
+        /**
+         * Sets the distribution returned when the deadline passes or the bounded model fails, and there is no fallback
+         * model.
+         *
+         * @param defaultDistribution The default class distribution.
+         * @return This builder.
+         */
+        public Builder withDefaultDistribution(final double[] defaultDistribution) {
+            Preconditions.checkNotNull(defaultDistribution, "default distribution cannot be null");
+            this.defaultDistribution = defaultDistribution.clone();
+            return this;
+        }
+
+        /**
+         * Sets the number of threads of the dedicated pool. Defaults to the number of available processors.
+         *
+         * @param threads The number of threads.
+         * @return This builder.
+         */
+        public Builder withThreads(final int threads) {
+            Preconditions.checkArgument(threads > 0, "the number of threads should be positive");
+            this.threads = threads;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of calls waiting for a worker; further calls are answered by the fallback. Defaults
+         * to 1024.
+         *
+         * @param queueCapacity The capacity of the queue.
+         * @return This builder.
+         */
+        public Builder withQueueCapacity(final int queueCapacity) {
+            Preconditions.checkArgument(queueCapacity > 0, "the queue capacity should be positive");
+            this.queueCapacity = queueCapacity;
+            return this;
+        }
+
+        /**
+         * Sets the time to wait for the calls in progress to react to their interruption when closing; if they don't,
+         * the bounded model is not closed. Defaults to 1 second.
+         *
+         * @param timeout The time to wait.
+         * @param unit    The unit of the time.
+         * @return This builder.
+         */
+        public Builder withCloseTimeout(final long timeout, final TimeUnit unit) {
+            Preconditions.checkArgument(timeout >= 0, "the close timeout should not be negative");
+            this.closeTimeoutNanos = Preconditions.checkNotNull(unit, "unit cannot be null").toNanos(timeout);
+            return this;
+        }
+
+        /**
+         * Creates the {@link DeadlineClassificationModel} with the settings of this builder.
+         *
+         * @return The deadline wrapper.
+         */
+        public DeadlineClassificationModel build() {
+            return new DeadlineClassificationModel(this);
+        }
+    }
+}
@@ -0,0 +1,597 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.model;
+
+import com.feedzai.openml.data.Instance;
+import com.feedzai.openml.data.schema.DatasetSchema;
+import com.feedzai.openml.model.ClassificationMLModel;
+import com.feedzai.openml.util.data.ClassificationDatasetSchemaUtil;
+import com.feedzai.openml.util.metrics.LatencyHistogram;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A {@link ClassificationMLModel} that combines the class distributions of several member models that share the same
+ * {@link DatasetSchema}, e.g. a tree ensemble and a neural network loaded by different providers.
+ * <p>
+ * The members are scored concurrently on an executor, if one is given, or sequentially otherwise. With a latency
+ * budget, members that are not done when the budget runs out are skipped (and cancelled, when running concurrently),
+ * and the distribution is combined from the members that were scored. The first member is always scored in the
+ * calling thread and never skipped, so there is always a result.
+ * <p>
+ * The distributions are combined according to the {@link CombinationStrategy}. The scoring latency of each member is
+ * recorded in its own {@link LatencyHistogram}.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public final class EnsembleClassificationModel implements ClassificationMLModel {
+
+    /**
+     * Logger for this class.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(EnsembleClassificationModel.class);
+
+    /**
+     * How the class distributions of the members are combined.
+     */
+    public enum CombinationStrategy {
+
+        /**
+         * The weighted average of the distributions of the members.
+         */
+        WEIGHTED_AVERAGE,
+
+        /**
+         * The highest probability of each class among the members, normalised so that the distribution adds up to 1.
+         */
+        MAX,
+
+        /**
+         * The distribution computed by a meta-model from the distributions of the members. The meta-model receives an
+         * instance whose field {@code m * numberClasses + c} is the probability of class {@code c} given by member
+         * {@code m}, or {@link Double#NaN} if the member was skipped; any fields after those (e.g. the target of the
+         * meta-model) are missing.
+         */
+        STACKED
+    }
+
+    /**
+     * The schema shared by all the members.
+     */
+    private final DatasetSchema schema;
+
+    /**
+     * The member models.
+     */
+    private final List<ClassificationMLModel> members;
+
+    /**
+     * The weight of each member, used by {@link CombinationStrategy#WEIGHTED_AVERAGE}.
+     */
+    private final double[] weights;
+
+    /**
+     * How the distributions of the members are combined.
+     */
+    private final CombinationStrategy strategy;
+
+    /**
+     * The meta-model used by {@link CombinationStrategy#STACKED}, or {@code null}.
+     */
+    private final ClassificationMLModel stackedModel;
+
+    /**
+     * The executor where the members are scored concurrently, or {@code null} to score them sequentially.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * The maximum time to wait for the members, in nanoseconds, or {@code 0} to wait for all of them.
+     */
+    private final long latencyBudgetNanos;
+
+    /**
+     * The number of classes of the distributions.
+     */
+    private final int numberClasses;
+
+    /**
+     * The scoring latency of each member, in nanoseconds.
+     */
+    private final List<LatencyHistogram> memberLatencies;
+
+    /**
+     * The number of times each member was skipped because the latency budget ran out.
+     */
+    private final AtomicLongArray skipped;
+
+    /**
+     * Creates a new instance from the given builder.
+     *
+     * @param builder The builder.
+     */
+    private EnsembleClassificationModel(final Builder builder) {
+        Preconditions.checkArgument(!builder.members.isEmpty(), "the ensemble should have at least one member");
+        Preconditions.checkArgument(
+                builder.strategy != CombinationStrategy.STACKED || builder.stackedModel != null,
+                "the stacked strategy requires a meta-model"
+        );
+
+        this.schema = builder.schema;
+        this.members = ImmutableList.copyOf(builder.members);
+        this.weights = builder.weights.stream().mapToDouble(Double::doubleValue).toArray();
+        this.strategy = builder.strategy;
+        this.stackedModel = builder.stackedModel;
+        this.executor = builder.executor;
+        this.latencyBudgetNanos = builder.latencyBudgetNanos;
+        this.numberClasses = ClassificationDatasetSchemaUtil.getNumClassValues(this.schema)
+                .orElseThrow(() -> new IllegalArgumentException("the schema of the ensemble should have a categorical target"));
+
+        final ImmutableList.Builder<LatencyHistogram> latencies = ImmutableList.builder();
+        for (int member = 0; member < this.members.size(); member++) {
+            latencies.add(new LatencyHistogram());
+        }
+        this.memberLatencies = latencies.build();
+        this.skipped = new AtomicLongArray(this.members.size());
+    }
+
+    /**
+     * Creates a new builder of an ensemble of models with the given schema.
+     *
+     * @param schema The schema shared by all the members.
+     * @return The builder.
+     */
+    public static Builder builder(final DatasetSchema schema) {
+        return new Builder(schema);
+    }
+
+    @Override
+    public double[] getClassDistribution(final Instance instance) {
+        final double[][] memberDistributions = new double[this.members.size()][];
+        if (this.executor == null) {
+            scoreSequentially(instance, memberDistributions);
+        } else {
+            scoreConcurrently(instance, memberDistributions);
+        }
+        return combine(memberDistributions);
+    }
+
+    @Override
+    @Deprecated
+    public int classify(final Instance instance) {
+        final double[] distribution = getClassDistribution(instance);
+        int best = 0;
+        for (int classIndex = 1; classIndex < distribution.length; classIndex++) {
+            if (distribution[classIndex] > distribution[best]) {
+                best = classIndex;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * An ensemble is assembled at runtime from models loaded by their own providers, so it cannot be saved as a
+     * single model: the members should be saved instead.
+     *
+     * @param dir  The path to a directory where to save the model.
+     * @param name The name of the model.
+     * @return {@code false}, always.
+     */
+    @Override
+    public boolean save(final Path dir, final String name) {
+        return false;
+    }
+
+    @Override
+    public DatasetSchema getSchema() {
+        return this.schema;
+    }
+
+    @Override
+    public void close() throws Exception {
+        Exception failure = null;
+        final List<ClassificationMLModel> toClose = new ArrayList<>(this.members);
+        if (this.stackedModel != null) {
+            toClose.add(this.stackedModel);
+        }
+        for (final ClassificationMLModel model : toClose) {
+            try {
+                model.close();
+            } catch (final Exception e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Gets the member models, in the order they were added.
+     *
+     * @return The members.
+     */
+    public List<ClassificationMLModel> getMembers() {
+        return this.members;
+    }
+
+    /**
+     * Gets the scoring latency of a member, in nanoseconds. Skipped members are not included.
+     *
+     * @param member The index of the member, in the order they were added.
+     * @return The latency histogram of the member.
+     */
+    public LatencyHistogram getMemberLatency(final int member) {
+        return this.memberLatencies.get(member);
+    }
+
+    /**
+     * Gets the number of times a member was skipped because the latency budget ran out.
+     *
+     * @param member The index of the member, in the order they were added.
+     * @return The number of times the member was skipped.
+     */
+    public long getSkippedCount(final int member) {
+        return this.skipped.get(member);
+    }
+
+    /**
+     * Scores the members one after the other in the calling thread, skipping the remaining ones once the latency
+     * budget runs out.
+     *
+     * @param instance            The instance to score.
+     * @param memberDistributions The array where to put the distribution of each member.
+     */
+    private void scoreSequentially(final Instance instance, final double[][] memberDistributions) {
+        final long start = System.nanoTime();
+        for (int member = 0; member < memberDistributions.length; member++) {
+            if (member > 0 && this.latencyBudgetNanos > 0 && System.nanoTime() - start >= this.latencyBudgetNanos) {
+                this.skipped.incrementAndGet(member);
+                continue;
+            }
+            memberDistributions[member] = scoreMember(member, instance);
+        }
+    }
+
+    /**
+     * Scores the members concurrently: the first one in the calling thread and the others in the executor, waiting
+     * for them at most until the latency budget runs out.
+     *
+     * @param instance            The instance to score.
+     * @param memberDistributions The array where to put the distribution of each member.
+     */
+    private void scoreConcurrently(final Instance instance, final double[][] memberDistributions) {
+        final long start = System.nanoTime();
+        final List<Future<double[]>> futures = new ArrayList<>(memberDistributions.length - 1);
+        for (int member = 1; member < memberDistributions.length; member++) {
+            final int memberIndex = member;
+            futures.add(this.executor.submit(() -> scoreMember(memberIndex, instance)));
+        }
+
+        try {
+            memberDistributions[0] = scoreMember(0, instance);
+        } catch (final RuntimeException e) {
+            futures.forEach(pending -> pending.cancel(true));
+            throw e;
+        }
+
+        for (int member = 1; member < memberDistributions.length; member++) {
+            final Future<double[]> future = futures.get(member - 1);
+            try {
+                if (this.latencyBudgetNanos > 0) {
+                    final long remaining = this.latencyBudgetNanos - (System.nanoTime() - start);
+                    memberDistributions[member] = future.get(Math.max(remaining, 0), TimeUnit.NANOSECONDS);
+                } else {
+                    memberDistributions[member] = future.get();
+                }
+            } catch (final TimeoutException e) {
+                future.cancel(true);
+                this.skipped.incrementAndGet(member);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.forEach(pending -> pending.cancel(true));
+                throw new IllegalStateException("Interrupted while scoring the members of the ensemble", e);
+            } catch (final ExecutionException e) {
+                futures.forEach(pending -> pending.cancel(true));
+                Throwables.throwIfUnchecked(e.getCause());
+                throw new IllegalStateException("Member " + member + " of the ensemble failed", e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Scores a member, recording its latency.
+     *
+     * @param member   The index of the member.
+     * @param instance The instance to score.
+     * @return The class distribution of the member.
+     * @throws IllegalStateException If the member doesn't return a distribution with one value per class.
+     */
+    private double[] scoreMember(final int member, final Instance instance) {
+        final long start = System.nanoTime();
+        final double[] distribution = this.members.get(member).getClassDistribution(instance);
+        this.memberLatencies.get(member).record(System.nanoTime() - start);
+        if (distribution == null || distribution.length != this.numberClasses) {
+            throw new IllegalStateException(String.format(
+                    "Member %d of the ensemble returned a distribution with %s classes, but the schema has %d",
+                    member, distribution == null ? "no" : distribution.length, this.numberClasses
+            ));
+        }
+        return distribution;
+    }
+
+    /**
+     * Combines the distributions of the members according to the strategy.
+     *
+     * @param memberDistributions The distribution of each member, with one value per class, or {@code null} for the
+     *                            skipped members.
+     * @return The combined distribution.
+     */
+    private double[] combine(final double[][] memberDistributions) {
+        final double[] combined = new double[this.numberClasses];
+
+        switch (this.strategy) {
+            case WEIGHTED_AVERAGE:
+                double totalWeight = 0;
+                for (int member = 0; member < memberDistributions.length; member++) {
+                    if (memberDistributions[member] != null) {
+                        totalWeight += this.weights[member];
+                        for (int classIndex = 0; classIndex < this.numberClasses; classIndex++) {
+                            combined[classIndex] += this.weights[member] * memberDistributions[member][classIndex];
+                        }
+                    }
+                }
+                // the first member is never skipped, so this only fails if scoring it was somehow bypassed
+                Preconditions.checkState(totalWeight > 0, "no member of the ensemble answered");
+                for (int classIndex = 0; classIndex < this.numberClasses; classIndex++) {
+                    combined[classIndex] /= totalWeight;
+                }
+                return combined;
+
+            case MAX:
+                double total = 0;
+                for (int classIndex = 0; classIndex < this.numberClasses; classIndex++) {
+                    for (final double[] distribution : memberDistributions) {
+                        if (distribution != null) {
+                            combined[classIndex] = Math.max(combined[classIndex], distribution[classIndex]);
+                        }
+                    }
+                    total += combined[classIndex];
+                }
+                if (total > 0) {
+                    for (int classIndex = 0; classIndex < this.numberClasses; classIndex++) {
+                        combined[classIndex] /= total;
+                    }
+                }
+                return combined;
+
+            case STACKED:
+                final double[] features = new double[memberDistributions.length * this.numberClasses];
+                for (int member = 0; member < memberDistributions.length; member++) {
+                    for (int classIndex = 0; classIndex < this.numberClasses; classIndex++) {
+                        features[member * this.numberClasses + classIndex] = memberDistributions[member] == null
+                                ? Double.NaN
+                                : memberDistributions[member][classIndex];
+                    }
+                }
+                return this.stackedModel.getClassDistribution(new StackedInstance(features));
+
+            default:
+                logger.error("Unknown combination strategy {}", this.strategy);
+                throw new IllegalStateException("Unknown combination strategy " + this.strategy);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("members", this.members)
+                .add("strategy", this.strategy)
+                .add("concurrent", this.executor != null)
+                .add("latencyBudgetNanos", this.latencyBudgetNanos)
+                .toString();
+    }
+
+    /**
+     * The instance given to the meta-model of the {@link CombinationStrategy#STACKED stacked} strategy.
+     */
+    private static final class StackedInstance implements Instance {
+
+        /**
+         * The probabilities given by the members, member by member.
+         */
+        private final double[] features;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param features The probabilities given by the members, member by member.
+         */
+        private StackedInstance(final double[] features) {
+            this.features = features;
+        }
+
+        @Override
+        public double getValue(final int index) {
+            return index < this.features.length ? this.features[index] : Double.NaN;
+        }
+
+        @Override
+        public String getStringValue(final int index) {
+            return null;
+        }
+    }
+
+    /**
+     * Builder of {@link EnsembleClassificationModel}.
+     */
+    public static final class Builder {
+
+        /**
+         * The schema shared by all the members.
+         */
+        private final DatasetSchema schema;
+
+        /**
+         * The member models.
+         */
+        private final List<ClassificationMLModel> members = new ArrayList<>();
+
+        /**
+         * The weight of each member.
+         */
+        private final List<Double> weights = new ArrayList<>();
+
+        /**
+         * How the distributions of the members are combined.
+         */
+        private CombinationStrategy strategy = CombinationStrategy.WEIGHTED_AVERAGE;
+
+        /**
+         * The meta-model used by {@link CombinationStrategy#STACKED}.
+         */
+        private ClassificationMLModel stackedModel = null;
+
+        /**
+         * The executor where the members are scored concurrently.
+         */
+        private ExecutorService executor = null;
+
+        /**
+         * The maximum time to wait for the members, in nanoseconds.
+         */
+        private long latencyBudgetNanos = 0;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param schema The schema shared by all the members.
+         */
+        private Builder(final DatasetSchema schema) {
+            this.schema = Preconditions.checkNotNull(schema, "schema cannot be null");
+        }
+
+        /**
+         * Adds a member with weight 1.
+         *
+         * @param member The member model.
+         * @return This builder.
+         */
+        public Builder withMember(final ClassificationMLModel member) {
+            return withMember(member, 1);
+        }
+
+        /**
+         * Adds a member with the given weight.
+         *
+         * @param member The member model, whose schema should be the schema of the ensemble.
+         * @param weight The weight of the member in the {@link CombinationStrategy#WEIGHTED_AVERAGE weighted average}.
+         * @return This builder.
+         */
+        public Builder withMember(final ClassificationMLModel member, final double weight) {
+            Preconditions.checkNotNull(member, "member cannot be null");
+            Preconditions.checkArgument(weight > 0, "the weight should be positive");
+            Preconditions.checkArgument(
+                    this.schema.equals(member.getSchema()),
+                    "the schema of the member %s is different from the schema of the ensemble", member
+            );
+            this.members.add(member);
+            this.weights.add(weight);
+            return this;
+        }
+
+        /**
+         * Sets how the distributions of the members are combined. Defaults to
+         * {@link CombinationStrategy#WEIGHTED_AVERAGE}.
+         *
+         * @param strategy The strategy.
+         * @return This builder.
+         */
+        public Builder withStrategy(final CombinationStrategy strategy) {
+            this.strategy = Preconditions.checkNotNull(strategy, "strategy cannot be null");
+            return this;
+        }
+
+        /**
+         * Combines the distributions of the members with a meta-model, as described in
+         * {@link CombinationStrategy#STACKED}.
+         *
+         * @param stackedModel The meta-model.
+         * @return This builder.
+         */
+        public Builder withStackedModel(final ClassificationMLModel stackedModel) {
+            this.stackedModel = Preconditions.checkNotNull(stackedModel, "stackedModel cannot be null");
+            this.strategy = CombinationStrategy.STACKED;
+            return this;
+        }
+
+        /**
+         * Scores the members concurrently in the given executor. The executor is not shut down by the ensemble.
+         *
+         * @param executor The executor.
+         * @return This builder.
+         */
+        public Builder withExecutor(final ExecutorService executor) {
+            this.executor = Preconditions.checkNotNull(executor, "executor cannot be null");
+            return this;
+        }
+
+        /**
+         * Sets the maximum time to wait for the members: those not done when it runs out are skipped. By default, all
+         * the members are always scored.
+         *
+         * @param budget The latency budget.
+         * @param unit   The unit of the budget.
+         * @return This builder.
+         */
+        public Builder withLatencyBudget(final long budget, final TimeUnit unit) {
+            Preconditions.checkArgument(budget > 0, "the latency budget should be positive");
+            this.latencyBudgetNanos = unit.toNanos(budget);
+            return this;
+        }
+
+        /**
+         * Creates the {@link EnsembleClassificationModel} with the settings of this builder.
+         *
+         * @return The ensemble.
+         */
+        public EnsembleClassificationModel build() {
+            return new EnsembleClassificationModel(this);
+        }
+    }
+}
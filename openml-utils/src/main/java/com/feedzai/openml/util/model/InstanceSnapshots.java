@@ -0,0 +1,111 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.model;
+
+import com.feedzai.openml.data.Instance;
+import com.feedzai.openml.data.schema.DatasetSchema;
+import com.feedzai.openml.data.schema.FieldSchema;
+import com.feedzai.openml.data.schema.StringValueSchema;
+
+/**
+ * Copies the values of instances of a schema, for wrappers that score them on other threads after the caller has
+ * returned: callers can then reuse or modify their instances (e.g. pooled buffers or views over the rows of a dataset)
+ * without affecting the copies.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+final class InstanceSnapshots {
+
+    /**
+     * Whether each field, by index, is a string field.
+     */
+    private final boolean[] stringFields;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param schema The schema of the instances copied.
+     */
+    InstanceSnapshots(final DatasetSchema schema) {
+        this.stringFields = new boolean[schema.getFieldSchemas().size()];
+        for (final FieldSchema field : schema.getFieldSchemas()) {
+            this.stringFields[field.getFieldIndex()] = field.getValueSchema() instanceof StringValueSchema;
+        }
+    }
+
+    /**
+     * Copies the values of an instance.
+     *
+     * @param instance The instance.
+     * @return The copy.
+     */
+    Instance snapshot(final Instance instance) {
+        final double[] values = new double[this.stringFields.length];
+        String[] strings = null;
+        for (int field = 0; field < this.stringFields.length; field++) {
+            if (this.stringFields[field]) {
+                if (strings == null) {
+                    strings = new String[this.stringFields.length];
+                }
+                strings[field] = instance.getStringValue(field);
+            } else {
+                values[field] = instance.getValue(field);
+            }
+        }
+        return new SnapshotInstance(values, strings);
+    }
+
+    /**
+     * A copy of the values of an instance.
+     */
+    private static final class SnapshotInstance implements Instance {
+
+        /**
+         * The values of the numeric and categorical fields, by field index.
+         */
+        private final double[] values;
+
+        /**
+         * The values of the string fields, by field index, or {@code null} if there are no string fields.
+         */
+        private final String[] strings;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param values  The values of the numeric and categorical fields, by field index.
+         * @param strings The values of the string fields, by field index, or {@code null} if there are none.
+         */
+        private SnapshotInstance(final double[] values, final String[] strings) {
+            this.values = values;
+            this.strings = strings;
+        }
+
+        @Override
+        public double getValue(final int index) {
+            return this.values[index];
+        }
+
+        @Override
+        public String getStringValue(final int index) {
+            return this.strings == null ? null : this.strings[index];
+        }
+    }
+}
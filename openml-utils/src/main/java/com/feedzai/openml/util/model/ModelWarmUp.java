@@ -0,0 +1,433 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.model;
+
+import com.feedzai.openml.data.Dataset;
+import com.feedzai.openml.data.Instance;
+import com.feedzai.openml.data.schema.DatasetSchema;
+import com.feedzai.openml.mocks.MockDataset;
+import com.feedzai.openml.model.ClassificationMLModel;
+import com.feedzai.openml.provider.exception.ModelLoadingException;
+import com.feedzai.openml.util.load.LoadInstancesUtils;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Warms up a freshly loaded {@link ClassificationMLModel} by scoring instances until its latency stabilises, so that
+ * JIT compilation and lazy initialisation (e.g. of native libraries) happen before the model serves real traffic.
+ * <p>
+ * Scoring happens in windows of {@link Builder#withWindowSize(int) a given number of calls}, spread over
+ * {@link Builder#withThreads(int) a number of threads}. The latency is considered stable once the median latency of
+ * {@link Builder#withStableWindows(int) a number of consecutive windows} changes less than
+ * {@link Builder#withTolerance(double) a relative tolerance} from one window to the next. The instances are either
+ * {@link Builder#withSampleInstances(List) replayed from a sample} or synthetic, generated with {@link MockDataset}.
+ * <p>
+ * Instances of this class are immutable and can be shared, e.g. by a component that warms up every model before
+ * publishing it.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public final class ModelWarmUp {
+
+    /**
+     * Logger for this class.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(ModelWarmUp.class);
+
+    /**
+     * The maximum number of scoring calls.
+     */
+    private final long maxIterations;
+
+    /**
+     * The number of scoring calls in each window.
+     */
+    private final int windowSize;
+
+    /**
+     * The number of threads scoring concurrently.
+     */
+    private final int threads;
+
+    /**
+     * The maximum relative change of the median latency between consecutive windows for the latency to be stable.
+     */
+    private final double tolerance;
+
+    /**
+     * The number of consecutive stable windows after which the warm-up stops.
+     */
+    private final int stableWindows;
+
+    /**
+     * The number of synthetic instances to generate, when no sample is given.
+     */
+    private final int syntheticInstances;
+
+    /**
+     * The seed used to generate the synthetic instances.
+     */
+    private final long seed;
+
+    /**
+     * The instances to replay, or {@code null} to use synthetic instances.
+     */
+    private final List<Instance> sampleInstances;
+
+    /**
+     * Creates a new instance from the given builder.
+     *
+     * @param builder The builder.
+     */
+    private ModelWarmUp(final Builder builder) {
+        this.maxIterations = builder.maxIterations;
+        this.windowSize = builder.windowSize;
+        this.threads = builder.threads;
+        this.tolerance = builder.tolerance;
+        this.stableWindows = builder.stableWindows;
+        this.syntheticInstances = builder.syntheticInstances;
+        this.seed = builder.seed;
+        this.sampleInstances = builder.sampleInstances;
+    }
+
+    /**
+     * Creates a new builder with the default settings.
+     *
+     * @return The builder.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Warms up the given model.
+     *
+     * @param model  The model to warm up.
+     * @param schema The {@link DatasetSchema} of the model, used to generate synthetic instances.
+     * @return The outcome of the warm-up.
+     * @throws ModelLoadingException If the model fails to score the instances, or the warm-up is interrupted.
+     */
+    public WarmUpResult warmUp(final ClassificationMLModel model,
+                               final DatasetSchema schema) throws ModelLoadingException {
+        Preconditions.checkNotNull(model, "model cannot be null");
+        Preconditions.checkNotNull(schema, "schema cannot be null");
+
+        final List<Instance> instances = this.sampleInstances != null
+                ? this.sampleInstances
+                : syntheticInstances(schema);
+        Preconditions.checkArgument(!instances.isEmpty(), "there should be at least one instance to warm up the model");
+
+        final ExecutorService executor = Executors.newFixedThreadPool(
+                this.threads,
+                new ThreadFactoryBuilder().setNameFormat("openml-warm-up-%d").setDaemon(true).build()
+        );
+
+        final long startNanos = System.nanoTime();
+        final AtomicLong nextInstance = new AtomicLong();
+        final List<Long> windowMedians = new ArrayList<>();
+        long iterations = 0;
+        int consecutiveStableWindows = 0;
+
+        try {
+            while (iterations < this.maxIterations && consecutiveStableWindows < this.stableWindows) {
+                final int callsInWindow = (int) Math.min(this.windowSize, this.maxIterations - iterations);
+                final long median = scoreWindow(model, instances, nextInstance, callsInWindow, executor);
+
+                if (!windowMedians.isEmpty() && isStable(windowMedians.get(windowMedians.size() - 1), median)) {
+                    consecutiveStableWindows++;
+                } else {
+                    consecutiveStableWindows = 0;
+                }
+
+                windowMedians.add(median);
+                iterations += callsInWindow;
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        final WarmUpResult result = new WarmUpResult(
+                iterations,
+                consecutiveStableWindows >= this.stableWindows,
+                windowMedians,
+                System.nanoTime() - startNanos
+        );
+
+        if (result.isStabilised()) {
+            logger.info("Model warmed up after {} scoring calls, median latency {} ns", iterations, result.getFinalMedianLatencyNanos());
+        } else {
+            logger.warn("Model latency did not stabilise after {} scoring calls: {}", iterations, windowMedians);
+        }
+        return result;
+    }
+
+    /**
+     * Scores a window of instances, spread over the threads of the executor.
+     *
+     * @param model         The model to warm up.
+     * @param instances     The instances to score, used in a round-robin fashion.
+     * @param nextInstance  The index of the next instance to score.
+     * @param callsInWindow The number of scoring calls in the window.
+     * @param executor      The executor where to score the instances.
+     * @return The median latency of the window, in nanoseconds.
+     * @throws ModelLoadingException If the model fails to score the instances, or the warm-up is interrupted.
+     */
+    private long scoreWindow(final ClassificationMLModel model,
+                             final List<Instance> instances,
+                             final AtomicLong nextInstance,
+                             final int callsInWindow,
+                             final ExecutorService executor) throws ModelLoadingException {
+
+        final int threadsInWindow = Math.min(this.threads, callsInWindow);
+        final List<Callable<long[]>> tasks = new ArrayList<>(threadsInWindow);
+        for (int thread = 0; thread < threadsInWindow; thread++) {
+            final int calls = callsInWindow / threadsInWindow + (thread < callsInWindow % threadsInWindow ? 1 : 0);
+            tasks.add(() -> {
+                final long[] latencies = new long[calls];
+                for (int call = 0; call < calls; call++) {
+                    final Instance instance = instances.get((int) (nextInstance.getAndIncrement() % instances.size()));
+                    final long callStart = System.nanoTime();
+                    model.getClassDistribution(instance);
+                    latencies[call] = System.nanoTime() - callStart;
+                }
+                return latencies;
+            });
+        }
+
+        final long[] windowLatencies = new long[callsInWindow];
+        int filled = 0;
+        try {
+            for (final Future<long[]> future : executor.invokeAll(tasks)) {
+                final long[] latencies = future.get();
+                System.arraycopy(latencies, 0, windowLatencies, filled, latencies.length);
+                filled += latencies.length;
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ModelLoadingException("Interrupted while warming up the model", e);
+        } catch (final ExecutionException e) {
+            final String msg = "The model failed to score an instance during the warm-up";
+            logger.error(msg, e.getCause());
+            throw new ModelLoadingException(msg, e.getCause());
+        }
+
+        Arrays.sort(windowLatencies);
+        return windowLatencies[windowLatencies.length / 2];
+    }
+
+    /**
+     * Checks whether the median latency of a window is within the tolerance of the previous one.
+     *
+     * @param previousMedian The median latency of the previous window.
+     * @param median         The median latency of the current window.
+     * @return {@code true} if the latency is stable, {@code false} otherwise.
+     */
+    private boolean isStable(final long previousMedian, final long median) {
+        return Math.abs(median - previousMedian) <= this.tolerance * Math.max(previousMedian, 1);
+    }
+
+    /**
+     * Generates the synthetic instances used when no sample is given.
+     *
+     * @param schema The {@link DatasetSchema} of the model.
+     * @return The generated instances.
+     */
+    private List<Instance> syntheticInstances(final DatasetSchema schema) {
+        final Dataset dataset = new MockDataset(schema, this.syntheticInstances, new Random(this.seed));
+        return ImmutableList.copyOf(dataset.getInstances());
+    }
+
+    /**
+     * Builder of {@link ModelWarmUp}.
+     */
+    public static final class Builder {
+
+        /**
+         * The maximum number of scoring calls.
+         */
+        private long maxIterations = 100_000;
+
+        /**
+         * The number of scoring calls in each window.
+         */
+        private int windowSize = 1_000;
+
+        /**
+         * The number of threads scoring concurrently.
+         */
+        private int threads = Runtime.getRuntime().availableProcessors();
+
+        /**
+         * The maximum relative change of the median latency between consecutive windows for the latency to be stable.
+         */
+        private double tolerance = 0.1;
+
+        /**
+         * The number of consecutive stable windows after which the warm-up stops.
+         */
+        private int stableWindows = 3;
+
+        /**
+         * The number of synthetic instances to generate, when no sample is given.
+         */
+        private int syntheticInstances = 1_000;
+
+        /**
+         * The seed used to generate the synthetic instances.
+         */
+        private long seed = 0;
+
+        /**
+         * The instances to replay, or {@code null} to use synthetic instances.
+         */
+        private List<Instance> sampleInstances = null;
+
+        /**
+         * Private constructor, use {@link ModelWarmUp#builder()} instead.
+         */
+        private Builder() {
+        }
+
+        /**
+         * Sets the maximum number of scoring calls, after which the warm-up stops even if the latency did not
+         * stabilise. Defaults to 100 000.
+         *
+         * @param maxIterations The maximum number of scoring calls.
+         * @return This builder.
+         */
+        public Builder withMaxIterations(final long maxIterations) {
+            Preconditions.checkArgument(maxIterations > 0, "the maximum number of iterations should be positive");
+            this.maxIterations = maxIterations;
+            return this;
+        }
+
+        /**
+         * Sets the number of scoring calls in each window. Defaults to 1 000.
+         *
+         * @param windowSize The number of scoring calls in each window.
+         * @return This builder.
+         */
+        public Builder withWindowSize(final int windowSize) {
+            Preconditions.checkArgument(windowSize > 0, "the window size should be positive");
+            this.windowSize = windowSize;
+            return this;
+        }
+
+        /**
+         * Sets the number of threads scoring concurrently. Defaults to the number of available processors.
+         *
+         * @param threads The number of threads.
+         * @return This builder.
+         */
+        public Builder withThreads(final int threads) {
+            Preconditions.checkArgument(threads > 0, "the number of threads should be positive");
+            this.threads = threads;
+            return this;
+        }
+
+        /**
+         * Sets the maximum relative change of the median latency between consecutive windows for the latency to be
+         * considered stable. Defaults to 0.1 (10%).
+         *
+         * @param tolerance The relative tolerance.
+         * @return This builder.
+         */
+        public Builder withTolerance(final double tolerance) {
+            Preconditions.checkArgument(tolerance >= 0, "the tolerance should not be negative");
+            this.tolerance = tolerance;
+            return this;
+        }
+
+        /**
+         * Sets the number of consecutive stable windows after which the warm-up stops. Defaults to 3.
+         *
+         * @param stableWindows The number of consecutive stable windows.
+         * @return This builder.
+         */
+        public Builder withStableWindows(final int stableWindows) {
+            Preconditions.checkArgument(stableWindows > 0, "the number of stable windows should be positive");
+            this.stableWindows = stableWindows;
+            return this;
+        }
+
+        /**
+         * Uses synthetic instances generated from the schema of the model. This is the default.
+         *
+         * @param syntheticInstances The number of synthetic instances to generate.
+         * @param seed               The seed used to generate the instances.
+         * @return This builder.
+         */
+        public Builder withSyntheticInstances(final int syntheticInstances, final long seed) {
+            Preconditions.checkArgument(syntheticInstances > 0, "the number of synthetic instances should be positive");
+            this.syntheticInstances = syntheticInstances;
+            this.seed = seed;
+            this.sampleInstances = null;
+            return this;
+        }
+
+        /**
+         * Replays the given instances instead of synthetic ones.
+         *
+         * @param sampleInstances The instances to replay.
+         * @return This builder.
+         */
+        public Builder withSampleInstances(final List<Instance> sampleInstances) {
+            Preconditions.checkNotNull(sampleInstances, "sampleInstances cannot be null");
+            this.sampleInstances = ImmutableList.copyOf(sampleInstances);
+            return this;
+        }
+
+        /**
+         * Replays the instances recorded in a CSV file instead of synthetic ones.
+         *
+         * @param sampleFile The CSV file, as expected by {@link LoadInstancesUtils#instancesFromCsv(Path, DatasetSchema)}.
+         * @param schema     The {@link DatasetSchema} of the instances in the file.
+         * @return This builder.
+         * @throws ModelLoadingException If the file cannot be read.
+         */
+        public Builder withSampleFile(final Path sampleFile, final DatasetSchema schema) throws ModelLoadingException {
+            return withSampleInstances(LoadInstancesUtils.instancesFromCsv(sampleFile, schema));
+        }
+
+        /**
+         * Creates the {@link ModelWarmUp} with the settings of this builder.
+         *
+         * @return The {@link ModelWarmUp}.
+         */
+        public ModelWarmUp build() {
+            return new ModelWarmUp(this);
+        }
+    }
+}
@@ -0,0 +1,484 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.model;
+
+import com.feedzai.openml.data.Instance;
+import com.feedzai.openml.model.ClassificationMLModel;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.MapMaker;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Runs calls to {@link ClassificationMLModel}s asynchronously, on virtual threads when the JDK supports them, and
+ * limits the number of concurrent calls to each model.
+ * <p>
+ * Models that block while scoring (e.g. on native locks, or on I/O when lazily loading their state) would otherwise
+ * pin a platform thread per call, which does not scale with highly concurrent request handling. On JDKs with virtual
+ * threads each call gets its own virtual thread; on older JDKs (this module targets Java 8, so the virtual thread
+ * executor is looked up by reflection) a fixed pool of platform threads is used instead.
+ * <p>
+ * The calls above the limit of a model wait in a queue of the model, without holding any thread, and are handed to the
+ * executor as the calls of the model in flight finish. So a saturated model never holds threads of the platform pool
+ * that other models need.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public final class ScoringExecutor implements Closeable {
+
+    /**
+     * Logger for this class.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(ScoringExecutor.class);
+
+    /**
+     * The name of the factory method of the virtual thread executor, available since Java 21.
+     */
+    private static final String VIRTUAL_THREAD_EXECUTOR_FACTORY = "newVirtualThreadPerTaskExecutor";
+
+    /**
+     * The executor where the calls run.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * Whether the {@link #executor} runs each call on a virtual thread.
+     */
+    private final boolean virtual;
+
+    /**
+     * The maximum number of concurrent calls to the models without a specific limit.
+     */
+    private final int defaultMaxInFlight;
+
+    /**
+     * The maximum number of concurrent calls to specific models.
+     */
+    private final Map<ClassificationMLModel, Integer> maxInFlight;
+
+    /**
+     * The limits of the models called so far, weakly keyed by model identity.
+     */
+    private final ConcurrentMap<ClassificationMLModel, ModelLimit> limits = new MapMaker().weakKeys().makeMap();
+
+    /**
+     * Creates a new instance from the given builder.
+     *
+     * @param builder The builder.
+     */
+    private ScoringExecutor(final Builder builder) {
+        final Optional<ExecutorService> virtualExecutor = builder.virtualThreads
+                ? newVirtualThreadExecutor()
+                : Optional.empty();
+
+        this.virtual = virtualExecutor.isPresent();
+        this.executor = virtualExecutor.orElseGet(() -> Executors.newFixedThreadPool(
+                builder.platformThreads,
+                new ThreadFactoryBuilder().setNameFormat("openml-scoring-%d").setDaemon(true).build()
+        ));
+        this.defaultMaxInFlight = builder.defaultMaxInFlight;
+        this.maxInFlight = new IdentityHashMap<>(builder.maxInFlight);
+    }
+
+    /**
+     * Creates a new builder of a {@link ScoringExecutor}.
+     *
+     * @return The builder.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Checks whether the running JDK supports virtual threads.
+     *
+     * @return {@code true} if virtual threads are available, {@code false} otherwise.
+     */
+    public static boolean isVirtualThreadSupported() {
+        try {
+            Executors.class.getMethod(VIRTUAL_THREAD_EXECUTOR_FACTORY);
+            return true;
+        } catch (final NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Scores an instance with a model asynchronously. If the model has a limit and is saturated, the call waits in
+     * the queue of the model until one of its calls in flight finishes.
+     *
+     * @param model    The model.
+     * @param instance The instance to score.
+     * @return A future of the class distribution, completed exceptionally if the model fails.
+     * @throws RejectedExecutionException If this executor is closed.
+     */
+    public CompletableFuture<double[]> submit(final ClassificationMLModel model, final Instance instance) {
+        Preconditions.checkNotNull(model, "model cannot be null");
+        Preconditions.checkNotNull(instance, "instance cannot be null");
+
+        final ModelLimit limit = this.limits.computeIfAbsent(model, this::newLimit);
+        final Call call = new Call(model, instance);
+        if (limit.tryAcquire(call)) {
+            try {
+                this.executor.execute(() -> run(limit, call));
+            } catch (final RejectedExecutionException e) {
+                // hands the permit over, so that the calls already waiting still complete
+                final Call next = limit.release();
+                if (next != null) {
+                    run(limit, next);
+                }
+                throw e;
+            }
+        }
+        return call.result;
+    }
+
+    /**
+     * Scores a call that holds a permit of its model, and hands the permit over to the next call waiting for one.
+     * <p>
+     * The next call is dispatched to the executor, so that a model with a backlog doesn't keep a thread to itself;
+     * it only runs in the current thread if the executor no longer accepts calls, as the submitted calls should
+     * still complete after {@link #close()}.
+     *
+     * @param limit The limit of the model.
+     * @param call  The call.
+     */
+    private void run(final ModelLimit limit, final Call call) {
+        Call current = call;
+        while (current != null) {
+            current.score();
+            final Call next = limit.release();
+            // completes after releasing the permit, so that the caller never sees the call still in flight
+            current.complete();
+
+            current = null;
+            if (next != null) {
+                try {
+                    this.executor.execute(() -> run(limit, next));
+                } catch (final RejectedExecutionException e) {
+                    current = next;
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks whether the calls run on virtual threads.
+     *
+     * @return {@code true} if each call runs on a virtual thread, {@code false} if they run on a platform pool.
+     */
+    public boolean isVirtual() {
+        return this.virtual;
+    }
+
+    /**
+     * Gets the number of calls to a model currently being scored, not counting the ones waiting for a permit.
+     *
+     * @param model The model.
+     * @return The number of calls in flight.
+     */
+    public int getInFlightCount(final ClassificationMLModel model) {
+        final ModelLimit limit = this.limits.get(model);
+        return limit == null ? 0 : limit.getInFlight();
+    }
+
+    /**
+     * Stops accepting calls; the calls already submitted still complete.
+     */
+    @Override
+    public void close() {
+        this.executor.shutdown();
+    }
+
+    /**
+     * Creates the limit of a model called for the first time.
+     *
+     * @param model The model.
+     * @return The limit.
+     */
+    private ModelLimit newLimit(final ClassificationMLModel model) {
+        return new ModelLimit(this.maxInFlight.getOrDefault(model, this.defaultMaxInFlight));
+    }
+
+    /**
+     * Creates an executor that runs each task on a new virtual thread, if the JDK supports them.
+     *
+     * @return The executor, or empty if virtual threads are not available.
+     */
+    private static Optional<ExecutorService> newVirtualThreadExecutor() {
+        try {
+            final Method factory = Executors.class.getMethod(VIRTUAL_THREAD_EXECUTOR_FACTORY);
+            return Optional.of((ExecutorService) factory.invoke(null));
+        } catch (final NoSuchMethodException e) {
+            logger.debug("Virtual threads are not available, scoring on platform threads");
+            return Optional.empty();
+        } catch (final ReflectiveOperationException | RuntimeException e) {
+            // e.g. virtual threads as a preview feature that was not enabled
+            logger.warn("Failed to create the virtual thread executor, scoring on platform threads", e);
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("virtual", this.virtual)
+                .add("defaultMaxInFlight", this.defaultMaxInFlight)
+                .toString();
+    }
+
+    /**
+     * A call to a model, with the future of its result.
+     */
+    private static final class Call {
+
+        /**
+         * The model.
+         */
+        private final ClassificationMLModel model;
+
+        /**
+         * The instance to score.
+         */
+        private final Instance instance;
+
+        /**
+         * The future of the class distribution.
+         */
+        private final CompletableFuture<double[]> result = new CompletableFuture<>();
+
+        /**
+         * The class distribution, once scored.
+         */
+        private double[] distribution;
+
+        /**
+         * The failure of the model, if it failed.
+         */
+        private Throwable failure;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param model    The model.
+         * @param instance The instance to score.
+         */
+        private Call(final ClassificationMLModel model, final Instance instance) {
+            this.model = model;
+            this.instance = instance;
+        }
+
+        /**
+         * Scores the instance with the model, keeping the result until {@link #complete()}.
+         */
+        private void score() {
+            try {
+                this.distribution = this.model.getClassDistribution(this.instance);
+            } catch (final Throwable e) {
+                // completes the future with any failure, otherwise the caller would wait forever
+                this.failure = e;
+            }
+        }
+
+        /**
+         * Completes the future with the result of {@link #score()}.
+         */
+        private void complete() {
+            if (this.failure != null) {
+                this.result.completeExceptionally(this.failure);
+            } else {
+                this.result.complete(this.distribution);
+            }
+        }
+    }
+
+    /**
+     * The limit of concurrent calls to a model, with the calls waiting for a permit.
+     */
+    private static final class ModelLimit {
+
+        /**
+         * The maximum number of concurrent calls, {@link Integer#MAX_VALUE} for no limit.
+         */
+        private final int maxInFlight;
+
+        /**
+         * The calls waiting for a permit, in the order they were submitted.
+         */
+        private final Queue<Call> waiting = new ArrayDeque<>();
+
+        /**
+         * The number of calls holding a permit.
+         */
+        private int inFlight = 0;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param maxInFlight The maximum number of concurrent calls, {@link Integer#MAX_VALUE} for no limit.
+         */
+        private ModelLimit(final int maxInFlight) {
+            this.maxInFlight = maxInFlight;
+        }
+
+        /**
+         * Takes a permit for a call if one is free, or queues the call otherwise.
+         *
+         * @param call The call.
+         * @return {@code true} if the call got a permit and should be dispatched, {@code false} if it was queued.
+         */
+        private synchronized boolean tryAcquire(final Call call) {
+            if (this.inFlight < this.maxInFlight) {
+                this.inFlight++;
+                return true;
+            }
+            this.waiting.add(call);
+            return false;
+        }
+
+        /**
+         * Releases the permit of a finished call, handing it over to the next waiting call if there is one.
+         *
+         * @return The waiting call that got the permit, or {@code null} if none was waiting.
+         */
+        private synchronized Call release() {
+            final Call next = this.waiting.poll();
+            if (next == null) {
+                this.inFlight--;
+            }
+            return next;
+        }
+
+        /**
+         * Gets the number of calls holding a permit.
+         *
+         * @return The number of calls in flight.
+         */
+        private synchronized int getInFlight() {
+            return this.inFlight;
+        }
+    }
+
+    /**
+     * Builder of {@link ScoringExecutor}.
+     */
+    public static final class Builder {
+
+        /**
+         * Whether to use virtual threads when available.
+         */
+        private boolean virtualThreads = true;
+
+        /**
+         * The number of threads of the platform pool.
+         */
+        private int platformThreads = Runtime.getRuntime().availableProcessors();
+
+        /**
+         * The maximum number of concurrent calls to the models without a specific limit.
+         */
+        private int defaultMaxInFlight = Integer.MAX_VALUE;
+
+        /**
+         * The maximum number of concurrent calls to specific models.
+         */
+        private final Map<ClassificationMLModel, Integer> maxInFlight = new IdentityHashMap<>();
+
+        /**
+         * Private constructor, use {@link ScoringExecutor#builder()}.
+         */
+        private Builder() {
+        }
+
+        /**
+         * Sets whether to run the calls on virtual threads when the JDK supports them. Defaults to {@code true}.
+         *
+         * @param virtualThreads Whether to use virtual threads.
+         * @return This builder.
+         */
+        public Builder withVirtualThreads(final boolean virtualThreads) {
+            this.virtualThreads = virtualThreads;
+            return this;
+        }
+
+        /**
+         * Sets the number of threads of the pool used when virtual threads are not available. Defaults to the number
+         * of available processors.
+         *
+         * @param platformThreads The number of threads.
+         * @return This builder.
+         */
+        public Builder withPlatformThreads(final int platformThreads) {
+            Preconditions.checkArgument(platformThreads > 0, "the number of platform threads should be positive");
+            this.platformThreads = platformThreads;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of concurrent calls to each model without a specific limit. Defaults to no limit.
+         *
+         * @param maxInFlight The maximum number of concurrent calls.
+         * @return This builder.
+         */
+        public Builder withMaxInFlightPerModel(final int maxInFlight) {
+            Preconditions.checkArgument(maxInFlight > 0, "the maximum number of calls in flight should be positive");
+            this.defaultMaxInFlight = maxInFlight;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of concurrent calls to a specific model, e.g. one backed by a non-scalable service.
+         *
+         * @param model       The model.
+         * @param maxInFlight The maximum number of concurrent calls.
+         * @return This builder.
+         */
+        public Builder withMaxInFlight(final ClassificationMLModel model, final int maxInFlight) {
+            Preconditions.checkNotNull(model, "model cannot be null");
+            Preconditions.checkArgument(maxInFlight > 0, "the maximum number of calls in flight should be positive");
+            this.maxInFlight.put(model, maxInFlight);
+            return this;
+        }
+
+        /**
+         * Creates the {@link ScoringExecutor} with the settings of this builder.
+         *
+         * @return The executor.
+         */
+        public ScoringExecutor build() {
+            return new ScoringExecutor(this);
+        }
+    }
+}
@@ -0,0 +1,629 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.model;
+
+import com.feedzai.openml.data.Instance;
+import com.feedzai.openml.data.schema.DatasetSchema;
+import com.feedzai.openml.model.ClassificationMLModel;
+import com.feedzai.openml.util.metrics.LatencyHistogram;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link ClassificationMLModel} that returns the results of a primary model, while scoring a sample of the same
+ * instances with one or more challenger models off the critical path, e.g. to validate a new model with production
+ * traffic before promoting it.
+ * <p>
+ * The sampled instances are handed to background worker threads through a bounded queue. When the queue is full the
+ * instance is dropped instead of waiting, so the latency of the primary model is never affected by the challengers.
+ * The values of the queued instances are copied, so callers can reuse or modify their instances (e.g. pooled buffers
+ * or views over the rows of a dataset) as soon as the primary result is returned.
+ * For each challenger, the {@link ChallengerStats statistics} of the differences between its predictions and the
+ * primary's, and of its latency, are recorded.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public final class ShadowClassificationModel implements ClassificationMLModel {
+
+    /**
+     * Logger for this class.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(ShadowClassificationModel.class);
+
+    /**
+     * The model whose results are returned.
+     */
+    private final ClassificationMLModel primary;
+
+    /**
+     * The challenger models, scored in the background.
+     */
+    private final List<ClassificationMLModel> challengers;
+
+    /**
+     * The statistics of each challenger.
+     */
+    private final List<ChallengerStats> challengerStats;
+
+    /**
+     * Copies the sampled instances, which the caller may modify after the primary result is returned.
+     */
+    private final InstanceSnapshots snapshots;
+
+    /**
+     * The fraction of the instances scored by the challengers.
+     */
+    private final double samplingRate;
+
+    /**
+     * The time to wait for the workers to stop when closing, in nanoseconds.
+     */
+    private final long closeTimeoutNanos;
+
+    /**
+     * The instances waiting to be scored by the challengers.
+     */
+    private final BlockingQueue<ShadowTask> queue;
+
+    /**
+     * The background workers that score the challengers.
+     */
+    private final ExecutorService workers;
+
+    /**
+     * The latency of the primary model for the sampled instances, in nanoseconds.
+     */
+    private final LatencyHistogram primaryLatency = new LatencyHistogram();
+
+    /**
+     * The number of instances sampled for the challengers, including the dropped ones.
+     */
+    private final LongAdder sampled = new LongAdder();
+
+    /**
+     * The number of sampled instances dropped because the queue was full.
+     */
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * Creates a new instance from the given builder.
+     *
+     * @param builder The builder.
+     */
+    private ShadowClassificationModel(final Builder builder) {
+        Preconditions.checkArgument(!builder.challengers.isEmpty(), "there should be at least one challenger");
+
+        this.primary = builder.primary;
+        this.challengers = ImmutableList.copyOf(builder.challengers);
+        this.samplingRate = builder.samplingRate;
+        this.closeTimeoutNanos = builder.closeTimeoutNanos;
+        this.snapshots = new InstanceSnapshots(this.primary.getSchema());
+        this.queue = new ArrayBlockingQueue<>(builder.queueCapacity);
+
+        final ImmutableList.Builder<ChallengerStats> stats = ImmutableList.builder();
+        for (int challenger = 0; challenger < this.challengers.size(); challenger++) {
+            stats.add(new ChallengerStats());
+        }
+        this.challengerStats = stats.build();
+
+        this.workers = Executors.newFixedThreadPool(
+                builder.workers,
+                new ThreadFactoryBuilder().setNameFormat("openml-shadow-scoring-%d").setDaemon(true).build()
+        );
+        for (int worker = 0; worker < builder.workers; worker++) {
+            this.workers.execute(this::processQueue);
+        }
+    }
+
+    /**
+     * Creates a new builder of a shadow wrapper of the given primary model.
+     *
+     * @param primary The model whose results are returned.
+     * @return The builder.
+     */
+    public static Builder builder(final ClassificationMLModel primary) {
+        return new Builder(primary);
+    }
+
+    @Override
+    public double[] getClassDistribution(final Instance instance) {
+        final long start = System.nanoTime();
+        final double[] distribution = this.primary.getClassDistribution(instance);
+        final long latency = System.nanoTime() - start;
+
+        if (this.samplingRate >= 1 || ThreadLocalRandom.current().nextDouble() < this.samplingRate) {
+            this.sampled.increment();
+            // the caller owns the instance and the returned array, so the challengers get copies, but only once there is
+            // room for them: a saturated shadow doesn't copy instances just to drop them (the offer can still fail if
+            // other callers fill the queue in the meantime)
+            final boolean queued = this.queue.remainingCapacity() > 0
+                    && this.queue.offer(new ShadowTask(this.snapshots.snapshot(instance), distribution.clone(), latency));
+            if (!queued) {
+                this.dropped.increment();
+            }
+        }
+        return distribution;
+    }
+
+    @Override
+    @Deprecated
+    public int classify(final Instance instance) {
+        return this.primary.classify(instance);
+    }
+
+    @Override
+    public boolean save(final Path dir, final String name) {
+        return this.primary.save(dir, name);
+    }
+
+    @Override
+    public DatasetSchema getSchema() {
+        return this.primary.getSchema();
+    }
+
+    /**
+     * Stops the background workers, discarding the instances still queued, and closes all the models.
+     * <p>
+     * The challengers are only closed once the workers have stopped: if a challenger is still scoring an instance
+     * after the {@link Builder#withCloseTimeout close timeout}, the challengers are left open, as closing them could
+     * break the instance being scored.
+     *
+     * @throws Exception If any of the models fails to close.
+     */
+    @Override
+    public void close() throws Exception {
+        this.workers.shutdownNow();
+        boolean terminated;
+        try {
+            terminated = this.workers.awaitTermination(this.closeTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            terminated = false;
+        }
+
+        Exception failure = null;
+        final List<ClassificationMLModel> models = new ArrayList<>();
+        models.add(this.primary);
+        if (terminated) {
+            models.addAll(this.challengers);
+        } else {
+            logger.warn("The shadow scoring workers didn't stop in time, so the challengers are left open");
+        }
+        for (final ClassificationMLModel model : models) {
+            try {
+                model.close();
+            } catch (final Exception e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Gets the latency of the primary model for the sampled instances, to compare with the challengers.
+     *
+     * @return The latency histogram, in nanoseconds.
+     */
+    public LatencyHistogram getPrimaryLatency() {
+        return this.primaryLatency;
+    }
+
+    /**
+     * Gets the statistics of a challenger.
+     *
+     * @param challenger The index of the challenger, in the order they were added.
+     * @return The statistics.
+     */
+    public ChallengerStats getChallengerStats(final int challenger) {
+        return this.challengerStats.get(challenger);
+    }
+
+    /**
+     * Gets the number of instances sampled for the challengers, including the dropped ones.
+     *
+     * @return The number of sampled instances.
+     */
+    public long getSampledCount() {
+        return this.sampled.sum();
+    }
+
+    /**
+     * Gets the number of sampled instances dropped because the challengers could not keep up.
+     *
+     * @return The number of dropped instances.
+     */
+    public long getDroppedCount() {
+        return this.dropped.sum();
+    }
+
+    /**
+     * Gets the number of sampled instances waiting to be scored by the challengers.
+     *
+     * @return The size of the queue.
+     */
+    public int getQueueSize() {
+        return this.queue.size();
+    }
+
+    /**
+     * Loop of the background workers: scores the queued instances with the challengers until interrupted.
+     */
+    private void processQueue() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                final ShadowTask task = this.queue.take();
+                this.primaryLatency.record(task.primaryLatencyNanos);
+                for (int challenger = 0; challenger < this.challengers.size(); challenger++) {
+                    scoreChallenger(challenger, task);
+                }
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Scores an instance with a challenger, and records the comparison with the primary model.
+     *
+     * @param challenger The index of the challenger.
+     * @param task       The instance and the result of the primary model.
+     */
+    private void scoreChallenger(final int challenger, final ShadowTask task) {
+        final ChallengerStats stats = this.challengerStats.get(challenger);
+        final long start = System.nanoTime();
+        final double[] distribution;
+        try {
+            distribution = this.challengers.get(challenger).getClassDistribution(task.instance);
+        } catch (final RuntimeException e) {
+            logger.debug("Challenger {} failed to score an instance", challenger, e);
+            stats.errors.increment();
+            return;
+        }
+        stats.latency.record(System.nanoTime() - start);
+        stats.record(task.primaryDistribution, distribution);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("primary", this.primary)
+                .add("challengers", this.challengers)
+                .add("samplingRate", this.samplingRate)
+                .add("dropped", getDroppedCount())
+                .toString();
+    }
+
+    /**
+     * An instance waiting to be scored by the challengers.
+     */
+    private static final class ShadowTask {
+
+        /**
+         * The instance.
+         */
+        private final Instance instance;
+
+        /**
+         * The class distribution given by the primary model.
+         */
+        private final double[] primaryDistribution;
+
+        /**
+         * The latency of the primary model, in nanoseconds.
+         */
+        private final long primaryLatencyNanos;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param instance            The instance.
+         * @param primaryDistribution The class distribution given by the primary model.
+         * @param primaryLatencyNanos The latency of the primary model, in nanoseconds.
+         */
+        private ShadowTask(final Instance instance, final double[] primaryDistribution, final long primaryLatencyNanos) {
+            this.instance = instance;
+            this.primaryDistribution = primaryDistribution;
+            this.primaryLatencyNanos = primaryLatencyNanos;
+        }
+    }
+
+    /**
+     * The comparison of a challenger with the primary model, over the instances it scored.
+     * <p>
+     * The delta of an instance is the largest absolute difference between the probabilities given to any class by the
+     * challenger and by the primary model.
+     */
+    public static final class ChallengerStats {
+
+        /**
+         * The latency of the challenger, in nanoseconds.
+         */
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        /**
+         * The number of instances scored by the challenger.
+         */
+        private final LongAdder scored = new LongAdder();
+
+        /**
+         * The number of instances the challenger failed to score.
+         */
+        private final LongAdder errors = new LongAdder();
+
+        /**
+         * The number of instances where the most likely class differs from the primary model's.
+         */
+        private final LongAdder disagreements = new LongAdder();
+
+        /**
+         * The sum of the deltas.
+         */
+        private final DoubleAdder deltaSum = new DoubleAdder();
+
+        /**
+         * The bits of the largest delta; as deltas are not negative, their bits are ordered like their values.
+         */
+        private final LongAccumulator maxDeltaBits = new LongAccumulator(Math::max, Double.doubleToLongBits(0));
+
+        /**
+         * Private constructor, the statistics are created by the {@link ShadowClassificationModel}.
+         */
+        private ChallengerStats() {
+        }
+
+        /**
+         * Records the comparison of the distributions given to an instance.
+         *
+         * @param primaryDistribution    The distribution given by the primary model.
+         * @param challengerDistribution The distribution given by the challenger.
+         */
+        private void record(final double[] primaryDistribution, final double[] challengerDistribution) {
+            double delta = 0;
+            int primaryBest = 0;
+            int challengerBest = 0;
+            for (int classIndex = 0; classIndex < primaryDistribution.length; classIndex++) {
+                final double challengerProbability = classIndex < challengerDistribution.length
+                        ? challengerDistribution[classIndex]
+                        : 0;
+                delta = Math.max(delta, Math.abs(primaryDistribution[classIndex] - challengerProbability));
+                if (primaryDistribution[classIndex] > primaryDistribution[primaryBest]) {
+                    primaryBest = classIndex;
+                }
+                if (classIndex < challengerDistribution.length
+                        && challengerDistribution[classIndex] > challengerDistribution[challengerBest]) {
+                    challengerBest = classIndex;
+                }
+            }
+
+            this.scored.increment();
+            this.deltaSum.add(delta);
+            this.maxDeltaBits.accumulate(Double.doubleToLongBits(delta));
+            if (primaryBest != challengerBest) {
+                this.disagreements.increment();
+            }
+        }
+
+        /**
+         * Gets the latency of the challenger.
+         *
+         * @return The latency histogram, in nanoseconds.
+         */
+        public LatencyHistogram getLatency() {
+            return this.latency;
+        }
+
+        /**
+         * Gets the number of instances scored by the challenger.
+         *
+         * @return The number of instances.
+         */
+        public long getScoredCount() {
+            return this.scored.sum();
+        }
+
+        /**
+         * Gets the number of instances the challenger failed to score.
+         *
+         * @return The number of errors.
+         */
+        public long getErrorCount() {
+            return this.errors.sum();
+        }
+
+        /**
+         * Gets the number of instances where the most likely class differs from the primary model's.
+         *
+         * @return The number of disagreements.
+         */
+        public long getDisagreementCount() {
+            return this.disagreements.sum();
+        }
+
+        /**
+         * Gets the average delta between the challenger and the primary model.
+         *
+         * @return The mean delta, or {@code 0} if no instances were scored.
+         */
+        public double getMeanDelta() {
+            final long count = this.scored.sum();
+            return count == 0 ? 0 : this.deltaSum.sum() / count;
+        }
+
+        /**
+         * Gets the largest delta between the challenger and the primary model.
+         *
+         * @return The largest delta.
+         */
+        public double getMaxDelta() {
+            return Double.longBitsToDouble(this.maxDeltaBits.get());
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(this)
+                    .add("scored", getScoredCount())
+                    .add("errors", getErrorCount())
+                    .add("disagreements", getDisagreementCount())
+                    .add("meanDelta", getMeanDelta())
+                    .add("maxDelta", getMaxDelta())
+                    .add("latency", this.latency)
+                    .toString();
+        }
+    }
+
+    /**
+     * Builder of {@link ShadowClassificationModel}.
+     */
+    public static final class Builder {
+
+        /**
+         * The model whose results are returned.
+         */
+        private final ClassificationMLModel primary;
+
+        /**
+         * The challenger models.
+         */
+        private final List<ClassificationMLModel> challengers = new ArrayList<>();
+
+        /**
+         * The fraction of the instances scored by the challengers.
+         */
+        private double samplingRate = 0.1;
+
+        /**
+         * The maximum number of instances waiting to be scored by the challengers.
+         */
+        private int queueCapacity = 10_000;
+
+        /**
+         * The number of background workers.
+         */
+        private int workers = 1;
+
+        /**
+         * The time to wait for the workers to stop when closing, in nanoseconds.
+         */
+        private long closeTimeoutNanos = TimeUnit.SECONDS.toNanos(10);
+
+        /**
+         * Creates a new instance.
+         *
+         * @param primary The model whose results are returned.
+         */
+        private Builder(final ClassificationMLModel primary) {
+            this.primary = Preconditions.checkNotNull(primary, "primary cannot be null");
+        }
+
+        /**
+         * Adds a challenger model.
+         *
+         * @param challenger The challenger model.
+         * @return This builder.
+         */
+        public Builder withChallenger(final ClassificationMLModel challenger) {
+            this.challengers.add(Preconditions.checkNotNull(challenger, "challenger cannot be null"));
+            return this;
+        }
+
+        /**
+         * Sets the fraction of the instances scored by the challengers. Defaults to 0.1.
+         *
+         * @param samplingRate The fraction, in ]0, 1].
+         * @return This builder.
+         */
+        public Builder withSamplingRate(final double samplingRate) {
+            Preconditions.checkArgument(samplingRate > 0 && samplingRate <= 1, "the sampling rate should be in ]0, 1]");
+            this.samplingRate = samplingRate;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of instances waiting to be scored by the challengers; further instances are dropped.
+         * Defaults to 10000.
+         *
+         * @param queueCapacity The capacity of the queue.
+         * @return This builder.
+         */
+        public Builder withQueueCapacity(final int queueCapacity) {
+            Preconditions.checkArgument(queueCapacity > 0, "the queue capacity should be positive");
+            this.queueCapacity = queueCapacity;
+            return this;
+        }
+
+        /**
+         * Sets the number of background threads that score the challengers. Defaults to 1.
+         *
+         * @param workers The number of threads.
+         * @return This builder.
+         */
+        public Builder withWorkers(final int workers) {
+            Preconditions.checkArgument(workers > 0, "the number of workers should be positive");
+            this.workers = workers;
+            return this;
+        }
+
+        /**
+         * Sets the time to wait for the challengers to finish the instances they are scoring when closing; if they
+         * don't, the challengers are not closed. Defaults to 10 seconds.
+         *
+         * @param timeout The time to wait.
+         * @param unit    The unit of the time.
+         * @return This builder.
+         */
+        public Builder withCloseTimeout(final long timeout, final TimeUnit unit) {
+            Preconditions.checkArgument(timeout >= 0, "the close timeout should not be negative");
+            this.closeTimeoutNanos = unit.toNanos(timeout);
+            return this;
+        }
+
+        /**
+         * Creates the {@link ShadowClassificationModel} with the settings of this builder, starting its workers.
+         *
+         * @return The shadow wrapper.
+         */
+        public ShadowClassificationModel build() {
+            return new ShadowClassificationModel(this);
+        }
+    }
+}
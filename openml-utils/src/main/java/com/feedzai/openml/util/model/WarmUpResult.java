@@ -0,0 +1,131 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.model;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The outcome of {@link ModelWarmUp warming up} a model.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public final class WarmUpResult {
+
+    /**
+     * The number of scoring calls performed.
+     */
+    private final long iterations;
+
+    /**
+     * Whether the scoring latency stabilised before the maximum number of iterations was reached.
+     */
+    private final boolean stabilised;
+
+    /**
+     * The median scoring latency observed in each window of the warm-up, in nanoseconds.
+     */
+    private final List<Long> windowMedianLatenciesNanos;
+
+    /**
+     * The total duration of the warm-up, in nanoseconds.
+     */
+    private final long elapsedNanos;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param iterations                 The number of scoring calls performed.
+     * @param stabilised                 Whether the scoring latency stabilised.
+     * @param windowMedianLatenciesNanos The median scoring latency observed in each window, in nanoseconds.
+     * @param elapsedNanos               The total duration of the warm-up, in nanoseconds.
+     */
+    WarmUpResult(final long iterations,
+                 final boolean stabilised,
+                 final List<Long> windowMedianLatenciesNanos,
+                 final long elapsedNanos) {
+        this.iterations = iterations;
+        this.stabilised = stabilised;
+        this.windowMedianLatenciesNanos = ImmutableList.copyOf(windowMedianLatenciesNanos);
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Gets the number of scoring calls performed.
+     *
+     * @return The number of scoring calls.
+     */
+    public long getIterations() {
+        return this.iterations;
+    }
+
+    /**
+     * Checks whether the scoring latency stabilised before the maximum number of iterations was reached.
+     *
+     * @return {@code true} if the latency stabilised, {@code false} otherwise.
+     */
+    public boolean isStabilised() {
+        return this.stabilised;
+    }
+
+    /**
+     * Gets the median scoring latency observed in each window of the warm-up, in the order they were executed.
+     *
+     * @return The median latencies, in nanoseconds.
+     */
+    public List<Long> getWindowMedianLatenciesNanos() {
+        return this.windowMedianLatenciesNanos;
+    }
+
+    /**
+     * Gets the median scoring latency of the last window of the warm-up, which is the best estimate of the latency
+     * the model will have once published.
+     *
+     * @return The median latency of the last window, in nanoseconds, or {@code 0} if no window was executed.
+     */
+    public long getFinalMedianLatencyNanos() {
+        return this.windowMedianLatenciesNanos.isEmpty()
+                ? 0
+                : this.windowMedianLatenciesNanos.get(this.windowMedianLatenciesNanos.size() - 1);
+    }
+
+    /**
+     * Gets the total duration of the warm-up.
+     *
+     * @param unit The unit of the result.
+     * @return The duration, in the given unit.
+     */
+    public long getElapsed(final TimeUnit unit) {
+        return unit.convert(this.elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("iterations", this.iterations)
+                .add("stabilised", this.stabilised)
+                .add("windowMedianLatenciesNanos", this.windowMedianLatenciesNanos)
+                .add("elapsedNanos", this.elapsedNanos)
+                .toString();
+    }
+}
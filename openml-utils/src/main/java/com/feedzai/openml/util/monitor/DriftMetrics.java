@@ -0,0 +1,158 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.monitor;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Utility methods to compute drift metrics between two distributions given as counts over the same ordered buckets.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public final class DriftMetrics {
+
+    /**
+     * The proportion used instead of zero for empty buckets, so that the PSI is always finite.
+     */
+    static final double MIN_PROPORTION = 1e-4;
+
+    /**
+     * Private constructor for utility class.
+     */
+    private DriftMetrics() {
+    }
+
+    /**
+     * Computes the Population Stability Index (PSI) of a distribution with respect to an expected distribution.
+     * <p>
+     * Values below 0.1 are usually considered stable, and values above 0.25 a significant shift.
+     *
+     * @param expected The counts of the expected (reference) distribution in each bucket.
+     * @param actual   The counts of the actual distribution in the same buckets.
+     * @return The PSI, or {@link Double#NaN} if any of the distributions is empty.
+     */
+    public static double populationStabilityIndex(final long[] expected, final long[] actual) {
+        checkBuckets(expected, actual);
+
+        final double expectedTotal = sum(expected);
+        final double actualTotal = sum(actual);
+        if (expectedTotal == 0 || actualTotal == 0) {
+            return Double.NaN;
+        }
+
+        double psi = 0;
+        for (int bucket = 0; bucket < expected.length; bucket++) {
+            final double expectedProportion = Math.max(expected[bucket] / expectedTotal, MIN_PROPORTION);
+            final double actualProportion = Math.max(actual[bucket] / actualTotal, MIN_PROPORTION);
+            psi += (actualProportion - expectedProportion) * Math.log(actualProportion / expectedProportion);
+        }
+        return psi;
+    }
+
+    /**
+     * Computes the Population Stability Index (PSI) of a distribution over fine-grained ordered buckets, after
+     * merging adjacent buckets into at most {@code bins} bins with about the same expected count.
+     * <p>
+     * This is the usual way of computing the PSI of continuous values (e.g. over the deciles of the reference), and
+     * avoids the noise of buckets with very few expected values.
+     *
+     * @param expected The counts of the expected (reference) distribution in each bucket.
+     * @param actual   The counts of the actual distribution in the same buckets.
+     * @param bins     The maximum number of bins.
+     * @return The PSI, or {@link Double#NaN} if any of the distributions is empty.
+     */
+    public static double populationStabilityIndex(final long[] expected, final long[] actual, final int bins) {
+        checkBuckets(expected, actual);
+        Preconditions.checkArgument(bins > 0, "the number of bins should be positive");
+
+        final long expectedTotal = sum(expected);
+        final long[] expectedBins = new long[bins];
+        final long[] actualBins = new long[bins];
+        long cumulative = 0;
+        for (int bucket = 0; bucket < expected.length; bucket++) {
+            // the bin of a bucket is given by the expected count before it, so each bin gets ~1/bins of the total
+            final int bin = expectedTotal == 0 ? 0 : (int) Math.min(bins - 1, cumulative * bins / expectedTotal);
+            expectedBins[bin] += expected[bucket];
+            actualBins[bin] += actual[bucket];
+            cumulative += expected[bucket];
+        }
+        return populationStabilityIndex(expectedBins, actualBins);
+    }
+
+    /**
+     * Computes the Kolmogorov-Smirnov statistic of a distribution with respect to an expected distribution, i.e. the
+     * largest difference between their cumulative distributions at the boundaries of the buckets.
+     *
+     * @param expected The counts of the expected (reference) distribution in each bucket.
+     * @param actual   The counts of the actual distribution in the same buckets.
+     * @return The statistic, in [0, 1], or {@link Double#NaN} if any of the distributions is empty.
+     */
+    public static double kolmogorovSmirnov(final long[] expected, final long[] actual) {
+        checkBuckets(expected, actual);
+
+        final double expectedTotal = sum(expected);
+        final double actualTotal = sum(actual);
+        if (expectedTotal == 0 || actualTotal == 0) {
+            return Double.NaN;
+        }
+
+        double statistic = 0;
+        long expectedCumulative = 0;
+        long actualCumulative = 0;
+        for (int bucket = 0; bucket < expected.length; bucket++) {
+            expectedCumulative += expected[bucket];
+            actualCumulative += actual[bucket];
+            statistic = Math.max(
+                    statistic,
+                    Math.abs(expectedCumulative / expectedTotal - actualCumulative / actualTotal)
+            );
+        }
+        return statistic;
+    }
+
+    /**
+     * Checks that two distributions are defined over the same buckets.
+     *
+     * @param expected The counts of the expected distribution.
+     * @param actual   The counts of the actual distribution.
+     */
+    private static void checkBuckets(final long[] expected, final long[] actual) {
+        Preconditions.checkNotNull(expected, "expected cannot be null");
+        Preconditions.checkNotNull(actual, "actual cannot be null");
+        Preconditions.checkArgument(
+                expected.length == actual.length,
+                "the distributions should have the same number of buckets"
+        );
+    }
+
+    /**
+     * Sums the counts of a distribution.
+     *
+     * @param counts The counts.
+     * @return The total count.
+     */
+    private static long sum(final long[] counts) {
+        long total = 0;
+        for (final long count : counts) {
+            total += count;
+        }
+        return total;
+    }
+}
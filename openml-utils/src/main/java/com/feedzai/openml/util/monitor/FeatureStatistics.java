@@ -0,0 +1,701 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.monitor;
+
+import com.feedzai.openml.data.Dataset;
+import com.feedzai.openml.data.Instance;
+import com.feedzai.openml.data.schema.AbstractValueSchema;
+import com.feedzai.openml.data.schema.CategoricalValueSchema;
+import com.feedzai.openml.data.schema.DatasetSchema;
+import com.feedzai.openml.data.schema.FieldSchema;
+import com.feedzai.openml.data.schema.StringValueSchema;
+import com.feedzai.openml.provider.exception.ModelLoadingException;
+import com.feedzai.openml.util.data.StatisticsUtils;
+import com.feedzai.openml.util.load.LoadModelUtils;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.SortedSet;
+
+/**
+ * Mergeable statistics of the values of each field of a {@link DatasetSchema}, over a stream of instances.
+ * <p>
+ * For each field, the number of missing values is counted, and:
+ * <ul>
+ *     <li>for numeric fields, the mean and variance (with Welford's algorithm), the minimum and maximum, and a
+ *     log-linear histogram with a relative error of about 6%, from which quantiles are estimated;</li>
+ *     <li>for categorical fields, the exact count of each nominal value (plus one for unknown values);</li>
+ *     <li>for string fields, a count-min sketch of the values.</li>
+ * </ul>
+ * The target field, if any, is ignored, since it is not known when scoring.
+ * <p>
+ * The statistics of a reference dataset (e.g. the training data) can be {@link #save(Path) saved} next to a model,
+ * and later compared with the statistics of the scored instances to detect drift, with
+ * {@link #getPopulationStabilityIndex(FeatureStatistics, int)} and
+ * {@link #getKolmogorovSmirnov(FeatureStatistics, int)}.
+ * <p>
+ * Instances of this class are not thread safe; use a {@link FeatureStatisticsMonitor} to collect them concurrently.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public final class FeatureStatistics implements Serializable {
+
+    /**
+     * Serial version UID.
+     */
+    private static final long serialVersionUID = 4711260825336458395L;
+
+    /**
+     * The name of the file where the statistics are {@link #save(Path) saved}.
+     */
+    public static final String FILE_NAME = "feature-statistics.ser";
+
+    /**
+     * The number of bits of the mantissa used to split each power of 2 in the histograms of numeric fields.
+     */
+    private static final int SUB_BUCKET_BITS = 3;
+
+    /**
+     * The number of buckets each power of 2 is split into.
+     */
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * The exponent of the smallest magnitude that is not counted as zero.
+     */
+    private static final int MIN_EXPONENT = -32;
+
+    /**
+     * The exponent of the largest magnitude with its own buckets; larger magnitudes go to the last bucket.
+     */
+    private static final int MAX_EXPONENT = 32;
+
+    /**
+     * The number of buckets of the positive (and of the negative) values.
+     */
+    private static final int BUCKETS_PER_SIGN = (MAX_EXPONENT - MIN_EXPONENT + 1) * SUB_BUCKETS;
+
+    /**
+     * The bucket of the values whose magnitude is below {@code 2^MIN_EXPONENT}.
+     */
+    static final int ZERO_BUCKET = BUCKETS_PER_SIGN;
+
+    /**
+     * The number of buckets of the histograms of numeric fields, ordered by value.
+     */
+    static final int NUMERIC_BUCKETS = 2 * BUCKETS_PER_SIGN + 1;
+
+    /**
+     * The smallest magnitude that is not counted as zero.
+     */
+    private static final double MIN_MAGNITUDE = Math.scalb(1.0, MIN_EXPONENT);
+
+    /**
+     * The number of rows of the count-min sketches of string fields.
+     */
+    static final int SKETCH_DEPTH = 4;
+
+    /**
+     * The number of counters in each row of the count-min sketches of string fields.
+     */
+    static final int SKETCH_WIDTH = 512;
+
+    /**
+     * The number of bins of equal reference mass over which the PSI of numeric fields is computed.
+     */
+    private static final int NUMERIC_PSI_BINS = 10;
+
+    /**
+     * The kinds of fields, which determine the statistics collected.
+     */
+    private enum FieldKind {
+        /**
+         * A numeric field.
+         */
+        NUMERIC,
+        /**
+         * A categorical field.
+         */
+        CATEGORICAL,
+        /**
+         * A string field.
+         */
+        STRING,
+        /**
+         * A field without statistics (the target).
+         */
+        IGNORED
+    }
+
+    /**
+     * The schema of the instances.
+     */
+    private final DatasetSchema schema;
+
+    /**
+     * The kind of each field.
+     */
+    private final FieldKind[] kinds;
+
+    /**
+     * The number of instances.
+     */
+    private long count;
+
+    /**
+     * The number of missing values of each field.
+     */
+    private final long[] missing;
+
+    /**
+     * The mean of each numeric field.
+     */
+    private final double[] mean;
+
+    /**
+     * The sum of the squared differences to the mean of each numeric field.
+     */
+    private final double[] squaredDeviations;
+
+    /**
+     * The minimum of each numeric field.
+     */
+    private final double[] min;
+
+    /**
+     * The maximum of each numeric field.
+     */
+    private final double[] max;
+
+    /**
+     * The histogram, category counts or count-min sketch of each field, depending on its kind.
+     */
+    private final long[][] counts;
+
+    /**
+     * Creates empty statistics for the given schema.
+     *
+     * @param schema The schema of the instances.
+     */
+    FeatureStatistics(final DatasetSchema schema) {
+        this.schema = Preconditions.checkNotNull(schema, "schema cannot be null");
+
+        final List<FieldSchema> fields = schema.getFieldSchemas();
+        final int targetIndex = schema.getTargetIndex().orElse(-1);
+        this.kinds = new FieldKind[fields.size()];
+        this.missing = new long[fields.size()];
+        this.mean = new double[fields.size()];
+        this.squaredDeviations = new double[fields.size()];
+        this.min = new double[fields.size()];
+        this.max = new double[fields.size()];
+        this.counts = new long[fields.size()][];
+        Arrays.fill(this.min, Double.POSITIVE_INFINITY);
+        Arrays.fill(this.max, Double.NEGATIVE_INFINITY);
+
+        for (final FieldSchema field : fields) {
+            final int index = field.getFieldIndex();
+            final AbstractValueSchema valueSchema = field.getValueSchema();
+            if (index == targetIndex) {
+                this.kinds[index] = FieldKind.IGNORED;
+            } else if (valueSchema instanceof CategoricalValueSchema) {
+                this.kinds[index] = FieldKind.CATEGORICAL;
+                // the last count is for the values that are not nominal values of the field
+                this.counts[index] = new long[((CategoricalValueSchema) valueSchema).getNominalValues().size() + 1];
+            } else if (valueSchema instanceof StringValueSchema) {
+                this.kinds[index] = FieldKind.STRING;
+                this.counts[index] = new long[SKETCH_DEPTH * SKETCH_WIDTH];
+            } else {
+                this.kinds[index] = FieldKind.NUMERIC;
+                this.counts[index] = new long[NUMERIC_BUCKETS];
+            }
+        }
+    }
+
+    /**
+     * Creates a deep copy of the given statistics.
+     *
+     * @param other The statistics to copy.
+     */
+    private FeatureStatistics(final FeatureStatistics other) {
+        this.schema = other.schema;
+        this.kinds = other.kinds;
+        this.count = other.count;
+        this.missing = other.missing.clone();
+        this.mean = other.mean.clone();
+        this.squaredDeviations = other.squaredDeviations.clone();
+        this.min = other.min.clone();
+        this.max = other.max.clone();
+        this.counts = new long[other.counts.length][];
+        for (int field = 0; field < this.counts.length; field++) {
+            this.counts[field] = other.counts[field] == null ? null : other.counts[field].clone();
+        }
+    }
+
+    /**
+     * Computes the statistics of all the instances of a dataset, e.g. to use as the reference of the statistics of
+     * the instances scored by a model trained with it.
+     *
+     * @param dataset The dataset.
+     * @return The statistics.
+     */
+    public static FeatureStatistics of(final Dataset dataset) {
+        Preconditions.checkNotNull(dataset, "dataset cannot be null");
+
+        final FeatureStatistics statistics = new FeatureStatistics(dataset.getSchema());
+        final Iterator<Instance> instances = dataset.getInstances();
+        while (instances.hasNext()) {
+            statistics.update(instances.next());
+        }
+        return statistics;
+    }
+
+    /**
+     * Loads the statistics {@link #save(Path) saved} in a directory, usually the directory of a model.
+     *
+     * @param dir The directory.
+     * @return The statistics.
+     * @throws ModelLoadingException If the statistics cannot be read.
+     */
+    public static FeatureStatistics load(final Path dir) throws ModelLoadingException {
+        Preconditions.checkNotNull(dir, "dir cannot be null");
+
+        return LoadModelUtils.readSerialized(dir.resolve(FILE_NAME), FeatureStatistics.class, "feature statistics");
+    }
+
+    /**
+     * Saves these statistics in a directory, usually the directory of a model, so that they can be
+     * {@link #load(Path) loaded} as the reference of the statistics of the instances it scores.
+     *
+     * @param dir The directory.
+     * @throws IOException If the statistics cannot be written.
+     */
+    public void save(final Path dir) throws IOException {
+        Preconditions.checkNotNull(dir, "dir cannot be null");
+
+        LoadModelUtils.writeSerialized(dir.resolve(FILE_NAME), this);
+    }
+
+    /**
+     * Adds an instance to these statistics.
+     *
+     * @param instance The instance.
+     */
+    void update(final Instance instance) {
+        this.count++;
+        for (int field = 0; field < this.kinds.length; field++) {
+            switch (this.kinds[field]) {
+                case NUMERIC:
+                    updateNumeric(field, instance.getValue(field));
+                    break;
+                case CATEGORICAL:
+                    updateCategorical(field, instance.getValue(field));
+                    break;
+                case STRING:
+                    updateString(field, instance.getStringValue(field));
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Adds the value of a numeric field.
+     *
+     * @param field The index of the field.
+     * @param value The value.
+     */
+    private void updateNumeric(final int field, final double value) {
+        if (Double.isNaN(value)) {
+            this.missing[field]++;
+            return;
+        }
+
+        // Welford's update, where n already includes this value
+        final long n = this.count - this.missing[field];
+        final double previousMean = this.mean[field];
+        this.mean[field] = StatisticsUtils.addToMean(previousMean, n, value);
+        this.squaredDeviations[field] = StatisticsUtils.addToSquaredDeviations(
+                this.squaredDeviations[field], previousMean, this.mean[field], value
+        );
+
+        if (value < this.min[field]) {
+            this.min[field] = value;
+        }
+        if (value > this.max[field]) {
+            this.max[field] = value;
+        }
+        this.counts[field][bucketIndex(value)]++;
+    }
+
+    /**
+     * Adds the value of a categorical field.
+     *
+     * @param field The index of the field.
+     * @param value The index of the nominal value.
+     */
+    private void updateCategorical(final int field, final double value) {
+        if (Double.isNaN(value)) {
+            this.missing[field]++;
+            return;
+        }
+
+        final long[] categoryCounts = this.counts[field];
+        final int category = (int) value;
+        categoryCounts[category >= 0 && category < categoryCounts.length - 1 ? category : categoryCounts.length - 1]++;
+    }
+
+    /**
+     * Adds the value of a string field.
+     *
+     * @param field The index of the field.
+     * @param value The value.
+     */
+    private void updateString(final int field, final String value) {
+        if (value == null) {
+            this.missing[field]++;
+            return;
+        }
+
+        final long[] sketch = this.counts[field];
+        final long hash = StatisticsUtils.stringHash(value);
+        for (int row = 0; row < SKETCH_DEPTH; row++) {
+            sketch[sketchIndex(hash, row)]++;
+        }
+    }
+
+    /**
+     * Adds the statistics of other instances to these ones.
+     *
+     * @param other The statistics of the other instances, with the same schema.
+     */
+    void merge(final FeatureStatistics other) {
+        Preconditions.checkArgument(this.schema.equals(other.schema), "the statistics should have the same schema");
+
+        for (int field = 0; field < this.kinds.length; field++) {
+            if (this.kinds[field] == FieldKind.NUMERIC) {
+                final long n = this.count - this.missing[field];
+                final long otherN = other.count - other.missing[field];
+                if (otherN > 0) {
+                    this.squaredDeviations[field] = StatisticsUtils.mergeSquaredDeviations(
+                            n, this.mean[field], this.squaredDeviations[field],
+                            otherN, other.mean[field], other.squaredDeviations[field]
+                    );
+                    this.mean[field] = StatisticsUtils.mergeMeans(n, this.mean[field], otherN, other.mean[field]);
+                    this.min[field] = Math.min(this.min[field], other.min[field]);
+                    this.max[field] = Math.max(this.max[field], other.max[field]);
+                }
+            }
+
+            this.missing[field] += other.missing[field];
+            if (this.counts[field] != null) {
+                for (int bucket = 0; bucket < this.counts[field].length; bucket++) {
+                    this.counts[field][bucket] += other.counts[field][bucket];
+                }
+            }
+        }
+        this.count += other.count;
+    }
+
+    /**
+     * Creates a deep copy of these statistics.
+     *
+     * @return The copy.
+     */
+    FeatureStatistics copy() {
+        return new FeatureStatistics(this);
+    }
+
+    /**
+     * Gets the schema of the instances.
+     *
+     * @return The schema.
+     */
+    public DatasetSchema getSchema() {
+        return this.schema;
+    }
+
+    /**
+     * Gets the number of instances.
+     *
+     * @return The number of instances.
+     */
+    public long getInstanceCount() {
+        return this.count;
+    }
+
+    /**
+     * Gets the number of missing values of a field.
+     *
+     * @param field The index of the field.
+     * @return The number of missing values, or {@code 0} for the target.
+     */
+    public long getMissingCount(final int field) {
+        return this.missing[field];
+    }
+
+    /**
+     * Gets the fraction of missing values of a field.
+     *
+     * @param field The index of the field.
+     * @return The fraction of missing values, or {@link Double#NaN} if there are no instances.
+     */
+    public double getMissingRate(final int field) {
+        return this.count == 0 ? Double.NaN : (double) this.missing[field] / this.count;
+    }
+
+    /**
+     * Gets the mean of a numeric field.
+     *
+     * @param field The index of the field.
+     * @return The mean, or {@link Double#NaN} if the field has no values.
+     */
+    public double getMean(final int field) {
+        checkKind(field, FieldKind.NUMERIC);
+        return this.count == this.missing[field] ? Double.NaN : this.mean[field];
+    }
+
+    /**
+     * Gets the (sample) variance of a numeric field.
+     *
+     * @param field The index of the field.
+     * @return The variance, or {@link Double#NaN} if the field has less than 2 values.
+     */
+    public double getVariance(final int field) {
+        checkKind(field, FieldKind.NUMERIC);
+        final long n = this.count - this.missing[field];
+        return n < 2 ? Double.NaN : this.squaredDeviations[field] / (n - 1);
+    }
+
+    /**
+     * Gets the minimum of a numeric field.
+     *
+     * @param field The index of the field.
+     * @return The minimum, or {@link Double#NaN} if the field has no values.
+     */
+    public double getMin(final int field) {
+        checkKind(field, FieldKind.NUMERIC);
+        return this.count == this.missing[field] ? Double.NaN : this.min[field];
+    }
+
+    /**
+     * Gets the maximum of a numeric field.
+     *
+     * @param field The index of the field.
+     * @return The maximum, or {@link Double#NaN} if the field has no values.
+     */
+    public double getMax(final int field) {
+        checkKind(field, FieldKind.NUMERIC);
+        return this.count == this.missing[field] ? Double.NaN : this.max[field];
+    }
+
+    /**
+     * Estimates a quantile of a numeric field, from its histogram.
+     *
+     * @param field    The index of the field.
+     * @param quantile The quantile, in [0, 1].
+     * @return The estimated quantile, or {@link Double#NaN} if the field has no values.
+     */
+    public double getQuantile(final int field, final double quantile) {
+        checkKind(field, FieldKind.NUMERIC);
+        Preconditions.checkArgument(quantile >= 0 && quantile <= 1, "the quantile should be in [0, 1]");
+
+        final long n = this.count - this.missing[field];
+        if (n == 0) {
+            return Double.NaN;
+        }
+
+        final long rank = Math.max(1, (long) Math.ceil(quantile * n));
+        final long[] histogram = this.counts[field];
+        long cumulative = 0;
+        int bucket = 0;
+        while (bucket < histogram.length - 1) {
+            cumulative += histogram[bucket];
+            if (cumulative >= rank) {
+                break;
+            }
+            bucket++;
+        }
+        return Math.max(this.min[field], Math.min(this.max[field], bucketMidpoint(bucket)));
+    }
+
+    /**
+     * Gets the number of occurrences of a value of a categorical field (exact) or of a string field (an estimate
+     * that never undercounts).
+     *
+     * @param field The index of the field.
+     * @param value The value.
+     * @return The number of occurrences.
+     */
+    public long getValueCount(final int field, final String value) {
+        Preconditions.checkNotNull(value, "value cannot be null");
+
+        if (this.kinds[field] == FieldKind.CATEGORICAL) {
+            final SortedSet<String> nominalValues =
+                    ((CategoricalValueSchema) this.schema.getFieldSchemas().get(field).getValueSchema()).getNominalValues();
+            return nominalValues.contains(value) ? this.counts[field][nominalValues.headSet(value).size()] : 0;
+        }
+
+        checkKind(field, FieldKind.STRING);
+        final long hash = StatisticsUtils.stringHash(value);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < SKETCH_DEPTH; row++) {
+            estimate = Math.min(estimate, this.counts[field][sketchIndex(hash, row)]);
+        }
+        return estimate;
+    }
+
+    /**
+     * Computes the Population Stability Index (PSI) of the (non-missing) values of a field with respect to reference
+     * statistics. Numeric values are compared over 10 bins of equal reference mass, categorical values over their
+     * categories, and string values over the buckets of one row of their sketches.
+     *
+     * @param reference The reference statistics, with the same schema.
+     * @param field     The index of the field.
+     * @return The PSI, or {@link Double#NaN} if any of the statistics has no values of the field.
+     * @see DriftMetrics#populationStabilityIndex(long[], long[])
+     */
+    public double getPopulationStabilityIndex(final FeatureStatistics reference, final int field) {
+        checkReference(reference, field);
+
+        switch (this.kinds[field]) {
+            case NUMERIC:
+                return DriftMetrics.populationStabilityIndex(
+                        reference.counts[field],
+                        this.counts[field],
+                        NUMERIC_PSI_BINS
+                );
+            case STRING:
+                return DriftMetrics.populationStabilityIndex(
+                        Arrays.copyOf(reference.counts[field], SKETCH_WIDTH),
+                        Arrays.copyOf(this.counts[field], SKETCH_WIDTH)
+                );
+            default:
+                return DriftMetrics.populationStabilityIndex(reference.counts[field], this.counts[field]);
+        }
+    }
+
+    /**
+     * Computes the Kolmogorov-Smirnov statistic of the (non-missing) values of a numeric field with respect to
+     * reference statistics, over the buckets of their histograms.
+     *
+     * @param reference The reference statistics, with the same schema.
+     * @param field     The index of the field.
+     * @return The statistic, in [0, 1], or {@link Double#NaN} if any of the statistics has no values of the field.
+     * @see DriftMetrics#kolmogorovSmirnov(long[], long[])
+     */
+    public double getKolmogorovSmirnov(final FeatureStatistics reference, final int field) {
+        checkReference(reference, field);
+        checkKind(field, FieldKind.NUMERIC);
+        return DriftMetrics.kolmogorovSmirnov(reference.counts[field], this.counts[field]);
+    }
+
+    /**
+     * Checks that reference statistics can be compared with these ones on a field.
+     *
+     * @param reference The reference statistics.
+     * @param field     The index of the field.
+     */
+    private void checkReference(final FeatureStatistics reference, final int field) {
+        Preconditions.checkNotNull(reference, "reference cannot be null");
+        Preconditions.checkArgument(this.schema.equals(reference.schema), "the statistics should have the same schema");
+        Preconditions.checkArgument(this.kinds[field] != FieldKind.IGNORED, "the target field has no statistics");
+    }
+
+    /**
+     * Checks that a field is of the given kind.
+     *
+     * @param field The index of the field.
+     * @param kind  The expected kind.
+     */
+    private void checkKind(final int field, final FieldKind kind) {
+        Preconditions.checkArgument(
+                this.kinds[field] == kind,
+                "field %s is not %s",
+                field,
+                kind.name().toLowerCase()
+        );
+    }
+
+    /**
+     * Gets the index of the bucket of a (non-NaN) numeric value, so that the buckets are ordered by value.
+     *
+     * @param value The value.
+     * @return The index of the bucket.
+     */
+    static int bucketIndex(final double value) {
+        final double magnitude = Math.abs(value);
+        if (magnitude < MIN_MAGNITUDE) {
+            return ZERO_BUCKET;
+        }
+
+        final int exponent = Math.getExponent(magnitude);
+        final int offset = exponent > MAX_EXPONENT
+                ? BUCKETS_PER_SIGN - 1
+                : (exponent - MIN_EXPONENT) * SUB_BUCKETS
+                        + (int) (Double.doubleToRawLongBits(magnitude) >>> (52 - SUB_BUCKET_BITS)) % SUB_BUCKETS;
+        return value > 0 ? ZERO_BUCKET + 1 + offset : ZERO_BUCKET - 1 - offset;
+    }
+
+    /**
+     * Gets the value in the middle of a bucket.
+     *
+     * @param bucket The index of the bucket.
+     * @return The middle value.
+     */
+    static double bucketMidpoint(final int bucket) {
+        if (bucket == ZERO_BUCKET) {
+            return 0;
+        }
+
+        final int offset = Math.abs(bucket - ZERO_BUCKET) - 1;
+        final int exponent = MIN_EXPONENT + offset / SUB_BUCKETS;
+        final double subBucket = offset % SUB_BUCKETS;
+        final double midpoint = Math.scalb(1 + (subBucket + 0.5) / SUB_BUCKETS, exponent);
+        return bucket > ZERO_BUCKET ? midpoint : -midpoint;
+    }
+
+    /**
+     * Gets the index of the counter of a hashed string in a row of a count-min sketch, deriving the hash of each row
+     * from the two halves of the string hash.
+     *
+     * @param hash The hash of the string.
+     * @param row  The row of the sketch.
+     * @return The index of the counter in the flattened sketch.
+     */
+    private static int sketchIndex(final long hash, final int row) {
+        final int rowHash = (int) hash + row * (int) (hash >>> 32);
+        return row * SKETCH_WIDTH + (rowHash & (SKETCH_WIDTH - 1));
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("count", this.count)
+                .add("missing", Arrays.toString(this.missing))
+                .toString();
+    }
+}
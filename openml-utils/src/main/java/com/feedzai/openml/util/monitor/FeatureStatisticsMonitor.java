@@ -0,0 +1,235 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.monitor;
+
+import com.feedzai.openml.data.Instance;
+import com.feedzai.openml.data.schema.DatasetSchema;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Collects the {@link FeatureStatistics} of the instances scored by a model, concurrently from the scoring threads.
+ * <p>
+ * The statistics are sharded: each update goes to a shard picked from the identity of the calling thread, and
+ * {@link #snapshot()} merges all shards. Updates never wait: a thread that finds its shard busy (being updated by
+ * another thread, or read by a snapshot) moves on to the next shard. Snapshots read each shard optimistically, only
+ * locking it if an update happened while it was being copied.
+ * <p>
+ * A typical use is to {@link #update(Instance) update} the monitor with each scored instance, and periodically
+ * compare a snapshot with the statistics of the training data (see {@link FeatureStatistics#load}), alerting when
+ * the {@link FeatureStatistics#getPopulationStabilityIndex PSI} of a field goes above a threshold.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public final class FeatureStatisticsMonitor {
+
+    /**
+     * The schema of the instances.
+     */
+    private final DatasetSchema schema;
+
+    /**
+     * The shards of the statistics.
+     */
+    private final Shard[] shards;
+
+    /**
+     * The mask to get the index of a shard from a hash, as the number of shards is a power of 2.
+     */
+    private final int shardMask;
+
+    /**
+     * Creates a new instance from the given builder.
+     *
+     * @param builder The builder.
+     */
+    private FeatureStatisticsMonitor(final Builder builder) {
+        this.schema = builder.schema;
+        this.shards = new Shard[builder.shards];
+        for (int shard = 0; shard < this.shards.length; shard++) {
+            this.shards[shard] = new Shard(new FeatureStatistics(this.schema));
+        }
+        this.shardMask = this.shards.length - 1;
+    }
+
+    /**
+     * Creates a new builder of a monitor of the instances of the given schema.
+     *
+     * @param schema The schema of the instances.
+     * @return The builder.
+     */
+    public static Builder builder(final DatasetSchema schema) {
+        return new Builder(schema);
+    }
+
+    /**
+     * Adds an instance to the statistics.
+     *
+     * @param instance The instance.
+     */
+    public void update(final Instance instance) {
+        int index = ThreadStripes.stripeOfCurrentThread(this.shardMask);
+        while (true) {
+            final Shard shard = this.shards[index];
+            final long stamp = shard.lock.tryWriteLock();
+            if (stamp != 0) {
+                try {
+                    shard.statistics.update(instance);
+                } finally {
+                    shard.lock.unlockWrite(stamp);
+                }
+                return;
+            }
+            index = (index + 1) & this.shardMask;
+        }
+    }
+
+    /**
+     * Gets the statistics of all the instances added so far (or since the last {@link #reset()}), without stopping
+     * the updates.
+     *
+     * @return A copy of the statistics.
+     */
+    public FeatureStatistics snapshot() {
+        final FeatureStatistics snapshot = new FeatureStatistics(this.schema);
+        for (final Shard shard : this.shards) {
+            snapshot.merge(shard.read());
+        }
+        return snapshot;
+    }
+
+    /**
+     * Discards the statistics of the instances added so far, e.g. to monitor consecutive time windows.
+     */
+    public void reset() {
+        for (final Shard shard : this.shards) {
+            final long stamp = shard.lock.writeLock();
+            try {
+                shard.statistics = new FeatureStatistics(this.schema);
+            } finally {
+                shard.lock.unlockWrite(stamp);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("shards", this.shards.length)
+                .toString();
+    }
+
+    /**
+     * A shard of the statistics, updated by one thread at a time.
+     */
+    private static final class Shard {
+
+        /**
+         * The lock of the shard, exclusive for updates and optimistic for reads.
+         */
+        private final StampedLock lock = new StampedLock();
+
+        /**
+         * The statistics of the shard.
+         */
+        private FeatureStatistics statistics;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param statistics The initial statistics of the shard.
+         */
+        private Shard(final FeatureStatistics statistics) {
+            this.statistics = statistics;
+        }
+
+        /**
+         * Copies the statistics of this shard, without locking it unless it was updated during the copy.
+         *
+         * @return A consistent copy of the statistics.
+         */
+        private FeatureStatistics read() {
+            final long optimisticStamp = this.lock.tryOptimisticRead();
+            if (optimisticStamp != 0) {
+                final FeatureStatistics copy = this.statistics.copy();
+                if (this.lock.validate(optimisticStamp)) {
+                    return copy;
+                }
+            }
+
+            final long stamp = this.lock.readLock();
+            try {
+                return this.statistics.copy();
+            } finally {
+                this.lock.unlockRead(stamp);
+            }
+        }
+    }
+
+    /**
+     * Builder of {@link FeatureStatisticsMonitor}.
+     */
+    public static final class Builder {
+
+        /**
+         * The schema of the instances.
+         */
+        private final DatasetSchema schema;
+
+        /**
+         * The number of shards.
+         */
+        private int shards = Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1) << 1;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param schema The schema of the instances.
+         */
+        private Builder(final DatasetSchema schema) {
+            this.schema = Preconditions.checkNotNull(schema, "schema cannot be null");
+        }
+
+        /**
+         * Sets the number of shards, rounded up to a power of 2. Defaults to twice the number of available processors.
+         * <p>
+         * Each shard holds about 8KB per numeric field, so fewer shards may be preferable for very wide schemas.
+         *
+         * @param shards The number of shards.
+         * @return This builder.
+         */
+        public Builder withShards(final int shards) {
+            Preconditions.checkArgument(shards > 0 && shards <= 1 << 16, "the number of shards should be in [1, 65536]");
+            this.shards = shards == 1 ? 1 : Integer.highestOneBit(shards - 1) << 1;
+            return this;
+        }
+
+        /**
+         * Creates the {@link FeatureStatisticsMonitor} with the settings of this builder.
+         *
+         * @return The monitor.
+         */
+        public FeatureStatisticsMonitor build() {
+            return new FeatureStatisticsMonitor(this);
+        }
+    }
+}
@@ -0,0 +1,301 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.monitor;
+
+import com.feedzai.openml.data.Dataset;
+import com.feedzai.openml.data.Instance;
+import com.feedzai.openml.model.ClassificationMLModel;
+import com.feedzai.openml.provider.exception.ModelLoadingException;
+import com.feedzai.openml.util.data.ClassificationDatasetSchemaUtil;
+import com.feedzai.openml.util.load.LoadModelUtils;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+/**
+ * The distribution of the scores given by a classification model to each class, over fixed buckets of equal width in
+ * [0, 1].
+ * <p>
+ * The distribution of the scores of a validation dataset can be {@link #save(Path) saved} next to a model, and later
+ * used as the baseline of the distribution of the scores in production (see {@link ScoreDistributionMonitor}), where
+ * a shift is usually the earliest signal of model decay.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public final class ScoreDistribution implements Serializable {
+
+    /**
+     * Serial version UID.
+     */
+    private static final long serialVersionUID = -2860539871412204337L;
+
+    /**
+     * The name of the file where the distribution is {@link #save(Path) saved}.
+     */
+    public static final String FILE_NAME = "score-distribution.ser";
+
+    /**
+     * The number of scored instances.
+     */
+    private final long count;
+
+    /**
+     * The number of scores of each class in each bucket.
+     */
+    private final long[][] counts;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param count  The number of scored instances.
+     * @param counts The number of scores of each class in each bucket.
+     */
+    ScoreDistribution(final long count, final long[][] counts) {
+        this.count = count;
+        this.counts = counts;
+    }
+
+    /**
+     * Computes the distribution of the scores given by a model to the instances of a dataset, e.g. to use as the
+     * baseline of the scores of the model in production.
+     *
+     * @param model   The model.
+     * @param dataset The dataset.
+     * @param buckets The number of buckets.
+     * @return The distribution of the scores.
+     */
+    public static ScoreDistribution of(final ClassificationMLModel model, final Dataset dataset, final int buckets) {
+        Preconditions.checkNotNull(model, "model cannot be null");
+        Preconditions.checkNotNull(dataset, "dataset cannot be null");
+        Preconditions.checkArgument(buckets > 0, "the number of buckets should be positive");
+
+        final int numberClasses = ClassificationDatasetSchemaUtil.getNumClassValues(model.getSchema())
+                .orElseThrow(() -> new IllegalArgumentException("the schema of the model should have a categorical target"));
+        final long[][] counts = new long[numberClasses][buckets];
+        long count = 0;
+        final Iterator<Instance> instances = dataset.getInstances();
+        while (instances.hasNext()) {
+            final double[] scores = model.getClassDistribution(instances.next());
+            for (int classIndex = 0; classIndex < counts.length; classIndex++) {
+                final double score = scores[classIndex];
+                if (!Double.isNaN(score)) {
+                    counts[classIndex][bucketIndex(score, buckets)]++;
+                }
+            }
+            count++;
+        }
+        return new ScoreDistribution(count, counts);
+    }
+
+    /**
+     * Loads the distribution {@link #save(Path) saved} in a directory, usually the directory of a model.
+     *
+     * @param dir The directory.
+     * @return The distribution.
+     * @throws ModelLoadingException If the distribution cannot be read.
+     */
+    public static ScoreDistribution load(final Path dir) throws ModelLoadingException {
+        Preconditions.checkNotNull(dir, "dir cannot be null");
+
+        return LoadModelUtils.readSerialized(dir.resolve(FILE_NAME), ScoreDistribution.class, "score distribution");
+    }
+
+    /**
+     * Saves this distribution in a directory, usually the directory of a model, so that it can be
+     * {@link #load(Path) loaded} as the baseline of the scores in production.
+     *
+     * @param dir The directory.
+     * @throws IOException If the distribution cannot be written.
+     */
+    public void save(final Path dir) throws IOException {
+        Preconditions.checkNotNull(dir, "dir cannot be null");
+
+        LoadModelUtils.writeSerialized(dir.resolve(FILE_NAME), this);
+    }
+
+    /**
+     * Gets the index of the bucket of a score.
+     *
+     * @param score   The score, which is clamped to [0, 1].
+     * @param buckets The number of buckets.
+     * @return The index of the bucket.
+     */
+    static int bucketIndex(final double score, final int buckets) {
+        return Math.max(0, Math.min(buckets - 1, (int) (score * buckets)));
+    }
+
+    /**
+     * Gets the number of scored instances.
+     *
+     * @return The number of instances.
+     */
+    public long getCount() {
+        return this.count;
+    }
+
+    /**
+     * Gets the number of classes.
+     *
+     * @return The number of classes.
+     */
+    public int getNumberClasses() {
+        return this.counts.length;
+    }
+
+    /**
+     * Gets the number of buckets.
+     *
+     * @return The number of buckets.
+     */
+    public int getNumberBuckets() {
+        return this.counts.length == 0 ? 0 : this.counts[0].length;
+    }
+
+    /**
+     * Gets the number of scores of a class in each bucket.
+     *
+     * @param classIndex The index of the class.
+     * @return A copy of the counts of the buckets.
+     */
+    public long[] getBucketCounts(final int classIndex) {
+        return this.counts[classIndex].clone();
+    }
+
+    /**
+     * Estimates the mean score of a class, taking the middle of each bucket.
+     *
+     * @param classIndex The index of the class.
+     * @return The estimated mean, or {@link Double#NaN} if there are no scores.
+     */
+    public double getMean(final int classIndex) {
+        final long[] classCounts = this.counts[classIndex];
+        long total = 0;
+        double sum = 0;
+        for (int bucket = 0; bucket < classCounts.length; bucket++) {
+            total += classCounts[bucket];
+            sum += classCounts[bucket] * (bucket + 0.5) / classCounts.length;
+        }
+        return total == 0 ? Double.NaN : sum / total;
+    }
+
+    /**
+     * Estimates a quantile of the scores of a class, interpolating linearly within its bucket.
+     *
+     * @param classIndex The index of the class.
+     * @param quantile   The quantile, in [0, 1].
+     * @return The estimated quantile, or {@link Double#NaN} if there are no scores.
+     */
+    public double getQuantile(final int classIndex, final double quantile) {
+        Preconditions.checkArgument(quantile >= 0 && quantile <= 1, "the quantile should be in [0, 1]");
+
+        final long[] classCounts = this.counts[classIndex];
+        long total = 0;
+        for (final long bucketCount : classCounts) {
+            total += bucketCount;
+        }
+        if (total == 0) {
+            return Double.NaN;
+        }
+
+        final double rank = quantile * total;
+        long cumulative = 0;
+        for (int bucket = 0; bucket < classCounts.length; bucket++) {
+            if (classCounts[bucket] > 0 && cumulative + classCounts[bucket] >= rank) {
+                final double fraction = (rank - cumulative) / classCounts[bucket];
+                return (bucket + fraction) / classCounts.length;
+            }
+            cumulative += classCounts[bucket];
+        }
+        return 1;
+    }
+
+    /**
+     * Gets the distribution of the scores added after a previous snapshot of the same scores, e.g. to get the
+     * distribution over a time window from two cumulative snapshots.
+     *
+     * @param previous The previous snapshot.
+     * @return The distribution of the scores added since the previous snapshot.
+     */
+    public ScoreDistribution since(final ScoreDistribution previous) {
+        checkCompatible(previous);
+
+        final long[][] window = new long[this.counts.length][];
+        for (int classIndex = 0; classIndex < window.length; classIndex++) {
+            window[classIndex] = new long[this.counts[classIndex].length];
+            for (int bucket = 0; bucket < window[classIndex].length; bucket++) {
+                window[classIndex][bucket] = this.counts[classIndex][bucket] - previous.counts[classIndex][bucket];
+            }
+        }
+        return new ScoreDistribution(this.count - previous.count, window);
+    }
+
+    /**
+     * Computes the Population Stability Index (PSI) of the scores of a class with respect to a baseline, over 10 bins
+     * of equal baseline mass.
+     *
+     * @param baseline   The baseline distribution, with the same classes and buckets.
+     * @param classIndex The index of the class.
+     * @return The PSI, or {@link Double#NaN} if any of the distributions is empty.
+     * @see DriftMetrics#populationStabilityIndex(long[], long[], int)
+     */
+    public double getPopulationStabilityIndex(final ScoreDistribution baseline, final int classIndex) {
+        checkCompatible(baseline);
+        return DriftMetrics.populationStabilityIndex(baseline.counts[classIndex], this.counts[classIndex], 10);
+    }
+
+    /**
+     * Computes the Kolmogorov-Smirnov statistic of the scores of a class with respect to a baseline.
+     *
+     * @param baseline   The baseline distribution, with the same classes and buckets.
+     * @param classIndex The index of the class.
+     * @return The statistic, in [0, 1], or {@link Double#NaN} if any of the distributions is empty.
+     * @see DriftMetrics#kolmogorovSmirnov(long[], long[])
+     */
+    public double getKolmogorovSmirnov(final ScoreDistribution baseline, final int classIndex) {
+        checkCompatible(baseline);
+        return DriftMetrics.kolmogorovSmirnov(baseline.counts[classIndex], this.counts[classIndex]);
+    }
+
+    /**
+     * Checks that another distribution has the same classes and buckets as this one.
+     *
+     * @param other The other distribution.
+     */
+    private void checkCompatible(final ScoreDistribution other) {
+        Preconditions.checkNotNull(other, "distribution cannot be null");
+        Preconditions.checkArgument(
+                other.getNumberClasses() == getNumberClasses() && other.getNumberBuckets() == getNumberBuckets(),
+                "the distributions should have the same number of classes and buckets"
+        );
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("count", this.count)
+                .add("classes", getNumberClasses())
+                .add("buckets", getNumberBuckets())
+                .toString();
+    }
+}
@@ -0,0 +1,421 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.monitor;
+
+import com.feedzai.openml.data.Instance;
+import com.feedzai.openml.data.schema.DatasetSchema;
+import com.feedzai.openml.model.ClassificationMLModel;
+import com.feedzai.openml.util.data.ClassificationDatasetSchemaUtil;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * A {@link ClassificationMLModel} that records the {@link ScoreDistribution distribution} of the scores given by
+ * another model to each class, to detect shifts with respect to a baseline captured at validation time.
+ * <p>
+ * The scores are counted in buckets of equal width in [0, 1], striped by thread so that concurrent scoring threads
+ * rarely increment the same counters. {@link #snapshot() Snapshots} sum the stripes without stopping the writers;
+ * optionally, they are taken periodically and the distribution of each period is handed to a listener.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public final class ScoreDistributionMonitor implements ClassificationMLModel {
+
+    /**
+     * Logger for this class.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(ScoreDistributionMonitor.class);
+
+    /**
+     * The largest length of an array that the JVMs reliably allocate.
+     */
+    private static final long MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+    /**
+     * The monitored model.
+     */
+    private final ClassificationMLModel model;
+
+    /**
+     * The number of classes of the model.
+     */
+    private final int numberClasses;
+
+    /**
+     * The number of buckets of the scores of each class.
+     */
+    private final int buckets;
+
+    /**
+     * The mask to get the stripe from a hash, as the number of stripes is a power of 2.
+     */
+    private final int stripeMask;
+
+    /**
+     * The counters of all stripes, laid out by stripe, then class, then bucket.
+     */
+    private final AtomicLongArray counts;
+
+    /**
+     * The number of scored instances.
+     */
+    private final LongAdder scored = new LongAdder();
+
+    /**
+     * The baseline distribution, or {@code null} if there is none.
+     */
+    private final ScoreDistribution baseline;
+
+    /**
+     * The scheduler of the periodic snapshots, or {@code null} if there are none.
+     */
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * The latest periodic snapshot, used to compute the distribution of the next period.
+     */
+    private volatile ScoreDistribution lastSnapshot;
+
+    /**
+     * Creates a new instance from the given builder.
+     *
+     * @param builder The builder.
+     */
+    private ScoreDistributionMonitor(final Builder builder) {
+        this.model = builder.model;
+        this.numberClasses = ClassificationDatasetSchemaUtil.getNumClassValues(this.model.getSchema())
+                .orElseThrow(() -> new IllegalArgumentException("the schema of the model should have a categorical target"));
+        this.buckets = builder.buckets;
+        // computed in long and bounded by division, so that no product of the sizes can overflow
+        final long stripeSize = Math.multiplyExact((long) this.numberClasses, (long) this.buckets);
+        Preconditions.checkArgument(
+                stripeSize <= MAX_ARRAY_LENGTH / builder.stripes,
+                "%s stripes of %s classes with %s buckets need too many counters, use fewer stripes or buckets",
+                builder.stripes, this.numberClasses, this.buckets
+        );
+        this.stripeMask = builder.stripes - 1;
+        this.counts = new AtomicLongArray((int) (builder.stripes * stripeSize));
+        this.baseline = builder.baseline;
+        if (this.baseline != null) {
+            Preconditions.checkArgument(
+                    this.baseline.getNumberClasses() == this.numberClasses && this.baseline.getNumberBuckets() == this.buckets,
+                    "the baseline should have the same number of classes and buckets as the monitor"
+            );
+        }
+        this.lastSnapshot = new ScoreDistribution(0, new long[this.numberClasses][this.buckets]);
+
+        if (builder.listener != null) {
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                    new ThreadFactoryBuilder().setNameFormat("openml-score-monitor-%d").setDaemon(true).build()
+            );
+            final Consumer<ScoreDistribution> listener = builder.listener;
+            this.scheduler.scheduleAtFixedRate(
+                    () -> notifyPeriod(listener),
+                    builder.periodNanos,
+                    builder.periodNanos,
+                    TimeUnit.NANOSECONDS
+            );
+        } else {
+            this.scheduler = null;
+        }
+    }
+
+    /**
+     * Creates a new builder of a monitor of the scores of the given model.
+     *
+     * @param model The model to monitor.
+     * @return The builder.
+     */
+    public static Builder builder(final ClassificationMLModel model) {
+        return new Builder(model);
+    }
+
+    @Override
+    public double[] getClassDistribution(final Instance instance) {
+        final double[] distribution = this.model.getClassDistribution(instance);
+        record(distribution, stripeOffset());
+        return distribution;
+    }
+
+    @Override
+    public void getClassDistributions(final Instance[] instances, final double[][] distributions) {
+        this.model.getClassDistributions(instances, distributions);
+        final int stripeOffset = stripeOffset();
+        for (int row = 0; row < instances.length; row++) {
+            record(distributions[row], stripeOffset);
+        }
+    }
+
+    @Override
+    @Deprecated
+    public int classify(final Instance instance) {
+        return this.model.classify(instance);
+    }
+
+    @Override
+    public boolean save(final Path dir, final String name) {
+        return this.model.save(dir, name);
+    }
+
+    @Override
+    public DatasetSchema getSchema() {
+        return this.model.getSchema();
+    }
+
+    /**
+     * Stops the periodic snapshots, if any, and closes the monitored model.
+     *
+     * @throws Exception If the model fails to close.
+     */
+    @Override
+    public void close() throws Exception {
+        if (this.scheduler != null) {
+            this.scheduler.shutdownNow();
+        }
+        this.model.close();
+    }
+
+    /**
+     * Gets the distribution of all the scores so far, without stopping the scoring threads. Scores recorded while
+     * the snapshot is taken may or may not be included.
+     *
+     * @return The distribution of the scores.
+     */
+    public ScoreDistribution snapshot() {
+        final long count = this.scored.sum();
+        final long[][] classCounts = new long[this.numberClasses][this.buckets];
+        final int stripeSize = this.numberClasses * this.buckets;
+        for (int index = 0; index < this.counts.length(); index++) {
+            final int inStripe = index % stripeSize;
+            classCounts[inStripe / this.buckets][inStripe % this.buckets] += this.counts.get(index);
+        }
+        return new ScoreDistribution(count, classCounts);
+    }
+
+    /**
+     * Gets the baseline of the distribution of the scores.
+     *
+     * @return The baseline, or {@code null} if none was given.
+     */
+    public ScoreDistribution getBaseline() {
+        return this.baseline;
+    }
+
+    /**
+     * Computes the Population Stability Index (PSI) of the scores of a class so far with respect to the baseline.
+     *
+     * @param classIndex The index of the class.
+     * @return The PSI, or {@link Double#NaN} if there are no scores yet.
+     * @see ScoreDistribution#getPopulationStabilityIndex(ScoreDistribution, int)
+     */
+    public double getPopulationStabilityIndex(final int classIndex) {
+        Preconditions.checkState(this.baseline != null, "the monitor has no baseline");
+        return snapshot().getPopulationStabilityIndex(this.baseline, classIndex);
+    }
+
+    /**
+     * Computes the Kolmogorov-Smirnov statistic of the scores of a class so far with respect to the baseline.
+     *
+     * @param classIndex The index of the class.
+     * @return The statistic, or {@link Double#NaN} if there are no scores yet.
+     * @see ScoreDistribution#getKolmogorovSmirnov(ScoreDistribution, int)
+     */
+    public double getKolmogorovSmirnov(final int classIndex) {
+        Preconditions.checkState(this.baseline != null, "the monitor has no baseline");
+        return snapshot().getKolmogorovSmirnov(this.baseline, classIndex);
+    }
+
+    /**
+     * Gets the offset of the counters of the stripe of the calling thread.
+     *
+     * @return The offset of the stripe.
+     */
+    private int stripeOffset() {
+        final int stripe = ThreadStripes.stripeOfCurrentThread(this.stripeMask);
+        return stripe * this.numberClasses * this.buckets;
+    }
+
+    /**
+     * Counts the scores of an instance.
+     *
+     * @param distribution The class distribution given by the model.
+     * @param stripeOffset The offset of the stripe of the calling thread.
+     */
+    private void record(final double[] distribution, final int stripeOffset) {
+        final int classes = Math.min(this.numberClasses, distribution.length);
+        for (int classIndex = 0; classIndex < classes; classIndex++) {
+            final double score = distribution[classIndex];
+            if (!Double.isNaN(score)) {
+                this.counts.incrementAndGet(
+                        stripeOffset + classIndex * this.buckets + ScoreDistribution.bucketIndex(score, this.buckets)
+                );
+            }
+        }
+        this.scored.increment();
+    }
+
+    /**
+     * Takes a periodic snapshot and hands the distribution of the scores since the previous one to a listener.
+     *
+     * @param listener The listener.
+     */
+    private void notifyPeriod(final Consumer<ScoreDistribution> listener) {
+        final ScoreDistribution snapshot = snapshot();
+        final ScoreDistribution period = snapshot.since(this.lastSnapshot);
+        this.lastSnapshot = snapshot;
+        try {
+            listener.accept(period);
+        } catch (final RuntimeException e) {
+            // an exception would cancel the next snapshots
+            logger.warn("The listener of the score distribution failed", e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("model", this.model)
+                .add("buckets", this.buckets)
+                .add("scored", this.scored.sum())
+                .toString();
+    }
+
+    /**
+     * Builder of {@link ScoreDistributionMonitor}.
+     */
+    public static final class Builder {
+
+        /**
+         * The model to monitor.
+         */
+        private final ClassificationMLModel model;
+
+        /**
+         * The number of buckets of the scores of each class.
+         */
+        private int buckets = 100;
+
+        /**
+         * The number of stripes of the counters.
+         */
+        private int stripes = Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1);
+
+        /**
+         * The baseline distribution.
+         */
+        private ScoreDistribution baseline = null;
+
+        /**
+         * The listener of the periodic snapshots.
+         */
+        private Consumer<ScoreDistribution> listener = null;
+
+        /**
+         * The period of the snapshots, in nanoseconds.
+         */
+        private long periodNanos = 0;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param model The model to monitor.
+         */
+        private Builder(final ClassificationMLModel model) {
+            this.model = Preconditions.checkNotNull(model, "model cannot be null");
+        }
+
+        /**
+         * Sets the number of buckets of equal width in [0, 1] of the scores of each class. Defaults to 100.
+         *
+         * @param buckets The number of buckets.
+         * @return This builder.
+         */
+        public Builder withBuckets(final int buckets) {
+            Preconditions.checkArgument(buckets > 0, "the number of buckets should be positive");
+            this.buckets = buckets;
+            return this;
+        }
+
+        /**
+         * Sets the number of stripes of the counters, rounded up to a power of 2. Defaults to the number of available
+         * processors.
+         *
+         * @param stripes The number of stripes.
+         * @return This builder.
+         */
+        public Builder withStripes(final int stripes) {
+            Preconditions.checkArgument(stripes > 0 && stripes <= 1 << 16, "the number of stripes should be in [1, 65536]");
+            this.stripes = stripes == 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+            return this;
+        }
+
+        /**
+         * Sets the baseline of the distribution of the scores, usually computed with
+         * {@link ScoreDistribution#of} on a validation dataset, with the same number of buckets.
+         *
+         * @param baseline The baseline distribution.
+         * @return This builder.
+         */
+        public Builder withBaseline(final ScoreDistribution baseline) {
+            this.baseline = Preconditions.checkNotNull(baseline, "baseline cannot be null");
+            return this;
+        }
+
+        /**
+         * Takes snapshots periodically, handing the distribution of the scores of each period to a listener, e.g. to
+         * compare it with the baseline. The listener is called in a dedicated thread.
+         *
+         * @param period   The period of the snapshots.
+         * @param unit     The unit of the period.
+         * @param listener The listener of the distribution of each period.
+         * @return This builder.
+         */
+        public Builder withPeriodicSnapshots(final long period,
+                                             final TimeUnit unit,
+                                             final Consumer<ScoreDistribution> listener) {
+            Preconditions.checkArgument(period > 0, "the period should be positive");
+            this.periodNanos = Preconditions.checkNotNull(unit, "unit cannot be null").toNanos(period);
+            this.listener = Preconditions.checkNotNull(listener, "listener cannot be null");
+            return this;
+        }
+
+        /**
+         * Creates the {@link ScoreDistributionMonitor} with the settings of this builder.
+         *
+         * @return The monitor.
+         * @throws IllegalArgumentException If the counters of all the stripes, classes and buckets don't fit in an
+         *                                  array.
+         */
+        public ScoreDistributionMonitor build() {
+            return new ScoreDistributionMonitor(this);
+        }
+    }
+}
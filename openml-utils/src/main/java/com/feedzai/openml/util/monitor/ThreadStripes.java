@@ -0,0 +1,51 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.monitor;
+
+/**
+ * Picks the stripe of the calling thread in the striped counters of the monitors, so that concurrent writers rarely
+ * contend on the same stripe.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+final class ThreadStripes {
+
+    /**
+     * The multiplier of Fibonacci hashing, 2^64 divided by the golden ratio.
+     */
+    private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+
+    /**
+     * Private constructor for utility class.
+     */
+    private ThreadStripes() {
+    }
+
+    /**
+     * Gets the stripe of the calling thread.
+     *
+     * @param mask The number of stripes minus one, as the number of stripes is a power of 2.
+     * @return The index of the stripe.
+     */
+    static int stripeOfCurrentThread(final int mask) {
+        // Fibonacci hashing of the thread id spreads consecutive ids over the stripes
+        return (int) ((Thread.currentThread().getId() * GOLDEN_RATIO) >>> 32) & mask;
+    }
+}
@@ -0,0 +1,565 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.training;
+
+import com.feedzai.openml.provider.model.CheckpointingModelTrainer;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Writes training checkpoints to a directory atomically and asynchronously, as expected from
+ * {@link CheckpointingModelTrainer}s.
+ * <p>
+ * {@link #write(long, Content)} returns immediately, and the checkpoint is written by a background thread: first to
+ * a temporary file in the same directory, which is flushed to disk, and then renamed to its final name, so a crash
+ * never leaves a partially written checkpoint behind. The directory is flushed to disk as well after the rename,
+ * where the platform supports it, so that the rename itself survives a crash. If the training loop produces checkpoints faster than they can
+ * be written, only the most recent one waiting to be written is kept, and the others are skipped. Only the most
+ * recent checkpoints are retained in the directory.
+ * <p>
+ * The content of a checkpoint is written in the background thread, so it must be a snapshot of the training state
+ * that isn't modified by the training loop afterwards.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public final class CheckpointWriter implements Closeable {
+
+    /**
+     * Logger for this class.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(CheckpointWriter.class);
+
+    /**
+     * The pattern of the names of the checkpoint files, with the training step.
+     */
+    private static final Pattern CHECKPOINT_NAME = Pattern.compile("checkpoint-(\\d{20})\\.ckpt");
+
+    /**
+     * The directory where the checkpoints are written.
+     */
+    private final Path directory;
+
+    /**
+     * The number of checkpoints retained in the directory.
+     */
+    private final int retainedCheckpoints;
+
+    /**
+     * The minimum interval between checkpoints suggested by {@link #isDue()}, in nanoseconds.
+     */
+    private final long intervalNanos;
+
+    /**
+     * The thread that writes the checkpoints.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * The lock that guards {@link #pending}, {@link #scheduled} and {@link #closed}.
+     */
+    private final Object lock = new Object();
+
+    /**
+     * The checkpoint waiting to be written, or {@code null} if there is none.
+     */
+    private PendingCheckpoint pending = null;
+
+    /**
+     * Whether the writing thread was asked to write the pending checkpoints.
+     */
+    private boolean scheduled = false;
+
+    /**
+     * Whether this writer was closed.
+     */
+    private boolean closed = false;
+
+    /**
+     * The time of the last call to {@link #write(long, Content)}, as given by {@link System#nanoTime()}.
+     */
+    private volatile long lastWriteNanos;
+
+    /**
+     * The number of checkpoints written.
+     */
+    private final AtomicLong writtenCount = new AtomicLong();
+
+    /**
+     * The number of checkpoints skipped because a more recent one was requested before they were written.
+     */
+    private final AtomicLong skippedCount = new AtomicLong();
+
+    /**
+     * Creates a new instance from the given builder.
+     *
+     * @param builder The builder.
+     */
+    private CheckpointWriter(final Builder builder) {
+        this.directory = builder.directory;
+        this.retainedCheckpoints = builder.retainedCheckpoints;
+        this.intervalNanos = builder.intervalNanos;
+        this.executor = Executors.newSingleThreadExecutor(
+                new ThreadFactoryBuilder().setNameFormat("openml-checkpoint-writer-%d").setDaemon(true).build()
+        );
+        this.lastWriteNanos = System.nanoTime();
+    }
+
+    /**
+     * Creates a new builder of a writer of checkpoints to the given directory.
+     *
+     * @param directory The directory where the checkpoints are written.
+     * @return The builder.
+     */
+    public static Builder builder(final Path directory) {
+        return new Builder(directory);
+    }
+
+    /**
+     * Creates a writer for the checkpoint parameters of a {@link CheckpointingModelTrainer}.
+     *
+     * @param params          The parameters given to the trainer.
+     * @param defaultInterval The interval between checkpoints, in seconds, when there is no
+     *                        {@link CheckpointingModelTrainer#CHECKPOINT_INTERVAL_PARAM}.
+     * @return The writer, or an empty value if there is no {@link CheckpointingModelTrainer#CHECKPOINT_DIRECTORY_PARAM}.
+     * @throws IOException If the directory cannot be created.
+     * @throws IllegalArgumentException If the interval is not a positive number.
+     */
+    public static Optional<CheckpointWriter> fromParams(final Map<String, String> params,
+                                                        final long defaultInterval) throws IOException {
+        Preconditions.checkNotNull(params, "params cannot be null");
+
+        final String directory = params.get(CheckpointingModelTrainer.CHECKPOINT_DIRECTORY_PARAM);
+        if (directory == null || directory.isEmpty()) {
+            return Optional.empty();
+        }
+
+        final String interval = params.get(CheckpointingModelTrainer.CHECKPOINT_INTERVAL_PARAM);
+        final long intervalSeconds;
+        try {
+            intervalSeconds = interval == null ? defaultInterval : Long.parseLong(interval.trim());
+        } catch (final NumberFormatException e) {
+            throw new IllegalArgumentException(String.format("The checkpoint interval [%s] is not a number", interval), e);
+        }
+
+        final Path path = Paths.get(directory);
+        Files.createDirectories(path);
+        return Optional.of(builder(path).withInterval(intervalSeconds, TimeUnit.SECONDS).build());
+    }
+
+    /**
+     * Finds the most recent checkpoint in a directory, i.e. the one with the highest step.
+     *
+     * @param directory The directory.
+     * @return The path of the most recent checkpoint, or an empty value if there are none.
+     * @throws IOException If the directory cannot be read.
+     */
+    public static Optional<Path> latest(final Path directory) throws IOException {
+        final List<Path> checkpoints = list(directory);
+        return checkpoints.isEmpty() ? Optional.empty() : Optional.of(checkpoints.get(checkpoints.size() - 1));
+    }
+
+    /**
+     * Reads a checkpoint written with {@link #write(long, Serializable)}.
+     *
+     * @param checkpoint The path of the checkpoint.
+     * @param type       The class of the training state.
+     * @param <S>        The type of the training state.
+     * @return The training state.
+     * @throws IOException If the checkpoint cannot be read or doesn't have a state of the given type.
+     */
+    public static <S extends Serializable> S read(final Path checkpoint, final Class<S> type) throws IOException {
+        try (InputStream input = Files.newInputStream(checkpoint);
+             ObjectInputStream objectInput = new ObjectInputStream(input)) {
+            return type.cast(objectInput.readObject());
+        } catch (final ClassNotFoundException | ClassCastException e) {
+            throw new IOException(String.format("The checkpoint [%s] doesn't have a %s", checkpoint, type.getName()), e);
+        }
+    }
+
+    /**
+     * Checks whether the checkpoint interval elapsed since the last checkpoint was requested (or since this writer
+     * was created), so that training loops can write checkpoints periodically.
+     *
+     * @return {@code true} if a new checkpoint should be written, {@code false} otherwise.
+     */
+    public boolean isDue() {
+        return System.nanoTime() - this.lastWriteNanos >= this.intervalNanos;
+    }
+
+    /**
+     * Requests a checkpoint to be written in the background.
+     *
+     * @param step    The training step (e.g. iteration) of the checkpoint, which should increase with each checkpoint.
+     * @param content The content of the checkpoint, which must not change after this call.
+     * @return A future with the path of the checkpoint once written, cancelled if the checkpoint is skipped in favour of
+     * a more recent one, or completed exceptionally if it cannot be written.
+     * @throws IllegalStateException If this writer was closed.
+     */
+    public CompletableFuture<Path> write(final long step, final Content content) {
+        Preconditions.checkArgument(step >= 0, "the step should not be negative");
+        Preconditions.checkNotNull(content, "content cannot be null");
+
+        final PendingCheckpoint checkpoint = new PendingCheckpoint(step, content);
+        final PendingCheckpoint skipped;
+        synchronized (this.lock) {
+            Preconditions.checkState(!this.closed, "the checkpoint writer is closed");
+            skipped = this.pending;
+            this.pending = checkpoint;
+            if (!this.scheduled) {
+                this.scheduled = true;
+                this.executor.execute(this::writePending);
+            }
+        }
+        this.lastWriteNanos = System.nanoTime();
+
+        if (skipped != null) {
+            this.skippedCount.incrementAndGet();
+            skipped.future.cancel(false);
+        }
+        return checkpoint.future;
+    }
+
+    /**
+     * Requests a checkpoint with a serializable training state to be written in the background, to be read with
+     * {@link #read(Path, Class)}.
+     *
+     * @param step  The training step (e.g. iteration) of the checkpoint, which should increase with each checkpoint.
+     * @param state The training state, which must not change after this call.
+     * @return A future with the path of the checkpoint once written, as in {@link #write(long, Content)}.
+     * @throws IllegalStateException If this writer was closed.
+     */
+    public CompletableFuture<Path> write(final long step, final Serializable state) {
+        Preconditions.checkNotNull(state, "state cannot be null");
+        return write(step, output -> {
+            final ObjectOutputStream objectOutput = new ObjectOutputStream(output);
+            objectOutput.writeObject(state);
+            objectOutput.flush();
+        });
+    }
+
+    /**
+     * Gets the number of checkpoints written.
+     *
+     * @return The number of checkpoints written.
+     */
+    public long getWrittenCount() {
+        return this.writtenCount.get();
+    }
+
+    /**
+     * Gets the number of checkpoints skipped because a more recent one was requested before they were written.
+     *
+     * @return The number of skipped checkpoints.
+     */
+    public long getSkippedCount() {
+        return this.skippedCount.get();
+    }
+
+    /**
+     * Waits for the pending checkpoint to be written, and stops the writing thread.
+     *
+     * @throws IOException If interrupted while waiting.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this.lock) {
+            this.closed = true;
+        }
+        this.executor.shutdown();
+        try {
+            this.executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the last checkpoint to be written", e);
+        }
+    }
+
+    /**
+     * Writes the pending checkpoints, until there are none.
+     */
+    private void writePending() {
+        while (true) {
+            final PendingCheckpoint checkpoint;
+            synchronized (this.lock) {
+                checkpoint = this.pending;
+                this.pending = null;
+                if (checkpoint == null) {
+                    this.scheduled = false;
+                    return;
+                }
+            }
+
+            try {
+                final Path path = writeAtomically(checkpoint);
+                this.writtenCount.incrementAndGet();
+                deleteOldCheckpoints();
+                checkpoint.future.complete(path);
+            } catch (final IOException | RuntimeException e) {
+                logger.error("Could not write the checkpoint of step {} to [{}]", checkpoint.step, this.directory, e);
+                checkpoint.future.completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * Writes a checkpoint to a temporary file, flushes it to disk and renames it to its final name, flushing the
+     * directory afterwards.
+     * <p>
+     * If the file system can't rename the file atomically, it is replaced non-atomically and a warning is logged, as
+     * a crash during the replacement could leave a partially written checkpoint.
+     *
+     * @param checkpoint The checkpoint.
+     * @return The path of the checkpoint.
+     * @throws IOException If the checkpoint cannot be written.
+     */
+    private Path writeAtomically(final PendingCheckpoint checkpoint) throws IOException {
+        final Path target = this.directory.resolve(String.format("checkpoint-%020d.ckpt", checkpoint.step));
+        final Path temporary = Files.createTempFile(this.directory, ".checkpoint-", ".tmp");
+        try {
+            try (FileOutputStream file = new FileOutputStream(temporary.toFile());
+                 OutputStream output = new BufferedOutputStream(file)) {
+                checkpoint.content.writeTo(output);
+                output.flush();
+                file.getFD().sync();
+            }
+            try {
+                Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (final AtomicMoveNotSupportedException e) {
+                logger.warn("The file system of [{}] doesn't support atomic renames, the checkpoint of step {} is "
+                        + "replaced non-atomically", this.directory, checkpoint.step, e);
+                Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            syncDirectory(this.directory);
+            return target;
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Flushes a directory to disk, so that the files renamed into it survive a crash. Platforms that can't open
+     * directories (such as Windows) are skipped, as their file systems don't need it.
+     *
+     * @param directory The directory.
+     */
+    private static void syncDirectory(final Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (final IOException e) {
+            logger.debug("Could not flush the directory [{}] to disk", directory, e);
+        }
+    }
+
+    /**
+     * Deletes the oldest checkpoints in the directory, keeping the most recent {@link #retainedCheckpoints}.
+     *
+     * @throws IOException If the directory cannot be read.
+     */
+    private void deleteOldCheckpoints() throws IOException {
+        final List<Path> checkpoints = list(this.directory);
+        for (int i = 0; i < checkpoints.size() - this.retainedCheckpoints; i++) {
+            Files.deleteIfExists(checkpoints.get(i));
+        }
+    }
+
+    /**
+     * Lists the checkpoints in a directory.
+     *
+     * @param directory The directory.
+     * @return The paths of the checkpoints, from the oldest to the most recent.
+     * @throws IOException If the directory cannot be read.
+     */
+    private static List<Path> list(final Path directory) throws IOException {
+        Preconditions.checkNotNull(directory, "directory cannot be null");
+        if (!Files.isDirectory(directory)) {
+            return Collections.emptyList();
+        }
+
+        final List<Path> checkpoints = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (final Path file : files) {
+                final Matcher matcher = CHECKPOINT_NAME.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    checkpoints.add(file);
+                }
+            }
+        }
+        // the steps are zero-padded, so the names sort in the order of the steps
+        checkpoints.sort((first, second) -> first.getFileName().toString().compareTo(second.getFileName().toString()));
+        return checkpoints;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("directory", this.directory)
+                .add("retainedCheckpoints", this.retainedCheckpoints)
+                .add("writtenCount", this.writtenCount.get())
+                .add("skippedCount", this.skippedCount.get())
+                .toString();
+    }
+
+    /**
+     * The content of a checkpoint.
+     */
+    @FunctionalInterface
+    public interface Content {
+
+        /**
+         * Writes the content of the checkpoint.
+         *
+         * @param output The stream where to write the content, which should not be closed.
+         * @throws IOException If the content cannot be written.
+         */
+        void writeTo(OutputStream output) throws IOException;
+    }
+
+    /**
+     * A checkpoint waiting to be written.
+     */
+    private static final class PendingCheckpoint {
+
+        /**
+         * The training step of the checkpoint.
+         */
+        private final long step;
+
+        /**
+         * The content of the checkpoint.
+         */
+        private final Content content;
+
+        /**
+         * The future completed when the checkpoint is written.
+         */
+        private final CompletableFuture<Path> future = new CompletableFuture<>();
+
+        /**
+         * Creates a new instance.
+         *
+         * @param step    The training step of the checkpoint.
+         * @param content The content of the checkpoint.
+         */
+        private PendingCheckpoint(final long step, final Content content) {
+            this.step = step;
+            this.content = content;
+        }
+    }
+
+    /**
+     * Builder of {@link CheckpointWriter}.
+     */
+    public static final class Builder {
+
+        /**
+         * The directory where the checkpoints are written.
+         */
+        private final Path directory;
+
+        /**
+         * The number of checkpoints retained in the directory.
+         */
+        private int retainedCheckpoints = 2;
+
+        /**
+         * The minimum interval between checkpoints suggested by {@link CheckpointWriter#isDue()}, in nanoseconds.
+         */
+        private long intervalNanos = TimeUnit.MINUTES.toNanos(10);
+
+        /**
+         * Creates a new instance.
+         *
+         * @param directory The directory where the checkpoints are written.
+         */
+        private Builder(final Path directory) {
+            this.directory = Preconditions.checkNotNull(directory, "directory cannot be null");
+        }
+
+        /**
+         * Sets the number of checkpoints retained in the directory; older ones are deleted. Defaults to 2, so that
+         * the previous checkpoint remains if the most recent one turns out to be unusable.
+         *
+         * @param retainedCheckpoints The number of checkpoints retained.
+         * @return This builder.
+         */
+        public Builder withRetainedCheckpoints(final int retainedCheckpoints) {
+            Preconditions.checkArgument(retainedCheckpoints > 0, "the number of retained checkpoints should be positive");
+            this.retainedCheckpoints = retainedCheckpoints;
+            return this;
+        }
+
+        /**
+         * Sets the interval between checkpoints after which {@link CheckpointWriter#isDue()} suggests writing a new
+         * one. Defaults to 10 minutes.
+         *
+         * @param interval The interval.
+         * @param unit     The unit of the interval.
+         * @return This builder.
+         */
+        public Builder withInterval(final long interval, final TimeUnit unit) {
+            Preconditions.checkArgument(interval > 0, "the checkpoint interval should be positive");
+            Preconditions.checkNotNull(unit, "unit cannot be null");
+            this.intervalNanos = unit.toNanos(interval);
+            return this;
+        }
+
+        /**
+         * Creates the {@link CheckpointWriter} with the settings of this builder.
+         *
+         * @return The writer.
+         */
+        public CheckpointWriter build() {
+            return new CheckpointWriter(this);
+        }
+    }
+}
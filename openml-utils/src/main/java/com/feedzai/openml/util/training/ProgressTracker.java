@@ -0,0 +1,222 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.training;
+
+import com.feedzai.openml.model.MachineLearningModel;
+import com.feedzai.openml.provider.exception.TrainingCancelledException;
+import com.feedzai.openml.provider.model.ProgressReportingModelTrainer;
+import com.feedzai.openml.provider.model.TrainingCancellationToken;
+import com.feedzai.openml.provider.model.TrainingProgress;
+import com.feedzai.openml.provider.model.TrainingProgressListener;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.Duration;
+
+/**
+ * Helps {@link ProgressReportingModelTrainer}s report their progress and honour cancellations from their training loop.
+ * <p>
+ * The tracker measures the time elapsed since it was created, and the peak memory as the highest heap usage sampled
+ * each time rows are added or progress is reported: as the heap is shared by the whole JVM, this is an upper bound of
+ * the memory used by the training. Each tracker keeps its own peak and doesn't reset the peak usage tracked by the JVM,
+ * which other trainings and monitoring tools may rely on. Failures of the listener are logged and don't stop the
+ * training.
+ * <p>
+ * Trainers that can provide a usable model before the training ends should publish it with
+ * {@link #setBestModel(MachineLearningModel)}: if the training is then cancelled (e.g. because its time budget was
+ * exceeded), the {@link TrainingCancelledException} carries that model.
+ * <p>
+ * Instances of this class are meant to be used by the training thread only.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public final class ProgressTracker {
+
+    /**
+     * Logger for this class.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(ProgressTracker.class);
+
+    /**
+     * The bean used to sample the used heap memory.
+     */
+    private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+
+    /**
+     * The listener of the progress.
+     */
+    private final TrainingProgressListener listener;
+
+    /**
+     * The token checked to stop the training.
+     */
+    private final TrainingCancellationToken token;
+
+    /**
+     * The total number of iterations, or {@code -1} if unknown.
+     */
+    private final long totalIterations;
+
+    /**
+     * The time when the training started, as given by {@link System#nanoTime()}.
+     */
+    private final long startNanos;
+
+    /**
+     * The number of rows processed since the training started.
+     */
+    private long rowsProcessed = 0;
+
+    /**
+     * The highest heap usage sampled since the training started, in bytes.
+     */
+    private long peakMemoryBytes;
+
+    /**
+     * The best model obtained so far, or {@code null} if there is none.
+     */
+    private MachineLearningModel bestModel = null;
+
+    /**
+     * Creates a new tracker for a training that starts now.
+     *
+     * @param listener        The listener of the progress.
+     * @param token           The token checked to stop the training.
+     * @param totalIterations The total number of iterations, or {@code -1} if unknown.
+     */
+    public ProgressTracker(final TrainingProgressListener listener,
+                           final TrainingCancellationToken token,
+                           final long totalIterations) {
+        this.listener = Preconditions.checkNotNull(listener, "listener cannot be null");
+        this.token = Preconditions.checkNotNull(token, "token cannot be null");
+        Preconditions.checkArgument(totalIterations >= -1, "the total number of iterations should be -1 or more");
+        this.totalIterations = totalIterations;
+        this.startNanos = System.nanoTime();
+        this.peakMemoryBytes = MEMORY.getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * Adds to the number of rows processed, e.g. after each mini-batch, and checks whether the training was
+     * cancelled.
+     *
+     * @param rows The number of rows processed.
+     * @throws TrainingCancelledException If the training was cancelled.
+     */
+    public void addRows(final long rows) throws TrainingCancelledException {
+        Preconditions.checkArgument(rows >= 0, "the number of rows should not be negative");
+        this.rowsProcessed += rows;
+        sampleMemory();
+        checkCancelled();
+    }
+
+    /**
+     * Reports the progress after an iteration to the listener, and then checks whether the training was cancelled
+     * (possibly by the listener itself).
+     *
+     * @param iteration The number of iterations completed.
+     * @param loss      The current loss, or {@link Double#NaN} if unknown.
+     * @return The progress reported.
+     * @throws TrainingCancelledException If the training was cancelled.
+     */
+    public TrainingProgress report(final long iteration, final double loss) throws TrainingCancelledException {
+        sampleMemory();
+
+        final TrainingProgress.Builder builder = TrainingProgress.builder(iteration)
+                .withLoss(loss)
+                .withElapsed(getElapsed())
+                .withRowsProcessed(this.rowsProcessed)
+                .withPeakMemoryBytes(this.peakMemoryBytes);
+        if (this.totalIterations >= 0) {
+            builder.withTotalIterations(this.totalIterations);
+        }
+        final TrainingProgress progress = builder.build();
+
+        try {
+            this.listener.onProgress(progress);
+        } catch (final RuntimeException e) {
+            logger.warn("The training progress listener failed on {}", progress, e);
+        }
+        checkCancelled();
+        return progress;
+    }
+
+    /**
+     * Publishes the best model obtained so far, to be returned if the training is cancelled.
+     *
+     * @param model The best model so far.
+     */
+    public void setBestModel(final MachineLearningModel model) {
+        this.bestModel = Preconditions.checkNotNull(model, "model cannot be null");
+    }
+
+    /**
+     * Checks whether the training was cancelled.
+     *
+     * @throws TrainingCancelledException If the training was cancelled, with the best model so far if there is one.
+     */
+    private void checkCancelled() throws TrainingCancelledException {
+        try {
+            this.token.throwIfCancelled();
+        } catch (final TrainingCancelledException e) {
+            if (this.bestModel == null) {
+                throw e;
+            }
+            throw new TrainingCancelledException(e.getMessage(), this.bestModel);
+        }
+    }
+
+    /**
+     * Samples the used heap memory, keeping the highest value as the peak.
+     */
+    private void sampleMemory() {
+        this.peakMemoryBytes = Math.max(this.peakMemoryBytes, MEMORY.getHeapMemoryUsage().getUsed());
+    }
+
+    /**
+     * Gets the time elapsed since the training started.
+     *
+     * @return The elapsed time.
+     */
+    public Duration getElapsed() {
+        return Duration.ofNanos(System.nanoTime() - this.startNanos);
+    }
+
+    /**
+     * Gets the token checked to stop the training.
+     *
+     * @return The token.
+     */
+    public TrainingCancellationToken getToken() {
+        return this.token;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("totalIterations", this.totalIterations)
+                .add("rowsProcessed", this.rowsProcessed)
+                .add("elapsed", getElapsed())
+                .toString();
+    }
+}
@@ -0,0 +1,133 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.training;
+
+import com.feedzai.openml.data.Dataset;
+import com.feedzai.openml.model.MachineLearningModel;
+import com.feedzai.openml.provider.exception.ModelTrainingException;
+import com.feedzai.openml.provider.exception.TrainingCancelledException;
+import com.feedzai.openml.provider.model.MachineLearningModelTrainer;
+import com.feedzai.openml.provider.model.ProgressReportingModelTrainer;
+import com.feedzai.openml.provider.model.TrainingCancellationToken;
+import com.feedzai.openml.provider.model.TrainingProgressListener;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Utility methods to train models within a wall-clock time budget, e.g. to keep hyperparameter sweeps within their
+ * compute budget.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public final class TrainingBudgets {
+
+    /**
+     * Logger for this class.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(TrainingBudgets.class);
+
+    /**
+     * The executor that runs the trainings that can't be cancelled cooperatively.
+     */
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(
+            new ThreadFactoryBuilder().setNameFormat("openml-budgeted-training-%d").setDaemon(true).build()
+    );
+
+    /**
+     * Private constructor for utility class.
+     */
+    private TrainingBudgets() {
+    }
+
+    /**
+     * Fits a model within the given time budget.
+     * <p>
+     * If the trainer is a {@link ProgressReportingModelTrainer}, it is given a token that is cancelled once the budget
+     * is exceeded, which the trainer checks cooperatively in the calling thread; if the training is cancelled and the
+     * trainer provides the best model obtained before the cancellation, that model is returned. Otherwise the training
+     * runs in a separate thread, which is interrupted once the budget is exceeded; as trainers may ignore the
+     * interruption, that thread may keep running in the background after this method returns.
+     *
+     * @param trainer The trainer.
+     * @param dataset The {@link Dataset} containing the data.
+     * @param random  A random object to be used as the source of randomness to allow repeatable results.
+     * @param params  The collection of parameters and the corresponding values.
+     * @param budget  The time budget of the training.
+     * @param <T>     The type of the model.
+     * @return The trained model, or the best model obtained before the budget was exceeded.
+     * @throws TrainingCancelledException If the budget was exceeded and there is no model to return.
+     * @throws ModelTrainingException     If any problem occurs training the algorithm.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends MachineLearningModel> T fitWithin(final MachineLearningModelTrainer<T> trainer,
+                                                               final Dataset dataset,
+                                                               final Random random,
+                                                               final Map<String, String> params,
+                                                               final Duration budget) throws ModelTrainingException {
+        Preconditions.checkNotNull(trainer, "trainer cannot be null");
+        Preconditions.checkNotNull(budget, "budget cannot be null");
+
+        if (trainer instanceof ProgressReportingModelTrainer) {
+            final TrainingCancellationToken token = TrainingCancellationToken.withBudget(budget);
+            try {
+                return ((ProgressReportingModelTrainer<T>) trainer)
+                        .fit(dataset, random, params, TrainingProgressListener.NO_OP, token);
+            } catch (final TrainingCancelledException e) {
+                if (!e.getBestModel().isPresent()) {
+                    throw e;
+                }
+                logger.info("Returning the best model obtained by {} within {}: {}", trainer, budget, e.getMessage());
+                // a trainer of T only attaches models of type T
+                return (T) e.getBestModel().get();
+            }
+        }
+
+        final Future<T> training = EXECUTOR.submit(() -> trainer.fit(dataset, random, params));
+        try {
+            return training.get(budget.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (final TimeoutException e) {
+            training.cancel(true);
+            throw new TrainingCancelledException(String.format(
+                    "The training was cancelled: the time budget of %s was exceeded", budget
+            ));
+        } catch (final InterruptedException e) {
+            training.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new TrainingCancelledException("The training was cancelled: the calling thread was interrupted");
+        } catch (final ExecutionException e) {
+            Throwables.throwIfInstanceOf(e.getCause(), ModelTrainingException.class);
+            Throwables.throwIfUnchecked(e.getCause());
+            throw new ModelTrainingException("The training failed", e.getCause());
+        }
+    }
+}
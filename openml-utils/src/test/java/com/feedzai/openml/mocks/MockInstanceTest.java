@@ -17,11 +17,18 @@
 
 package com.feedzai.openml.mocks;
 
+import com.feedzai.openml.data.schema.CategoricalValueSchema;
+import com.feedzai.openml.data.schema.DatasetSchema;
+import com.feedzai.openml.data.schema.FieldSchema;
+import com.feedzai.openml.data.schema.NumericValueSchema;
+import com.feedzai.openml.data.schema.StringValueSchema;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import org.junit.Test;
 
 import java.io.Serializable;
 import java.util.Arrays;
+import java.util.Base64;
 import java.util.List;
 import java.util.Random;
 import java.util.stream.Collectors;
@@ -103,4 +110,34 @@ public class MockInstanceTest {
 
     }
 
+    /**
+     * Tests that the values generated from a schema depend only on the seed, drawing them field by field as they
+     * always were, so that seeded mock datasets keep the same data.
+     */
+    @Test
+    public void testSeededValues() {
+        final DatasetSchema schema = new DatasetSchema(2, ImmutableList.of(
+                new FieldSchema("amount", 0, new NumericValueSchema(false)),
+                new FieldSchema("merchant", 1, new StringValueSchema(false)),
+                new FieldSchema("class", 2, new CategoricalValueSchema(false, ImmutableSet.of("fraud", "legit")))
+        ));
+        final MockInstance instance = new MockInstance(schema, new Random(42));
+
+        final Random random = new Random(42);
+        final double amount = -10 + 20 * random.nextDouble();
+        final byte[] merchantBytes = new byte[32];
+        random.nextBytes(merchantBytes);
+        final String merchant = new String(Base64.getUrlEncoder().encode(merchantBytes));
+        final double classValue = random.nextInt(2);
+
+        assertThat(instance.getValue(0))
+                .as("The numeric value")
+                .isEqualTo(amount);
+        assertThat(instance.getStringValue(1))
+                .as("The string value")
+                .isEqualTo(merchant);
+        assertThat(instance.getValue(2))
+                .as("The categorical value")
+                .isEqualTo(classValue);
+    }
 }
@@ -0,0 +1,205 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.mocks;
+
+import com.feedzai.openml.data.Instance;
+import com.feedzai.openml.data.schema.DatasetSchema;
+import com.feedzai.openml.util.data.ColumnarDataset;
+import com.feedzai.openml.util.data.schema.TestDatasetSchemaBuilder;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Tests the behaviour of the {@link SyntheticDataGenerator}.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public class SyntheticDataGeneratorTest {
+
+    /**
+     * The number of instances generated in the tests, which spans several blocks.
+     */
+    private static final int NUMBER_INSTANCES = 10 * SyntheticDataGenerator.BLOCK_SIZE + 17;
+
+    /**
+     * Schema with 2 numeric fields, 2 categorical fields (the first is the target) and 1 string field.
+     */
+    private static final DatasetSchema SCHEMA = TestDatasetSchemaBuilder.builder()
+            .withNumericalFields(2)
+            .withCategoricalFields(2, ImmutableSet.of("a", "b", "c", "d"))
+            .withStringFields(1)
+            .build();
+
+    /**
+     * Tests that the same seed always generates the same data, both when materialised in parallel and when streamed,
+     * and that a different seed generates different data.
+     */
+    @Test
+    public void testDeterministic() {
+        final ColumnarDataset dataset = SyntheticDataGenerator.builder(SCHEMA).withSeed(7).build()
+                .generate(NUMBER_INSTANCES);
+        final ColumnarDataset otherDataset = SyntheticDataGenerator.builder(SCHEMA).withSeed(7).build()
+                .generate(NUMBER_INSTANCES);
+        final List<Instance> streamed = SyntheticDataGenerator.builder(SCHEMA).withSeed(7).build()
+                .stream(NUMBER_INSTANCES)
+                .collect(Collectors.toList());
+        final ColumnarDataset differentSeed = SyntheticDataGenerator.builder(SCHEMA).withSeed(8).build()
+                .generate(NUMBER_INSTANCES);
+
+        assertThat(streamed)
+                .as("the number of streamed instances")
+                .hasSize(NUMBER_INSTANCES);
+
+        for (int row = 0; row < NUMBER_INSTANCES; row++) {
+            for (int field = 0; field < 4; field++) {
+                assertThat(otherDataset.getValue(row, field))
+                        .as("the value of field %s in row %s generated with the same seed", field, row)
+                        .isEqualTo(dataset.getValue(row, field));
+                assertThat(streamed.get(row).getValue(field))
+                        .as("the value of field %s in streamed row %s", field, row)
+                        .isEqualTo(dataset.getValue(row, field));
+            }
+            assertThat(streamed.get(row).getStringValue(4))
+                    .as("the string value in streamed row %s", row)
+                    .isEqualTo(dataset.getStringValue(row, 4));
+        }
+
+        assertThat(differentSeed.getValue(0, 0))
+                .as("the first value generated with a different seed")
+                .isNotEqualTo(dataset.getValue(0, 0));
+    }
+
+    /**
+     * Tests that the values follow the schema and the default settings.
+     */
+    @Test
+    public void testDefaults() {
+        final ColumnarDataset dataset = SyntheticDataGenerator.builder(SCHEMA).build().generate(NUMBER_INSTANCES);
+
+        for (int row = 0; row < NUMBER_INSTANCES; row++) {
+            assertThat(dataset.getValue(row, 0))
+                    .as("the numeric value")
+                    .isGreaterThanOrEqualTo(-10)
+                    .isLessThan(10);
+            assertThat(dataset.getValue(row, 2))
+                    .as("the categorical value")
+                    .isIn(0.0, 1.0, 2.0, 3.0);
+            assertThat(dataset.getStringValue(row, 4))
+                    .as("the string value")
+                    .startsWith("field4-");
+        }
+    }
+
+    /**
+     * Tests that the missing rates are respected, and that by default the target is never missing.
+     */
+    @Test
+    public void testMissingRate() {
+        final ColumnarDataset dataset = SyntheticDataGenerator.builder(SCHEMA)
+                .withMissingRate(0.2)
+                .withMissingRate(1, 0.5)
+                .build()
+                .generate(NUMBER_INSTANCES);
+
+        int missingNumeric = 0;
+        int missingOverridden = 0;
+        int missingTarget = 0;
+        int missingString = 0;
+        for (int row = 0; row < NUMBER_INSTANCES; row++) {
+            missingNumeric += Double.isNaN(dataset.getValue(row, 0)) ? 1 : 0;
+            missingOverridden += Double.isNaN(dataset.getValue(row, 1)) ? 1 : 0;
+            missingTarget += Double.isNaN(dataset.getValue(row, 2)) ? 1 : 0;
+            missingString += dataset.getStringValue(row, 4) == null ? 1 : 0;
+        }
+
+        assertThat((double) missingNumeric / NUMBER_INSTANCES)
+                .as("the rate of missing values with the global rate")
+                .isCloseTo(0.2, within(0.02));
+        assertThat((double) missingOverridden / NUMBER_INSTANCES)
+                .as("the rate of missing values with a rate for the field")
+                .isCloseTo(0.5, within(0.02));
+        assertThat((double) missingString / NUMBER_INSTANCES)
+                .as("the rate of missing values in the string field")
+                .isCloseTo(0.2, within(0.02));
+        assertThat(missingTarget)
+                .as("the number of missing values in the target")
+                .isZero();
+    }
+
+    /**
+     * Tests that skewed categorical fields favour the first values, and that custom distributions are used.
+     */
+    @Test
+    public void testSkewAndDistribution() {
+        final ColumnarDataset dataset = SyntheticDataGenerator.builder(SCHEMA)
+                .withSkew(2, 2)
+                .withDistribution(0, random -> 42)
+                .withStringCardinality(4, 3)
+                .build()
+                .generate(NUMBER_INSTANCES);
+
+        final int[] counts = new int[4];
+        for (int row = 0; row < NUMBER_INSTANCES; row++) {
+            counts[(int) dataset.getValue(row, 2)]++;
+            assertThat(dataset.getValue(row, 0))
+                    .as("the value with a custom distribution")
+                    .isEqualTo(42);
+            assertThat(dataset.getStringValue(row, 4))
+                    .as("the string value with a custom cardinality")
+                    .isIn("field4-0", "field4-1", "field4-2");
+        }
+
+        // Zipf with exponent 2 over 4 values: 1 / (1 + 1/4 + 1/9 + 1/16) ~= 0.70
+        assertThat((double) counts[0] / NUMBER_INSTANCES)
+                .as("the frequency of the first categorical value")
+                .isCloseTo(0.70, within(0.02));
+        assertThat(counts[0])
+                .as("the count of the first value compared with the last")
+                .isGreaterThan(counts[3] * 10);
+    }
+
+    /**
+     * Tests that the settings are validated against the schema.
+     */
+    @Test
+    public void testInvalidSettings() {
+        final SyntheticDataGenerator.Builder builder = SyntheticDataGenerator.builder(SCHEMA);
+
+        assertThatThrownBy(() -> builder.withSkew(0, 1))
+                .as("skew in a numeric field")
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> builder.withDistribution(2, NumericDistribution.gaussian(0, 1)))
+                .as("a distribution in a categorical field")
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> builder.withMissingRate(1.5))
+                .as("a missing rate above 1")
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> builder.withMissingRate(5, 0.1))
+                .as("a missing rate of a field outside the schema")
+                .isInstanceOf(IndexOutOfBoundsException.class);
+    }
+}
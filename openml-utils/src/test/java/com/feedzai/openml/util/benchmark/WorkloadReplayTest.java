@@ -0,0 +1,231 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.benchmark;
+
+import com.feedzai.openml.data.Instance;
+import com.feedzai.openml.data.schema.DatasetSchema;
+import com.feedzai.openml.mocks.MockDataset;
+import com.feedzai.openml.util.data.schema.TestDatasetSchemaBuilder;
+import com.feedzai.openml.util.model.TestClassificationModel;
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests the behaviour of the {@link WorkloadReplay}.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public class WorkloadReplayTest {
+
+    /**
+     * The schema of the instances replayed.
+     */
+    private static final DatasetSchema SCHEMA = TestDatasetSchemaBuilder.builder()
+            .withNumericalFields(2)
+            .withCategoricalFields(1)
+            .build();
+
+    /**
+     * The instances replayed.
+     */
+    private static final List<Instance> INSTANCES = ImmutableList.copyOf(
+            new MockDataset(SCHEMA, 10, new Random(0)).getInstances()
+    );
+
+    /**
+     * Tests that the requests are sent at the target rate, and that the throughput is reported over time.
+     */
+    @Test
+    public void testRate() throws InterruptedException {
+        final TestClassificationModel model = new TestClassificationModel(SCHEMA, instance -> new double[]{0.5, 0.5});
+
+        final WorkloadReplayResult result = WorkloadReplay.builder()
+                .withRate(2000)
+                .withDuration(500, TimeUnit.MILLISECONDS)
+                .withReportInterval(100, TimeUnit.MILLISECONDS)
+                .withThreads(2)
+                .build()
+                .run(model, INSTANCES);
+
+        assertThat(result.getCompletedRequests())
+                .as("the number of completed requests")
+                .isEqualTo(1000)
+                .isEqualTo(model.getScoringCalls());
+        assertThat(result.getErrors())
+                .as("the number of errors")
+                .isZero();
+        assertThat(result.getElapsed(TimeUnit.MILLISECONDS))
+                .as("the duration of the replay, which should not be shorter than the scheduled one")
+                .isGreaterThanOrEqualTo(499);
+        assertThat(result.getIntervals().size())
+                .as("the number of intervals")
+                .isGreaterThanOrEqualTo(5);
+        assertThat(result.getIntervals().get(1).getThroughput())
+                .as("the throughput of a full interval")
+                .isBetween(1000.0, 3000.0);
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        result.print(new PrintStream(output));
+        assertThat(output.toString())
+                .as("the report")
+                .contains("percentile", "throughput", "99.9");
+    }
+
+    /**
+     * Tests that a stall of the model is reflected in the latency of all the requests that should have been sent
+     * during the stall, and not only on the request that stalled.
+     */
+    @Test
+    public void testCoordinatedOmission() throws InterruptedException {
+        final AtomicLong calls = new AtomicLong();
+        final TestClassificationModel model = new TestClassificationModel(SCHEMA, instance -> {
+            if (calls.incrementAndGet() == 10) {
+                sleep(200);
+            }
+            return new double[]{0.5, 0.5};
+        });
+
+        final WorkloadReplayResult result = WorkloadReplay.builder()
+                .withRate(1000)
+                .withDuration(400, TimeUnit.MILLISECONDS)
+                .withThreads(1)
+                .build()
+                .run(model, INSTANCES);
+
+        // half of the requests were due while the model was stalled, and waited up to 200 ms
+        assertThat(result.getLatency().getValueAtPercentile(75))
+                .as("the 75th percentile of the latency")
+                .isGreaterThan(TimeUnit.MILLISECONDS.toNanos(20));
+        assertThat(result.getServiceTime().getValueAtPercentile(99))
+                .as("the 99th percentile of the service time")
+                .isLessThan(TimeUnit.MILLISECONDS.toNanos(50));
+        assertThat(result.getServiceTime().getMax())
+                .as("the highest service time")
+                .isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(200));
+    }
+
+    /**
+     * Tests that the failures of the model are counted as errors.
+     */
+    @Test
+    public void testErrors() throws InterruptedException {
+        final TestClassificationModel model = new TestClassificationModel(SCHEMA, instance -> {
+            throw new IllegalStateException("failed");
+        });
+
+        final WorkloadReplayResult result = WorkloadReplay.builder()
+                .withRate(1000)
+                .withDuration(100, TimeUnit.MILLISECONDS)
+                .build()
+                .run(model, INSTANCES);
+
+        assertThat(result.getErrors())
+                .as("the number of errors")
+                .isEqualTo(100);
+        assertThat(result.getCompletedRequests())
+                .as("the number of completed requests")
+                .isZero();
+    }
+
+    /**
+     * Tests that interrupting the replay abandons it, and that the model is no longer scored afterwards.
+     *
+     * @throws InterruptedException If the test is interrupted.
+     */
+    @Test
+    public void testInterrupt() throws InterruptedException {
+        final TestClassificationModel model = new TestClassificationModel(SCHEMA, instance -> new double[]{0.5, 0.5});
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        final Thread replay = new Thread(() -> {
+            try {
+                WorkloadReplay.builder()
+                        .withRate(100)
+                        .withDuration(60, TimeUnit.SECONDS)
+                        .withThreads(2)
+                        .build()
+                        .run(model, INSTANCES);
+            } catch (final Throwable e) {
+                failure.set(e);
+            }
+        });
+        replay.start();
+        sleep(100);
+        replay.interrupt();
+        replay.join(TimeUnit.SECONDS.toMillis(5));
+
+        assertThat(replay.isAlive())
+                .as("whether the replay is still running after being interrupted")
+                .isFalse();
+        assertThat(failure.get())
+                .as("the failure of the interrupted replay")
+                .isInstanceOf(InterruptedException.class);
+
+        sleep(50);
+        final long calls = model.getScoringCalls();
+        sleep(100);
+        assertThat(model.getScoringCalls())
+                .as("the number of scoring calls after the replay was abandoned")
+                .isEqualTo(calls);
+    }
+
+    /**
+     * Tests that the command line rejects missing options.
+     */
+    @Test
+    public void testCliMissingOptions() {
+        final ByteArrayOutputStream err = new ByteArrayOutputStream();
+        final int exitCode = WorkloadReplayCli.run(
+                new String[]{"--model", "model", "--rate", "10"},
+                new PrintStream(new ByteArrayOutputStream()),
+                new PrintStream(err)
+        );
+
+        assertThat(exitCode)
+                .as("the exit code")
+                .isEqualTo(1);
+        assertThat(err.toString())
+                .as("the error message")
+                .contains("--provider-jar", "Usage");
+    }
+
+    /**
+     * Sleeps without being interrupted.
+     *
+     * @param millis The number of milliseconds to sleep.
+     */
+    private static void sleep(final long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,237 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.data;
+
+import com.feedzai.openml.data.Dataset;
+import com.feedzai.openml.data.Instance;
+import com.feedzai.openml.data.PartitionedDataset;
+import com.feedzai.openml.data.schema.DatasetSchema;
+import com.feedzai.openml.mocks.MockInstance;
+import com.feedzai.openml.util.data.schema.TestDatasetSchemaBuilder;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import org.junit.Test;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests the behaviour of the {@link ColumnarDataset}.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public class ColumnarDatasetTest {
+
+    /**
+     * Schema with 1 numeric field, 1 categorical field (the target) and 1 string field.
+     */
+    private static final DatasetSchema SCHEMA = TestDatasetSchemaBuilder.builder()
+            .withNumericalFields(1)
+            .withCategoricalFields(1)
+            .withStringFields(1)
+            .build();
+
+    /**
+     * The instances used to build the dataset in the tests.
+     */
+    private static final List<Instance> INSTANCES = ImmutableList.of(
+            instance(1.5, 0, "a"),
+            instance(-2, 1, "b"),
+            instance(3, 1, null),
+            instance(Double.NaN, 0, "d")
+    );
+
+    /**
+     * Tests that the copied dataset keeps the values of the instances, and that they are also available by feature.
+     */
+    @Test
+    public void testCopyOf() {
+        final ColumnarDataset dataset = ColumnarDataset.copyOf(SCHEMA, INSTANCES);
+
+        assertThat(dataset.getNumberInstances())
+                .as("the number of instances")
+                .isEqualTo(INSTANCES.size());
+
+        for (int row = 0; row < INSTANCES.size(); row++) {
+            final Instance instance = dataset.instance(row);
+            assertThat(instance.getValue(0))
+                    .as("the numeric value of row %s", row)
+                    .isEqualTo(INSTANCES.get(row).getValue(0));
+            assertThat(dataset.feature(1).getValue(row))
+                    .as("the categorical value of row %s by feature", row)
+                    .isEqualTo(INSTANCES.get(row).getValue(1));
+            assertThat(instance.getStringValue(2))
+                    .as("the string value of row %s", row)
+                    .isEqualTo(INSTANCES.get(row).getStringValue(2));
+        }
+
+        assertThat(Lists.newArrayList(dataset.getInstances()))
+                .as("the iterated instances")
+                .hasSize(INSTANCES.size());
+
+        assertThatThrownBy(() -> dataset.feature(2))
+                .as("getting the values of a string feature")
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Tests {@link ColumnarDataset#filter}, {@link ColumnarDataset#partition}, {@link ColumnarDataset#groupBy} and
+     * {@link ColumnarDataset#empty}.
+     */
+    @Test
+    public void testSubsets() {
+        final ColumnarDataset dataset = ColumnarDataset.copyOf(SCHEMA, INSTANCES);
+
+        final Dataset filtered = dataset.filter(instance -> instance.getValue(0) > 0);
+        assertThat(Lists.newArrayList(filtered.getInstances()))
+                .as("the filtered instances")
+                .hasSize(2);
+        assertThat(filtered.instance(1).getValue(0))
+                .as("the value of the second filtered instance")
+                .isEqualTo(3);
+
+        final PartitionedDataset partition = dataset.partition(instance -> instance.getValue(1) == 1);
+        assertThat(Lists.newArrayList(partition.getMatchedData().getInstances()))
+                .as("the matched instances")
+                .hasSize(2);
+        assertThat(Lists.newArrayList(partition.getUnmatchedData().getInstances()))
+                .as("the unmatched instances")
+                .hasSize(2);
+
+        final Map<Double, Dataset> groups = dataset.groupBy(instance -> instance.getValue(1));
+        assertThat(groups)
+                .as("the groups")
+                .containsOnlyKeys(0.0, 1.0);
+        assertThat(groups.get(0.0).instance(1).getStringValue(2))
+                .as("the string value of the second instance of the first group")
+                .isEqualTo("d");
+
+        assertThat(dataset.empty().getInstances())
+                .as("the instances of the empty dataset")
+                .isEmpty();
+        assertThat(dataset.empty().getSchema())
+                .as("the schema of the empty dataset")
+                .isEqualTo(SCHEMA);
+    }
+
+    /**
+     * Tests the bitmaps of the missing values of the columns, and the view over the instances without them.
+     */
+    @Test
+    public void testMissingValues() {
+        final ColumnarDataset dataset = ColumnarDataset.copyOf(SCHEMA, INSTANCES);
+
+        assertThat(dataset.getMissingValues(0).getMissingRows())
+                .as("the rows with a missing numeric value")
+                .containsExactly(3);
+        assertThat(dataset.getMissingValues(2).getMissingRows())
+                .as("the rows with a missing string value")
+                .containsExactly(2);
+        assertThat(dataset.getMissingValues(1).getMissingCount())
+                .as("the number of missing categorical values")
+                .isEqualTo(0);
+
+        final IndexedDataset complete = dataset.withoutMissingValues(0, 2);
+        assertThat(complete.getNumberInstances())
+                .as("the number of instances without missing values")
+                .isEqualTo(2);
+        assertThat(complete.instance(1).getStringValue(2))
+                .as("the string value of the second instance without missing values")
+                .isEqualTo("b");
+    }
+
+    /**
+     * Tests that dictionary encoded string columns keep their values, and that datasets encoded with the same
+     * dictionary get the same codes for the same values.
+     */
+    @Test
+    public void testEncodedStrings() {
+        final ColumnarDataset dataset = ColumnarDataset.copyOf(SCHEMA, INSTANCES).encodeStrings(new StringDictionary[3]);
+        final StringDictionary dictionary = dataset.getStringDictionary(2).orElse(null);
+
+        assertThat(dictionary)
+                .as("the dictionary of the string field")
+                .isNotNull();
+        assertThat(dataset.getStringDictionary(0).isPresent())
+                .as("whether the numeric field has a dictionary")
+                .isFalse();
+        for (int row = 0; row < INSTANCES.size(); row++) {
+            assertThat(dataset.instance(row).getStringValue(2))
+                    .as("the string value of row %s", row)
+                    .isEqualTo(INSTANCES.get(row).getStringValue(2));
+            assertThat(dataset.getStringCode(row, 2))
+                    .as("the code of row %s", row)
+                    .isEqualTo(dictionary.lookup(INSTANCES.get(row).getStringValue(2)));
+        }
+        assertThat(dataset.getMissingValues(2).getMissingRows())
+                .as("the rows with a missing encoded string value")
+                .containsExactly(2);
+        assertThat(dataset.filter(instance -> instance.getValue(1) == 0).instance(1).getStringValue(2))
+                .as("the string value of the second filtered instance")
+                .isEqualTo("d");
+
+        final ColumnarDataset other = ColumnarDataset.copyOf(SCHEMA, ImmutableList.of(
+                instance(0, 0, "e"),
+                instance(0, 1, "b")
+        )).encodeStrings(dataset.getStringDictionaries());
+        assertThat(other.getStringCode(1, 2))
+                .as("the code of a value shared with the first dataset")
+                .isEqualTo(dataset.getStringCode(1, 2));
+        assertThat(other.getStringCode(0, 2))
+                .as("the code of a new value")
+                .isEqualTo(3);
+        assertThatThrownBy(() -> other.getStringCode(0, 3))
+                .as("the result of getting the code of a field out of bounds")
+                .isInstanceOf(IndexOutOfBoundsException.class)
+                .hasMessageContaining("field index");
+    }
+
+    /**
+     * Tests that the columns are validated against the schema.
+     */
+    @Test
+    public void testInvalidColumns() {
+        assertThatThrownBy(() -> new ColumnarDataset(SCHEMA, 2, new double[3][], new String[3][]))
+                .as("a dataset without columns")
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThatThrownBy(() -> new ColumnarDataset(
+                SCHEMA, 2, new double[][]{new double[2], new double[1], null}, new String[][]{null, null, new String[2]}
+        ))
+                .as("a dataset with a short column")
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Creates an instance with the given values.
+     *
+     * @param numeric     The value of the numeric field.
+     * @param categorical The value of the categorical field.
+     * @param string      The value of the string field.
+     * @return The instance.
+     */
+    private static Instance instance(final double numeric, final double categorical, final String string) {
+        return new MockInstance(Lists.<Serializable>newArrayList(numeric, categorical, string));
+    }
+}
@@ -0,0 +1,240 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.data;
+
+import com.feedzai.openml.data.Dataset;
+import com.feedzai.openml.data.Instance;
+import com.feedzai.openml.data.schema.CategoricalValueSchema;
+import com.feedzai.openml.data.schema.DatasetSchema;
+import com.feedzai.openml.data.schema.FieldSchema;
+import com.feedzai.openml.data.schema.NumericValueSchema;
+import com.feedzai.openml.data.schema.StringValueSchema;
+import com.feedzai.openml.mocks.MockDataset;
+import com.feedzai.openml.mocks.MockInstance;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.Serializable;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Tests the behaviour of the {@link DatasetProfiler}.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public class DatasetProfilerTest {
+
+    /**
+     * Schema with a categorical target, a numeric field and a string field.
+     */
+    private static final DatasetSchema SCHEMA = new DatasetSchema(0, ImmutableList.of(
+            new FieldSchema("class", 0, new CategoricalValueSchema(true, ImmutableSet.of("fraud", "legit"))),
+            new FieldSchema("amount", 1, new NumericValueSchema(true)),
+            new FieldSchema("merchant", 2, new StringValueSchema(true))
+    ));
+
+    /**
+     * Folder where the profiles are saved.
+     */
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    /**
+     * Tests the profile of a dataset, both column by column and instance by instance.
+     */
+    @Test
+    public void testProfile() {
+        final List<Instance> instances = new ArrayList<>();
+        final Random random = new Random(17);
+        for (int i = 0; i < 50_000; i++) {
+            instances.add(instance(
+                    random.nextInt(10) == 0 ? 0 : 1,
+                    i % 100 == 0 ? Double.NaN : random.nextInt(1_000),
+                    i % 50 == 0 ? null : "merchant-" + random.nextInt(300)
+            ));
+        }
+        final double[] amounts = instances.stream()
+                .mapToDouble(instance -> instance.getValue(1))
+                .filter(amount -> !Double.isNaN(amount))
+                .toArray();
+        final double mean = Arrays.stream(amounts).average().orElse(Double.NaN);
+        final double variance = Arrays.stream(amounts).map(amount -> (amount - mean) * (amount - mean)).sum()
+                / (amounts.length - 1);
+
+        final DatasetProfiler profiler = DatasetProfiler.builder().build();
+        final List<Dataset> datasets = ImmutableList.of(
+                ColumnarDataset.copyOf(SCHEMA, instances),
+                new MockDataset(SCHEMA, instances)
+        );
+        for (final Dataset dataset : datasets) {
+            final String kind = dataset.getClass().getSimpleName();
+            final DatasetProfile profile = profiler.profile(dataset);
+
+            assertThat(profile.getNumberInstances())
+                    .as("the number of instances of the %s", kind)
+                    .isEqualTo(50_000);
+
+            final DatasetProfile.FieldProfile amount = profile.getFieldProfile(SCHEMA.getFieldSchemas().get(1));
+            assertThat(amount.getMissingCount())
+                    .as("the missing amounts of the %s", kind)
+                    .isEqualTo(500);
+            assertThat(amount.getMean())
+                    .as("the mean amount of the %s", kind)
+                    .isCloseTo(mean, within(1e-9));
+            assertThat(amount.getVariance())
+                    .as("the variance of the amounts of the %s", kind)
+                    .isCloseTo(variance, within(1e-6));
+            assertThat(amount.getMin())
+                    .as("the minimum amount of the %s", kind)
+                    .isEqualTo(Arrays.stream(amounts).min().orElse(Double.NaN));
+            assertThat(amount.getMax())
+                    .as("the maximum amount of the %s", kind)
+                    .isEqualTo(Arrays.stream(amounts).max().orElse(Double.NaN));
+            assertThat(amount.getDistinctCount())
+                    .as("the distinct amounts of the %s", kind)
+                    .isEqualTo(Arrays.stream(amounts).distinct().count());
+
+            final DatasetProfile.FieldProfile merchant = profile.getFieldProfile(SCHEMA.getFieldSchemas().get(2));
+            assertThat(merchant.getMissingCount())
+                    .as("the missing merchants of the %s", kind)
+                    .isEqualTo(1_000);
+            assertThat(merchant.getDistinctCount())
+                    .as("the distinct merchants of the %s", kind)
+                    .isEqualTo(300);
+            assertThat(merchant.getMean())
+                    .as("the mean of a string field of the %s", kind)
+                    .isNaN();
+
+            final DatasetProfile.FieldProfile target = profile.getFieldProfile(SCHEMA.getFieldSchemas().get(0));
+            assertThat(target.getCategoryCounts().get("fraud") + target.getCategoryCounts().get("legit"))
+                    .as("the category counts of the %s", kind)
+                    .isEqualTo(50_000);
+            assertThat(target.getDistinctCount())
+                    .as("the distinct categories of the %s", kind)
+                    .isEqualTo(2);
+        }
+    }
+
+    /**
+     * Tests that the distinct values stop being tracked at the limit.
+     */
+    @Test
+    public void testMaxDistinctValues() {
+        final List<Instance> instances = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            instances.add(instance(0, i, "merchant-" + (i % 10)));
+        }
+
+        final DatasetProfile profile = DatasetProfiler.builder()
+                .withMaxDistinctValues(100)
+                .build()
+                .profile(new MockDataset(SCHEMA, instances));
+
+        final DatasetProfile.FieldProfile amount = profile.getFieldProfile(SCHEMA.getFieldSchemas().get(1));
+        assertThat(amount.getDistinctCount())
+                .as("the distinct amounts above the limit")
+                .isEqualTo(100);
+        assertThat(amount.isDistinctCountExact())
+                .as("whether the distinct amounts are exact")
+                .isFalse();
+
+        final DatasetProfile.FieldProfile merchant = profile.getFieldProfile(SCHEMA.getFieldSchemas().get(2));
+        assertThat(merchant.getDistinctCount())
+                .as("the distinct merchants below the limit")
+                .isEqualTo(10);
+        assertThat(merchant.isDistinctCountExact())
+                .as("whether the distinct merchants are exact")
+                .isTrue();
+    }
+
+    /**
+     * Tests that a field with exactly as many distinct values as the limit still has an exact count.
+     */
+    @Test
+    public void testDistinctValuesAtLimit() {
+        final List<Instance> instances = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            instances.add(instance(0, i, "merchant-" + (i % 10)));
+        }
+
+        final DatasetProfile profile = DatasetProfiler.builder()
+                .withMaxDistinctValues(10)
+                .build()
+                .profile(new MockDataset(SCHEMA, instances));
+
+        final DatasetProfile.FieldProfile merchant = profile.getFieldProfile(SCHEMA.getFieldSchemas().get(2));
+        assertThat(merchant.getDistinctCount())
+                .as("the distinct merchants at the limit")
+                .isEqualTo(10);
+        assertThat(merchant.isDistinctCountExact())
+                .as("whether the distinct merchants are exact")
+                .isTrue();
+    }
+
+    /**
+     * Tests that a profile saved next to a model can be loaded back.
+     *
+     * @throws Exception If the profile cannot be saved or loaded.
+     */
+    @Test
+    public void testSaveAndLoad() throws Exception {
+        final DatasetProfile profile = DatasetProfiler.builder().build().profile(new MockDataset(SCHEMA, ImmutableList.of(
+                instance(0, 1.5, "a"),
+                instance(1, 2.5, "b")
+        )));
+        final Path modelDir = this.temporaryFolder.newFolder().toPath();
+
+        profile.save(modelDir);
+        final DatasetProfile loaded = DatasetProfile.load(modelDir);
+
+        assertThat(loaded.getNumberInstances())
+                .as("the number of instances")
+                .isEqualTo(2);
+        assertThat(loaded.getFieldProfile(SCHEMA.getFieldSchemas().get(1)).getMean())
+                .as("the mean amount")
+                .isEqualTo(2);
+        assertThat(loaded.getFieldProfile(SCHEMA.getFieldSchemas().get(0)).getCategoryCounts())
+                .as("the category counts")
+                .isEqualTo(ImmutableMap.of("fraud", 1L, "legit", 1L));
+    }
+
+    /**
+     * Creates an instance of the {@link #SCHEMA}.
+     *
+     * @param target   The index of the class.
+     * @param amount   The amount.
+     * @param merchant The merchant.
+     * @return The instance.
+     */
+    private static Instance instance(final double target, final double amount, final String merchant) {
+        return new MockInstance(Arrays.<Serializable>asList(target, amount, merchant));
+    }
+}
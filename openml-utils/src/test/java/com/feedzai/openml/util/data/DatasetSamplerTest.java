@@ -0,0 +1,255 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.data;
+
+import com.feedzai.openml.data.Dataset;
+import com.feedzai.openml.data.Instance;
+import com.feedzai.openml.data.PartitionedDataset;
+import com.feedzai.openml.data.schema.CategoricalValueSchema;
+import com.feedzai.openml.data.schema.DatasetSchema;
+import com.feedzai.openml.data.schema.FieldSchema;
+import com.feedzai.openml.data.schema.NumericValueSchema;
+import com.feedzai.openml.mocks.MockDataset;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Tests the behaviour of the {@link DatasetSampler}.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public class DatasetSamplerTest {
+
+    /**
+     * Schema with a categorical target and a numeric field.
+     */
+    private static final DatasetSchema SCHEMA = new DatasetSchema(0, ImmutableList.of(
+            new FieldSchema("class", 0, new CategoricalValueSchema(true, ImmutableSet.of("fraud", "legit"))),
+            new FieldSchema("amount", 1, new NumericValueSchema(true))
+    ));
+
+    /**
+     * The number of instances of the {@link #dataset()}.
+     */
+    private static final int NUMBER_INSTANCES = 100_000;
+
+    /**
+     * The sampler tested, with small chunks so that the datasets are sampled by several tasks.
+     */
+    private final DatasetSampler sampler = DatasetSampler.builder().withChunkSize(4096).build();
+
+    /**
+     * Tests that a stratified split keeps the proportions of the classes in both parts, and is deterministic.
+     */
+    @Test
+    public void testStratifiedSplit() {
+        final ColumnarDataset dataset = dataset();
+        final PartitionedDataset split = this.sampler.stratifiedSplit(dataset, 0.8, new Random(7));
+        final IndexedDataset train = (IndexedDataset) split.getMatchedData();
+        final IndexedDataset test = (IndexedDataset) split.getUnmatchedData();
+
+        assertThat(countClass(train, 0))
+                .as("The number of fraud instances in the matched part")
+                .isEqualTo(80);
+        assertThat(countClass(train, Double.NaN))
+                .as("The number of instances without class in the matched part")
+                .isEqualTo(8);
+        assertThat(countClass(test, 0))
+                .as("The number of fraud instances in the unmatched part")
+                .isEqualTo(20);
+
+        final int[] rows = IntStream.concat(sourceRows(train), sourceRows(test)).sorted().toArray();
+        assertThat(rows)
+                .as("The rows of both parts")
+                .isEqualTo(IntStream.range(0, NUMBER_INSTANCES).toArray());
+        assertThat(sourceRows(train).toArray())
+                .as("The rows of the matched part")
+                .isSorted()
+                .isEqualTo(sourceRows((IndexedDataset) this.sampler.stratifiedSplit(dataset, 0.8, new Random(7))
+                        .getMatchedData()).toArray());
+    }
+
+    /**
+     * Tests a stratified split of a dataset that is neither columnar nor a view.
+     */
+    @Test
+    public void testStratifiedSplitOfInstances() {
+        final List<Instance> instances = new ArrayList<>();
+        dataset().getInstances().forEachRemaining(instances::add);
+
+        final PartitionedDataset split = this.sampler.stratifiedSplit(
+                new MockDataset(SCHEMA, instances), 0.5, new Random(7)
+        );
+
+        assertThat(countClass((IndexedDataset) split.getMatchedData(), 0))
+                .as("The number of fraud instances in the matched part")
+                .isEqualTo(50);
+    }
+
+    /**
+     * Tests that sampling a dataset with a class that is not the index of a nominal value of the target fails with a
+     * clear message.
+     */
+    @Test
+    public void testInvalidClass() {
+        final double[] target = {0, 1, 2, 1};
+        final ColumnarDataset dataset = new ColumnarDataset(
+                SCHEMA, target.length, new double[][]{target, new double[target.length]}, new String[2][]
+        );
+
+        assertThatThrownBy(() -> this.sampler.stratifiedSplit(dataset, 0.5, new Random(7)))
+                .as("The result of splitting a dataset with an unknown class")
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("instance 2")
+                .hasMessageContaining("2.0");
+    }
+
+    /**
+     * Tests that undersampling keeps all the instances of the rare class, and weights the others so that the weighted
+     * number of instances of each class is preserved.
+     */
+    @Test
+    public void testBalancedUndersample() {
+        final IndexedDataset sample = this.sampler.balancedUndersample(dataset(), 2, new Random(7));
+
+        assertThat(sample.getNumberInstances())
+                .as("The number of instances sampled")
+                .isEqualTo(300);
+        assertThat(countClass(sample, 0))
+                .as("The number of fraud instances")
+                .isEqualTo(100);
+
+        double fraudWeight = 0;
+        double legitWeight = 0;
+        for (int index = 0; index < sample.getNumberInstances(); index++) {
+            if (sample.instance(index).getValue(0) == 0) {
+                fraudWeight += sample.getWeight(index);
+            } else {
+                legitWeight += sample.getWeight(index);
+            }
+        }
+        assertThat(fraudWeight)
+                .as("The weighted number of fraud instances")
+                .isCloseTo(100, within(1e-6));
+        assertThat(legitWeight)
+                .as("The weighted number of legit instances")
+                .isCloseTo(NUMBER_INSTANCES - 110, within(1e-6));
+    }
+
+    /**
+     * Tests that a reservoir sample has distinct rows spread over the dataset, and is deterministic.
+     */
+    @Test
+    public void testReservoirSample() {
+        final ColumnarDataset dataset = dataset();
+        final IndexedDataset sample = this.sampler.reservoirSample(dataset, 1_000, new Random(3));
+        final int[] rows = sourceRows(sample).toArray();
+
+        assertThat(rows)
+                .as("The rows sampled")
+                .hasSize(1_000)
+                .isSorted()
+                .doesNotHaveDuplicates();
+        assertThat(Arrays.stream(rows).average().orElse(0))
+                .as("The average row sampled")
+                .isCloseTo(NUMBER_INSTANCES / 2.0, within(NUMBER_INSTANCES * 0.05));
+        assertThat(rows)
+                .as("The rows sampled with the same seed")
+                .isEqualTo(sourceRows(this.sampler.reservoirSample(dataset, 1_000, new Random(3))).toArray());
+        assertThat(sourceRows(this.sampler.reservoirSample(dataset, 10_000, new Random(3))).distinct().count())
+                .as("The number of distinct rows in a sample larger than a chunk")
+                .isEqualTo(10_000);
+        assertThat(this.sampler.reservoirSample(dataset, NUMBER_INSTANCES + 1, new Random(3)).getNumberInstances())
+                .as("The size of a sample larger than the dataset")
+                .isEqualTo(NUMBER_INSTANCES);
+    }
+
+    /**
+     * Tests that a bootstrap sample draws rows with replacement, and is deterministic.
+     */
+    @Test
+    public void testBootstrap() {
+        final ColumnarDataset dataset = dataset();
+        final IndexedDataset sample = this.sampler.bootstrap(dataset, new Random(5));
+        final int[] rows = sourceRows(sample).toArray();
+
+        assertThat(rows)
+                .as("The rows drawn")
+                .hasSize(NUMBER_INSTANCES)
+                .isSorted();
+        // about 1 - 1/e of the rows are drawn at least once
+        assertThat((double) Arrays.stream(rows).distinct().count() / NUMBER_INSTANCES)
+                .as("The fraction of distinct rows drawn")
+                .isCloseTo(0.632, within(0.01));
+        assertThat(rows)
+                .as("The rows drawn with the same seed")
+                .isEqualTo(sourceRows(this.sampler.bootstrap(dataset, new Random(5))).toArray());
+    }
+
+    /**
+     * Creates a dataset where 1 in 1000 instances is fraud, and 1 in 10000 has no class.
+     *
+     * @return The dataset.
+     */
+    private static ColumnarDataset dataset() {
+        final double[] target = new double[NUMBER_INSTANCES];
+        final double[] amount = new double[NUMBER_INSTANCES];
+        for (int row = 0; row < NUMBER_INSTANCES; row++) {
+            target[row] = row % 1_000 == 0 ? 0 : row % 10_000 == 1 ? Double.NaN : 1;
+            amount[row] = row;
+        }
+        return new ColumnarDataset(SCHEMA, NUMBER_INSTANCES, new double[][]{target, amount}, new String[2][]);
+    }
+
+    /**
+     * Counts the instances of a view with the given class.
+     *
+     * @param dataset The view.
+     * @param value   The class value, or {@link Double#NaN} to count the instances without class.
+     * @return The number of instances.
+     */
+    private static long countClass(final IndexedDataset dataset, final double value) {
+        return IntStream.range(0, dataset.getNumberInstances())
+                .mapToDouble(index -> dataset.instance(index).getValue(0))
+                .filter(target -> Double.isNaN(value) ? Double.isNaN(target) : target == value)
+                .count();
+    }
+
+    /**
+     * Gets the rows of the source of a view.
+     *
+     * @param dataset The view.
+     * @return The rows.
+     */
+    private static IntStream sourceRows(final IndexedDataset dataset) {
+        return IntStream.range(0, dataset.getNumberInstances()).map(dataset::getSourceRow);
+    }
+}
@@ -0,0 +1,119 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.data;
+
+import com.feedzai.openml.data.Dataset;
+import com.feedzai.openml.data.schema.CategoricalValueSchema;
+import com.feedzai.openml.data.schema.DatasetSchema;
+import com.feedzai.openml.data.schema.FieldSchema;
+import com.feedzai.openml.data.schema.NumericValueSchema;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests the behaviour of the {@link IndexedDataset}.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public class IndexedDatasetTest {
+
+    /**
+     * Schema with a categorical target and a numeric field.
+     */
+    private static final DatasetSchema SCHEMA = new DatasetSchema(0, ImmutableList.of(
+            new FieldSchema("class", 0, new CategoricalValueSchema(true, ImmutableSet.of("fraud", "legit"))),
+            new FieldSchema("amount", 1, new NumericValueSchema(true))
+    ));
+
+    /**
+     * A dataset with 10 instances, where the amount is the index of the instance.
+     */
+    private static final ColumnarDataset SOURCE = new ColumnarDataset(SCHEMA, 10, new double[][]{
+            {0, 1, 1, 1, 1, 0, 1, 1, 1, 1},
+            {0, 1, 2, 3, 4, 5, 6, 7, 8, 9}
+    }, new String[2][]);
+
+    /**
+     * Tests that a view reads the rows of its source, with repetitions.
+     */
+    @Test
+    public void testView() {
+        final IndexedDataset view = new IndexedDataset(SOURCE, new int[]{9, 2, 2, 5});
+
+        assertThat(view.getNumberInstances())
+                .as("The number of instances of the view")
+                .isEqualTo(4);
+        assertThat(view.instance(1).getValue(1))
+                .as("The amount of the second instance")
+                .isEqualTo(2);
+        assertThat(view.feature(1).getValue(3))
+                .as("The amount of the fourth instance, read through the feature")
+                .isEqualTo(5);
+        assertThat(view.getWeight(0))
+                .as("The weight of an unweighted row")
+                .isEqualTo(1);
+        assertThat(view.isWeighted())
+                .as("Whether the view is weighted")
+                .isFalse();
+    }
+
+    /**
+     * Tests that views over views, and their filters and groups, point to the original source and keep the weights.
+     */
+    @Test
+    public void testNestedViews() {
+        final IndexedDataset view = new IndexedDataset(SOURCE, new int[]{1, 3, 5, 7}, new double[]{2, 2, 4, 4});
+        final IndexedDataset nested = new IndexedDataset(view, new int[]{3, 0}, new double[]{0.5, 3});
+
+        assertThat(nested.getSource())
+                .as("The source of the nested view")
+                .isSameAs(SOURCE);
+        assertThat(nested.getSourceRow(0))
+                .as("The source row of the first instance of the nested view")
+                .isEqualTo(7);
+        assertThat(nested.getWeight(1))
+                .as("The weight of the second instance of the nested view")
+                .isEqualTo(6);
+
+        final IndexedDataset filtered = (IndexedDataset) view.filter(instance -> instance.getValue(1) > 4);
+        assertThat(filtered.getNumberInstances())
+                .as("The number of instances of the filtered view")
+                .isEqualTo(2);
+        assertThat(filtered.getWeight(0))
+                .as("The weight of the first instance of the filtered view")
+                .isEqualTo(4);
+
+        final Map<Double, Dataset> groups = view.groupBy(instance -> instance.getValue(0));
+        assertThat(((IndexedDataset) groups.get(0.0)).getSourceRow(0))
+                .as("The source row of the fraud group")
+                .isEqualTo(5);
+        assertThat(((IndexedDataset) groups.get(1.0)).getNumberInstances())
+                .as("The number of instances of the legit group")
+                .isEqualTo(3);
+        assertThat(((IndexedDataset) view.empty()).getNumberInstances())
+                .as("The number of instances of the empty view")
+                .isEqualTo(0);
+    }
+}
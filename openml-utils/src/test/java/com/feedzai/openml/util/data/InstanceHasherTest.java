@@ -0,0 +1,149 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.data;
+
+import com.feedzai.openml.data.Instance;
+import com.feedzai.openml.data.schema.DatasetSchema;
+import com.feedzai.openml.mocks.MockDataset;
+import com.feedzai.openml.mocks.MockInstance;
+import com.feedzai.openml.util.data.schema.TestDatasetSchemaBuilder;
+import com.google.common.collect.Lists;
+import org.junit.Test;
+
+import java.io.Serializable;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests the behaviour of the {@link InstanceHasher}.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public class InstanceHasherTest {
+
+    /**
+     * Schema with 2 numeric fields, a categorical target and a string field.
+     */
+    private static final DatasetSchema SCHEMA = TestDatasetSchemaBuilder.builder()
+            .withNumericalFields(2)
+            .withCategoricalFields(1)
+            .withStringFields(1)
+            .build();
+
+    /**
+     * Tests that equal values have equal keys, and that the target is not hashed.
+     */
+    @Test
+    public void testExactKeys() {
+        final InstanceHasher hasher = InstanceHasher.builder(SCHEMA).build();
+
+        assertThat(hasher.key(instance(1.5, -0.0, 0, "merchant")))
+                .as("the key of instances that only differ in the target and the sign of zero")
+                .isEqualTo(hasher.key(instance(1.5, 0.0, 1, "merchant")));
+        assertThat(hasher.key(instance(1.5, 0, 0, "merchant")))
+                .as("the key of instances with different strings")
+                .isNotEqualTo(hasher.key(instance(1.5, 0, 0, "merchanu")));
+        assertThat(hasher.key(instance(1.5, 0, 0, "merchant-0001")))
+                .as("the key of instances with strings that only differ in the second half of a block")
+                .isNotEqualTo(hasher.key(instance(1.5, 0, 0, "merchant-0002")));
+        assertThat(hasher.key(instance(1.5, 0, 0, "")))
+                .as("the key of an instance with an empty string")
+                .isNotEqualTo(hasher.key(instance(1.5, 0, 0, null)));
+        assertThat(hasher.key(instance(1.5, Double.NaN, 0, null)))
+                .as("the key of instances with missing values")
+                .isEqualTo(hasher.key(instance(1.5, Double.NaN, 1, null)));
+        assertThat(hasher.key(instance(1.5, 2, 0, "merchant")))
+                .as("the key of instances with different numeric values")
+                .isNotEqualTo(hasher.key(instance(1.5, 2.0000001, 0, "merchant")));
+
+        final long[] key = new long[2];
+        hasher.hash(instance(1.5, 2, 0, "merchant"), key);
+        assertThat(new InstanceHasher.Key(key[0], key[1]))
+                .as("the key written into an array")
+                .isEqualTo(hasher.key(instance(1.5, 2, 0, "merchant")));
+    }
+
+    /**
+     * Tests that quantised and ignored fields are taken into account.
+     */
+    @Test
+    public void testQuantisedAndIgnoredFields() {
+        final InstanceHasher hasher = InstanceHasher.builder(SCHEMA)
+                .withQuantisation(0, 10)
+                .withIgnoredFields(3)
+                .build();
+
+        assertThat(hasher.key(instance(11, 5, 0, "a")))
+                .as("the key of values in the same bucket and different ignored fields")
+                .isEqualTo(hasher.key(instance(19.9, 5, 0, "b")));
+        assertThat(hasher.key(instance(9.9, 5, 0, "a")))
+                .as("the key of values in different buckets")
+                .isNotEqualTo(hasher.key(instance(10, 5, 0, "a")));
+
+        assertThatThrownBy(() -> InstanceHasher.builder(SCHEMA).withQuantisation(3, 1))
+                .as("quantising a string field")
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> InstanceHasher.builder(SCHEMA).withQuantisation(0, 0))
+                .as("quantising with an invalid step")
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Tests that different random instances don't collide.
+     */
+    @Test
+    public void testNoCollisions() {
+        final InstanceHasher hasher = InstanceHasher.builder(SCHEMA).build();
+        final Set<InstanceHasher.Key> keys = new HashSet<>();
+        final Set<Long> highBits = new HashSet<>();
+
+        final Iterator<Instance> instances = new MockDataset(SCHEMA, 10_000, new Random(0)).getInstances();
+        while (instances.hasNext()) {
+            final InstanceHasher.Key key = hasher.key(instances.next());
+            keys.add(key);
+            highBits.add(key.getHigh());
+        }
+
+        assertThat(keys)
+                .as("the distinct keys")
+                .hasSize(10_000);
+        assertThat(highBits)
+                .as("the distinct high bits of the keys")
+                .hasSize(10_000);
+    }
+
+    /**
+     * Creates an instance with the given values.
+     *
+     * @param first  The value of the first numeric field.
+     * @param second The value of the second numeric field.
+     * @param target The value of the target.
+     * @param string The value of the string field.
+     * @return The instance.
+     */
+    private static Instance instance(final double first, final double second, final double target, final String string) {
+        return new MockInstance(Lists.<Serializable>newArrayList(first, second, target, string));
+    }
+}
@@ -0,0 +1,97 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.data;
+
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests the behaviour of the {@link MissingValueBitmap}.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public class MissingValueBitmapTest {
+
+    /**
+     * Tests that the bitmap of a column spanning several words agrees with a scan of its values.
+     */
+    @Test
+    public void testNumericColumn() {
+        final double[] column = new double[1_000];
+        final Random random = new Random(11);
+        for (int row = 0; row < column.length; row++) {
+            column[row] = random.nextInt(5) == 0 ? Double.NaN : row;
+        }
+
+        final MissingValueBitmap bitmap = MissingValueBitmap.of(column, column.length);
+        final int[] missingRows = IntStream.range(0, column.length).filter(row -> Double.isNaN(column[row])).toArray();
+        final int[] presentRows = IntStream.range(0, column.length).filter(row -> !Double.isNaN(column[row])).toArray();
+
+        assertThat(bitmap.getMissingCount())
+                .as("the number of missing values")
+                .isEqualTo(missingRows.length);
+        assertThat(bitmap.getMissingRows())
+                .as("the rows with a missing value")
+                .isEqualTo(missingRows);
+        assertThat(bitmap.getPresentRows())
+                .as("the rows with a present value")
+                .isEqualTo(presentRows);
+        assertThat(bitmap.nextMissing(missingRows[3] + 1))
+                .as("the missing row after the fourth one")
+                .isEqualTo(missingRows[4]);
+        assertThat(bitmap.nextPresent(presentRows[presentRows.length - 1] + 1))
+                .as("the present row after the last one")
+                .isEqualTo(-1);
+        assertThat(bitmap.isMissing(missingRows[0]))
+                .as("whether the first missing row is missing")
+                .isTrue();
+    }
+
+    /**
+     * Tests the combination of the bitmaps of several columns.
+     */
+    @Test
+    public void testCombinations() {
+        final MissingValueBitmap numeric = MissingValueBitmap.of(new double[]{Double.NaN, 1, Double.NaN, 3, 4}, 5);
+        final MissingValueBitmap strings = MissingValueBitmap.of(new String[]{"a", null, null, "d", "e"}, 5);
+
+        assertThat(numeric.or(strings).getMissingRows())
+                .as("the rows missing in either column")
+                .containsExactly(0, 1, 2);
+        assertThat(numeric.and(strings).getMissingRows())
+                .as("the rows missing in both columns")
+                .containsExactly(2);
+        assertThat(numeric.or(strings).getPresentRows())
+                .as("the rows present in both columns")
+                .containsExactly(3, 4);
+        assertThat(numeric.nextPresent(4))
+                .as("the present row at the end")
+                .isEqualTo(4);
+
+        assertThatThrownBy(() -> numeric.or(MissingValueBitmap.of(new double[3], 3)))
+                .as("the combination of bitmaps of different sizes")
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
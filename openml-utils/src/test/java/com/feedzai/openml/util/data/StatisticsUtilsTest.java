@@ -0,0 +1,87 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.data;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Tests the behaviour of the {@link StatisticsUtils}.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public class StatisticsUtilsTest {
+
+    /**
+     * Tests that the moments of two halves of the values, updated one value at a time and then merged, are the
+     * moments of all the values.
+     */
+    @Test
+    public void testMoments() {
+        final double[] values = new Random(3).doubles(1_001, -1_000, 1_000).toArray();
+        final double mean = Arrays.stream(values).average().orElse(Double.NaN);
+        final double squaredDeviations = Arrays.stream(values).map(value -> (value - mean) * (value - mean)).sum();
+
+        final double[] firstHalf = moments(Arrays.copyOfRange(values, 0, 400));
+        final double[] secondHalf = moments(Arrays.copyOfRange(values, 400, values.length));
+
+        assertThat(StatisticsUtils.mergeMeans(400, firstHalf[0], 601, secondHalf[0]))
+                .as("the merged mean")
+                .isCloseTo(mean, within(1e-9));
+        assertThat(StatisticsUtils.mergeSquaredDeviations(400, firstHalf[0], firstHalf[1], 601, secondHalf[0], secondHalf[1]))
+                .as("the merged sum of squared deviations")
+                .isCloseTo(squaredDeviations, within(1e-3));
+    }
+
+    /**
+     * Tests that equal strings have equal hashes, and that the hashes of similar strings are spread.
+     */
+    @Test
+    public void testStringHash() {
+        assertThat(StatisticsUtils.stringHash("merchant"))
+                .as("the hash of equal strings")
+                .isEqualTo(StatisticsUtils.stringHash(new String("merchant")));
+        assertThat(Long.bitCount(StatisticsUtils.stringHash("merchant") ^ StatisticsUtils.stringHash("merchanu")))
+                .as("the number of different bits in the hashes of strings that differ in one bit")
+                .isBetween(16, 48);
+    }
+
+    /**
+     * Computes the mean and the sum of squared deviations of values, one value at a time.
+     *
+     * @param values The values.
+     * @return The mean and the sum of squared deviations.
+     */
+    private static double[] moments(final double[] values) {
+        double mean = 0;
+        double squaredDeviations = 0;
+        for (int i = 0; i < values.length; i++) {
+            final double previousMean = mean;
+            mean = StatisticsUtils.addToMean(previousMean, i + 1, values[i]);
+            squaredDeviations = StatisticsUtils.addToSquaredDeviations(squaredDeviations, previousMean, mean, values[i]);
+        }
+        return new double[]{mean, squaredDeviations};
+    }
+}
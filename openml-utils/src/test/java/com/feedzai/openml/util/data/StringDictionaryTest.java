@@ -0,0 +1,88 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.data;
+
+import org.junit.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests the behaviour of the {@link StringDictionary}.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public class StringDictionaryTest {
+
+    /**
+     * Tests that values get codes in the order they are first encoded, and that codes are decoded back to them.
+     */
+    @Test
+    public void testEncodeAndDecode() {
+        final StringDictionary dictionary = new StringDictionary();
+
+        assertThat(new int[]{dictionary.encode("a"), dictionary.encode("b"), dictionary.encode("a")})
+                .as("the codes of the values")
+                .containsExactly(0, 1, 0);
+        assertThat(dictionary.encode(null))
+                .as("the code of a missing value")
+                .isEqualTo(StringDictionary.MISSING);
+        assertThat(dictionary.decode(1))
+                .as("the value of the second code")
+                .isEqualTo("b");
+        assertThat(dictionary.decode(StringDictionary.MISSING))
+                .as("the value of the missing code")
+                .isNull();
+        assertThat(dictionary.lookup("c"))
+                .as("the code of a value that is not in the dictionary")
+                .isEqualTo(StringDictionary.MISSING);
+        assertThat(dictionary.size())
+                .as("the number of values, which lookup doesn't change")
+                .isEqualTo(2);
+
+        assertThatThrownBy(() -> dictionary.decode(2))
+                .as("decoding a code that was not assigned")
+                .isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    /**
+     * Tests that values encoded concurrently get distinct codes that decode back to them.
+     */
+    @Test
+    public void testConcurrentEncode() {
+        final StringDictionary dictionary = new StringDictionary();
+
+        final int[] codes = IntStream.range(0, 100_000)
+                .parallel()
+                .map(i -> dictionary.encode("value-" + (i % 5_000)))
+                .toArray();
+
+        assertThat(dictionary.size())
+                .as("the number of distinct values")
+                .isEqualTo(5_000);
+        for (int i = 0; i < codes.length; i++) {
+            assertThat(dictionary.decode(codes[i]))
+                    .as("the value of code %s", i)
+                    .isEqualTo("value-" + (i % 5_000));
+        }
+    }
+}
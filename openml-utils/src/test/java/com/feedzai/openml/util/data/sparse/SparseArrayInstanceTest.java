@@ -0,0 +1,103 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.data.sparse;
+
+import com.feedzai.openml.data.schema.CategoricalValueSchema;
+import com.feedzai.openml.data.schema.DatasetSchema;
+import com.feedzai.openml.data.schema.FieldSchema;
+import com.feedzai.openml.data.schema.NumericValueSchema;
+import com.feedzai.openml.data.schema.StringValueSchema;
+import com.feedzai.openml.mocks.MockInstance;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Test;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests the behaviour of the {@link SparseArrayInstance}.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public class SparseArrayInstanceTest {
+
+    /**
+     * Schema with a categorical target, three numeric fields and a string field.
+     */
+    private static final DatasetSchema SCHEMA = new DatasetSchema(0, ImmutableList.of(
+            new FieldSchema("class", 0, new CategoricalValueSchema(true, ImmutableSet.of("fraud", "legit"))),
+            new FieldSchema("amount", 1, new NumericValueSchema(true)),
+            new FieldSchema("age", 2, new NumericValueSchema(true)),
+            new FieldSchema("merchant", 3, new StringValueSchema(true)),
+            new FieldSchema("score", 4, new NumericValueSchema(true))
+    ));
+
+    /**
+     * Tests that the builder sorts the values given in any order, and ignores the missing ones.
+     */
+    @Test
+    public void testBuilder() {
+        final SparseArrayInstance instance = SparseArrayInstance.builder()
+                .withValue(4, 0.5)
+                .withValue(2, Double.NaN)
+                .withStringValue(3, "shop")
+                .withValue(1, 10)
+                .build();
+
+        assertThat(instance.getNumberPresentValues())
+                .as("The number of present values")
+                .isEqualTo(2);
+        assertThat(new int[]{instance.getPresentIndex(0), instance.getPresentIndex(1)})
+                .as("The indexes of the present values")
+                .containsExactly(1, 4);
+        assertThat(instance.getPresentValue(1))
+                .as("The second present value")
+                .isEqualTo(0.5);
+        assertThat(instance.getValue(2))
+                .as("A value that is not present")
+                .isNaN();
+        assertThat(instance.getStringValue(3))
+                .as("The string value")
+                .isEqualTo("shop");
+    }
+
+    /**
+     * Tests the conversions from and to dense instances.
+     */
+    @Test
+    public void testDenseConversions() {
+        final MockInstance dense = new MockInstance(Arrays.<Serializable>asList(1.0, Double.NaN, 35.0, null, Double.NaN));
+
+        final SparseArrayInstance sparse = SparseArrayInstance.fromDense(dense, SCHEMA);
+
+        assertThat(sparse.getNumberPresentValues())
+                .as("The number of present values")
+                .isEqualTo(2);
+        assertThat(sparse.getStringValue(3))
+                .as("The missing string value")
+                .isNull();
+        assertThat(sparse.toDense(SCHEMA.getFieldSchemas().size()))
+                .as("The dense values")
+                .containsExactly(1.0, Double.NaN, 35.0, Double.NaN, Double.NaN);
+    }
+}
@@ -0,0 +1,87 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.data.sparse;
+
+import com.feedzai.openml.data.SparseInstance;
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests the behaviour of the {@link SparseColumn}.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public class SparseColumnTest {
+
+    /**
+     * Tests the conversions from and to dense columns.
+     */
+    @Test
+    public void testDenseConversions() {
+        final double[] dense = {Double.NaN, 3, Double.NaN, Double.NaN, -1, Double.NaN};
+
+        final SparseColumn column = SparseColumn.fromDense(dense);
+
+        assertThat(column.getNumberPresentValues())
+                .as("The number of present values")
+                .isEqualTo(2);
+        assertThat(column.getPresentRow(1))
+                .as("The row of the second present value")
+                .isEqualTo(4);
+        assertThat(column.getValue(1))
+                .as("A present value")
+                .isEqualTo(3);
+        assertThat(column.getValue(5))
+                .as("A value that is not present")
+                .isNaN();
+        assertThat(column.getDensity())
+                .as("The density of the column")
+                .isEqualTo(1.0 / 3);
+        assertThat(column.toDense())
+                .as("The dense column")
+                .containsExactly(dense);
+    }
+
+    /**
+     * Tests that sparse instances are transposed into sparse columns.
+     */
+    @Test
+    public void testFromRows() {
+        final ImmutableList<SparseInstance> rows = ImmutableList.of(
+                SparseArrayInstance.builder().withValue(0, 1).withValue(2, 5).build(),
+                SparseArrayInstance.builder().build(),
+                SparseArrayInstance.builder().withValue(2, 7).build()
+        );
+
+        final SparseColumn[] columns = SparseColumn.fromRows(rows, 3);
+
+        assertThat(columns[0].toDense())
+                .as("The first column")
+                .containsExactly(1, Double.NaN, Double.NaN);
+        assertThat(columns[1].getNumberPresentValues())
+                .as("The present values of the empty column")
+                .isEqualTo(0);
+        assertThat(columns[2].toDense())
+                .as("The third column")
+                .containsExactly(5, Double.NaN, 7);
+    }
+}
@@ -0,0 +1,133 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.data.sparse;
+
+import com.feedzai.openml.data.SparseInstance;
+import com.feedzai.openml.data.schema.CategoricalValueSchema;
+import com.feedzai.openml.data.schema.DatasetSchema;
+import com.feedzai.openml.data.schema.FieldSchema;
+import com.feedzai.openml.data.schema.NumericValueSchema;
+import com.feedzai.openml.model.SparseClassificationMLModel;
+import com.feedzai.openml.util.model.TestClassificationModel;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests the behaviour of the {@link SparseScoring}.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public class SparseScoringTest {
+
+    /**
+     * Schema with a categorical target and two numeric fields.
+     */
+    private static final DatasetSchema SCHEMA = new DatasetSchema(0, ImmutableList.of(
+            new FieldSchema("class", 0, new CategoricalValueSchema(true, ImmutableSet.of("fraud", "legit"))),
+            new FieldSchema("amount", 1, new NumericValueSchema(true)),
+            new FieldSchema("age", 2, new NumericValueSchema(true))
+    ));
+
+    /**
+     * The instances scored: one with an amount, and one without values.
+     */
+    private static final SparseInstance[] INSTANCES = {
+            SparseArrayInstance.builder().withValue(1, 0.25).build(),
+            SparseArrayInstance.builder().build()
+    };
+
+    /**
+     * Tests that a model that exploits sparse instances receives them through its sparse method.
+     */
+    @Test
+    public void testSparseModel() {
+        final SparseLinearModel model = new SparseLinearModel();
+        final double[][] distributions = new double[2][2];
+
+        SparseScoring.getClassDistributions(model, INSTANCES, distributions);
+
+        assertThat(model.sparseBatches)
+                .as("The number of batches scored through the sparse method")
+                .isEqualTo(1);
+        assertThat(distributions[0])
+                .as("The distribution of the instance with an amount")
+                .containsExactly(0.25, 0.75);
+        assertThat(distributions[1])
+                .as("The distribution of the instance without values")
+                .containsExactly(0, 1);
+    }
+
+    /**
+     * Tests that any other model scores sparse instances as any other instances.
+     */
+    @Test
+    public void testDenseModel() {
+        final TestClassificationModel model = new TestClassificationModel(SCHEMA, instance -> {
+            final double amount = instance.getValue(1);
+            return Double.isNaN(amount) ? new double[]{0, 1} : new double[]{amount, 1 - amount};
+        });
+        final double[][] distributions = new double[2][2];
+
+        SparseScoring.getClassDistributions(model, INSTANCES, distributions);
+
+        assertThat(model.getScoringCalls())
+                .as("The number of instances scored")
+                .isEqualTo(2);
+        assertThat(distributions[0])
+                .as("The distribution of the instance with an amount")
+                .containsExactly(0.25, 0.75);
+    }
+
+    /**
+     * A model that sums the present values of an instance as the probability of fraud, through the sparse method.
+     */
+    private static final class SparseLinearModel extends TestClassificationModel implements SparseClassificationMLModel {
+
+        /**
+         * The number of batches scored through the sparse method.
+         */
+        private int sparseBatches = 0;
+
+        /**
+         * Creates a new instance.
+         */
+        private SparseLinearModel() {
+            super(SCHEMA, instance -> {
+                throw new UnsupportedOperationException("sparse instances should be scored in batches");
+            });
+        }
+
+        @Override
+        public void getSparseClassDistributions(final SparseInstance[] instances, final double[][] distributions) {
+            this.sparseBatches++;
+            for (int row = 0; row < instances.length; row++) {
+                double fraud = 0;
+                for (int position = 0; position < instances[row].getNumberPresentValues(); position++) {
+                    fraud += instances[row].getPresentValue(position);
+                }
+                distributions[row][0] = fraud;
+                distributions[row][1] = 1 - fraud;
+            }
+        }
+    }
+}
@@ -0,0 +1,183 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.data.stream;
+
+import com.feedzai.openml.data.Instance;
+import com.feedzai.openml.data.schema.CategoricalValueSchema;
+import com.feedzai.openml.data.schema.DatasetSchema;
+import com.feedzai.openml.data.schema.FieldSchema;
+import com.feedzai.openml.data.schema.NumericValueSchema;
+import com.feedzai.openml.data.schema.StringValueSchema;
+import com.feedzai.openml.mocks.MockInstance;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests the behaviour of the {@link QueueStreamingDataset}.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public class QueueStreamingDatasetTest {
+
+    /**
+     * Schema with a categorical target, a numeric field and a string field.
+     */
+    static final DatasetSchema SCHEMA = new DatasetSchema(0, ImmutableList.of(
+            new FieldSchema("class", 0, new CategoricalValueSchema(true, ImmutableSet.of("fraud", "legit"))),
+            new FieldSchema("amount", 1, new NumericValueSchema(true)),
+            new FieldSchema("merchant", 2, new StringValueSchema(true))
+    ));
+
+    /**
+     * Tests that the consumer reads the instances in chunks and in order, and then the end of the dataset, while the
+     * producer is held back by the capacity of the queue.
+     *
+     * @throws Exception If the producer or the consumer fail.
+     */
+    @Test
+    public void testBackPressure() throws Exception {
+        final QueueStreamingDataset stream = QueueStreamingDataset.builder(SCHEMA)
+                .withCapacity(10)
+                .withSize(100)
+                .build();
+
+        final CompletableFuture<Void> producer = CompletableFuture.runAsync(() -> {
+            try {
+                for (int i = 0; i < 100; i++) {
+                    stream.put(instance(i % 2, i, "merchant-" + i));
+                }
+                stream.complete();
+            } catch (final InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        int read = 0;
+        List<Instance> chunk;
+        while (!(chunk = stream.nextChunk(7)).isEmpty()) {
+            assertThat(chunk.size())
+                    .as("The size of the chunk")
+                    .isBetween(1, 7);
+            assertThat(stream.getQueueSize())
+                    .as("The number of queued instances")
+                    .isLessThanOrEqualTo(10);
+            for (final Instance instance : chunk) {
+                assertThat(instance.getValue(1))
+                        .as("The amount of the instance, in order")
+                        .isEqualTo(read++);
+            }
+        }
+        producer.get(10, TimeUnit.SECONDS);
+
+        assertThat(read)
+                .as("The number of instances read")
+                .isEqualTo(100);
+        assertThat(stream.getSize().getAsLong())
+                .as("The known size")
+                .isEqualTo(100);
+    }
+
+    /**
+     * Tests that a failure of the producer is thrown to the consumer, and that producers are told to stop when the
+     * consumer closes the dataset.
+     *
+     * @throws Exception If the producer or the consumer fail unexpectedly.
+     */
+    @Test
+    public void testFailureAndClose() throws Exception {
+        final QueueStreamingDataset failed = QueueStreamingDataset.builder(SCHEMA).build();
+        failed.put(instance(0, 1, "a"));
+        failed.fail(new IllegalStateException("broken source"));
+
+        assertThatThrownBy(() -> failed.nextChunk(10))
+                .as("The result of reading a failed dataset")
+                .isInstanceOf(IOException.class)
+                .hasRootCauseInstanceOf(IllegalStateException.class);
+
+        final QueueStreamingDataset closed = QueueStreamingDataset.builder(SCHEMA).withCapacity(1).build();
+        closed.put(instance(0, 1, "a"));
+        assertThat(closed.offer(instance(0, 2, "b"), 10, TimeUnit.MILLISECONDS))
+                .as("Whether an instance is queued while the queue is full")
+                .isFalse();
+
+        final CompletableFuture<Boolean> blockedPut = CompletableFuture.supplyAsync(() -> {
+            try {
+                return closed.put(instance(0, 3, "c"));
+            } catch (final InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        closed.close();
+
+        assertThat(blockedPut.get(10, TimeUnit.SECONDS))
+                .as("Whether an instance is queued after the consumer closed the dataset")
+                .isFalse();
+        assertThat(closed.getQueueSize())
+                .as("The number of queued instances after closing")
+                .isZero();
+    }
+
+    /**
+     * Tests that a consumer waiting for instances is woken up and fails when another thread closes the dataset.
+     *
+     * @throws Exception If the consumer fails unexpectedly.
+     */
+    @Test
+    public void testCloseWhileConsumerWaits() throws Exception {
+        final QueueStreamingDataset dataset = QueueStreamingDataset.builder(SCHEMA).build();
+        final CompletableFuture<List<Instance>> blockedRead = CompletableFuture.supplyAsync(() -> {
+            try {
+                return dataset.nextChunk(10);
+            } catch (final IOException | InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        // gives the consumer time to start waiting; the result is the same if it only reads after the close
+        Thread.sleep(50);
+        dataset.close();
+
+        assertThatThrownBy(() -> blockedRead.get(10, TimeUnit.SECONDS))
+                .as("The result of waiting for instances when the dataset is closed")
+                .hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    /**
+     * Creates an instance of the {@link #SCHEMA}.
+     *
+     * @param target   The class.
+     * @param amount   The amount.
+     * @param merchant The merchant.
+     * @return The instance.
+     */
+    static Instance instance(final double target, final double amount, final String merchant) {
+        return new MockInstance(Arrays.<Serializable>asList(target, amount, merchant));
+    }
+}
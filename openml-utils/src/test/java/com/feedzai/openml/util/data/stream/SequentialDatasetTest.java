@@ -0,0 +1,268 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.data.stream;
+
+import com.feedzai.openml.data.Dataset;
+import com.feedzai.openml.data.Instance;
+import com.feedzai.openml.data.StreamingDataset;
+import com.feedzai.openml.data.schema.DatasetSchema;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterators;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static com.feedzai.openml.util.data.stream.QueueStreamingDatasetTest.SCHEMA;
+import static com.feedzai.openml.util.data.stream.QueueStreamingDatasetTest.instance;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests the behaviour of the {@link SequentialDataset}.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public class SequentialDatasetTest {
+
+    /**
+     * Folder where the instances are spooled.
+     */
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    /**
+     * Tests that a multi-pass dataset opens a new stream on each pass, and that filters are applied lazily.
+     */
+    @Test
+    public void testMultiPass() {
+        final AtomicInteger opened = new AtomicInteger();
+        final SequentialDataset dataset = SequentialDataset.multiPass(SCHEMA, () -> {
+            opened.incrementAndGet();
+            return filledQueue(25);
+        }).withChunkSize(4);
+
+        assertThat(Iterators.size(dataset.getInstances()))
+                .as("The number of instances in the first pass")
+                .isEqualTo(25);
+        assertThat(Iterators.size(dataset.getInstances()))
+                .as("The number of instances in the second pass")
+                .isEqualTo(25);
+
+        final Dataset fraud = dataset.partition(instance -> instance.getValue(0) == 0).getMatchedData();
+        final Iterator<Instance> fraudInstances = fraud.getInstances();
+        int count = 0;
+        while (fraudInstances.hasNext()) {
+            assertThat(fraudInstances.next().getValue(0))
+                    .as("The class of a filtered instance")
+                    .isEqualTo(0);
+            count++;
+        }
+
+        assertThat(count)
+                .as("The number of filtered instances")
+                .isEqualTo(13);
+        assertThat(opened.get())
+                .as("The number of streams opened")
+                .isEqualTo(3);
+        assertThat(dataset.empty().getInstances().hasNext())
+                .as("Whether the empty dataset has instances")
+                .isFalse();
+    }
+
+    /**
+     * Tests that a single pass dataset can only be read once, be it to iterate it or to access it randomly.
+     */
+    @Test
+    public void testSinglePass() {
+        final SequentialDataset dataset = SequentialDataset.singlePass(filledQueue(10));
+
+        assertThat(ImmutableList.copyOf(dataset.getInstances()))
+                .as("The instances read")
+                .hasSize(10);
+
+        assertThatThrownBy(dataset::getInstances)
+                .as("The result of iterating the dataset twice")
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> dataset.instance(0))
+                .as("The result of accessing an instance by index")
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    /**
+     * Tests that random access and grouping spool the instances once, that the next passes read the spooled
+     * instances, and that the spooled files are deleted when the dataset is closed.
+     *
+     * @throws IOException If the spooled files cannot be listed or deleted.
+     */
+    @Test
+    public void testSpoolForRandomAccess() throws IOException {
+        final Path directory = this.temporaryFolder.newFolder().toPath();
+        final AtomicInteger opened = new AtomicInteger();
+        try (SequentialDataset dataset = SequentialDataset.multiPass(SCHEMA, () -> {
+            opened.incrementAndGet();
+            return filledQueue(25);
+        }).withSpoolDirectory(directory)) {
+
+            assertThat(dataset.instance(7).getValue(1))
+                    .as("The amount of an instance accessed by index")
+                    .isEqualTo(7);
+            assertThat(dataset.feature(1).getValue(24))
+                    .as("The last value of a feature")
+                    .isEqualTo(24);
+
+            final Map<Double, Dataset> groups = dataset.groupBy(instance -> instance.getValue(0));
+            assertThat(Iterators.size(groups.get(1.0).getInstances()))
+                    .as("The number of instances of the second class")
+                    .isEqualTo(12);
+            assertThat(Iterators.size(dataset.getInstances()))
+                    .as("The number of instances read after spooling")
+                    .isEqualTo(25);
+
+            assertThat(dataset.filter(instance -> instance.getValue(0) == 1).instance(0).getValue(1))
+                    .as("The amount of the first instance of a filtered dataset")
+                    .isEqualTo(1);
+            assertThat(opened.get())
+                    .as("The number of streams opened")
+                    .isEqualTo(2);
+        }
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files.count())
+                    .as("The number of files left after closing the dataset")
+                    .isZero();
+        }
+    }
+
+    /**
+     * Tests that the stream of an iterator that is not read until its end is closed when the iterator is closed, or
+     * otherwise when the dataset it came from is closed.
+     *
+     * @throws IOException If the dataset fails to close.
+     */
+    @Test
+    public void testCloseAbandonedIterator() throws IOException {
+        final AtomicInteger closed = new AtomicInteger();
+        final SequentialDataset dataset = SequentialDataset.multiPass(
+                SCHEMA,
+                () -> new CountingStream(filledQueue(25), closed)
+        ).withChunkSize(4);
+
+        try (SequentialDataset.InstanceIterator instances = dataset.getInstances()) {
+            instances.next();
+        }
+        assertThat(closed.get())
+                .as("The number of streams closed after closing the iterator")
+                .isEqualTo(1);
+
+        dataset.getInstances().next();
+        dataset.filter(instance -> instance.getValue(0) == 0).getInstances().next();
+        assertThat(closed.get())
+                .as("The number of streams closed before closing the dataset")
+                .isEqualTo(1);
+
+        dataset.close();
+        assertThat(closed.get())
+                .as("The number of streams closed after closing the dataset")
+                .isEqualTo(3);
+        assertThat(Iterators.size(dataset.getInstances()))
+                .as("The number of instances read after closing the dataset")
+                .isEqualTo(25);
+        assertThat(closed.get())
+                .as("The number of streams closed after reading a stream until its end")
+                .isEqualTo(4);
+    }
+
+    /**
+     * Creates a completed queue with the given number of instances, alternating between the two classes.
+     *
+     * @param size The number of instances.
+     * @return The queue.
+     */
+    private static QueueStreamingDataset filledQueue(final int size) {
+        final QueueStreamingDataset queue = QueueStreamingDataset.builder(SCHEMA).withCapacity(size).build();
+        try {
+            for (int i = 0; i < size; i++) {
+                queue.put(instance(i % 2, i, "merchant-" + i));
+            }
+        } catch (final InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+        queue.complete();
+        return queue;
+    }
+
+    /**
+     * A stream that counts how many times it is closed.
+     */
+    private static final class CountingStream implements StreamingDataset {
+
+        /**
+         * The stream with the instances.
+         */
+        private final StreamingDataset stream;
+
+        /**
+         * The number of streams closed.
+         */
+        private final AtomicInteger closed;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param stream The stream with the instances.
+         * @param closed The number of streams closed.
+         */
+        private CountingStream(final StreamingDataset stream, final AtomicInteger closed) {
+            this.stream = stream;
+            this.closed = closed;
+        }
+
+        @Override
+        public DatasetSchema getSchema() {
+            return this.stream.getSchema();
+        }
+
+        @Override
+        public OptionalLong getSize() {
+            return this.stream.getSize();
+        }
+
+        @Override
+        public List<Instance> nextChunk(final int maxInstances) throws IOException, InterruptedException {
+            return this.stream.nextChunk(maxInstances);
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.closed.incrementAndGet();
+            this.stream.close();
+        }
+    }
+}
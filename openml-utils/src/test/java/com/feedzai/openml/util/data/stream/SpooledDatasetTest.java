@@ -0,0 +1,100 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.data.stream;
+
+import com.feedzai.openml.data.Dataset;
+import com.feedzai.openml.data.Instance;
+import com.google.common.collect.Iterators;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static com.feedzai.openml.util.data.stream.QueueStreamingDatasetTest.SCHEMA;
+import static com.feedzai.openml.util.data.stream.QueueStreamingDatasetTest.instance;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests the behaviour of the {@link SpooledDataset}.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public class SpooledDatasetTest {
+
+    /**
+     * Folder where the instances are spooled.
+     */
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    /**
+     * Tests that spooled instances can be accessed randomly, with the same values as the original ones, including
+     * missing values, and that the files are deleted when the dataset is closed.
+     *
+     * @throws Exception If the instances cannot be spooled.
+     */
+    @Test
+    public void testSpool() throws Exception {
+        final QueueStreamingDataset queue = QueueStreamingDataset.builder(SCHEMA)
+                .withCapacity(5000)
+                .build();
+        for (int i = 0; i < 5000; i++) {
+            queue.put(instance(i % 3 == 0 ? 0 : 1, i % 100 == 0 ? Double.NaN : i * 0.5, i % 7 == 0 ? null : "merchant-é-" + i));
+        }
+        queue.complete();
+
+        final Path directory = this.temporaryFolder.newFolder().toPath();
+        try (SpooledDataset dataset = SpooledDataset.spool(queue, directory)) {
+            assertThat(dataset.getNumberInstances())
+                    .as("The number of spooled instances")
+                    .isEqualTo(5000);
+
+            final Instance instance = dataset.instance(4321);
+            assertThat(instance.getValue(0)).as("The class").isEqualTo(1);
+            assertThat(instance.getValue(1)).as("The amount").isEqualTo(2160.5);
+            assertThat(instance.getStringValue(2)).as("The merchant").isEqualTo("merchant-é-4321");
+            assertThat(dataset.instance(700).getValue(1)).as("The missing amount").isNaN();
+            assertThat(dataset.instance(700).getStringValue(2)).as("The missing merchant").isNull();
+            assertThat(dataset.feature(1).getValue(3)).as("The amount by feature").isEqualTo(1.5);
+
+            assertThat(Iterators.size(dataset.getInstances()))
+                    .as("The number of instances iterated")
+                    .isEqualTo(5000);
+
+            final Map<Double, Dataset> groups = dataset.groupBy(row -> row.getValue(0));
+            assertThat(Iterators.size(groups.get(0.0).getInstances()))
+                    .as("The number of instances of the first class")
+                    .isEqualTo(1667);
+            assertThat(dataset.filter(row -> row.getValue(0) == 1).instance(0).getStringValue(2))
+                    .as("The merchant of the first instance of the second class")
+                    .isEqualTo("merchant-é-1");
+        }
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files.count())
+                    .as("The number of files left after closing the dataset")
+                    .isZero();
+        }
+    }
+}
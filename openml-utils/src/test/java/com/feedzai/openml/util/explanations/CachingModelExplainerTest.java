@@ -0,0 +1,138 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.explanations;
+
+import com.feedzai.openml.data.Instance;
+import com.feedzai.openml.data.schema.DatasetSchema;
+import com.feedzai.openml.explanations.ModelExplainer;
+import com.feedzai.openml.mocks.MockInstance;
+import com.feedzai.openml.util.data.InstanceHasher;
+import com.feedzai.openml.util.data.schema.TestDatasetSchemaBuilder;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Tests the behaviour of the {@link CachingModelExplainer}.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public class CachingModelExplainerTest {
+
+    /**
+     * Schema with 2 numeric fields followed by the categorical target.
+     */
+    private static final DatasetSchema SCHEMA = TestDatasetSchemaBuilder.builder()
+            .withNumericalFields(2)
+            .withCategoricalFields(1)
+            .build();
+
+    /**
+     * The number of explanations computed by {@link #explainer}.
+     */
+    private final AtomicInteger explanations = new AtomicInteger();
+
+    /**
+     * An explainer whose contributions are the values of the numeric fields.
+     */
+    private final ModelExplainer explainer = instance -> {
+        this.explanations.incrementAndGet();
+        return new double[]{instance.getValue(0), instance.getValue(1), 0};
+    };
+
+    /**
+     * Tests that instances with the same quantised key are explained once, and that the hit rate is reported.
+     */
+    @Test
+    public void testCache() {
+        final CachingModelExplainer cachingExplainer = CachingModelExplainer.builder(
+                this.explainer,
+                InstanceHasher.builder(SCHEMA).withQuantisation(0, 100).build()
+        ).build();
+
+        final double[] first = cachingExplainer.getFeatureContributions(new MockInstance(new double[]{120, 1, 0}));
+        first[0] = -1;
+        final double[] second = cachingExplainer.getFeatureContributions(new MockInstance(new double[]{150, 1, 1}));
+
+        assertThat(second)
+                .as("the contributions of an instance in the same bucket, unaffected by changes to a returned array")
+                .containsExactly(120, 1, 0);
+
+        final double[][] batch = new double[2][3];
+        cachingExplainer.getFeatureContributions(
+                new Instance[]{new MockInstance(new double[]{199, 1, 0}), new MockInstance(new double[]{200, 1, 0})},
+                batch
+        );
+        assertThat(batch[1])
+                .as("the contributions of an instance in another bucket")
+                .containsExactly(200, 1, 0);
+
+        assertThat(this.explanations.get())
+                .as("the number of explanations computed")
+                .isEqualTo(2);
+        assertThat(cachingExplainer.getHitRate())
+                .as("the hit rate")
+                .isCloseTo(0.5, within(1e-9));
+        assertThat(cachingExplainer.getSize())
+                .as("the number of cached explanations")
+                .isEqualTo(2);
+    }
+
+    /**
+     * Tests that bypassed instances don't use the cache, and that the explanations expire.
+     */
+    @Test
+    public void testBypassAndExpiration() throws InterruptedException {
+        final CachingModelExplainer cachingExplainer = CachingModelExplainer.builder(
+                this.explainer,
+                InstanceHasher.builder(SCHEMA).build()
+        )
+                .withBypass(instance -> instance.getValue(1) < 0)
+                .withExpireAfterWrite(50, TimeUnit.MILLISECONDS)
+                .build();
+
+        final Instance bypassed = new MockInstance(new double[]{1, -1, 0});
+        cachingExplainer.getFeatureContributions(bypassed);
+        cachingExplainer.getFeatureContributions(bypassed);
+        assertThat(this.explanations.get())
+                .as("the number of explanations of a bypassed instance")
+                .isEqualTo(2);
+        assertThat(cachingExplainer.getStats().requestCount())
+                .as("the number of cache requests")
+                .isZero();
+
+        final Instance cached = new MockInstance(new double[]{1, 1, 0});
+        cachingExplainer.getFeatureContributions(cached);
+        cachingExplainer.getFeatureContributions(cached);
+        assertThat(this.explanations.get())
+                .as("the number of explanations of a cached instance")
+                .isEqualTo(3);
+
+        Thread.sleep(100);
+        cachingExplainer.getFeatureContributions(cached);
+        assertThat(this.explanations.get())
+                .as("the number of explanations after the cached one expired")
+                .isEqualTo(4);
+    }
+}
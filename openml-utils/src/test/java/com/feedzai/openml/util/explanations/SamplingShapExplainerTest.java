@@ -0,0 +1,190 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.explanations;
+
+import com.feedzai.openml.data.Dataset;
+import com.feedzai.openml.data.Instance;
+import com.feedzai.openml.data.schema.DatasetSchema;
+import com.feedzai.openml.mocks.MockDataset;
+import com.feedzai.openml.mocks.MockInstance;
+import com.feedzai.openml.util.data.schema.TestDatasetSchemaBuilder;
+import com.feedzai.openml.util.model.TestClassificationModel;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Tests the behaviour of the {@link SamplingShapExplainer}.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public class SamplingShapExplainerTest {
+
+    /**
+     * Schema with 3 numeric fields followed by the categorical target.
+     */
+    private static final DatasetSchema SCHEMA = TestDatasetSchemaBuilder.builder()
+            .withNumericalFields(3)
+            .withCategoricalFields(1)
+            .build();
+
+    /**
+     * The background dataset.
+     */
+    private static final Dataset BACKGROUND = new MockDataset(SCHEMA, 20, new Random(0));
+
+    /**
+     * The instance explained in the tests.
+     */
+    private static final Instance INSTANCE = new MockInstance(new double[]{2, -3, 5, 0});
+
+    /**
+     * Tests that the contributions of an additive model are exact: the weight of each feature times its difference to
+     * the average background value.
+     */
+    @Test
+    public void testAdditiveModel() {
+        final double[] weights = {0.05, -0.02, 0.01};
+        final TestClassificationModel model = new TestClassificationModel(SCHEMA, instance -> {
+            double positive = 0.5;
+            for (int field = 0; field < weights.length; field++) {
+                positive += weights[field] * instance.getValue(field);
+            }
+            return new double[]{1 - positive, positive};
+        });
+
+        final SamplingShapExplainer explainer = SamplingShapExplainer.builder(model, BACKGROUND)
+                .withPermutations(4)
+                .withBackgroundSamples(20)
+                .build();
+        final double[] contributions = explainer.getFeatureContributions(INSTANCE);
+
+        assertThat(contributions)
+                .as("the number of contributions, one per field")
+                .hasSize(4);
+        for (int field = 0; field < weights.length; field++) {
+            assertThat(contributions[field])
+                    .as("the contribution of field %s", field)
+                    .isCloseTo(weights[field] * (INSTANCE.getValue(field) - backgroundMean(field)), within(1e-9));
+        }
+        assertThat(contributions[3])
+                .as("the contribution of the target")
+                .isZero();
+    }
+
+    /**
+     * Tests that the contributions of a model with interactions add up to the difference between the prediction and
+     * the base value, in sequential and parallel modes.
+     */
+    @Test
+    public void testEfficiencyAndParallel() {
+        final TestClassificationModel model = new TestClassificationModel(SCHEMA, instance -> {
+            final double positive = 1 / (1 + Math.exp(-(instance.getValue(0) * instance.getValue(1) / 10 + instance.getValue(2) / 5)));
+            return new double[]{1 - positive, positive};
+        });
+
+        final SamplingShapExplainer explainer = SamplingShapExplainer.builder(model, BACKGROUND)
+                .withPermutations(8)
+                .withBackgroundSamples(10)
+                .withSeed(3)
+                .build();
+        final double[] contributions = explainer.getFeatureContributions(INSTANCE);
+
+        assertThat(Arrays.stream(contributions).sum())
+                .as("the sum of the contributions")
+                .isCloseTo(model.getClassDistribution(INSTANCE)[1] - explainer.getBaseValue(), within(1e-9));
+
+        final ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            final SamplingShapExplainer parallelExplainer = SamplingShapExplainer.builder(model, BACKGROUND)
+                    .withPermutations(8)
+                    .withBackgroundSamples(10)
+                    .withSeed(3)
+                    .withExecutor(executor, 3)
+                    .build();
+
+            final double[] parallelContributions = parallelExplainer.getFeatureContributions(INSTANCE);
+            final double[][] batchContributions = new double[2][4];
+            parallelExplainer.getFeatureContributions(new Instance[]{INSTANCE, INSTANCE}, batchContributions);
+
+            for (int field = 0; field < contributions.length; field++) {
+                assertThat(parallelContributions[field])
+                        .as("the parallel contribution of field %s", field)
+                        .isCloseTo(contributions[field], within(1e-9));
+                assertThat(batchContributions[1][field])
+                        .as("the batch contribution of field %s", field)
+                        .isCloseTo(contributions[field], within(1e-9));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Tests that the number of scoring calls is given by the sample budget.
+     */
+    @Test
+    public void testBudget() {
+        final TestClassificationModel model = new TestClassificationModel(SCHEMA, instance -> new double[]{0.5, 0.5});
+
+        final SamplingShapExplainer explainer = SamplingShapExplainer.builder(model, BACKGROUND)
+                .withPermutations(6)
+                .withBackgroundSamples(5)
+                .build();
+        final long callsToBuild = model.getScoringCalls();
+        explainer.getFeatureContributions(INSTANCE);
+
+        assertThat(callsToBuild)
+                .as("the scoring calls of the background instances")
+                .isEqualTo(5);
+        assertThat(model.getScoringCalls() - callsToBuild)
+                .as("the scoring calls of an explanation: permutations * background * (features + 1)")
+                .isEqualTo(6 * 5 * 4);
+
+        assertThatThrownBy(() -> SamplingShapExplainer.builder(model, BACKGROUND).withClassIndex(2).build())
+                .as("explaining a class that the model doesn't have")
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Computes the average value of a field in the background dataset.
+     *
+     * @param field The index of the field.
+     * @return The average value.
+     */
+    private static double backgroundMean(final int field) {
+        double sum = 0;
+        int count = 0;
+        final Iterator<Instance> instances = BACKGROUND.getInstances();
+        while (instances.hasNext()) {
+            sum += instances.next().getValue(field);
+            count++;
+        }
+        return sum / count;
+    }
+}
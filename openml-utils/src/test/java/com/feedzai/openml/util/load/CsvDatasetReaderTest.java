@@ -0,0 +1,271 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.load;
+
+import com.feedzai.openml.data.Instance;
+import com.feedzai.openml.data.schema.CategoricalValueSchema;
+import com.feedzai.openml.data.schema.DatasetSchema;
+import com.feedzai.openml.data.schema.FieldSchema;
+import com.feedzai.openml.data.schema.NumericValueSchema;
+import com.feedzai.openml.data.schema.StringValueSchema;
+import com.feedzai.openml.provider.exception.ModelLoadingException;
+import com.feedzai.openml.util.data.ColumnarDataset;
+import com.feedzai.openml.util.data.StringDictionary;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for the {@link CsvDatasetReader}.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public class CsvDatasetReaderTest {
+
+    /**
+     * The schema of the instances in the tests.
+     */
+    private static final DatasetSchema SCHEMA = new DatasetSchema(0, ImmutableList.of(
+            new FieldSchema("class", 0, new CategoricalValueSchema(true, ImmutableSet.of("fraud", "legit"))),
+            new FieldSchema("amount", 1, new NumericValueSchema(true)),
+            new FieldSchema("merchant", 2, new StringValueSchema(true)),
+            new FieldSchema("country", 3, new CategoricalValueSchema(true, ImmutableSet.of("PT", "US")))
+    ));
+
+    /**
+     * Folder where the CSV files are created.
+     */
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    /**
+     * Tests that the values are read by column name and encoded in the same way as
+     * {@link LoadInstancesUtils#instancesFromCsv}, including quoted, missing and unknown values.
+     *
+     * @throws Exception If the file cannot be created or read.
+     */
+    @Test
+    public void testRead() throws Exception {
+        final Path csv = writeCsv(
+                "merchant,ignored,amount,class",
+                "\"Shop, \"\"Inc\"\"\",x,12.5,legit",
+                ",x,,fraud",
+                "Café,x,-1.25e3,other",
+                "\"\",x,abc,\"legit\""
+        );
+
+        final ColumnarDataset dataset = LoadInstancesUtils.datasetFromCsv(csv, SCHEMA);
+
+        assertThat(dataset.getNumberInstances())
+                .as("The number of instances read")
+                .isEqualTo(4);
+        assertThat(dataset.getStringValue(0, 2)).as("The quoted merchant").isEqualTo("Shop, \"Inc\"");
+        assertThat(dataset.getValue(0, 3)).as("The country, which has no column").isNaN();
+        assertThat(dataset.getStringValue(1, 2)).as("The missing merchant").isNull();
+        assertThat(dataset.getValue(1, 1)).as("The missing amount").isNaN();
+        assertThat(dataset.getStringValue(2, 2)).as("The non-ASCII merchant").isEqualTo("Café");
+        assertThat(dataset.getValue(2, 1)).as("The amount with an exponent").isEqualTo(-1250.0);
+        assertThat(dataset.getValue(2, 0)).as("The unknown class").isNaN();
+        assertThat(dataset.getValue(3, 1)).as("The amount that is not a number").isNaN();
+        assertThat(dataset.getValue(3, 0)).as("The quoted class").isEqualTo(1.0);
+
+        assertSameInstances(dataset, LoadInstancesUtils.instancesFromCsv(csv, SCHEMA));
+    }
+
+    /**
+     * Tests that a file split into many chunks, with Windows line breaks and empty lines, is read in order and with
+     * the same values as {@link LoadInstancesUtils#instancesFromCsv}.
+     *
+     * @throws Exception If the file cannot be created or read.
+     */
+    @Test
+    public void testReadManyChunks() throws Exception {
+        final Random random = new Random(42);
+        final StringBuilder content = new StringBuilder("class,amount,merchant,country\r\n");
+        for (int line = 0; line < 2000; line++) {
+            content.append(random.nextBoolean() ? "fraud" : "legit").append(',')
+                    .append(random.nextInt(10) == 0 ? "" : Double.toString(random.nextGaussian() * 1000)).append(',')
+                    .append("\"merchant ").append(line).append("\"").append(',')
+                    .append(random.nextBoolean() ? "PT" : "US").append("\r\n");
+            if (line % 100 == 0) {
+                content.append("\r\n");
+            }
+        }
+        final Path csv = this.temporaryFolder.newFile().toPath();
+        Files.write(csv, content.toString().getBytes(StandardCharsets.UTF_8));
+
+        final ColumnarDataset dataset = CsvDatasetReader.builder(SCHEMA)
+                .withParallelism(4)
+                .withChunkSize(1000)
+                .build()
+                .read(csv);
+
+        assertThat(dataset.getNumberInstances())
+                .as("The number of instances read")
+                .isEqualTo(2000);
+        assertThat(dataset.getStringValue(1999, 2))
+                .as("The merchant of the last line")
+                .isEqualTo("merchant 1999");
+
+        assertSameInstances(dataset, LoadInstancesUtils.instancesFromCsv(csv, SCHEMA));
+    }
+
+    /**
+     * Tests that the string fields are only dictionary encoded when requested, and that datasets read with the same
+     * dictionaries get the same codes for the same values.
+     *
+     * @throws Exception If the files cannot be created or read.
+     */
+    @Test
+    public void testSharedStringDictionaries() throws Exception {
+        final Path trainCsv = writeCsv("class,merchant", "legit,a", "fraud,b", "legit,a", "legit,");
+        final ColumnarDataset plain = LoadInstancesUtils.datasetFromCsv(trainCsv, SCHEMA);
+        assertThat(plain.getStringDictionary(2).isPresent())
+                .as("Whether the merchants are dictionary encoded by default")
+                .isFalse();
+        assertThat(plain.getStringValue(2, 2))
+                .as("The third merchant, read as a plain value")
+                .isEqualTo("a");
+
+        final ColumnarDataset train = CsvDatasetReader.builder(SCHEMA)
+                .withDictionaryEncoding(2)
+                .build()
+                .read(trainCsv);
+        final StringDictionary dictionary = train.getStringDictionary(2).orElse(null);
+
+        assertThat(dictionary)
+                .as("The dictionary of the merchants")
+                .isNotNull();
+        assertThat(dictionary.size())
+                .as("The number of distinct merchants")
+                .isEqualTo(2);
+        assertThat(new int[]{train.getStringCode(0, 2), train.getStringCode(1, 2), train.getStringCode(2, 2)})
+                .as("The codes of the merchants, in the order of the file")
+                .containsExactly(0, 1, 0);
+        assertThat(train.getStringCode(3, 2))
+                .as("The code of the missing merchant")
+                .isEqualTo(StringDictionary.MISSING);
+
+        final ColumnarDataset test = CsvDatasetReader.builder(SCHEMA)
+                .withStringDictionaries(train.getStringDictionaries())
+                .build()
+                .read(writeCsv("class,merchant", "legit,c", "fraud,b"));
+        assertThat(test.getStringCode(1, 2))
+                .as("The code of a merchant of the train set")
+                .isEqualTo(train.getStringCode(1, 2));
+        assertThat(test.getStringValue(0, 2))
+                .as("The new merchant")
+                .isEqualTo("c");
+        assertThat(dictionary.size())
+                .as("The number of distinct merchants in the shared dictionary")
+                .isEqualTo(3);
+    }
+
+    /**
+     * Tests that numbers are parsed to the same values as {@link Double#parseDouble}, both in the fast path and in the
+     * fallback for other notations.
+     */
+    @Test
+    public void testParseDouble() {
+        final Random random = new Random(7);
+        final List<String> values = new ArrayList<>(ImmutableList.of(
+                "0", "-0", "+3", "1.", ".5", "123456789012345678901234567890", "1e22", "1e23", "4.9e-324",
+                "0.1", "9007199254740993", "1E-5", "NaN", "-Infinity", " 7 ", "0x1p3", "1e", "-", "."
+        ));
+        for (int i = 0; i < 1000; i++) {
+            values.add(Double.toString(random.nextDouble() * Math.pow(10, random.nextInt(40) - 20)));
+            values.add(String.format("%.6f", random.nextGaussian() * 1e6));
+        }
+
+        for (final String value : values) {
+            final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            double expected;
+            try {
+                expected = Double.parseDouble(value);
+            } catch (final NumberFormatException e) {
+                expected = Double.NaN;
+            }
+            assertThat(CsvDatasetReader.parseDouble(bytes, 0, bytes.length))
+                    .as("The value parsed from %s", value)
+                    .isEqualTo(expected);
+        }
+    }
+
+    /**
+     * Tests that lines with fewer values than expected result in a {@link ModelLoadingException}.
+     *
+     * @throws IOException If the file cannot be created.
+     */
+    @Test
+    public void testShortLine() throws IOException {
+        final Path csv = writeCsv("class,amount", "legit,1", "legit");
+
+        assertThatThrownBy(() -> LoadInstancesUtils.datasetFromCsv(csv, SCHEMA))
+                .as("The result of reading a line with missing values")
+                .isInstanceOf(ModelLoadingException.class)
+                .hasMessageContaining("byte 21");
+    }
+
+    /**
+     * Asserts that a dataset has the same values as a list of instances.
+     *
+     * @param dataset   The dataset.
+     * @param instances The expected instances.
+     */
+    private static void assertSameInstances(final ColumnarDataset dataset, final List<Instance> instances) {
+        assertThat(dataset.getNumberInstances())
+                .as("The number of instances")
+                .isEqualTo(instances.size());
+
+        for (int row = 0; row < instances.size(); row++) {
+            final Instance expected = instances.get(row);
+            assertThat(dataset.getValue(row, 0)).as("The class of row %d", row).isEqualTo(expected.getValue(0));
+            assertThat(dataset.getValue(row, 1)).as("The amount of row %d", row).isEqualTo(expected.getValue(1));
+            assertThat(dataset.getStringValue(row, 2)).as("The merchant of row %d", row).isEqualTo(expected.getStringValue(2));
+            assertThat(dataset.getValue(row, 3)).as("The country of row %d", row).isEqualTo(expected.getValue(3));
+        }
+    }
+
+    /**
+     * Writes the given lines into a new CSV file.
+     *
+     * @param lines The lines of the file.
+     * @return The path of the file.
+     * @throws IOException If the file cannot be created.
+     */
+    private Path writeCsv(final String... lines) throws IOException {
+        final Path csv = this.temporaryFolder.newFile().toPath();
+        Files.write(csv, ImmutableList.copyOf(lines), StandardCharsets.UTF_8);
+        return csv;
+    }
+}
@@ -0,0 +1,57 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.load;
+
+import com.feedzai.openml.model.ClassificationMLModel;
+import com.feedzai.openml.provider.MachineLearningProvider;
+import com.feedzai.openml.provider.descriptor.MLAlgorithmDescriptor;
+import com.feedzai.openml.provider.model.MachineLearningModelLoader;
+import com.google.common.collect.ImmutableSet;
+
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * A provider without any algorithms, packaged into jars by {@link ProviderLoaderTest} to be loaded in isolation.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public class IsolatedTestProvider implements MachineLearningProvider<MachineLearningModelLoader<ClassificationMLModel>> {
+
+    /**
+     * The name of this provider.
+     */
+    static final String NAME = "Isolated test provider";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public Set<MLAlgorithmDescriptor> getAlgorithms() {
+        return ImmutableSet.of();
+    }
+
+    @Override
+    public Optional<MachineLearningModelLoader<ClassificationMLModel>> getModelCreator(final String algorithmName) {
+        return Optional.empty();
+    }
+}
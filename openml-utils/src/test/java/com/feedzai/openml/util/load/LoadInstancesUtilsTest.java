@@ -0,0 +1,170 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.load;
+
+import com.feedzai.openml.data.Instance;
+import com.feedzai.openml.data.StreamingDataset;
+import com.feedzai.openml.data.schema.CategoricalValueSchema;
+import com.feedzai.openml.data.schema.DatasetSchema;
+import com.feedzai.openml.data.schema.FieldSchema;
+import com.feedzai.openml.data.schema.NumericValueSchema;
+import com.feedzai.openml.data.schema.StringValueSchema;
+import com.feedzai.openml.provider.exception.ModelLoadingException;
+import com.feedzai.openml.util.data.stream.SequentialDataset;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for the {@link LoadInstancesUtils}.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public class LoadInstancesUtilsTest {
+
+    /**
+     * The schema of the instances in the tests.
+     */
+    private static final DatasetSchema SCHEMA = new DatasetSchema(0, ImmutableList.of(
+            new FieldSchema("class", 0, new CategoricalValueSchema(true, ImmutableSet.of("fraud", "legit"))),
+            new FieldSchema("amount", 1, new NumericValueSchema(true)),
+            new FieldSchema("merchant", 2, new StringValueSchema(true)),
+            new FieldSchema("country", 3, new CategoricalValueSchema(true, ImmutableSet.of("PT", "US")))
+    ));
+
+    /**
+     * Folder where the CSV files are created.
+     */
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    /**
+     * Tests that the values are read by column name, encoded according to the schema, and that missing columns or
+     * values result in missing values.
+     *
+     * @throws Exception If the file cannot be created or read.
+     */
+    @Test
+    public void testInstancesFromCsv() throws Exception {
+        final Path csv = writeCsv(
+                "merchant,ignored,amount,class",
+                "\"Shop, \"\"Inc\"\"\",x,12.5,legit",
+                ",x,,fraud"
+        );
+
+        final List<Instance> instances = LoadInstancesUtils.instancesFromCsv(csv, SCHEMA);
+
+        assertThat(instances)
+                .as("The instances read")
+                .hasSize(2);
+
+        final Instance first = instances.get(0);
+        assertThat(first.getValue(0)).as("The encoded class").isEqualTo(1.0);
+        assertThat(first.getValue(1)).as("The amount").isEqualTo(12.5);
+        assertThat(first.getStringValue(2)).as("The merchant").isEqualTo("Shop, \"Inc\"");
+        assertThat(first.getValue(3)).as("The country, which has no column").isNaN();
+
+        final Instance second = instances.get(1);
+        assertThat(second.getValue(0)).as("The encoded class").isEqualTo(0.0);
+        assertThat(second.getValue(1)).as("The missing amount").isNaN();
+        assertThat(second.getStringValue(2)).as("The missing merchant").isNull();
+    }
+
+    /**
+     * Tests that a {@link SequentialDataset} over a CSV file reads the same instances as
+     * {@link LoadInstancesUtils#instancesFromCsv}, on every pass.
+     *
+     * @throws Exception If the file cannot be created or read.
+     */
+    @Test
+    public void testSequentialDatasetFromCsv() throws Exception {
+        final Path csv = writeCsv(
+                "class,amount,merchant,country",
+                "legit,1.5,shop,PT",
+                "",
+                "fraud,,,US",
+                "legit,3,\"a, b\",PT"
+        );
+
+        final List<Instance> expected = LoadInstancesUtils.instancesFromCsv(csv, SCHEMA);
+        final SequentialDataset dataset = LoadInstancesUtils.sequentialDatasetFromCsv(csv, SCHEMA).withChunkSize(2);
+
+        for (int pass = 0; pass < 2; pass++) {
+            final List<Instance> instances = ImmutableList.copyOf(dataset.getInstances());
+            assertThat(instances)
+                    .as("The instances read in pass %d", pass)
+                    .hasSize(expected.size());
+            for (int i = 0; i < instances.size(); i++) {
+                assertThat(instances.get(i).getValue(1))
+                        .as("The amount of instance %d", i)
+                        .isEqualTo(expected.get(i).getValue(1));
+                assertThat(instances.get(i).getStringValue(2))
+                        .as("The merchant of instance %d", i)
+                        .isEqualTo(expected.get(i).getStringValue(2));
+            }
+        }
+
+        try (StreamingDataset stream = LoadInstancesUtils.streamFromCsv(writeCsv("class", "legit", "other"), SCHEMA)) {
+            final List<Instance> chunk = stream.nextChunk(10);
+            assertThat(chunk).as("The instances streamed").hasSize(2);
+            assertThat(chunk.get(1).getValue(0)).as("The unknown class").isNaN();
+            assertThat(stream.nextChunk(10)).as("The instances after the end of the file").isEmpty();
+        }
+    }
+
+    /**
+     * Tests that lines with fewer values than expected result in a {@link ModelLoadingException}.
+     *
+     * @throws IOException If the file cannot be created.
+     */
+    @Test
+    public void testShortLine() throws IOException {
+        final Path csv = writeCsv("class,amount", "legit");
+
+        assertThatThrownBy(() -> LoadInstancesUtils.instancesFromCsv(csv, SCHEMA))
+                .as("The result of reading a line with missing values")
+                .isInstanceOf(ModelLoadingException.class)
+                .hasMessageContaining("Line 2");
+    }
+
+    /**
+     * Writes the given lines into a new CSV file.
+     *
+     * @param lines The lines of the file.
+     * @return The path of the file.
+     * @throws IOException If the file cannot be created.
+     */
+    private Path writeCsv(final String... lines) throws IOException {
+        final Path csv = this.temporaryFolder.newFile().toPath();
+        Files.write(csv, ImmutableList.copyOf(lines), StandardCharsets.UTF_8);
+        return csv;
+    }
+}
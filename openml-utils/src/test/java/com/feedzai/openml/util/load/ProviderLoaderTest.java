@@ -0,0 +1,276 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.load;
+
+import com.feedzai.openml.provider.MachineLearningProvider;
+import com.feedzai.openml.provider.exception.ModelLoadingException;
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.ByteStreams;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for the {@link ProviderLoader}.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public class ProviderLoaderTest {
+
+    /**
+     * Folder where the provider jars are created.
+     */
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    /**
+     * The loader being tested.
+     */
+    private ProviderLoader providerLoader;
+
+    /**
+     * Creates the loader being tested.
+     */
+    @Before
+    public void setUp() {
+        this.providerLoader = new ProviderLoader();
+    }
+
+    /**
+     * Closes the loader being tested.
+     *
+     * @throws IOException If the class loaders could not be closed.
+     */
+    @After
+    public void tearDown() throws IOException {
+        this.providerLoader.close();
+    }
+
+    /**
+     * Tests that the provider classes are loaded from the jar, in a class loader of their own, while the API classes
+     * are shared with the host.
+     *
+     * @throws Exception If the jar could not be created or loaded.
+     */
+    @Test
+    public void testProvidersAreIsolated() throws Exception {
+        final Path firstJar = createProviderJar("first.jar");
+        final Path secondJar = createProviderJar("second.jar");
+
+        final Map<Path, List<MachineLearningProvider<?>>> providers =
+                this.providerLoader.loadProviders(ImmutableList.of(firstJar, secondJar));
+
+        assertThat(providers)
+                .as("The providers by jar")
+                .containsOnlyKeys(firstJar, secondJar);
+
+        final MachineLearningProvider<?> firstProvider = providers.get(firstJar).get(0);
+        final MachineLearningProvider<?> secondProvider = providers.get(secondJar).get(0);
+
+        assertThat(firstProvider.getName())
+                .as("The name of the loaded provider")
+                .isEqualTo(IsolatedTestProvider.NAME);
+
+        assertThat(firstProvider.getClass())
+                .as("The class of the provider loaded from the jar")
+                .isNotEqualTo(IsolatedTestProvider.class)
+                .isNotEqualTo(secondProvider.getClass());
+
+        assertThat(firstProvider.getClass().getClassLoader())
+                .as("The class loader of the provider")
+                .isInstanceOf(ChildFirstClassLoader.class)
+                .isEqualTo(this.providerLoader.getClassLoader(firstJar).orElse(null));
+
+        assertThat(firstProvider.getClass().getClassLoader().loadClass(MachineLearningProvider.class.getName()))
+                .as("The API class seen by the provider")
+                .isEqualTo(MachineLearningProvider.class);
+    }
+
+    /**
+     * Tests that loading the same jar twice reuses the providers obtained the first time.
+     *
+     * @throws Exception If the jar could not be created or loaded.
+     */
+    @Test
+    public void testJarsAreCached() throws Exception {
+        final Path jar = createProviderJar("cached.jar");
+
+        final List<MachineLearningProvider<?>> providers = this.providerLoader.loadProviders(jar);
+
+        assertThat(this.providerLoader.loadProviders(jar.getParent().resolve(".").resolve(jar.getFileName())))
+                .as("The providers loaded the second time")
+                .hasSize(1)
+                .containsExactlyElementsOf(providers);
+    }
+
+    /**
+     * Tests that jars that cannot be loaded result in a {@link ModelLoadingException}.
+     *
+     * @throws IOException If the jar could not be created.
+     */
+    @Test
+    public void testInvalidJars() throws IOException {
+        assertThatThrownBy(() -> this.providerLoader.loadProviders(this.temporaryFolder.getRoot().toPath().resolve("missing.jar")))
+                .as("The result of loading a jar that does not exist")
+                .isInstanceOf(ModelLoadingException.class)
+                .hasMessageContaining("should be a readable jar file");
+
+        final Path emptyJar = this.temporaryFolder.newFile("empty.jar").toPath();
+        try (JarOutputStream ignored = new JarOutputStream(Files.newOutputStream(emptyJar))) {
+            // a valid jar without any provider
+        }
+
+        assertThatThrownBy(() -> this.providerLoader.loadProviders(emptyJar))
+                .as("The result of loading a jar without providers")
+                .isInstanceOf(ModelLoadingException.class)
+                .hasMessageContaining("does not declare any provider");
+    }
+
+    /**
+     * Tests that closing the loader waits for the jars that are pending, which are then no longer opened.
+     *
+     * @throws Exception If the jar could not be created or the threads were interrupted.
+     */
+    @Test
+    public void testCloseWithPendingJars() throws Exception {
+        final Path jar = createProviderJar("pending.jar");
+        final CountDownLatch submitted = new CountDownLatch(2);
+        final CountDownLatch release = new CountDownLatch(1);
+        final ExecutorService executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>()) {
+            @Override
+            public void execute(final Runnable command) {
+                super.execute(command);
+                submitted.countDown();
+            }
+        };
+
+        try {
+            executor.execute(() -> {
+                try {
+                    release.await();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+
+            final ProviderLoader loader = new ProviderLoader(
+                    getClass().getClassLoader(),
+                    ProviderLoader.API_PACKAGE_PREFIXES,
+                    executor
+            );
+            final AtomicReference<Throwable> loadFailure = new AtomicReference<>();
+            final Thread loadThread = new Thread(() -> {
+                try {
+                    loader.loadProviders(jar);
+                } catch (final Throwable e) {
+                    loadFailure.set(e);
+                }
+            });
+            loadThread.start();
+            submitted.await();
+
+            final Thread closeThread = new Thread(() -> {
+                try {
+                    loader.close();
+                } catch (final IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            closeThread.start();
+            while (closeThread.getState() != Thread.State.WAITING) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+            closeThread.join();
+            loadThread.join();
+
+            assertThat(loadFailure.get())
+                    .as("The result of loading a jar that was pending when the loader was closed")
+                    .isInstanceOf(ModelLoadingException.class)
+                    .hasMessageContaining("was closed");
+
+            assertThatThrownBy(() -> loader.loadProviders(jar))
+                    .as("The result of loading a jar after the loader was closed")
+                    .isInstanceOf(IllegalStateException.class);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Creates a jar with the {@link IsolatedTestProvider} class and the service file declaring it.
+     *
+     * @param name The name of the jar file.
+     * @return The path to the jar.
+     * @throws IOException If the jar could not be created.
+     */
+    private Path createProviderJar(final String name) throws IOException {
+        final Path jar = this.temporaryFolder.newFile(name).toPath();
+        final String classFile = IsolatedTestProvider.class.getName().replace('.', '/') + ".class";
+
+        try (JarOutputStream jarStream = new JarOutputStream(Files.newOutputStream(jar));
+             InputStream classStream = getClass().getClassLoader().getResourceAsStream(classFile)) {
+
+            jarStream.putNextEntry(new JarEntry(ProviderLoader.PROVIDER_SERVICE_FILE));
+            writeLine(jarStream, "# the test provider");
+            writeLine(jarStream, IsolatedTestProvider.class.getName());
+            jarStream.closeEntry();
+
+            jarStream.putNextEntry(new JarEntry(classFile));
+            ByteStreams.copy(classStream, jarStream);
+            jarStream.closeEntry();
+        }
+        return jar;
+    }
+
+    /**
+     * Writes a line of text into the given stream.
+     *
+     * @param stream The stream.
+     * @param line   The line to write.
+     * @throws IOException If the line could not be written.
+     */
+    private static void writeLine(final OutputStream stream, final String line) throws IOException {
+        stream.write((line + "\n").getBytes(StandardCharsets.UTF_8));
+    }
+}
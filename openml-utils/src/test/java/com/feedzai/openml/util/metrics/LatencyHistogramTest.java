@@ -0,0 +1,125 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.metrics;
+
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Tests the behaviour of the {@link LatencyHistogram}.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public class LatencyHistogramTest {
+
+    /**
+     * Tests that the percentiles are within the precision of the histogram, for values of very different magnitudes.
+     */
+    @Test
+    public void testPercentiles() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 100_000; value++) {
+            histogram.record(value * 1000);
+        }
+
+        assertThat(histogram.getTotalCount())
+                .as("the number of values")
+                .isEqualTo(100_000);
+        assertThat(histogram.getMax())
+                .as("the highest value")
+                .isEqualTo(100_000_000);
+        assertThat(histogram.getMean())
+                .as("the mean")
+                .isCloseTo(50_000_500, within(1.0));
+
+        for (final double percentile : new double[]{1, 50, 90, 99, 99.9}) {
+            final double expected = percentile * 1000 * 1000;
+            assertThat((double) histogram.getValueAtPercentile(percentile))
+                    .as("the value at percentile %s", percentile)
+                    .isGreaterThanOrEqualTo(expected)
+                    .isLessThanOrEqualTo(expected * 1.04);
+        }
+        assertThat(histogram.getValueAtPercentile(100))
+                .as("the value at percentile 100")
+                .isEqualTo(100_000_000);
+    }
+
+    /**
+     * Tests that every value falls in a bucket whose bounds include it, and that buckets are contiguous.
+     */
+    @Test
+    public void testBuckets() {
+        final Random random = new Random(1);
+        IntStream.range(0, 10_000).forEach(i -> {
+            final long value = random.nextLong() >>> (1 + random.nextInt(63));
+            final int bucket = LatencyHistogram.bucketIndex(value);
+            assertThat(value)
+                    .as("the value %s in bucket %s", value, bucket)
+                    .isLessThanOrEqualTo(LatencyHistogram.bucketUpperBound(bucket));
+            if (bucket > 0) {
+                assertThat(value)
+                        .as("the value %s compared with the previous bucket", value)
+                        .isGreaterThan(LatencyHistogram.bucketUpperBound(bucket - 1));
+            }
+        });
+
+        assertThat(LatencyHistogram.bucketUpperBound(LatencyHistogram.bucketIndex(Long.MAX_VALUE)))
+                .as("the upper bound of the highest value")
+                .isEqualTo(Long.MAX_VALUE);
+    }
+
+    /**
+     * Tests {@link LatencyHistogram#add(LatencyHistogram)} and {@link LatencyHistogram#reset()}.
+     */
+    @Test
+    public void testAddAndReset() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        final LatencyHistogram other = new LatencyHistogram();
+        histogram.record(10);
+        other.record(20);
+        other.record(30);
+
+        histogram.add(other);
+        assertThat(histogram.getTotalCount())
+                .as("the number of values after adding")
+                .isEqualTo(3);
+        assertThat(histogram.getMax())
+                .as("the highest value after adding")
+                .isEqualTo(30);
+
+        histogram.reset();
+        assertThat(histogram.getTotalCount())
+                .as("the number of values after reset")
+                .isZero();
+        assertThat(histogram.getValueAtPercentile(99))
+                .as("the percentile of an empty histogram")
+                .isZero();
+
+        assertThatThrownBy(() -> histogram.record(-1))
+                .as("recording a negative value")
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,208 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.model;
+
+import com.feedzai.openml.data.Instance;
+import com.feedzai.openml.data.schema.DatasetSchema;
+import com.feedzai.openml.mocks.MockDataset;
+import com.feedzai.openml.mocks.MockInstance;
+import com.feedzai.openml.util.data.schema.TestDatasetSchemaBuilder;
+import com.google.common.base.Ticker;
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Tests the behaviour of the {@link CachingClassificationModel}.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public class CachingClassificationModelTest {
+
+    /**
+     * Schema with 3 numeric fields followed by the categorical target.
+     */
+    private static final DatasetSchema SCHEMA = TestDatasetSchemaBuilder.builder()
+            .withNumericalFields(3)
+            .withCategoricalFields(1)
+            .build();
+
+    /**
+     * A model whose probability of the positive class depends on the first field.
+     */
+    private final TestClassificationModel model = new TestClassificationModel(SCHEMA, instance -> {
+        final double positive = 1 / (1 + Math.exp(-instance.getValue(0)));
+        return new double[]{1 - positive, positive};
+    });
+
+    /**
+     * Tests that instances scored again are served from the cache, with the same distributions.
+     */
+    @Test
+    public void testHits() {
+        final CachingClassificationModel cachingModel = CachingClassificationModel.builder(this.model).build();
+        final List<Instance> instances = ImmutableList.copyOf(new MockDataset(SCHEMA, 100, new Random(0)).getInstances());
+
+        for (int round = 0; round < 3; round++) {
+            for (final Instance instance : instances) {
+                assertThat(cachingModel.getClassDistribution(instance))
+                        .as("the distribution of %s in round %s", instance, round)
+                        .containsExactly(this.model.getClassDistribution(instance));
+            }
+        }
+
+        // the model is also called directly in the assertions above
+        assertThat(this.model.getScoringCalls())
+                .as("the number of scoring calls of the model")
+                .isEqualTo(100 + 300);
+        assertThat(cachingModel.getHitCount())
+                .as("the number of hits")
+                .isEqualTo(200);
+        assertThat(cachingModel.getHitRate())
+                .as("the hit rate")
+                .isCloseTo(2.0 / 3, within(1e-9));
+        assertThat(cachingModel.getSize())
+                .as("the number of entries")
+                .isEqualTo(100);
+        assertThat(cachingModel.getMemoryUsageBytes())
+                .as("the memory used by the cache")
+                .isPositive();
+    }
+
+    /**
+     * Tests that the size of the cache is bounded, evicting the oldest entries first, and that evictions keep the
+     * remaining entries reachable.
+     */
+    @Test
+    public void testEviction() {
+        final CachingClassificationModel cachingModel = CachingClassificationModel.builder(this.model)
+                .withMaximumSize(64)
+                .withStripes(1)
+                .build();
+        final List<Instance> instances = ImmutableList.copyOf(new MockDataset(SCHEMA, 200, new Random(1)).getInstances());
+
+        instances.forEach(cachingModel::getClassDistribution);
+        assertThat(cachingModel.getSize())
+                .as("the number of entries")
+                .isEqualTo(64);
+        assertThat(cachingModel.getEvictionCount())
+                .as("the number of evictions")
+                .isEqualTo(200 - 64);
+
+        final long misses = cachingModel.getMissCount();
+        instances.subList(200 - 64, 200).forEach(cachingModel::getClassDistribution);
+        assertThat(cachingModel.getMissCount())
+                .as("the number of misses when scoring the most recent instances")
+                .isEqualTo(misses);
+
+        cachingModel.getClassDistribution(instances.get(0));
+        assertThat(cachingModel.getMissCount())
+                .as("the number of misses when scoring an evicted instance")
+                .isEqualTo(misses + 1);
+    }
+
+    /**
+     * Tests that entries expire after the time to live.
+     */
+    @Test
+    public void testExpiration() {
+        final AtomicLong now = new AtomicLong();
+        final CachingClassificationModel cachingModel = CachingClassificationModel.builder(this.model)
+                .withExpireAfterWrite(1, TimeUnit.SECONDS)
+                .withTicker(new Ticker() {
+                    @Override
+                    public long read() {
+                        return now.get();
+                    }
+                })
+                .build();
+        final Instance instance = new MockInstance(new double[]{1, 2, 3, 0});
+
+        cachingModel.getClassDistribution(instance);
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(999));
+        cachingModel.getClassDistribution(instance);
+        assertThat(cachingModel.getHitCount())
+                .as("the number of hits before the entry expires")
+                .isEqualTo(1);
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(2));
+        cachingModel.getClassDistribution(instance);
+        assertThat(cachingModel.getHitCount())
+                .as("the number of hits after the entry expired")
+                .isEqualTo(1);
+        assertThat(cachingModel.getMissCount())
+                .as("the number of misses")
+                .isEqualTo(2);
+    }
+
+    /**
+     * Tests batch scoring, where only the instances not found in the cache are scored by the model.
+     */
+    @Test
+    public void testBatch() {
+        final CachingClassificationModel cachingModel = CachingClassificationModel.builder(this.model).build();
+        final Instance[] instances = IntStream.range(0, 10)
+                .mapToObj(i -> new MockInstance(new double[]{i, 0, 0, 0}))
+                .toArray(Instance[]::new);
+
+        cachingModel.getClassDistribution(instances[3]);
+        cachingModel.getClassDistribution(instances[7]);
+
+        final double[][] distributions = new double[10][2];
+        cachingModel.getClassDistributions(instances, distributions);
+
+        assertThat(this.model.getScoringCalls())
+                .as("the number of scoring calls of the model")
+                .isEqualTo(10);
+        for (int row = 0; row < instances.length; row++) {
+            assertThat(distributions[row])
+                    .as("the distribution of row %s", row)
+                    .containsExactly(this.model.getClassDistribution(instances[row]));
+        }
+    }
+
+    /**
+     * Tests that sizes whose stripes can't be allocated are rejected by the builder, instead of overflowing.
+     */
+    @Test
+    public void testTooLarge() {
+        assertThatThrownBy(() -> CachingClassificationModel.builder(this.model).withMaximumSize(Long.MAX_VALUE).build())
+                .as("building a cache with the largest size")
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CachingClassificationModel.builder(this.model)
+                .withMaximumSize(1L << 33)
+                .withStripes(4)
+                .build())
+                .as("building a cache with stripes whose distributions don't fit in an array")
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CachingClassificationModel.builder(this.model).withStripes(Integer.MAX_VALUE))
+                .as("setting a number of stripes that can't be rounded up to a power of two")
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
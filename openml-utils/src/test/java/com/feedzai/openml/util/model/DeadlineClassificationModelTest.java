@@ -0,0 +1,294 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.model;
+
+import com.feedzai.openml.data.Instance;
+import com.feedzai.openml.data.schema.DatasetSchema;
+import com.feedzai.openml.mocks.MockInstance;
+import com.feedzai.openml.util.data.schema.TestDatasetSchemaBuilder;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests the behaviour of the {@link DeadlineClassificationModel}.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public class DeadlineClassificationModelTest {
+
+    /**
+     * Schema with 1 numeric field followed by the categorical target.
+     */
+    private static final DatasetSchema SCHEMA = TestDatasetSchemaBuilder.builder()
+            .withNumericalFields(1)
+            .withCategoricalFields(1)
+            .build();
+
+    /**
+     * An instance whose numeric field is the time, in milliseconds, the slow model takes to score it.
+     */
+    private static final Instance FAST_INSTANCE = new MockInstance(new double[]{0, 0});
+
+    /**
+     * An instance the slow model takes much longer than the deadline to score.
+     */
+    private static final Instance SLOW_INSTANCE = new MockInstance(new double[]{10_000, 0});
+
+    /**
+     * A model that sleeps for the number of milliseconds in the numeric field, reacting to interruptions.
+     */
+    private final TestClassificationModel slowModel = new TestClassificationModel(SCHEMA, instance -> {
+        try {
+            Thread.sleep((long) instance.getValue(0));
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return new double[]{0.2, 0.8};
+    });
+
+    /**
+     * Tests that the result of the model is returned when it answers within the deadline.
+     */
+    @Test
+    public void testWithinDeadline() throws Exception {
+        try (DeadlineClassificationModel model = DeadlineClassificationModel.builder(this.slowModel)
+                .withDeadline(1, TimeUnit.SECONDS)
+                .withDefaultDistribution(new double[]{1, 0})
+                .build()) {
+
+            assertThat(model.getClassDistribution(FAST_INSTANCE))
+                    .as("the distribution returned")
+                    .containsExactly(0.2, 0.8);
+            assertThat(model.getTimeoutCount())
+                    .as("the number of timeouts")
+                    .isZero();
+            assertThat(model.getLatency().getTotalCount())
+                    .as("the number of latencies recorded")
+                    .isEqualTo(1);
+        }
+    }
+
+    /**
+     * Tests that the default distribution is returned when the deadline passes, and that the slow call is cancelled.
+     */
+    @Test
+    public void testDefaultDistribution() throws Exception {
+        try (DeadlineClassificationModel model = DeadlineClassificationModel.builder(this.slowModel)
+                .withDeadline(20, TimeUnit.MILLISECONDS)
+                .withDefaultDistribution(new double[]{1, 0})
+                .withThreads(1)
+                .build()) {
+
+            final long start = System.nanoTime();
+            assertThat(model.getClassDistribution(SLOW_INSTANCE))
+                    .as("the distribution returned")
+                    .containsExactly(1, 0);
+            assertThat(System.nanoTime() - start)
+                    .as("the latency of the call")
+                    .isLessThan(TimeUnit.SECONDS.toNanos(1));
+
+            // the single worker was released, so the next call is scored by the model
+            assertThat(model.getClassDistribution(FAST_INSTANCE))
+                    .as("the distribution after the timeout")
+                    .containsExactly(0.2, 0.8);
+            assertThat(model.getTimeoutCount())
+                    .as("the number of timeouts")
+                    .isEqualTo(1);
+            assertThat(model.getTimedOutLatency().getTotalCount())
+                    .as("the number of timed out latencies")
+                    .isEqualTo(1);
+        }
+    }
+
+    /**
+     * Tests that the fallback model is scored when the deadline passes.
+     */
+    @Test
+    public void testFallbackModel() throws Exception {
+        final TestClassificationModel fallbackModel = new TestClassificationModel(
+                SCHEMA,
+                instance -> new double[]{0.5, 0.5}
+        );
+
+        try (DeadlineClassificationModel model = DeadlineClassificationModel.builder(this.slowModel)
+                .withDeadline(10, TimeUnit.MILLISECONDS)
+                .withFallbackModel(fallbackModel)
+                .build()) {
+
+            assertThat(model.getClassDistribution(SLOW_INSTANCE))
+                    .as("the distribution returned")
+                    .containsExactly(0.5, 0.5);
+            assertThat(fallbackModel.getScoringCalls())
+                    .as("the number of calls to the fallback model")
+                    .isEqualTo(1);
+        }
+    }
+
+    /**
+     * Tests that calls are answered by the fallback right away when the pool is saturated, instead of growing it.
+     */
+    @Test
+    public void testSaturatedPool() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final TestClassificationModel blockedModel = new TestClassificationModel(SCHEMA, instance -> {
+            try {
+                release.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new double[]{0.2, 0.8};
+        });
+
+        try (DeadlineClassificationModel model = DeadlineClassificationModel.builder(blockedModel)
+                .withDeadline(10, TimeUnit.SECONDS)
+                .withDefaultDistribution(new double[]{1, 0})
+                .withThreads(1)
+                .withQueueCapacity(1)
+                .build()) {
+
+            final Thread first = new Thread(() -> model.getClassDistribution(FAST_INSTANCE));
+            final Thread second = new Thread(() -> model.getClassDistribution(FAST_INSTANCE));
+            first.start();
+            second.start();
+            while (model.getCallCount() < 2) {
+                Thread.sleep(1);
+            }
+            Thread.sleep(50);
+
+            assertThat(model.getClassDistribution(FAST_INSTANCE))
+                    .as("the distribution returned by a rejected call")
+                    .containsExactly(1, 0);
+            assertThat(model.getRejectedCount())
+                    .as("the number of rejected calls")
+                    .isEqualTo(1);
+
+            release.countDown();
+            first.join();
+            second.join();
+        }
+    }
+
+    /**
+     * Tests that a call where the model fails is answered by the fallback, like a call that missed the deadline.
+     */
+    @Test
+    public void testFailure() throws Exception {
+        final TestClassificationModel failingModel = new TestClassificationModel(SCHEMA, instance -> {
+            throw new IllegalArgumentException("failure");
+        });
+
+        try (DeadlineClassificationModel model = DeadlineClassificationModel.builder(failingModel)
+                .withDefaultDistribution(new double[]{1, 0})
+                .build()) {
+
+            assertThat(model.getClassDistribution(FAST_INSTANCE))
+                    .as("the distribution returned when the model fails")
+                    .containsExactly(1, 0);
+            assertThat(model.getFailureCount())
+                    .as("the number of failed calls")
+                    .isEqualTo(1);
+            assertThat(model.getLatency().getTotalCount())
+                    .as("the number of latencies recorded")
+                    .isEqualTo(1);
+        }
+    }
+
+    /**
+     * Tests that a call that timed out scores the values the instance had when the call was made, even if the caller
+     * modifies it afterwards, and that the model is not closed while that call is still inside it.
+     */
+    @Test
+    public void testBusyModelAfterTimeout() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicReference<Double> scored = new AtomicReference<>();
+        final AtomicBoolean closed = new AtomicBoolean();
+        final TestClassificationModel stuckModel = new TestClassificationModel(SCHEMA, instance -> {
+            started.countDown();
+            // ignores interruptions, like a model stuck in native code
+            while (release.getCount() > 0) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+            }
+            scored.set(instance.getValue(0));
+            return new double[]{0.2, 0.8};
+        }) {
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+
+        final DeadlineClassificationModel model = DeadlineClassificationModel.builder(stuckModel)
+                .withDeadline(10, TimeUnit.MILLISECONDS)
+                .withDefaultDistribution(new double[]{1, 0})
+                .withCloseTimeout(50, TimeUnit.MILLISECONDS)
+                .build();
+
+        // an instance over a buffer the caller reuses
+        final double[] values = {7, 0};
+        final Instance instance = new Instance() {
+            @Override
+            public double getValue(final int index) {
+                return values[index];
+            }
+
+            @Override
+            public String getStringValue(final int index) {
+                return null;
+            }
+        };
+        assertThat(model.getClassDistribution(instance))
+                .as("the distribution returned")
+                .containsExactly(1, 0);
+        started.await();
+        values[0] = 42;
+
+        model.close();
+        assertThat(closed.get())
+                .as("whether the busy model was closed")
+                .isFalse();
+
+        release.countDown();
+        while (scored.get() == null) {
+            Thread.sleep(1);
+        }
+        assertThat(scored.get())
+                .as("the value scored after the caller modified the instance")
+                .isEqualTo(7);
+    }
+
+    /**
+     * Tests that either a fallback model or a default distribution is required.
+     */
+    @Test
+    public void testNoFallback() {
+        assertThatThrownBy(() -> DeadlineClassificationModel.builder(this.slowModel).build())
+                .as("the error without a fallback")
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,243 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.model;
+
+import com.feedzai.openml.data.Instance;
+import com.feedzai.openml.data.schema.DatasetSchema;
+import com.feedzai.openml.mocks.MockInstance;
+import com.feedzai.openml.util.data.schema.TestDatasetSchemaBuilder;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Tests the behaviour of the {@link EnsembleClassificationModel}.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public class EnsembleClassificationModelTest {
+
+    /**
+     * Schema with 2 numeric fields followed by the categorical target.
+     */
+    private static final DatasetSchema SCHEMA = TestDatasetSchemaBuilder.builder()
+            .withNumericalFields(2)
+            .withCategoricalFields(1)
+            .build();
+
+    /**
+     * The instance scored in the tests.
+     */
+    private static final Instance INSTANCE = new MockInstance(new double[]{1, 2, 0});
+
+    /**
+     * The executor used to score the members concurrently.
+     */
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    /**
+     * Shuts down the executor.
+     */
+    @After
+    public void tearDown() {
+        this.executor.shutdownNow();
+    }
+
+    /**
+     * Tests the weighted average and max strategies, sequentially and concurrently.
+     */
+    @Test
+    public void testStrategies() {
+        for (final ExecutorService memberExecutor : new ExecutorService[]{null, this.executor}) {
+            final EnsembleClassificationModel.Builder average = EnsembleClassificationModel.builder(SCHEMA)
+                    .withMember(constant(0.2), 1)
+                    .withMember(constant(0.8), 3);
+            if (memberExecutor != null) {
+                average.withExecutor(memberExecutor);
+            }
+            assertThat(average.build().getClassDistribution(INSTANCE))
+                    .as("the weighted average, executor %s", memberExecutor)
+                    .containsExactly(new double[]{0.35, 0.65}, within(1e-9));
+
+            final EnsembleClassificationModel.Builder max = EnsembleClassificationModel.builder(SCHEMA)
+                    .withMember(constant(0.2))
+                    .withMember(constant(0.6))
+                    .withStrategy(EnsembleClassificationModel.CombinationStrategy.MAX);
+            if (memberExecutor != null) {
+                max.withExecutor(memberExecutor);
+            }
+            // max of each class: 0.8 and 0.6, normalised
+            assertThat(max.build().getClassDistribution(INSTANCE))
+                    .as("the maximum, executor %s", memberExecutor)
+                    .containsExactly(new double[]{0.8 / 1.4, 0.6 / 1.4}, within(1e-9));
+        }
+    }
+
+    /**
+     * Tests that the stacked meta-model receives the distributions of the members.
+     */
+    @Test
+    public void testStacked() {
+        final TestClassificationModel metaModel = new TestClassificationModel(SCHEMA, stacked -> {
+            // probability of the positive class given by the second member
+            final double positive = stacked.getValue(3);
+            return new double[]{1 - positive, positive};
+        });
+
+        final EnsembleClassificationModel ensemble = EnsembleClassificationModel.builder(SCHEMA)
+                .withMember(constant(0.1))
+                .withMember(constant(0.7))
+                .withStackedModel(metaModel)
+                .build();
+
+        assertThat(ensemble.getClassDistribution(INSTANCE))
+                .as("the stacked distribution")
+                .containsExactly(new double[]{0.3, 0.7}, within(1e-9));
+
+        assertThatThrownBy(() -> EnsembleClassificationModel.builder(SCHEMA)
+                .withMember(constant(0.1))
+                .withStrategy(EnsembleClassificationModel.CombinationStrategy.STACKED)
+                .build())
+                .as("the stacked strategy without a meta-model")
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Tests that slow members are skipped when the latency budget runs out, and that the latency of each member is
+     * recorded.
+     */
+    @Test
+    public void testLatencyBudget() {
+        final TestClassificationModel slow = new TestClassificationModel(SCHEMA, instance -> {
+            sleep(200);
+            return new double[]{0, 1};
+        });
+
+        final EnsembleClassificationModel concurrent = EnsembleClassificationModel.builder(SCHEMA)
+                .withMember(constant(0.2))
+                .withMember(slow)
+                .withExecutor(this.executor)
+                .withLatencyBudget(20, TimeUnit.MILLISECONDS)
+                .build();
+        final long start = System.nanoTime();
+        assertThat(concurrent.getClassDistribution(INSTANCE))
+                .as("the distribution without the slow member")
+                .containsExactly(new double[]{0.8, 0.2}, within(1e-9));
+        assertThat(System.nanoTime() - start)
+                .as("the scoring time")
+                .isLessThan(TimeUnit.MILLISECONDS.toNanos(150));
+        assertThat(concurrent.getSkippedCount(1))
+                .as("the number of times the slow member was skipped")
+                .isEqualTo(1);
+        assertThat(concurrent.getMemberLatency(0).getTotalCount())
+                .as("the number of latencies of the first member")
+                .isEqualTo(1);
+
+        final EnsembleClassificationModel sequential = EnsembleClassificationModel.builder(SCHEMA)
+                .withMember(slow)
+                .withMember(constant(0.2))
+                .withLatencyBudget(20, TimeUnit.MILLISECONDS)
+                .build();
+        assertThat(sequential.getClassDistribution(INSTANCE))
+                .as("the distribution of the first member, after which the budget ran out")
+                .containsExactly(new double[]{0, 1}, within(1e-9));
+        assertThat(sequential.getSkippedCount(1))
+                .as("the number of times the second member was skipped")
+                .isEqualTo(1);
+        assertThat(sequential.getMemberLatency(0).getMax())
+                .as("the latency of the slow member")
+                .isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(200));
+    }
+
+    /**
+     * Tests that a member that doesn't return one value per class fails the scoring with a clear error, sequentially
+     * and concurrently.
+     */
+    @Test
+    public void testInvalidMemberDistribution() {
+        for (final ExecutorService memberExecutor : new ExecutorService[]{null, this.executor}) {
+            final EnsembleClassificationModel.Builder builder = EnsembleClassificationModel.builder(SCHEMA)
+                    .withMember(constant(0.2))
+                    .withMember(new TestClassificationModel(SCHEMA, instance -> new double[]{1}))
+                    .withMember(new TestClassificationModel(SCHEMA, instance -> null));
+            if (memberExecutor != null) {
+                builder.withExecutor(memberExecutor);
+            }
+            assertThatThrownBy(() -> builder.build().getClassDistribution(INSTANCE))
+                    .as("the result of a member with a short distribution, executor %s", memberExecutor)
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("Member 1");
+        }
+
+        assertThatThrownBy(() -> EnsembleClassificationModel.builder(SCHEMA)
+                .withMember(new TestClassificationModel(SCHEMA, instance -> null))
+                .build()
+                .getClassDistribution(INSTANCE))
+                .as("the result of a member without a distribution")
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("no classes");
+    }
+
+    /**
+     * Tests that members with a different schema are rejected.
+     */
+    @Test
+    public void testDifferentSchema() {
+        final DatasetSchema otherSchema = TestDatasetSchemaBuilder.builder()
+                .withNumericalFields(3)
+                .withCategoricalFields(1)
+                .build();
+
+        assertThatThrownBy(() -> EnsembleClassificationModel.builder(SCHEMA)
+                .withMember(new TestClassificationModel(otherSchema, instance -> new double[]{0.5, 0.5})))
+                .as("adding a member with a different schema")
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Creates a model that always returns the same probability for the positive class.
+     *
+     * @param positive The probability of the positive class.
+     * @return The model.
+     */
+    private static TestClassificationModel constant(final double positive) {
+        return new TestClassificationModel(SCHEMA, instance -> new double[]{1 - positive, positive});
+    }
+
+    /**
+     * Sleeps, stopping early if interrupted.
+     *
+     * @param millis The number of milliseconds to sleep.
+     */
+    private static void sleep(final long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
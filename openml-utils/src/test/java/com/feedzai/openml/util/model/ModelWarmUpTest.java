@@ -0,0 +1,154 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.model;
+
+import com.feedzai.openml.data.Instance;
+import com.feedzai.openml.data.schema.DatasetSchema;
+import com.feedzai.openml.mocks.MockInstance;
+import com.feedzai.openml.provider.exception.ModelLoadingException;
+import com.feedzai.openml.util.data.schema.TestDatasetSchemaBuilder;
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for the {@link ModelWarmUp}.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public class ModelWarmUpTest {
+
+    /**
+     * The schema used in the tests.
+     */
+    private static final DatasetSchema SCHEMA = TestDatasetSchemaBuilder.builder()
+            .withNumericalFields(3)
+            .withCategoricalFields(2)
+            .withStringFields(1)
+            .build();
+
+    /**
+     * Tests that a model with a constant latency is considered warm after the minimum number of windows.
+     *
+     * @throws ModelLoadingException If the warm-up fails, which is not expected.
+     */
+    @Test
+    public void testStabilises() throws ModelLoadingException {
+        final TestClassificationModel model = new TestClassificationModel(SCHEMA, instance -> new double[]{0.5, 0.5});
+
+        final WarmUpResult result = ModelWarmUp.builder()
+                .withThreads(2)
+                .withWindowSize(100)
+                .withStableWindows(2)
+                .withTolerance(Double.MAX_VALUE)
+                .withSyntheticInstances(10, 0)
+                .build()
+                .warmUp(model, SCHEMA);
+
+        assertThat(result.isStabilised())
+                .as("Whether the latency stabilised")
+                .isTrue();
+
+        assertThat(result.getWindowMedianLatenciesNanos())
+                .as("The median latencies of each window")
+                .hasSize(3);
+
+        assertThat(model.getScoringCalls())
+                .as("The number of instances scored by the model")
+                .isEqualTo(result.getIterations())
+                .isEqualTo(300);
+    }
+
+    /**
+     * Tests that the warm-up stops after the maximum number of iterations, even if the latency did not stabilise.
+     *
+     * @throws ModelLoadingException If the warm-up fails, which is not expected.
+     */
+    @Test
+    public void testMaxIterations() throws ModelLoadingException {
+        final TestClassificationModel model = new TestClassificationModel(SCHEMA, instance -> new double[]{0.5, 0.5});
+
+        final WarmUpResult result = ModelWarmUp.builder()
+                .withThreads(3)
+                .withWindowSize(100)
+                .withMaxIterations(250)
+                .withTolerance(0)
+                .withStableWindows(10)
+                .build()
+                .warmUp(model, SCHEMA);
+
+        assertThat(result.isStabilised())
+                .as("Whether the latency stabilised")
+                .isFalse();
+
+        assertThat(model.getScoringCalls())
+                .as("The number of instances scored by the model")
+                .isEqualTo(result.getIterations())
+                .isEqualTo(250);
+    }
+
+    /**
+     * Tests that the sample instances are the ones replayed against the model.
+     *
+     * @throws ModelLoadingException If the warm-up fails, which is not expected.
+     */
+    @Test
+    public void testSampleInstances() throws ModelLoadingException {
+        final Instance sample = new MockInstance(ImmutableList.of(1.0, 2.0, 3.0, 0.0, 1.0, "text"));
+        final List<Instance> scored = new CopyOnWriteArrayList<>();
+        final TestClassificationModel model = new TestClassificationModel(SCHEMA, instance -> {
+            scored.add(instance);
+            return new double[]{1, 0};
+        });
+
+        ModelWarmUp.builder()
+                .withThreads(1)
+                .withWindowSize(5)
+                .withMaxIterations(5)
+                .withSampleInstances(ImmutableList.of(sample))
+                .build()
+                .warmUp(model, SCHEMA);
+
+        assertThat(scored)
+                .as("The instances scored during the warm-up")
+                .hasSize(5)
+                .containsOnly(sample);
+    }
+
+    /**
+     * Tests that a model that fails to score results in a {@link ModelLoadingException}.
+     */
+    @Test
+    public void testFailingModel() {
+        final TestClassificationModel model = new TestClassificationModel(SCHEMA, instance -> {
+            throw new IllegalStateException("not ready");
+        });
+
+        assertThatThrownBy(() -> ModelWarmUp.builder().build().warmUp(model, SCHEMA))
+                .as("The result of warming up a failing model")
+                .isInstanceOf(ModelLoadingException.class)
+                .hasRootCauseInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,203 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.model;
+
+import com.feedzai.openml.data.Instance;
+import com.feedzai.openml.data.schema.DatasetSchema;
+import com.feedzai.openml.mocks.MockInstance;
+import com.feedzai.openml.util.data.schema.TestDatasetSchemaBuilder;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests the behaviour of the {@link ScoringExecutor}.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public class ScoringExecutorTest {
+
+    /**
+     * Schema with 1 numeric field followed by the categorical target.
+     */
+    private static final DatasetSchema SCHEMA = TestDatasetSchemaBuilder.builder()
+            .withNumericalFields(1)
+            .withCategoricalFields(1)
+            .build();
+
+    /**
+     * An instance to score.
+     */
+    private static final Instance INSTANCE = new MockInstance(new double[]{0.3, 0});
+
+    /**
+     * Tests that the calls are scored, and that virtual threads are used only when the JDK supports them.
+     */
+    @Test
+    public void testScoring() throws Exception {
+        final TestClassificationModel model = new TestClassificationModel(
+                SCHEMA,
+                instance -> new double[]{1 - instance.getValue(0), instance.getValue(0)}
+        );
+
+        try (ScoringExecutor executor = ScoringExecutor.builder().build()) {
+            assertThat(executor.isVirtual())
+                    .as("whether virtual threads are used")
+                    .isEqualTo(ScoringExecutor.isVirtualThreadSupported());
+            assertThat(executor.submit(model, INSTANCE).get(5, TimeUnit.SECONDS))
+                    .as("the class distribution")
+                    .containsExactly(0.7, 0.3);
+        }
+
+        try (ScoringExecutor executor = ScoringExecutor.builder().withVirtualThreads(false).build()) {
+            assertThat(executor.isVirtual())
+                    .as("whether virtual threads are used when disabled")
+                    .isFalse();
+        }
+    }
+
+    /**
+     * Tests that the number of concurrent calls to a model doesn't exceed its limit, while other models are not
+     * affected.
+     */
+    @Test
+    public void testMaxInFlight() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger concurrent = new AtomicInteger();
+        final AtomicInteger maxConcurrent = new AtomicInteger();
+        final TestClassificationModel limitedModel = new TestClassificationModel(SCHEMA, instance -> {
+            maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+            try {
+                release.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            concurrent.decrementAndGet();
+            return new double[]{0.5, 0.5};
+        });
+        final TestClassificationModel otherModel = new TestClassificationModel(
+                SCHEMA,
+                instance -> new double[]{1, 0}
+        );
+
+        try (ScoringExecutor executor = ScoringExecutor.builder()
+                .withPlatformThreads(8)
+                .withMaxInFlight(limitedModel, 2)
+                .build()) {
+
+            final List<CompletableFuture<double[]>> futures = new ArrayList<>();
+            for (int i = 0; i < 6; i++) {
+                futures.add(executor.submit(limitedModel, INSTANCE));
+            }
+            while (executor.getInFlightCount(limitedModel) < 2) {
+                Thread.sleep(1);
+            }
+            Thread.sleep(50);
+
+            assertThat(executor.getInFlightCount(limitedModel))
+                    .as("the number of calls in flight")
+                    .isEqualTo(2);
+            assertThat(executor.submit(otherModel, INSTANCE).get(5, TimeUnit.SECONDS))
+                    .as("the distribution of a model without a limit")
+                    .containsExactly(1, 0);
+
+            release.countDown();
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+            assertThat(maxConcurrent.get())
+                    .as("the maximum number of concurrent calls")
+                    .isEqualTo(2);
+            assertThat(executor.getInFlightCount(limitedModel))
+                    .as("the number of calls in flight after completing")
+                    .isZero();
+        }
+    }
+
+    /**
+     * Tests that the calls waiting for a permit of a saturated model don't hold threads of the platform pool, so
+     * other models are still scored.
+     */
+    @Test
+    public void testSaturatedModelOnPlatformPool() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final TestClassificationModel limitedModel = new TestClassificationModel(SCHEMA, instance -> {
+            try {
+                release.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new double[]{0.5, 0.5};
+        });
+        final TestClassificationModel otherModel = new TestClassificationModel(
+                SCHEMA,
+                instance -> new double[]{1, 0}
+        );
+
+        try (ScoringExecutor executor = ScoringExecutor.builder()
+                .withVirtualThreads(false)
+                .withPlatformThreads(3)
+                .withMaxInFlight(limitedModel, 2)
+                .build()) {
+
+            final List<CompletableFuture<double[]>> futures = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                futures.add(executor.submit(limitedModel, INSTANCE));
+            }
+            while (executor.getInFlightCount(limitedModel) < 2) {
+                Thread.sleep(1);
+            }
+
+            assertThat(executor.submit(otherModel, INSTANCE).get(5, TimeUnit.SECONDS))
+                    .as("the distribution of another model while the limited one is saturated")
+                    .containsExactly(1, 0);
+
+            release.countDown();
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+            assertThat(executor.getInFlightCount(limitedModel))
+                    .as("the number of calls in flight after completing")
+                    .isZero();
+        }
+    }
+
+    /**
+     * Tests that the failures of a model complete the future exceptionally.
+     */
+    @Test
+    public void testFailure() {
+        final TestClassificationModel failingModel = new TestClassificationModel(SCHEMA, instance -> {
+            throw new IllegalArgumentException("failure");
+        });
+
+        try (ScoringExecutor executor = ScoringExecutor.builder().withMaxInFlightPerModel(1).build()) {
+            assertThatThrownBy(() -> executor.submit(failingModel, INSTANCE).get(5, TimeUnit.SECONDS))
+                    .as("the failure of the model")
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
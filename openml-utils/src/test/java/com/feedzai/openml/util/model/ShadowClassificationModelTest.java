@@ -0,0 +1,293 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.model;
+
+import com.feedzai.openml.data.Instance;
+import com.feedzai.openml.data.schema.DatasetSchema;
+import com.feedzai.openml.mocks.MockInstance;
+import com.feedzai.openml.util.data.schema.TestDatasetSchemaBuilder;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Tests the behaviour of the {@link ShadowClassificationModel}.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public class ShadowClassificationModelTest {
+
+    /**
+     * Schema with 1 numeric field followed by the categorical target.
+     */
+    private static final DatasetSchema SCHEMA = TestDatasetSchemaBuilder.builder()
+            .withNumericalFields(1)
+            .withCategoricalFields(1)
+            .build();
+
+    /**
+     * A model whose probability of the positive class is the value of the numeric field.
+     */
+    private final TestClassificationModel primary = new TestClassificationModel(
+            SCHEMA,
+            instance -> new double[]{1 - instance.getValue(0), instance.getValue(0)}
+    );
+
+    /**
+     * Tests that the primary result is returned and the challengers are compared with it in the background.
+     */
+    @Test
+    public void testComparison() throws Exception {
+        final TestClassificationModel challenger = new TestClassificationModel(
+                SCHEMA,
+                instance -> new double[]{0.6, 0.4}
+        );
+
+        try (ShadowClassificationModel shadow = ShadowClassificationModel.builder(this.primary)
+                .withChallenger(challenger)
+                .withSamplingRate(1)
+                .build()) {
+
+            assertThat(shadow.getClassDistribution(instance(0.3)))
+                    .as("the distribution returned")
+                    .containsExactly(0.7, 0.3);
+            shadow.getClassDistribution(instance(0.9));
+
+            waitFor(() -> shadow.getChallengerStats(0).getScoredCount() == 2);
+            final ShadowClassificationModel.ChallengerStats stats = shadow.getChallengerStats(0);
+
+            assertThat(stats.getMeanDelta())
+                    .as("the mean delta")
+                    .isCloseTo((0.1 + 0.5) / 2, within(1e-9));
+            assertThat(stats.getMaxDelta())
+                    .as("the max delta")
+                    .isCloseTo(0.5, within(1e-9));
+            assertThat(stats.getDisagreementCount())
+                    .as("the number of disagreements")
+                    .isEqualTo(1);
+            assertThat(stats.getLatency().getTotalCount())
+                    .as("the number of challenger latencies")
+                    .isEqualTo(2);
+            assertThat(shadow.getPrimaryLatency().getTotalCount())
+                    .as("the number of primary latencies")
+                    .isEqualTo(2);
+        }
+    }
+
+    /**
+     * Tests that a slow challenger doesn't affect the primary path: instances are dropped, without being copied, when
+     * the queue is full.
+     */
+    @Test
+    public void testBackPressure() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final TestClassificationModel blockedChallenger = new TestClassificationModel(SCHEMA, instance -> {
+            try {
+                release.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new double[]{0.5, 0.5};
+        });
+
+        try (ShadowClassificationModel shadow = ShadowClassificationModel.builder(this.primary)
+                .withChallenger(blockedChallenger)
+                .withSamplingRate(1)
+                .withQueueCapacity(5)
+                .build()) {
+
+            final long start = System.nanoTime();
+            for (int i = 0; i < 100; i++) {
+                shadow.getClassDistribution(instance(0.5));
+            }
+            assertThat(System.nanoTime() - start)
+                    .as("the time to score with the primary model")
+                    .isLessThan(TimeUnit.SECONDS.toNanos(1));
+
+            // with the queue full, only the primary model reads the instance, which is not copied
+            final AtomicInteger reads = new AtomicInteger();
+            final Instance counted = instance(0.5);
+            final Instance counting = new Instance() {
+                @Override
+                public double getValue(final int index) {
+                    reads.incrementAndGet();
+                    return counted.getValue(index);
+                }
+
+                @Override
+                public String getStringValue(final int index) {
+                    reads.incrementAndGet();
+                    return counted.getStringValue(index);
+                }
+            };
+            this.primary.getClassDistribution(counting);
+            final int primaryReads = reads.getAndSet(0);
+            shadow.getClassDistribution(counting);
+            assertThat(reads.get())
+                    .as("the number of values read from an instance dropped by the shadow")
+                    .isEqualTo(primaryReads);
+
+            release.countDown();
+            waitFor(() -> shadow.getQueueSize() == 0);
+
+            assertThat(shadow.getSampledCount())
+                    .as("the number of sampled instances")
+                    .isEqualTo(101);
+            // one instance is being scored, and 5 are queued
+            assertThat(shadow.getDroppedCount())
+                    .as("the number of dropped instances")
+                    .isBetween(95L, 96L);
+        }
+    }
+
+    /**
+     * Tests that only a fraction of the instances is sampled.
+     */
+    @Test
+    public void testSampling() throws Exception {
+        try (ShadowClassificationModel shadow = ShadowClassificationModel.builder(this.primary)
+                .withChallenger(this.primary)
+                .withSamplingRate(0.1)
+                .build()) {
+
+            for (int i = 0; i < 10_000; i++) {
+                shadow.getClassDistribution(instance(0.5));
+            }
+            assertThat(shadow.getSampledCount())
+                    .as("the number of sampled instances")
+                    .isBetween(800L, 1200L);
+        }
+    }
+
+    /**
+     * Tests that the challengers score the values the primary model scored, even if the caller modifies the instance
+     * afterwards.
+     */
+    @Test
+    public void testReusedInstance() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final TestClassificationModel challenger = new TestClassificationModel(SCHEMA, instance -> {
+            try {
+                release.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new double[]{1 - instance.getValue(0), instance.getValue(0)};
+        });
+        final double[] values = {0.3, 0};
+        final Instance reused = new Instance() {
+            @Override
+            public double getValue(final int index) {
+                return values[index];
+            }
+
+            @Override
+            public String getStringValue(final int index) {
+                return null;
+            }
+        };
+
+        try (ShadowClassificationModel shadow = ShadowClassificationModel.builder(this.primary)
+                .withChallenger(challenger)
+                .withSamplingRate(1)
+                .build()) {
+
+            shadow.getClassDistribution(reused);
+            values[0] = 0.9;
+            release.countDown();
+
+            waitFor(() -> shadow.getChallengerStats(0).getScoredCount() == 1);
+            assertThat(shadow.getChallengerStats(0).getMaxDelta())
+                    .as("the delta of the challenger that scored the same values")
+                    .isEqualTo(0);
+        }
+    }
+
+    /**
+     * Tests that a challenger still scoring an instance when the timeout to close expires is not closed.
+     */
+    @Test
+    public void testCloseWithBusyChallenger() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicBoolean closed = new AtomicBoolean();
+        final TestClassificationModel challenger = new TestClassificationModel(SCHEMA, instance -> {
+            started.countDown();
+            // ignores interruptions, like a model stuck in native code
+            while (release.getCount() > 0) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+            }
+            return new double[]{0.5, 0.5};
+        }) {
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+
+        final ShadowClassificationModel shadow = ShadowClassificationModel.builder(this.primary)
+                .withChallenger(challenger)
+                .withSamplingRate(1)
+                .withCloseTimeout(50, TimeUnit.MILLISECONDS)
+                .build();
+        shadow.getClassDistribution(instance(0.5));
+        started.await();
+
+        shadow.close();
+        assertThat(closed.get())
+                .as("whether the busy challenger was closed")
+                .isFalse();
+        release.countDown();
+    }
+
+    /**
+     * Creates an instance with the given value of the numeric field.
+     *
+     * @param value The value.
+     * @return The instance.
+     */
+    private static Instance instance(final double value) {
+        return new MockInstance(new double[]{value, 0});
+    }
+
+    /**
+     * Waits until a condition holds, for at most 5 seconds.
+     *
+     * @param condition The condition.
+     * @throws InterruptedException If interrupted while waiting.
+     */
+    private static void waitFor(final BooleanSupplier condition) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(condition.getAsBoolean())
+                .as("the condition after waiting")
+                .isTrue();
+    }
+}
@@ -0,0 +1,103 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.model;
+
+import com.feedzai.openml.data.Instance;
+import com.feedzai.openml.data.schema.DatasetSchema;
+import com.feedzai.openml.model.ClassificationMLModel;
+
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * A {@link ClassificationMLModel} for tests, whose class distribution is computed by a given function.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public class TestClassificationModel implements ClassificationMLModel {
+
+    /**
+     * The schema of the model.
+     */
+    private final DatasetSchema schema;
+
+    /**
+     * The function that computes the class distribution of an instance.
+     */
+    private final Function<Instance, double[]> scorer;
+
+    /**
+     * The number of times the model scored an instance.
+     */
+    private final AtomicLong scoringCalls = new AtomicLong();
+
+    /**
+     * Creates a new instance.
+     *
+     * @param schema The schema of the model.
+     * @param scorer The function that computes the class distribution of an instance.
+     */
+    public TestClassificationModel(final DatasetSchema schema, final Function<Instance, double[]> scorer) {
+        this.schema = schema;
+        this.scorer = scorer;
+    }
+
+    @Override
+    public double[] getClassDistribution(final Instance instance) {
+        this.scoringCalls.incrementAndGet();
+        return this.scorer.apply(instance);
+    }
+
+    @Override
+    public int classify(final Instance instance) {
+        final double[] distribution = getClassDistribution(instance);
+        int best = 0;
+        for (int i = 1; i < distribution.length; i++) {
+            if (distribution[i] > distribution[best]) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Gets the number of times the model scored an instance.
+     *
+     * @return The number of scoring calls.
+     */
+    public long getScoringCalls() {
+        return this.scoringCalls.get();
+    }
+
+    @Override
+    public boolean save(final Path dir, final String name) {
+        return false;
+    }
+
+    @Override
+    public DatasetSchema getSchema() {
+        return this.schema;
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,100 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.monitor;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Tests the behaviour of the {@link DriftMetrics}.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public class DriftMetricsTest {
+
+    /**
+     * Tests the PSI of identical, shifted and empty distributions.
+     */
+    @Test
+    public void testPopulationStabilityIndex() {
+        assertThat(DriftMetrics.populationStabilityIndex(new long[]{10, 20, 70}, new long[]{1, 2, 7}))
+                .as("the PSI of proportional distributions")
+                .isCloseTo(0, within(1e-12));
+
+        // (0.4 - 0.5) * ln(0.4 / 0.5) + (0.6 - 0.5) * ln(0.6 / 0.5)
+        assertThat(DriftMetrics.populationStabilityIndex(new long[]{50, 50}, new long[]{40, 60}))
+                .as("the PSI of a shifted distribution")
+                .isCloseTo(0.1 * Math.log(1.25) + 0.1 * Math.log(1.2), within(1e-12));
+
+        assertThat(DriftMetrics.populationStabilityIndex(new long[]{100, 0}, new long[]{0, 100}))
+                .as("the PSI of disjoint distributions")
+                .isLessThan(Double.POSITIVE_INFINITY)
+                .isGreaterThan(10);
+
+        assertThat(DriftMetrics.populationStabilityIndex(new long[]{1, 2}, new long[]{0, 0}))
+                .as("the PSI of an empty distribution")
+                .isNaN();
+    }
+
+    /**
+     * Tests that the PSI over bins merges adjacent buckets with about the same expected count.
+     */
+    @Test
+    public void testBinnedPopulationStabilityIndex() {
+        final long[] expected = {25, 25, 25, 25, 0, 0, 0, 0};
+
+        assertThat(DriftMetrics.populationStabilityIndex(expected, new long[]{10, 15, 30, 20, 0, 0, 0, 0}, 2))
+                .as("the PSI over 2 bins")
+                .isCloseTo(DriftMetrics.populationStabilityIndex(new long[]{50, 50}, new long[]{25, 50}), within(1e-12));
+
+        assertThat(DriftMetrics.populationStabilityIndex(expected, new long[]{0, 0, 0, 0, 5, 5, 5, 5}, 2))
+                .as("the PSI of values beyond the expected ones, which fall in the last bin")
+                .isGreaterThan(1);
+    }
+
+    /**
+     * Tests the Kolmogorov-Smirnov statistic.
+     */
+    @Test
+    public void testKolmogorovSmirnov() {
+        assertThat(DriftMetrics.kolmogorovSmirnov(new long[]{1, 1, 1, 1}, new long[]{2, 2, 2, 2}))
+                .as("the statistic of proportional distributions")
+                .isCloseTo(0, within(1e-12));
+        assertThat(DriftMetrics.kolmogorovSmirnov(new long[]{1, 1, 1, 1}, new long[]{0, 0, 1, 1}))
+                .as("the statistic of shifted distributions")
+                .isCloseTo(0.5, within(1e-12));
+        assertThat(DriftMetrics.kolmogorovSmirnov(new long[]{0, 0}, new long[]{0, 1}))
+                .as("the statistic of an empty distribution")
+                .isNaN();
+    }
+
+    /**
+     * Tests that distributions over different buckets are rejected.
+     */
+    @Test
+    public void testDifferentBuckets() {
+        assertThatThrownBy(() -> DriftMetrics.kolmogorovSmirnov(new long[2], new long[3]))
+                .as("the error comparing distributions with different buckets")
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
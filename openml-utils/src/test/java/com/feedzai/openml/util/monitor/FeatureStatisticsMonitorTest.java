@@ -0,0 +1,266 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.monitor;
+
+import com.feedzai.openml.data.Instance;
+import com.feedzai.openml.data.schema.CategoricalValueSchema;
+import com.feedzai.openml.data.schema.DatasetSchema;
+import com.feedzai.openml.data.schema.FieldSchema;
+import com.feedzai.openml.data.schema.NumericValueSchema;
+import com.feedzai.openml.data.schema.StringValueSchema;
+import com.feedzai.openml.mocks.MockDataset;
+import com.feedzai.openml.mocks.MockInstance;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.Serializable;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Tests the behaviour of the {@link FeatureStatisticsMonitor} and of the {@link FeatureStatistics} it collects.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public class FeatureStatisticsMonitorTest {
+
+    /**
+     * Schema with a categorical target, a numeric, a categorical and a string field.
+     */
+    private static final DatasetSchema SCHEMA = new DatasetSchema(0, ImmutableList.of(
+            new FieldSchema("class", 0, new CategoricalValueSchema(true, ImmutableSet.of("fraud", "legit"))),
+            new FieldSchema("amount", 1, new NumericValueSchema(true)),
+            new FieldSchema("country", 2, new CategoricalValueSchema(true, ImmutableSet.of("PT", "US"))),
+            new FieldSchema("merchant", 3, new StringValueSchema(true))
+    ));
+
+    /**
+     * Folder where the statistics are saved.
+     */
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    /**
+     * Tests that the statistics of the numeric fields updated concurrently match the exact ones.
+     *
+     * @throws Exception If the updates fail.
+     */
+    @Test
+    public void testNumericStatistics() throws Exception {
+        final FeatureStatisticsMonitor monitor = FeatureStatisticsMonitor.builder(SCHEMA).withShards(4).build();
+        final List<Instance> instances = gaussianInstances(new Random(7), 100, 20, 40_000);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                final List<Instance> part = instances.subList(thread * 5_000, (thread + 1) * 5_000);
+                futures.add(executor.submit(() -> part.forEach(monitor::update)));
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        final double[] values = instances.stream().mapToDouble(instance -> instance.getValue(1)).sorted().toArray();
+        final double mean = Arrays.stream(values).average().orElse(Double.NaN);
+        final double variance = Arrays.stream(values).map(value -> (value - mean) * (value - mean)).sum()
+                / (values.length - 1);
+
+        final FeatureStatistics statistics = monitor.snapshot();
+        assertThat(statistics.getInstanceCount())
+                .as("the number of instances")
+                .isEqualTo(40_000);
+        assertThat(statistics.getMean(1))
+                .as("the mean")
+                .isCloseTo(mean, within(1e-9));
+        assertThat(statistics.getVariance(1))
+                .as("the variance")
+                .isCloseTo(variance, within(1e-6));
+        assertThat(statistics.getMin(1))
+                .as("the minimum")
+                .isEqualTo(values[0]);
+        assertThat(statistics.getMax(1))
+                .as("the maximum")
+                .isEqualTo(values[values.length - 1]);
+        assertThat(statistics.getQuantile(1, 0.5))
+                .as("the median")
+                .isCloseTo(values[values.length / 2], within(values[values.length / 2] * 0.07));
+        assertThat(statistics.getQuantile(1, 0.99))
+                .as("the 99th percentile")
+                .isCloseTo(values[(int) (values.length * 0.99)], within(values[(int) (values.length * 0.99)] * 0.07));
+    }
+
+    /**
+     * Tests the counts of the categorical and string fields, and the missing rates.
+     */
+    @Test
+    public void testCountsAndMissingValues() {
+        final FeatureStatisticsMonitor monitor = FeatureStatisticsMonitor.builder(SCHEMA).build();
+        monitor.update(instance(10, 0, "a"));
+        monitor.update(instance(20, 1, "b"));
+        monitor.update(instance(Double.NaN, 1, "a"));
+        monitor.update(instance(30, Double.NaN, null));
+
+        final FeatureStatistics statistics = monitor.snapshot();
+        assertThat(statistics.getMissingRate(1))
+                .as("the missing rate of the numeric field")
+                .isEqualTo(0.25);
+        assertThat(statistics.getMean(1))
+                .as("the mean of the numeric field")
+                .isEqualTo(20);
+        assertThat(statistics.getValueCount(2, "PT"))
+                .as("the count of a categorical value")
+                .isEqualTo(1);
+        assertThat(statistics.getValueCount(2, "US"))
+                .as("the count of another categorical value")
+                .isEqualTo(2);
+        assertThat(statistics.getMissingCount(2))
+                .as("the missing values of the categorical field")
+                .isEqualTo(1);
+        assertThat(statistics.getValueCount(3, "a"))
+                .as("the estimated count of a string value")
+                .isEqualTo(2);
+        assertThat(statistics.getValueCount(3, "c"))
+                .as("the estimated count of an unseen string value")
+                .isZero();
+        assertThat(statistics.getMissingRate(3))
+                .as("the missing rate of the string field")
+                .isEqualTo(0.25);
+        assertThatThrownBy(() -> statistics.getMean(2))
+                .as("the error getting the mean of a categorical field")
+                .isInstanceOf(IllegalArgumentException.class);
+
+        monitor.reset();
+        assertThat(monitor.snapshot().getInstanceCount())
+                .as("the number of instances after a reset")
+                .isZero();
+    }
+
+    /**
+     * Tests that the drift metrics are low for instances from the same distribution as the reference, and high for
+     * shifted instances.
+     */
+    @Test
+    public void testDrift() {
+        final Random random = new Random(3);
+        final FeatureStatistics reference = FeatureStatistics.of(
+                new MockDataset(SCHEMA, gaussianInstances(random, 100, 20, 20_000))
+        );
+
+        final FeatureStatisticsMonitor stable = FeatureStatisticsMonitor.builder(SCHEMA).build();
+        gaussianInstances(random, 100, 20, 20_000).forEach(stable::update);
+        final FeatureStatisticsMonitor shifted = FeatureStatisticsMonitor.builder(SCHEMA).build();
+        gaussianInstances(random, 120, 20, 20_000).forEach(shifted::update);
+
+        for (int field = 1; field < 4; field++) {
+            assertThat(stable.snapshot().getPopulationStabilityIndex(reference, field))
+                    .as("the PSI of field %d without drift", field)
+                    .isLessThan(0.1);
+        }
+        assertThat(stable.snapshot().getKolmogorovSmirnov(reference, 1))
+                .as("the KS statistic without drift")
+                .isLessThan(0.05);
+
+        assertThat(shifted.snapshot().getPopulationStabilityIndex(reference, 1))
+                .as("the PSI with drift")
+                .isGreaterThan(0.25);
+        assertThat(shifted.snapshot().getKolmogorovSmirnov(reference, 1))
+                .as("the KS statistic with drift")
+                .isGreaterThan(0.3);
+    }
+
+    /**
+     * Tests that the statistics saved next to a model can be loaded back.
+     *
+     * @throws Exception If the statistics cannot be saved or loaded.
+     */
+    @Test
+    public void testSaveAndLoad() throws Exception {
+        final FeatureStatistics statistics = FeatureStatistics.of(
+                new MockDataset(SCHEMA, gaussianInstances(new Random(5), 100, 20, 1_000))
+        );
+        final Path modelDir = this.temporaryFolder.newFolder().toPath();
+
+        statistics.save(modelDir);
+        final FeatureStatistics loaded = FeatureStatistics.load(modelDir);
+
+        assertThat(loaded.getInstanceCount())
+                .as("the number of instances")
+                .isEqualTo(1_000);
+        assertThat(loaded.getMean(1))
+                .as("the mean")
+                .isEqualTo(statistics.getMean(1));
+        assertThat(loaded.getPopulationStabilityIndex(statistics, 1))
+                .as("the PSI with respect to the saved statistics")
+                .isCloseTo(0, within(1e-12));
+    }
+
+    /**
+     * Creates instances with a gaussian amount, a uniform country and a merchant out of 50.
+     *
+     * @param random            The random number generator.
+     * @param mean              The mean of the amount.
+     * @param standardDeviation The standard deviation of the amount.
+     * @param count             The number of instances.
+     * @return The instances.
+     */
+    private static List<Instance> gaussianInstances(final Random random,
+                                                    final double mean,
+                                                    final double standardDeviation,
+                                                    final int count) {
+        final List<Instance> instances = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            instances.add(instance(
+                    mean + standardDeviation * random.nextGaussian(),
+                    random.nextInt(2),
+                    "merchant-" + random.nextInt(50)
+            ));
+        }
+        return instances;
+    }
+
+    /**
+     * Creates an instance of the {@link #SCHEMA}.
+     *
+     * @param amount   The amount.
+     * @param country  The index of the country.
+     * @param merchant The merchant.
+     * @return The instance.
+     */
+    private static Instance instance(final double amount, final double country, final String merchant) {
+        return new MockInstance(Arrays.<Serializable>asList(0.0, amount, country, merchant));
+    }
+}
@@ -0,0 +1,247 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.monitor;
+
+import com.feedzai.openml.data.Instance;
+import com.feedzai.openml.data.schema.DatasetSchema;
+import com.feedzai.openml.mocks.MockDataset;
+import com.feedzai.openml.mocks.MockInstance;
+import com.feedzai.openml.util.data.schema.TestDatasetSchemaBuilder;
+import com.feedzai.openml.util.model.TestClassificationModel;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Tests the behaviour of the {@link ScoreDistributionMonitor} and of the {@link ScoreDistribution}s it records.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public class ScoreDistributionMonitorTest {
+
+    /**
+     * Schema with 1 numeric field followed by the categorical target.
+     */
+    private static final DatasetSchema SCHEMA = TestDatasetSchemaBuilder.builder()
+            .withNumericalFields(1)
+            .withCategoricalFields(1)
+            .build();
+
+    /**
+     * Folder where the baseline is saved.
+     */
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    /**
+     * A model whose score of the positive class is the value of the numeric field.
+     */
+    private final TestClassificationModel model = new TestClassificationModel(
+            SCHEMA,
+            instance -> new double[]{1 - instance.getValue(0), instance.getValue(0)}
+    );
+
+    /**
+     * Tests that the scores of each class are counted in their buckets, also when scored concurrently and in batches.
+     *
+     * @throws Exception If the scoring threads fail.
+     */
+    @Test
+    public void testDistribution() throws Exception {
+        try (ScoreDistributionMonitor monitor = ScoreDistributionMonitor.builder(this.model)
+                .withBuckets(10)
+                .withStripes(4)
+                .build()) {
+
+            final List<Thread> threads = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                threads.add(new Thread(() -> {
+                    for (int i = 0; i < 1_000; i++) {
+                        monitor.getClassDistribution(instance(0.25));
+                    }
+                }));
+            }
+            threads.forEach(Thread::start);
+            for (final Thread thread : threads) {
+                thread.join();
+            }
+            monitor.getClassDistributions(
+                    new Instance[]{instance(0.95), instance(1.0)},
+                    new double[2][2]
+            );
+
+            final ScoreDistribution distribution = monitor.snapshot();
+            assertThat(distribution.getCount())
+                    .as("the number of scored instances")
+                    .isEqualTo(4_002);
+            assertThat(distribution.getBucketCounts(1))
+                    .as("the buckets of the positive class")
+                    .containsExactly(0, 0, 4_000, 0, 0, 0, 0, 0, 0, 2);
+            assertThat(distribution.getBucketCounts(0))
+                    .as("the buckets of the negative class")
+                    .containsExactly(2, 0, 0, 0, 0, 0, 0, 4_000, 0, 0);
+            assertThat(distribution.getMean(1))
+                    .as("the estimated mean of the positive class")
+                    .isCloseTo((4_000 * 0.25 + 2 * 0.95) / 4_002, within(1e-9));
+            assertThat(distribution.getQuantile(1, 0.5))
+                    .as("the estimated median of the positive class")
+                    .isBetween(0.2, 0.3);
+        }
+    }
+
+    /**
+     * Tests the comparison with a baseline computed on a validation dataset.
+     *
+     * @throws Exception If the model fails to close.
+     */
+    @Test
+    public void testBaseline() throws Exception {
+        final Random random = new Random(11);
+        final ScoreDistribution baseline = ScoreDistribution.of(this.model, uniformDataset(random, 1), 20);
+
+        try (ScoreDistributionMonitor stable = ScoreDistributionMonitor.builder(this.model)
+                .withBuckets(20)
+                .withBaseline(baseline)
+                .build();
+             ScoreDistributionMonitor shifted = ScoreDistributionMonitor.builder(this.model)
+                     .withBuckets(20)
+                     .withBaseline(baseline)
+                     .build()) {
+
+            uniformDataset(random, 1).getInstances().forEachRemaining(stable::getClassDistribution);
+            uniformDataset(random, 0.5).getInstances().forEachRemaining(shifted::getClassDistribution);
+
+            assertThat(stable.getPopulationStabilityIndex(1))
+                    .as("the PSI without drift")
+                    .isLessThan(0.1);
+            assertThat(stable.getKolmogorovSmirnov(1))
+                    .as("the KS statistic without drift")
+                    .isLessThan(0.05);
+            assertThat(shifted.getPopulationStabilityIndex(1))
+                    .as("the PSI with drift")
+                    .isGreaterThan(0.25);
+            assertThat(shifted.getKolmogorovSmirnov(1))
+                    .as("the KS statistic with drift")
+                    .isCloseTo(0.5, within(0.05));
+        }
+    }
+
+    /**
+     * Tests that the periodic snapshots hand the distribution of each period to the listener.
+     *
+     * @throws Exception If interrupted while waiting for the snapshots.
+     */
+    @Test
+    public void testPeriodicSnapshots() throws Exception {
+        final BlockingQueue<ScoreDistribution> periods = new LinkedBlockingQueue<>();
+
+        try (ScoreDistributionMonitor monitor = ScoreDistributionMonitor.builder(this.model)
+                .withPeriodicSnapshots(20, TimeUnit.MILLISECONDS, periods::add)
+                .build()) {
+
+            for (int i = 0; i < 10; i++) {
+                monitor.getClassDistribution(instance(0.5));
+            }
+
+            long scoredInPeriods = 0;
+            final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (scoredInPeriods < 10 && System.nanoTime() < deadline) {
+                final ScoreDistribution period = periods.poll(100, TimeUnit.MILLISECONDS);
+                scoredInPeriods += period == null ? 0 : period.getCount();
+            }
+            assertThat(scoredInPeriods)
+                    .as("the number of scores over the periods")
+                    .isEqualTo(10);
+        }
+    }
+
+    /**
+     * Tests that a baseline saved next to a model can be loaded back.
+     *
+     * @throws Exception If the baseline cannot be saved or loaded.
+     */
+    @Test
+    public void testSaveAndLoad() throws Exception {
+        final ScoreDistribution baseline = ScoreDistribution.of(this.model, uniformDataset(new Random(2), 1), 10);
+        final Path modelDir = this.temporaryFolder.newFolder().toPath();
+
+        baseline.save(modelDir);
+        final ScoreDistribution loaded = ScoreDistribution.load(modelDir);
+
+        assertThat(loaded.getCount())
+                .as("the number of scored instances")
+                .isEqualTo(baseline.getCount());
+        assertThat(loaded.getBucketCounts(1))
+                .as("the buckets of the positive class")
+                .containsExactly(baseline.getBucketCounts(1));
+    }
+
+    /**
+     * Creates a dataset whose numeric field is uniform in [0, max[.
+     *
+     * @param random The random number generator.
+     * @param max    The upper bound of the numeric field.
+     * @return The dataset.
+     */
+    private static MockDataset uniformDataset(final Random random, final double max) {
+        final Instance[] instances = new Instance[20_000];
+        for (int i = 0; i < instances.length; i++) {
+            instances[i] = instance(random.nextDouble() * max);
+        }
+        return new MockDataset(SCHEMA, Arrays.asList(instances));
+    }
+
+    /**
+     * Creates an instance with the given value of the numeric field.
+     *
+     * @param value The value.
+     * @return The instance.
+     */
+    private static Instance instance(final double value) {
+        return new MockInstance(new double[]{value, 0});
+    }
+
+    /**
+     * Tests that a monitor whose counters don't fit in an array is rejected, instead of overflowing its size.
+     */
+    @Test
+    public void testTooManyCounters() {
+        assertThatThrownBy(() -> ScoreDistributionMonitor.builder(this.model)
+                .withStripes(1 << 16)
+                .withBuckets(1 << 16)
+                .build())
+                .as("the result of building a monitor with too many counters")
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("too many counters");
+    }
+}
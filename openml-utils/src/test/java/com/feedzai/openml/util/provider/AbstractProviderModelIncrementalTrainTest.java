@@ -0,0 +1,145 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.provider;
+
+import com.feedzai.openml.data.Dataset;
+import com.feedzai.openml.data.Instance;
+import com.feedzai.openml.model.ClassificationMLModel;
+import com.feedzai.openml.provider.MachineLearningProvider;
+import com.feedzai.openml.provider.exception.ModelTrainingException;
+import com.feedzai.openml.provider.model.IncrementalModelTrainer;
+import com.feedzai.openml.util.algorithm.MLAlgorithmEnum;
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Contains conformance tests for providers whose trainers support refreshing models with new data, through
+ * {@link IncrementalModelTrainer}.
+ *
+ * @param <M> The type of a class that extends {@link ClassificationMLModel}.
+ * @param <L> The type of a class that extends {@link IncrementalModelTrainer}.
+ * @param <P> The type of a class that extends {@link MachineLearningProvider}.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public abstract class AbstractProviderModelIncrementalTrainTest<M extends ClassificationMLModel,
+                                                                L extends IncrementalModelTrainer<M>,
+                                                                P extends MachineLearningProvider<L>>
+        extends AbstractProviderModelBaseTest<M, L, P> {
+
+    /**
+     * Fits a model with the Train Dataset ({@link #getTrainDataset()}) with each incremental algorithm of the provider
+     * ({@link #getIncrementalAlgorithms()}), and refreshes it with the Update Dataset ({@link #getUpdateDataset()}).
+     * The refreshed model should be a new, usable model with the same schema, and the original model should remain
+     * usable.
+     *
+     * @throws ModelTrainingException If there is an error with the training.
+     */
+    @Test
+    public void updateModelsForAllAlgorithms() throws ModelTrainingException {
+
+        for (final Map.Entry<MLAlgorithmEnum, Map<String, String>> algorithm : getIncrementalAlgorithms().entrySet()) {
+
+            final L modelTrainer = getMachineLearningModelLoader(algorithm.getKey());
+            final M model = modelTrainer.fit(getTrainDataset(), new Random(0), algorithm.getValue());
+            final double[] distributionBefore = model.getClassDistribution(getDummyInstance());
+
+            assertThat(modelTrainer.validateForUpdate(model, getUpdateDataset().getSchema(), algorithm.getValue()))
+                    .as("The validation errors to update a model of %s", algorithm.getKey().getName())
+                    .isEmpty();
+
+            final M updatedModel = modelTrainer.update(model, getUpdateDataset(), new Random(0), algorithm.getValue());
+
+            assertThat(updatedModel)
+                    .as("The updated model of %s", algorithm.getKey().getName())
+                    .isNotNull()
+                    .isNotSameAs(model);
+            assertThat(updatedModel.getSchema())
+                    .as("The schema of the updated model of %s", algorithm.getKey().getName())
+                    .isEqualTo(model.getSchema());
+            assertUsable(updatedModel, getDummyInstance());
+
+            assertThat(model.getClassDistribution(getDummyInstance()))
+                    .as("The class distribution of the original model of %s after the update", algorithm.getKey().getName())
+                    .isEqualTo(distributionBefore);
+        }
+    }
+
+    /**
+     * Refreshes a model of each incremental algorithm of the provider ({@link #getIncrementalAlgorithms()}) with an
+     * empty batch, which should produce a usable model.
+     *
+     * @throws ModelTrainingException If there is an error with the training.
+     */
+    @Test
+    public void updateModelsWithEmptyBatch() throws ModelTrainingException {
+
+        for (final Map.Entry<MLAlgorithmEnum, Map<String, String>> algorithm : getIncrementalAlgorithms().entrySet()) {
+
+            final L modelTrainer = getMachineLearningModelLoader(algorithm.getKey());
+            final M model = modelTrainer.fit(getTrainDataset(), new Random(0), algorithm.getValue());
+
+            final M updatedModel = modelTrainer.update(
+                    model, getUpdateDataset().empty(), new Random(0), algorithm.getValue()
+            );
+
+            assertUsable(updatedModel, getDummyInstance());
+        }
+    }
+
+    /**
+     * Asserts that a model can score an instance.
+     *
+     * @param model    The model.
+     * @param instance The instance.
+     */
+    private void assertUsable(final M model, final Instance instance) {
+        assertThat(model.getClassDistribution(instance))
+                .as("The class distribution of the model")
+                .isNotEmpty();
+        canGetClassDistributionMaxValueIndex(model, instance);
+    }
+
+    /**
+     * Dataset used to fit the models that are updated in tests for this provider.
+     *
+     * @return A Dataset to be used in test training.
+     */
+    protected abstract Dataset getTrainDataset();
+
+    /**
+     * Dataset with the new data used to update the models in tests for this provider, with the same schema as
+     * {@link #getTrainDataset()}.
+     *
+     * @return A Dataset to be used in test updates.
+     */
+    protected abstract Dataset getUpdateDataset();
+
+    /**
+     * List of Algorithms that support incremental training in this provider.
+     *
+     * @return The list of incremental algorithms in this provider, with their parameters.
+     */
+    protected abstract Map<MLAlgorithmEnum, Map<String, String>> getIncrementalAlgorithms();
+}
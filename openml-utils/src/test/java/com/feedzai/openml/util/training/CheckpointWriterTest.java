@@ -0,0 +1,157 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.training;
+
+import com.feedzai.openml.provider.model.CheckpointingModelTrainer;
+import com.google.common.collect.ImmutableMap;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests the behaviour of the {@link CheckpointWriter}.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public class CheckpointWriterTest {
+
+    /**
+     * Folder where the checkpoints are written.
+     */
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    /**
+     * Tests that checkpoints are written, found and read back, and that only the most recent ones are retained.
+     *
+     * @throws Exception If the checkpoints cannot be written or read.
+     */
+    @Test
+    public void testWriteAndResume() throws Exception {
+        final Path directory = this.temporaryFolder.newFolder().toPath();
+        assertThat(CheckpointWriter.latest(directory))
+                .as("The latest checkpoint of an empty directory")
+                .isEmpty();
+
+        try (CheckpointWriter writer = CheckpointWriter.builder(directory).withRetainedCheckpoints(2).build()) {
+            for (long step = 1; step <= 12; step++) {
+                writer.write(step, new double[]{step, step * 2}).get(10, TimeUnit.SECONDS);
+            }
+            assertThat(writer.getWrittenCount())
+                    .as("The number of checkpoints written")
+                    .isEqualTo(12);
+        }
+
+        final Path latest = CheckpointWriter.latest(directory).orElseThrow(AssertionError::new);
+        assertThat(latest.getFileName().toString())
+                .as("The name of the latest checkpoint")
+                .isEqualTo("checkpoint-00000000000000000012.ckpt");
+        assertThat(CheckpointWriter.read(latest, double[].class))
+                .as("The state in the latest checkpoint")
+                .containsExactly(12, 24);
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files.count())
+                    .as("The number of files retained, without temporary files")
+                    .isEqualTo(2);
+        }
+    }
+
+    /**
+     * Tests that checkpoints requested while another one is being written are coalesced, so that only the most recent
+     * one is written.
+     *
+     * @throws Exception If the checkpoints cannot be written.
+     */
+    @Test
+    public void testSkipsOutdatedCheckpoints() throws Exception {
+        final Path directory = this.temporaryFolder.newFolder().toPath();
+        final CountDownLatch writing = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        final CheckpointWriter writer = CheckpointWriter.builder(directory).build();
+        final CompletableFuture<Path> first = writer.write(1, output -> {
+            writing.countDown();
+            try {
+                release.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            output.write(1);
+        });
+        writing.await();
+
+        final CompletableFuture<Path> second = writer.write(2, output -> output.write(2));
+        final CompletableFuture<Path> third = writer.write(3, output -> output.write(3));
+        release.countDown();
+        writer.close();
+
+        assertThat(first.get())
+                .as("The path of the checkpoint being written")
+                .isEqualTo(directory.resolve("checkpoint-00000000000000000001.ckpt"));
+        assertThat(second.isCancelled())
+                .as("Whether the outdated checkpoint was skipped")
+                .isTrue();
+        assertThat(Files.readAllBytes(third.get()))
+                .as("The content of the most recent checkpoint")
+                .containsExactly(3);
+        assertThat(writer.getSkippedCount())
+                .as("The number of skipped checkpoints")
+                .isEqualTo(1);
+    }
+
+    /**
+     * Tests that writers are only created when the parameters have a checkpoint directory.
+     *
+     * @throws Exception If the directory cannot be created.
+     */
+    @Test
+    public void testFromParams() throws Exception {
+        assertThat(CheckpointWriter.fromParams(ImmutableMap.of(), 60))
+                .as("The writer without a checkpoint directory")
+                .isEmpty();
+
+        final Path directory = this.temporaryFolder.getRoot().toPath().resolve("checkpoints");
+        final CheckpointWriter writer = CheckpointWriter.fromParams(ImmutableMap.of(
+                CheckpointingModelTrainer.CHECKPOINT_DIRECTORY_PARAM, directory.toString(),
+                CheckpointingModelTrainer.CHECKPOINT_INTERVAL_PARAM, "3600"
+        ), 60).orElseThrow(AssertionError::new);
+
+        try {
+            assertThat(Files.isDirectory(directory))
+                    .as("Whether the checkpoint directory was created")
+                    .isTrue();
+            assertThat(writer.isDue())
+                    .as("Whether a checkpoint is due right after creating the writer")
+                    .isFalse();
+        } finally {
+            writer.close();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.training;
+
+import com.feedzai.openml.provider.exception.TrainingCancelledException;
+import com.feedzai.openml.provider.model.TrainingCancellationToken;
+import com.feedzai.openml.provider.model.TrainingProgress;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+/**
+ * Tests the behaviour of the {@link ProgressTracker}.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public class ProgressTrackerTest {
+
+    /**
+     * Tests that the progress reported accumulates the rows processed, keeps the highest memory sampled and estimates
+     * the remaining time.
+     *
+     * @throws Exception If the training is cancelled.
+     */
+    @Test
+    public void testReport() throws Exception {
+        final List<TrainingProgress> reports = new ArrayList<>();
+        final ProgressTracker tracker = new ProgressTracker(reports::add, new TrainingCancellationToken(), 4);
+
+        tracker.addRows(100);
+        final TrainingProgress first = tracker.report(1, 0.5);
+        tracker.addRows(100);
+        final TrainingProgress progress = tracker.report(2, 0.25);
+
+        assertThat(reports)
+                .as("The progress reported to the listener")
+                .hasSize(2)
+                .endsWith(progress);
+        assertThat(progress.getRowsProcessed())
+                .as("The rows processed")
+                .isEqualTo(200);
+        assertThat(progress.getLoss())
+                .as("The loss")
+                .isEqualTo(0.25);
+        assertThat(progress.getTotalIterations().getAsLong())
+                .as("The total number of iterations")
+                .isEqualTo(4);
+        assertThat(progress.getPeakMemoryBytes())
+                .as("The peak memory")
+                .isPositive()
+                .isGreaterThanOrEqualTo(first.getPeakMemoryBytes());
+        assertThat(progress.getEstimatedTimeRemaining().isPresent())
+                .as("Whether the remaining time is estimated")
+                .isTrue();
+    }
+
+    /**
+     * Tests that a cancellation requested by the listener stops the training, and that failures of the listener
+     * don't.
+     */
+    @Test
+    public void testCancellation() {
+        final TrainingCancellationToken token = new TrainingCancellationToken();
+        final ProgressTracker tracker = new ProgressTracker(progress -> {
+            if (progress.getIteration() == 1) {
+                throw new IllegalStateException("listener failure");
+            }
+            token.cancel("enough");
+        }, token, -1);
+
+        try {
+            tracker.report(1, Double.NaN);
+            tracker.report(2, Double.NaN);
+            fail("The training should have been cancelled");
+        } catch (final TrainingCancelledException e) {
+            assertThat(e.getMessage())
+                    .as("The message of the cancellation")
+                    .contains("enough");
+        }
+        assertThat(token.isCancelled())
+                .as("Whether the token is cancelled")
+                .isTrue();
+    }
+}
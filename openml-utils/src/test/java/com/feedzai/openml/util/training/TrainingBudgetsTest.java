@@ -0,0 +1,274 @@
+
+/*
+ * Copyright 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.feedzai.openml.util.training;
+
+import com.feedzai.openml.data.Dataset;
+import com.feedzai.openml.data.schema.CategoricalValueSchema;
+import com.feedzai.openml.data.schema.DatasetSchema;
+import com.feedzai.openml.data.schema.FieldSchema;
+import com.feedzai.openml.mocks.MockDataset;
+import com.feedzai.openml.provider.descriptor.fieldtype.ParamValidationError;
+import com.feedzai.openml.provider.exception.ModelTrainingException;
+import com.feedzai.openml.provider.exception.TrainingCancelledException;
+import com.feedzai.openml.provider.model.MachineLearningModelTrainer;
+import com.feedzai.openml.provider.model.ProgressReportingModelTrainer;
+import com.feedzai.openml.provider.model.TrainingCancellationToken;
+import com.feedzai.openml.provider.model.TrainingProgressListener;
+import com.feedzai.openml.util.model.TestClassificationModel;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Test;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+/**
+ * Tests the behaviour of the {@link TrainingBudgets}.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since 1.3.0
+ */
+public class TrainingBudgetsTest {
+
+    /**
+     * The schema of the dataset, with a single categorical target.
+     */
+    private static final DatasetSchema SCHEMA = new DatasetSchema(0, ImmutableList.of(
+            new FieldSchema("class", 0, new CategoricalValueSchema(true, ImmutableSet.of("fraud", "legit")))
+    ));
+
+    /**
+     * The dataset used to train the models.
+     */
+    private static final Dataset DATASET = new MockDataset(SCHEMA, ImmutableList.of());
+
+    /**
+     * Tests that a token with a time budget cancels itself once the budget is exceeded.
+     *
+     * @throws Exception If the test is interrupted.
+     */
+    @Test
+    public void testTokenDeadline() throws Exception {
+        final TrainingCancellationToken token = TrainingCancellationToken.withBudget(Duration.ofMillis(50));
+        assertThat(token.isCancelled())
+                .as("Whether the token is cancelled before its deadline")
+                .isFalse();
+        assertThat(token.getRemainingTime().get())
+                .as("The remaining time before the deadline")
+                .isGreaterThan(Duration.ZERO);
+
+        TimeUnit.MILLISECONDS.sleep(100);
+
+        assertThat(token.isCancelled())
+                .as("Whether the token is cancelled after its deadline")
+                .isTrue();
+        assertThat(token.getRemainingTime().get())
+                .as("The remaining time after the deadline")
+                .isEqualTo(Duration.ZERO);
+        assertThat(new TrainingCancellationToken().getRemainingTime().isPresent())
+                .as("Whether a token without budget has a deadline")
+                .isFalse();
+    }
+
+    /**
+     * Tests that a cooperative trainer that exceeds its budget returns the best model obtained so far, or fails if it
+     * has none.
+     *
+     * @throws Exception If the training fails.
+     */
+    @Test
+    public void testCooperativeTrainer() throws Exception {
+        final long start = System.nanoTime();
+        final TestClassificationModel model = TrainingBudgets.fitWithin(
+                new IterativeTrainer(true), DATASET, new Random(0), ImmutableMap.of(), Duration.ofMillis(100)
+        );
+        assertThat(model)
+                .as("The best model obtained within the budget")
+                .isNotNull();
+        assertThat(System.nanoTime() - start)
+                .as("The duration of the training")
+                .isLessThan(TimeUnit.SECONDS.toNanos(5));
+
+        try {
+            TrainingBudgets.fitWithin(
+                    new IterativeTrainer(false), DATASET, new Random(0), ImmutableMap.of(), Duration.ofMillis(100)
+            );
+            fail("The training should have been cancelled");
+        } catch (final TrainingCancelledException e) {
+            assertThat(e.getBestModel().isPresent())
+                    .as("Whether the cancellation has a model")
+                    .isFalse();
+        }
+    }
+
+    /**
+     * Tests that a trainer that doesn't check a token is stopped when it exceeds its budget, and that one within its
+     * budget returns its model.
+     *
+     * @throws Exception If the training fails.
+     */
+    @Test
+    public void testNonCooperativeTrainer() throws Exception {
+        assertThat(TrainingBudgets.fitWithin(
+                new SleepingTrainer(0), DATASET, new Random(0), ImmutableMap.of(), Duration.ofSeconds(10)
+        ))
+                .as("The model trained within the budget")
+                .isNotNull();
+
+        try {
+            TrainingBudgets.fitWithin(
+                    new SleepingTrainer(10_000), DATASET, new Random(0), ImmutableMap.of(), Duration.ofMillis(100)
+            );
+            fail("The training should have been cancelled");
+        } catch (final TrainingCancelledException e) {
+            assertThat(e.getMessage())
+                    .as("The message of the cancellation")
+                    .contains("time budget");
+        }
+    }
+
+    /**
+     * Base of the trainers of these tests, which can't load models.
+     */
+    private abstract static class AbstractTestTrainer implements MachineLearningModelTrainer<TestClassificationModel> {
+
+        @Override
+        public TestClassificationModel loadModel(final Path modelPath, final DatasetSchema schema) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<ParamValidationError> validateForLoad(final Path modelPath,
+                                                          final DatasetSchema schema,
+                                                          final Map<String, String> params) {
+            return ImmutableList.of();
+        }
+
+        @Override
+        public DatasetSchema loadSchema(final Path modelPath) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<ParamValidationError> validateForFit(final Path pathToPersist,
+                                                         final DatasetSchema schema,
+                                                         final Map<String, String> params) {
+            return ImmutableList.of();
+        }
+
+        /**
+         * Creates a trained model.
+         *
+         * @return The model.
+         */
+        TestClassificationModel model() {
+            return new TestClassificationModel(SCHEMA, instance -> new double[]{1});
+        }
+    }
+
+    /**
+     * A trainer that iterates until it is cancelled.
+     */
+    private static final class IterativeTrainer extends AbstractTestTrainer
+            implements ProgressReportingModelTrainer<TestClassificationModel> {
+
+        /**
+         * Whether the model of each iteration is published as the best model so far.
+         */
+        private final boolean publishBestModel;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param publishBestModel Whether the model of each iteration is published as the best model so far.
+         */
+        private IterativeTrainer(final boolean publishBestModel) {
+            this.publishBestModel = publishBestModel;
+        }
+
+        @Override
+        public TestClassificationModel fit(final Dataset dataset,
+                                           final Random random,
+                                           final Map<String, String> params) throws ModelTrainingException {
+            return fit(dataset, random, params, TrainingProgressListener.NO_OP, new TrainingCancellationToken());
+        }
+
+        @Override
+        public TestClassificationModel fit(final Dataset dataset,
+                                           final Random random,
+                                           final Map<String, String> params,
+                                           final TrainingProgressListener listener,
+                                           final TrainingCancellationToken token) throws ModelTrainingException {
+            final ProgressTracker tracker = new ProgressTracker(listener, token, -1);
+            for (long iteration = 1; ; iteration++) {
+                try {
+                    TimeUnit.MILLISECONDS.sleep(1);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new ModelTrainingException(e);
+                }
+                if (this.publishBestModel) {
+                    tracker.setBestModel(model());
+                }
+                tracker.report(iteration, 1.0 / iteration);
+            }
+        }
+    }
+
+    /**
+     * A trainer that sleeps before returning its model, without checking any token.
+     */
+    private static final class SleepingTrainer extends AbstractTestTrainer {
+
+        /**
+         * The time the training takes, in milliseconds.
+         */
+        private final long millis;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param millis The time the training takes, in milliseconds.
+         */
+        private SleepingTrainer(final long millis) {
+            this.millis = millis;
+        }
+
+        @Override
+        public TestClassificationModel fit(final Dataset dataset,
+                                           final Random random,
+                                           final Map<String, String> params) throws ModelTrainingException {
+            try {
+                TimeUnit.MILLISECONDS.sleep(this.millis);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ModelTrainingException(e);
+            }
+            return model();
+        }
+    }
+}